@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * AVL Tree implementation for storing reviews.
@@ -23,6 +24,9 @@ public class AVLReviewStore {
     private AVLNode root;
     private DateTimeFormatter dateFormatter;
     private int totalReviews;
+    // Newest-first date index for the cursor API, built on first use
+    private NewestFirstIndex cursorIndex;
+    private long cursorSequence;
     
     public AVLReviewStore() {
         this.root = null;
@@ -37,6 +41,9 @@ public class AVLReviewStore {
     public void addReview(ReviewRecord review) {
         root = insert(root, review);
         totalReviews++;
+        if (cursorIndex != null) {
+            cursorIndex.add(review, ReviewDates.toEpochDay(review.getDate()), cursorSequence++);
+        }
     }
     
     /**
@@ -232,10 +239,10 @@ public class AVLReviewStore {
             // Recent reviews (last 30 days): weight = 1.0
             return 1.0;
         } else if (reviewDate.isAfter(threeYearsAgo)) {
-            // Medium age reviews (30 days to 3 years): linear decay
-            long daysSinceThirtyDays = java.time.temporal.ChronoUnit.DAYS.between(thirtyDaysAgo, reviewDate);
+            // Medium age reviews (30 days to 3 years): linear decay from 1.0 to a floor of 0.1
+            long daysPastThirtyDays = java.time.temporal.ChronoUnit.DAYS.between(reviewDate, thirtyDaysAgo);
             long totalDays = java.time.temporal.ChronoUnit.DAYS.between(threeYearsAgo, thirtyDaysAgo);
-            return Math.max(0.1, 1.0 - (double) daysSinceThirtyDays / totalDays);
+            return Math.max(0.1, 1.0 - (double) daysPastThirtyDays / totalDays);
         } else {
             // Old reviews (3+ years): minimal weight
             return 0.05;
@@ -328,6 +335,10 @@ public class AVLReviewStore {
     public void clear() {
         root = null;
         totalReviews = 0;
+        if (cursorIndex != null) {
+            cursorIndex.clear();
+            cursorSequence = 0;
+        }
     }
     
     /**
@@ -350,6 +361,71 @@ public class AVLReviewStore {
         }
     }
     
+    /**
+     * Lazy newest-first cursor over every review, served from a date index instead of
+     * collecting and sorting the whole tree per caller.
+     * Time Complexity: O(N log N) once to build the date index, then O(1) per step
+     */
+    public Iterator<ReviewRecord> iterateNewestFirst() {
+        return cursorIndex().iterator();
+    }
+
+    /**
+     * One page of the newest-first listing. Pass null for the first page, then the previous
+     * page's token; each page seeks straight to its start.
+     * Time Complexity: O(log N + pageSize) once the date index exists
+     */
+    public ReviewPage getReviewsNewestFirst(String pageToken, int pageSize) {
+        return cursorIndex().page(pageToken, pageSize);
+    }
+
+    private NewestFirstIndex cursorIndex() {
+        if (cursorIndex == null) {
+            List<ReviewRecord> allReviews = new ArrayList<>(totalReviews);
+            getAllReviewsHelper(root, allReviews);
+            NewestFirstIndex index = new NewestFirstIndex();
+            for (ReviewRecord review : allReviews) {
+                index.add(review, ReviewDates.toEpochDay(review.getDate()), cursorSequence++);
+            }
+            cursorIndex = index;
+        }
+        return cursorIndex;
+    }
+
+    /**
+     * Recency-biased average rating of every airline, computed by a fork-join traversal:
+     * each subtree is scored by its own task and the results are merged on the way up.
+     * Time Complexity: O(N / threads)
+     */
+    public AirlineScores scoreAllAirlines() {
+        return scoreAllAirlines(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as scoreAllAirlines() on a caller-supplied pool.
+     */
+    public AirlineScores scoreAllAirlines(ForkJoinPool pool) {
+        ParallelRbar.Cutoffs cutoffs = new ParallelRbar.Cutoffs(LocalDate.now());
+        // One node per airline, so fork at every node
+        return AirlineScores.fromSums(ParallelRbar.sumTree(pool, root, Integer.MAX_VALUE,
+                new ParallelRbar.TreeAccess<AVLNode>() {
+                    public AVLNode left(AVLNode node) {
+                        return node.left;
+                    }
+
+                    public AVLNode right(AVLNode node) {
+                        return node.right;
+                    }
+
+                    public void accumulate(AVLNode node, Map<String, double[]> sums) {
+                        for (ReviewRecord review : node.reviews) {
+                            double weight = cutoffs.weight(ReviewDates.toEpochDay(review.getDate()));
+                            ParallelRbar.add(sums, node.airlineName, review.getOverallRating(), weight);
+                        }
+                    }
+                }));
+    }
+    
     /**
      * Get statistics about the review store.
      */
@@ -0,0 +1,441 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ReviewBitmapIndex.Attribute;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only review store that builds attribute indexes only for the attributes its
+ * workload actually filters on, and drops them again when they go cold.
+ *
+ * Every query records, per attribute it filters on, whether an index served it and, if
+ * not, how many rows had to be scanned. Once an attribute's scan cost within the current
+ * window of queries reaches the build threshold, a background thread builds its index (one
+ * RoaringBitmap of review ids per value, as in ReviewBitmapIndex) from a snapshot of the
+ * reviews, then catches up on reviews added meanwhile. Writers are never blocked: they
+ * only append under a short lock, and an index covers the ids below its watermark, so a
+ * query uses the bitmaps below it and scans the (short) tail above it. When the tail grows
+ * past CATCH_UP_ROWS a refresh extends the index. Published index snapshots are immutable;
+ * a refresh copies only the bitmaps of values that gained ids.
+ *
+ * Every windowQueries queries the window rolls over: an index that served no query in
+ * coldWindows consecutive windows is dropped, and scan costs start again from zero.
+ *
+ * Thread-safe: any number of writers and readers; builds run on one daemon thread.
+ *
+ * Time Complexities:
+ * - addReview: O(1) amortized
+ * - find, indexed: O(bitmap intersection + candidates + tail) for the tail above the watermark
+ * - find, unindexed: O(N) scan
+ * - build: O(N) in the background
+ *
+ * Space Complexity: O(N) reviews plus the bitmaps of the live indexes
+ */
+public class AdaptiveIndexStore implements AutoCloseable {
+    /** Rows above an index's watermark that trigger a refresh. */
+    public static final int CATCH_UP_ROWS = 4096;
+    private static final long DEFAULT_BUILD_THRESHOLD_ROWS = 1_000_000;
+    private static final int DEFAULT_WINDOW_QUERIES = 1000;
+    private static final int DEFAULT_COLD_WINDOWS = 3;
+
+    /**
+     * Lifecycle of an attribute's index.
+     */
+    public enum IndexState {
+        NONE, BUILDING, READY
+    }
+
+    /**
+     * Immutable index snapshot: bitmaps of the ids below upTo, by value key.
+     */
+    private static final class AttributeIndex {
+        final TreeMap<String, RoaringBitmap> values;
+        final int upTo;
+        final long memoryBytes;
+
+        AttributeIndex(TreeMap<String, RoaringBitmap> values, int upTo) {
+            this.values = values;
+            this.upTo = upTo;
+            long bytes = 48L * values.size();
+            for (Map.Entry<String, RoaringBitmap> entry : values.entrySet()) {
+                bytes += 40 + 2L * entry.getKey().length() + entry.getValue().getSizeInBytes();
+            }
+            this.memoryBytes = bytes;
+        }
+    }
+
+    /**
+     * Workload statistics and index of one attribute.
+     */
+    private static final class AttributeStats {
+        final AtomicReference<AttributeIndex> index = new AtomicReference<>();
+        volatile IndexState state = IndexState.NONE;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        final LongAdder queries = new LongAdder();
+        final LongAdder indexedQueries = new LongAdder();
+        final LongAdder rowsScanned = new LongAdder();
+        final LongAdder windowRowsScanned = new LongAdder();
+        final LongAdder windowHits = new LongAdder();
+        volatile int idleWindows;
+        volatile long builds;
+        volatile long drops;
+    }
+
+    private final Object writeLock = new Object();
+    private volatile ReviewRecord[] reviews = new ReviewRecord[16];
+    private volatile int size;
+
+    private final EnumMap<Attribute, AttributeStats> stats;
+    private final long buildThresholdRows;
+    private final int windowQueries;
+    private final int coldWindows;
+    private final AtomicLong queryCount = new AtomicLong();
+    private final AtomicLong windowsRolled = new AtomicLong();
+    private final ExecutorService builder;
+
+    /**
+     * Create a store with the default thresholds: build after 1M rows scanned for an
+     * attribute within a window of 1000 queries, drop after 3 idle windows.
+     */
+    public AdaptiveIndexStore() {
+        this(DEFAULT_BUILD_THRESHOLD_ROWS, DEFAULT_WINDOW_QUERIES, DEFAULT_COLD_WINDOWS);
+    }
+
+    /**
+     * @param buildThresholdRows rows scanned for an attribute within one window that trigger its build
+     * @param windowQueries      queries per statistics window
+     * @param coldWindows        consecutive windows without a hit after which an index is dropped
+     */
+    public AdaptiveIndexStore(long buildThresholdRows, int windowQueries, int coldWindows) {
+        if (buildThresholdRows < 1 || windowQueries < 1 || coldWindows < 1) {
+            throw new IllegalArgumentException("thresholds must be positive");
+        }
+        this.buildThresholdRows = buildThresholdRows;
+        this.windowQueries = windowQueries;
+        this.coldWindows = coldWindows;
+        this.stats = new EnumMap<>(Attribute.class);
+        for (Attribute attribute : Attribute.values()) {
+            stats.put(attribute, new AttributeStats());
+        }
+        this.builder = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "adaptive-index-builder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Append a review; returns its id. Never waits for an index build.
+     * Time Complexity: O(1) amortized
+     */
+    public int addReview(ReviewRecord review) {
+        synchronized (writeLock) {
+            int id = size;
+            ReviewRecord[] current = reviews;
+            if (id == current.length) {
+                current = Arrays.copyOf(current, id * 2);
+                reviews = current; // published before size, so readers always see a long enough array
+            }
+            current[id] = review;
+            size = id + 1;
+            return id;
+        }
+    }
+
+    /**
+     * Append every review, in order.
+     */
+    public void addReviews(List<? extends ReviewRecord> newReviews) {
+        for (ReviewRecord review : newReviews) {
+            addReview(review);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reviews whose attribute matches the value (matched like ReviewBitmapIndex).
+     */
+    public List<ReviewRecord> find(Attribute attribute, String value) {
+        return find(Collections.singletonMap(attribute, value));
+    }
+
+    /**
+     * Reviews matching every attribute = value predicate, in id order. Indexed attributes
+     * are answered from their bitmaps below the lowest watermark; the remaining predicates
+     * are checked on those candidates, and the tail above the watermark is scanned.
+     * Time Complexity: see class comment
+     */
+    public List<ReviewRecord> find(Map<Attribute, String> predicates) {
+        int n = size;
+        ReviewRecord[] snapshot = reviews;
+        EnumMap<Attribute, String> keys = new EnumMap<>(Attribute.class);
+        for (Map.Entry<Attribute, String> predicate : predicates.entrySet()) {
+            keys.put(predicate.getKey(), ReviewBitmapIndex.key(predicate.getKey(), predicate.getValue()));
+        }
+
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        EnumSet<Attribute> indexed = EnumSet.noneOf(Attribute.class);
+        int boundary = n;
+        for (Map.Entry<Attribute, String> key : keys.entrySet()) {
+            AttributeIndex index = stats.get(key.getKey()).index.get();
+            if (index != null) {
+                indexed.add(key.getKey());
+                bitmaps.add(lookup(index, key.getKey(), key.getValue()));
+                boundary = Math.min(boundary, index.upTo);
+            }
+        }
+
+        List<ReviewRecord> result = new ArrayList<>();
+        long scanned = 0;
+        int tailStart = 0;
+        if (!indexed.isEmpty()) {
+            int limit = boundary;
+            for (int id : RoaringBitmap.andAll(bitmaps.toArray(new RoaringBitmap[0])).toArray()) {
+                if (id >= limit) {
+                    break;
+                }
+                scanned++;
+                if (matches(snapshot[id], keys, indexed)) {
+                    result.add(snapshot[id]);
+                }
+            }
+            tailStart = boundary;
+        }
+        for (int id = tailStart; id < n; id++) {
+            scanned++;
+            if (matches(snapshot[id], keys, null)) {
+                result.add(snapshot[id]);
+            }
+        }
+        record(keys.keySet(), indexed, scanned, n);
+        return result;
+    }
+
+    private static RoaringBitmap lookup(AttributeIndex index, Attribute attribute, String key) {
+        List<RoaringBitmap> bitmaps = ReviewBitmapIndex.matching(attribute, index.values, key);
+        if (bitmaps.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        return bitmaps.size() == 1 ? bitmaps.get(0) : RoaringBitmap.orAll(bitmaps);
+    }
+
+    // Check every predicate not in skip on the review
+    private static boolean matches(ReviewRecord review, EnumMap<Attribute, String> keys, Set<Attribute> skip) {
+        for (Map.Entry<Attribute, String> key : keys.entrySet()) {
+            if (skip != null && skip.contains(key.getKey())) {
+                continue;
+            }
+            if (!ReviewBitmapIndex.matchesKey(key.getKey(), key.getValue(), ReviewBitmapIndex.value(key.getKey(), review))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- Workload tracking ----
+
+    private void record(Set<Attribute> attributes, Set<Attribute> indexed, long scanned, int n) {
+        for (Attribute attribute : attributes) {
+            AttributeStats attributeStats = stats.get(attribute);
+            attributeStats.queries.increment();
+            if (indexed.contains(attribute)) {
+                attributeStats.indexedQueries.increment();
+                attributeStats.windowHits.increment();
+                AttributeIndex index = attributeStats.index.get();
+                if (index != null && n - index.upTo >= CATCH_UP_ROWS
+                    && attributeStats.refreshing.compareAndSet(false, true)) {
+                    submit(() -> refresh(attribute));
+                }
+            } else {
+                attributeStats.rowsScanned.add(scanned);
+                attributeStats.windowRowsScanned.add(scanned);
+                if (attributeStats.state == IndexState.NONE
+                    && attributeStats.windowRowsScanned.sum() >= buildThresholdRows) {
+                    startBuild(attribute);
+                }
+            }
+        }
+        long count = queryCount.incrementAndGet();
+        long window = count / windowQueries;
+        long rolled = windowsRolled.get();
+        if (window > rolled && windowsRolled.compareAndSet(rolled, window)) {
+            rollWindow();
+        }
+    }
+
+    private synchronized void startBuild(Attribute attribute) {
+        AttributeStats attributeStats = stats.get(attribute);
+        if (attributeStats.state != IndexState.NONE) {
+            return;
+        }
+        attributeStats.state = IndexState.BUILDING;
+        submit(() -> build(attribute));
+    }
+
+    // End of a window: drop indexes that stayed cold, restart the scan costs
+    private synchronized void rollWindow() {
+        for (Map.Entry<Attribute, AttributeStats> entry : stats.entrySet()) {
+            AttributeStats attributeStats = entry.getValue();
+            long hits = attributeStats.windowHits.sumThenReset();
+            attributeStats.windowRowsScanned.reset();
+            if (attributeStats.state != IndexState.READY) {
+                continue;
+            }
+            attributeStats.idleWindows = hits == 0 ? attributeStats.idleWindows + 1 : 0;
+            if (attributeStats.idleWindows >= coldWindows) {
+                attributeStats.index.set(null);
+                attributeStats.state = IndexState.NONE;
+                attributeStats.idleWindows = 0;
+                attributeStats.drops++;
+            }
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            builder.execute(task);
+        } catch (RejectedExecutionException e) {
+            // closed: queries keep scanning
+        }
+    }
+
+    // ---- Background builds ----
+
+    private void build(Attribute attribute) {
+        AttributeStats attributeStats = stats.get(attribute);
+        int upTo = size;
+        ReviewRecord[] snapshot = reviews;
+        TreeMap<String, RoaringBitmap> values = new TreeMap<>();
+        for (int id = 0; id < upTo; id++) {
+            String key = ReviewBitmapIndex.key(attribute, ReviewBitmapIndex.value(attribute, snapshot[id]));
+            if (!key.isEmpty()) {
+                values.computeIfAbsent(key, k -> new RoaringBitmap()).add(id);
+            }
+        }
+        AttributeIndex index = new AttributeIndex(values, upTo);
+        index = extend(attribute, index); // catch up on reviews added during the build
+        attributeStats.index.set(index);
+        attributeStats.idleWindows = 0;
+        attributeStats.builds++;
+        attributeStats.state = IndexState.READY;
+    }
+
+    private void refresh(Attribute attribute) {
+        AttributeStats attributeStats = stats.get(attribute);
+        try {
+            AttributeIndex current = attributeStats.index.get();
+            if (current != null) {
+                // Lose to a concurrent drop rather than resurrect the index
+                attributeStats.index.compareAndSet(current, extend(attribute, current));
+            }
+        } finally {
+            attributeStats.refreshing.set(false);
+        }
+    }
+
+    // A new snapshot covering every review added so far; only bitmaps that gain ids are copied
+    private AttributeIndex extend(Attribute attribute, AttributeIndex index) {
+        int upTo = size;
+        if (upTo == index.upTo) {
+            return index;
+        }
+        ReviewRecord[] snapshot = reviews;
+        TreeMap<String, RoaringBitmap> values = new TreeMap<>(index.values);
+        Set<String> copied = new HashSet<>();
+        for (int id = index.upTo; id < upTo; id++) {
+            String key = ReviewBitmapIndex.key(attribute, ReviewBitmapIndex.value(attribute, snapshot[id]));
+            if (key.isEmpty()) {
+                continue;
+            }
+            RoaringBitmap bitmap = values.get(key);
+            if (bitmap == null) {
+                bitmap = new RoaringBitmap();
+                values.put(key, bitmap);
+                copied.add(key);
+            } else if (copied.add(key)) {
+                bitmap = bitmap.copy();
+                values.put(key, bitmap);
+            }
+            bitmap.add(id);
+        }
+        return new AttributeIndex(values, upTo);
+    }
+
+    /**
+     * Wait until every build and refresh submitted so far has finished.
+     */
+    public void awaitBuilds() throws InterruptedException {
+        try {
+            builder.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // ---- Metrics ----
+
+    public IndexState getIndexState(Attribute attribute) {
+        return stats.get(attribute).state;
+    }
+
+    /**
+     * Bytes held by every live index (estimated).
+     */
+    public long getIndexMemoryBytes() {
+        long bytes = 0;
+        for (AttributeStats attributeStats : stats.values()) {
+            AttributeIndex index = attributeStats.index.get();
+            if (index != null) {
+                bytes += index.memoryBytes;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Store-wide counters plus, per attribute: index state, watermark, memory, predicate
+     * count, queries served by the index, hit rate, rows scanned, builds and drops.
+     * Time Complexity: O(attributes)
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("reviews", size);
+        metrics.put("queries", queryCount.get());
+        metrics.put("indexMemoryBytes", getIndexMemoryBytes());
+        for (Map.Entry<Attribute, AttributeStats> entry : stats.entrySet()) {
+            AttributeStats attributeStats = entry.getValue();
+            AttributeIndex index = attributeStats.index.get();
+            long queries = attributeStats.queries.sum();
+            long hits = attributeStats.indexedQueries.sum();
+            Map<String, Object> attributeMetrics = new LinkedHashMap<>();
+            attributeMetrics.put("state", attributeStats.state);
+            attributeMetrics.put("indexedUpTo", index == null ? 0 : index.upTo);
+            attributeMetrics.put("memoryBytes", index == null ? 0L : index.memoryBytes);
+            attributeMetrics.put("queries", queries);
+            attributeMetrics.put("indexedQueries", hits);
+            attributeMetrics.put("hitRate", queries == 0 ? 0.0 : (double) hits / queries);
+            attributeMetrics.put("rowsScanned", attributeStats.rowsScanned.sum());
+            attributeMetrics.put("builds", attributeStats.builds);
+            attributeMetrics.put("drops", attributeStats.drops);
+            metrics.put(entry.getKey().name().toLowerCase(Locale.ROOT), attributeMetrics);
+        }
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        builder.shutdownNow();
+    }
+}
@@ -0,0 +1,368 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.AirportReview;
+import com.reviews.Models.ReviewRecord;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Resolves free-form airline names to canonical airline ids, tolerating formatting
+ * differences and typos, so "Singapore Airlines", "singapore-airlines" and
+ * "Singpore Airlnes" all find the same airline.
+ *
+ * Every name is first reduced to a slug: accents stripped, letters and digits lower-cased,
+ * and every other run of characters replaced by one '-'. Spellings with the same slug
+ * share an id; ids are the ranks of the slugs in sorted order. The spelling with the most
+ * reviews is the airline's primary name, which is the key the stores were loaded with.
+ *
+ * Lookup is an exact slug hit when possible. Otherwise candidates come from an inverted
+ * index of character trigrams over "^slug$": a slug within edit distance k of the query
+ * shares at least max(length) - 3k trigrams with it (each edit touches at most three), so
+ * only airlines meeting that count and the length bound are verified, with a Levenshtein
+ * computation cut off at k. The closest one wins, ties going to the most-reviewed.
+ *
+ * Time Complexities:
+ * - Build: O(K log K + total name length) for K airlines
+ * - Exact resolve: O(L) for a name of length L
+ * - Fuzzy resolve: O(L log G + P + C * k * L) for G distinct trigrams, P postings read and
+ *   C candidates verified
+ *
+ * Space Complexity: O(K + total name length)
+ */
+public class AirlineNameResolver {
+    /** Largest edit distance ever tolerated. */
+    public static final int MAX_EDITS = 3;
+
+    private final String[] slugs;             // canonical slug per id, sorted
+    private final String[] primaryNames;      // most-reviewed spelling per id
+    private final long[] weights;             // review count per id
+    private final List<List<String>> spellings;
+    private final Map<String, Integer> idsBySlug;
+    private final long[] gramKeys;            // sorted distinct trigrams
+    private final int[] gramStart;            // postings of gramKeys[i] are ids[gramStart[i], gramStart[i + 1])
+    private final int[] gramIds;
+    private final int[][] idsByLength;        // ids of slugs of each length, for queries too short to filter
+
+    /**
+     * Build a resolver over the given airline names, each weighted by its review count.
+     */
+    public AirlineNameResolver(Map<String, Long> reviewCounts) {
+        TreeMap<String, List<String>> bySlug = new TreeMap<>();
+        for (String name : reviewCounts.keySet()) {
+            String slug = slug(name);
+            if (!slug.isEmpty()) {
+                bySlug.computeIfAbsent(slug, s -> new ArrayList<>()).add(name);
+            }
+        }
+        int count = bySlug.size();
+        this.slugs = new String[count];
+        this.primaryNames = new String[count];
+        this.weights = new long[count];
+        this.spellings = new ArrayList<>(count);
+        this.idsBySlug = new HashMap<>(count * 2);
+        int id = 0;
+        int longest = 0;
+        for (Map.Entry<String, List<String>> entry : bySlug.entrySet()) {
+            List<String> names = entry.getValue();
+            names.sort(Comparator.comparingLong((String name) -> -reviewCounts.get(name)).thenComparing(name -> name));
+            long total = 0;
+            for (String name : names) {
+                total += reviewCounts.get(name);
+            }
+            slugs[id] = entry.getKey();
+            primaryNames[id] = names.get(0);
+            weights[id] = total;
+            spellings.add(Collections.unmodifiableList(names));
+            idsBySlug.put(entry.getKey(), id);
+            longest = Math.max(longest, entry.getKey().length());
+            id++;
+        }
+
+        // Trigram postings, as sorted (gram, id) pairs grouped by gram
+        List<long[]> pairs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long[] grams = distinctGrams(slugs[i]);
+            for (long gram : grams) {
+                pairs.add(new long[] {gram, i});
+            }
+        }
+        pairs.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        long[] keys = new long[pairs.size()];
+        int[] starts = new int[pairs.size() + 1];
+        this.gramIds = new int[pairs.size()];
+        int distinct = 0;
+        for (int i = 0; i < pairs.size(); i++) {
+            long[] pair = pairs.get(i);
+            if (i == 0 || pair[0] != keys[distinct - 1]) {
+                keys[distinct] = pair[0];
+                starts[distinct] = i;
+                distinct++;
+            }
+            gramIds[i] = (int) pair[1];
+        }
+        starts[distinct] = pairs.size();
+        this.gramKeys = Arrays.copyOf(keys, distinct);
+        this.gramStart = Arrays.copyOf(starts, distinct + 1);
+
+        List<List<Integer>> lengths = new ArrayList<>();
+        for (int i = 0; i <= longest; i++) {
+            lengths.add(new ArrayList<>());
+        }
+        for (int i = 0; i < count; i++) {
+            lengths.get(slugs[i].length()).add(i);
+        }
+        this.idsByLength = new int[longest + 1][];
+        for (int i = 0; i <= longest; i++) {
+            idsByLength[i] = lengths.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Build a resolver over the airline names (getName()) of every non-airport review.
+     * Time Complexity: O(N + K log K)
+     */
+    public static AirlineNameResolver fromReviews(List<? extends ReviewRecord> reviews) {
+        Map<String, Long> counts = new HashMap<>();
+        for (ReviewRecord review : reviews) {
+            if (!(review instanceof AirportReview) && review.getName() != null) {
+                counts.merge(review.getName(), 1L, Long::sum);
+            }
+        }
+        return new AirlineNameResolver(counts);
+    }
+
+    /**
+     * Canonical form of a name: accents stripped, letters and digits lower-cased, every
+     * other run of characters a single '-', none at either end.
+     * Time Complexity: O(L)
+     */
+    public static String slug(String name) {
+        if (name == null) {
+            return "";
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > 0x7f) {
+                name = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+                break;
+            }
+        }
+        StringBuilder slug = new StringBuilder(name.length());
+        boolean separator = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && slug.length() > 0) {
+                    slug.append('-');
+                }
+                slug.append(Character.toLowerCase(c));
+                separator = false;
+            } else {
+                separator = true;
+            }
+        }
+        return slug.toString();
+    }
+
+    /**
+     * Edit distance tolerated for a query slug of the given length: none up to 3
+     * characters, then one per 5 characters, at most MAX_EDITS.
+     */
+    public static int maxEdits(int length) {
+        return length <= 3 ? 0 : Math.min(MAX_EDITS, 1 + (length - 4) / 5);
+    }
+
+    /**
+     * Number of airlines (distinct slugs).
+     */
+    public int size() {
+        return slugs.length;
+    }
+
+    /**
+     * Id of the airline the name refers to, within maxEdits of its slug length, or -1.
+     * Time Complexity: O(L) on an exact slug match, else see the class comment
+     */
+    public int resolve(String name) {
+        String query = slug(name);
+        return resolveSlug(query, maxEdits(query.length()));
+    }
+
+    /**
+     * Id of the closest airline within maxDistance edits of the name's slug, or -1.
+     *
+     * @throws IllegalArgumentException if maxDistance is negative or above MAX_EDITS
+     */
+    public int resolve(String name, int maxDistance) {
+        if (maxDistance < 0 || maxDistance > MAX_EDITS) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and " + MAX_EDITS);
+        }
+        return resolveSlug(slug(name), maxDistance);
+    }
+
+    /**
+     * Primary spelling of the airline the name refers to, or null: the key to pass to a
+     * store's per-airline queries.
+     */
+    public String resolveName(String name) {
+        int id = resolve(name);
+        return id < 0 ? null : primaryNames[id];
+    }
+
+    public String getSlug(int id) {
+        return slugs[id];
+    }
+
+    public String getPrimaryName(int id) {
+        return primaryNames[id];
+    }
+
+    /**
+     * Every spelling seen for the airline, most-reviewed first.
+     */
+    public List<String> getSpellings(int id) {
+        return spellings.get(id);
+    }
+
+    public long getReviewCount(int id) {
+        return weights[id];
+    }
+
+    public int getTrigramCount() {
+        return gramKeys.length;
+    }
+
+    private int resolveSlug(String query, int k) {
+        if (query.isEmpty()) {
+            return -1;
+        }
+        Integer exact = idsBySlug.get(query);
+        if (exact != null) {
+            return exact;
+        }
+        if (k == 0) {
+            return -1;
+        }
+        int length = query.length();
+        int[] shared = new int[slugs.length];
+        int[] touched = new int[slugs.length];
+        int touchedCount = 0;
+
+        // Count, per airline, the query trigram occurrences it contains; counting
+        // occurrences rather than distinct grams can only over-count, so the filter stays safe
+        String padded = "^" + query + "$";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            int g = Arrays.binarySearch(gramKeys, gram(padded, i));
+            if (g < 0) {
+                continue;
+            }
+            for (int p = gramStart[g]; p < gramStart[g + 1]; p++) {
+                int id = gramIds[p];
+                if (shared[id]++ == 0) {
+                    touched[touchedCount++] = id;
+                }
+            }
+        }
+
+        int best = -1;
+        int bestDistance = k + 1;
+        for (int t = 0; t < touchedCount; t++) {
+            int id = touched[t];
+            int candidateLength = slugs[id].length();
+            if (Math.abs(candidateLength - length) > k || shared[id] < Math.max(candidateLength, length) - 3 * k) {
+                continue;
+            }
+            int distance = boundedDistance(query, slugs[id], Math.min(k, bestDistance));
+            if (distance < bestDistance || (distance == bestDistance && better(id, best))) {
+                best = id;
+                bestDistance = distance;
+            }
+        }
+        // Slugs so short that k edits can destroy all their trigrams share none and
+        // were never touched: check those lengths directly
+        if (length <= 3 * k) {
+            for (int l = Math.max(1, length - k); l <= Math.min(3 * k, length + k) && l < idsByLength.length; l++) {
+                for (int id : idsByLength[l]) {
+                    if (shared[id] > 0) {
+                        continue;
+                    }
+                    int distance = boundedDistance(query, slugs[id], Math.min(k, bestDistance));
+                    if (distance < bestDistance || (distance == bestDistance && better(id, best))) {
+                        best = id;
+                        bestDistance = distance;
+                    }
+                }
+            }
+        }
+        return bestDistance <= k ? best : -1;
+    }
+
+    private boolean better(int id, int current) {
+        return current < 0 || weights[id] > weights[current] || (weights[id] == weights[current] && id < current);
+    }
+
+    private static long[] distinctGrams(String slug) {
+        String padded = "^" + slug + "$";
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(padded, i);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static long gram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    /**
+     * Levenshtein distance between a and b if it is at most bound, else bound + 1.
+     * Only the diagonal band of width 2 * bound + 1 is filled, and the scan stops once a
+     * whole row exceeds the bound.
+     */
+    static int boundedDistance(String a, String b, int bound) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > bound) {
+            return bound + 1;
+        }
+        int infinity = bound + 1;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= bound ? j : infinity;
+        }
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - bound);
+            int to = Math.min(m, i + bound);
+            current[0] = i <= bound ? i : infinity;
+            if (from > 1) {
+                current[from - 1] = infinity;
+            }
+            int rowMinimum = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(value, infinity);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = infinity;
+            }
+            if (rowMinimum > bound) {
+                return infinity;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], infinity);
+    }
+}
@@ -0,0 +1,142 @@
+package com.reviews.datastructures;
+
+import java.util.*;
+
+/**
+ * Whole-leaderboard result of scoreAllAirlines(): one RBAR score per airline.
+ * Airlines get dense ids in name order (id = index into getAirlines()), so the scores are a
+ * plain double[] indexed by airline id and results from different stores line up.
+ */
+public final class AirlineScores {
+    private final String[] airlines;
+    private final double[] scores;
+    private final int[] reviewCounts;
+
+    private AirlineScores(String[] airlines, double[] scores, int[] reviewCounts) {
+        this.airlines = airlines;
+        this.scores = scores;
+        this.reviewCounts = reviewCounts;
+    }
+
+    /**
+     * Build from per-airline sums {weightedSum, totalWeight, count}.
+     * Time Complexity: O(P log P)
+     */
+    public static AirlineScores fromSums(Map<String, double[]> sums) {
+        String[] names = sums.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        double[] scores = new double[names.length];
+        int[] counts = new int[names.length];
+        for (int id = 0; id < names.length; id++) {
+            double[] sum = sums.get(names[id]);
+            scores[id] = sum[ParallelRbar.TOTAL_WEIGHT] > 0
+                         ? sum[ParallelRbar.WEIGHTED_SUM] / sum[ParallelRbar.TOTAL_WEIGHT] : 0.0;
+            counts[id] = (int) sum[ParallelRbar.COUNT];
+        }
+        return new AirlineScores(names, scores, counts);
+    }
+
+    /**
+     * Build from sums packed by a store's own dictionary ids (see ParallelRbar.sumIdRanges).
+     * Ids without reviews (or without a name) are left out.
+     * Time Complexity: O(P log P)
+     */
+    public static AirlineScores fromIdSums(String[] namesById, double[] packedSums) {
+        Map<String, double[]> sums = new HashMap<>();
+        for (int id = 0; id < namesById.length; id++) {
+            int base = id * ParallelRbar.FIELDS;
+            if (namesById[id] != null && packedSums[base + ParallelRbar.COUNT] > 0) {
+                sums.put(namesById[id], Arrays.copyOfRange(packedSums, base, base + ParallelRbar.FIELDS));
+            }
+        }
+        return fromSums(sums);
+    }
+
+    /**
+     * Number of airlines scored.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return airlines.length;
+    }
+
+    /**
+     * Airline names in id order (a copy).
+     * Time Complexity: O(P)
+     */
+    public String[] getAirlines() {
+        return airlines.clone();
+    }
+
+    /**
+     * Scores indexed by airline id (a copy).
+     * Time Complexity: O(P)
+     */
+    public double[] getScores() {
+        return scores.clone();
+    }
+
+    public String getAirline(int id) {
+        return airlines[id];
+    }
+
+    public double getScore(int id) {
+        return scores[id];
+    }
+
+    public int getReviewCount(int id) {
+        return reviewCounts[id];
+    }
+
+    /**
+     * Id of an airline, or -1 if it has no score.
+     * Time Complexity: O(log P)
+     */
+    public int getId(String airline) {
+        int id = Arrays.binarySearch(airlines, airline);
+        return id >= 0 ? id : -1;
+    }
+
+    /**
+     * Score of an airline by name, 0.0 if it has none (same as calculateRecencyBiasedAverageRating).
+     * Time Complexity: O(log P)
+     */
+    public double getScore(String airline) {
+        int id = getId(airline);
+        return id >= 0 ? scores[id] : 0.0;
+    }
+
+    /**
+     * Airline ids ordered by score, best first (ties by name).
+     * Time Complexity: O(P log P)
+     */
+    public int[] getRanking() {
+        Integer[] order = new Integer[airlines.length];
+        for (int id = 0; id < order.length; id++) {
+            order[id] = id;
+        }
+        Arrays.sort(order, (a, b) -> scores[a] != scores[b] ? Double.compare(scores[b], scores[a]) : a - b);
+        int[] ranking = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            ranking[i] = order[i];
+        }
+        return ranking;
+    }
+
+    /**
+     * Name to score map, in name order.
+     * Time Complexity: O(P log P)
+     */
+    public Map<String, Double> toMap() {
+        Map<String, Double> result = new TreeMap<>();
+        for (int id = 0; id < airlines.length; id++) {
+            result.put(airlines[id], scores[id]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AirlineScores" + toMap();
+    }
+}
@@ -0,0 +1,94 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * A review store with a QueryResultCache in front of its dashboard queries.
+ * Reads (top-k, RBAR, leaderboard) go through the cache; writes go through addReview(),
+ * which inserts into the store and then bumps the airline's version. Writes that bypass
+ * this wrapper must call getCache().invalidate(airline) themselves.
+ *
+ * Implements ReviewQueryService.Backend, so it can be served over HTTP directly.
+ *
+ * Time Complexities:
+ * - cached query (hit): O(1) expected
+ * - cached query (miss): the store's query cost
+ * - addReview: the store's insert cost plus O(1)
+ *
+ * Space Complexity: O(maxEntries) on top of the store
+ */
+public class CachedReviewQueries implements ReviewQueryService.Backend {
+    private final ReviewQueryService.Backend store;
+    private final Consumer<ReviewRecord> insert;
+    private final QueryResultCache cache;
+
+    /**
+     * @param store  uncached queries, e.g. built with ReviewQueryService.backend(...)
+     * @param insert the store's insert, e.g. {@code store::addReview}
+     * @param cache  the cache to use (may be shared with other wrappers of the same store)
+     */
+    public CachedReviewQueries(ReviewQueryService.Backend store, Consumer<ReviewRecord> insert, QueryResultCache cache) {
+        this.store = store;
+        this.insert = insert;
+        this.cache = cache;
+    }
+
+    /**
+     * Insert into the store, then invalidate the airline's cached results.
+     * Time Complexity: the store's insert cost plus O(1)
+     */
+    public void addReview(ReviewRecord review) {
+        insert.accept(review);
+        cache.invalidate(review.getName());
+    }
+
+    /**
+     * Insert every review, in order.
+     * Time Complexity: O(M) store inserts
+     */
+    public void addReviews(List<ReviewRecord> reviews) {
+        for (ReviewRecord review : reviews) {
+            addReview(review);
+        }
+    }
+
+    /**
+     * Cached getTopKRecentReviews; the list is shared and read-only.
+     * Time Complexity: O(1) expected on a hit
+     */
+    @Override
+    public List<ReviewRecord> topK(String airline, int k) {
+        return cache.get(airline, "topk", k,
+                         () -> Collections.unmodifiableList(new ArrayList<>(store.topK(airline, k))));
+    }
+
+    /**
+     * Cached calculateRecencyBiasedAverageRating.
+     * Time Complexity: O(1) expected on a hit
+     */
+    @Override
+    public double rbar(String airline) {
+        return cache.get(airline, "rbar", null, () -> store.rbar(airline));
+    }
+
+    /**
+     * Cached scoreAllAirlines; invalidated by an insert into any airline.
+     * Time Complexity: O(1) expected on a hit
+     */
+    @Override
+    public AirlineScores leaderboard() {
+        return cache.get(null, "leaderboard", null, store::leaderboard);
+    }
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    public QueryResultCache getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,649 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Struct-of-arrays implementation for storing reviews.
+ * Every field the queries look at lives in its own growable primitive column, so scans
+ * such as RBAR, top-k and date ranges walk contiguous int / float / byte arrays instead
+ * of chasing ReviewRecord pointers and re-parsing date strings per row.
+ *
+ * Columns (one slot per review, in insertion order):
+ * - airlineId: int, dictionary-encoded airline name
+ * - epochDay: int, parsed once at insert
+ * - overallRating: float
+ * - subRatings: byte per slot, stored in tenths (0 = not rated)
+ * - flags: byte, bit 0 = recommended
+ * - cabin / traveller: byte, dictionary-encoded (0 = unknown)
+ * - countryId: int, dictionary-encoded (0 = unknown)
+ * - content: the review text, a side table only read when results are materialized
+ *
+ * The store keeps no ReviewRecord objects: results are rebuilt from the columns as
+ * OffHeapReviewStore.StoredReview views, so they carry the stored fields only and are
+ * equal to the inserted reviews field by field, not by identity.
+ *
+ * Time Complexities:
+ * - Insert: O(1) amortized
+ * - Top-k Recent Retrieval: O(N log k) primitive scan with a bounded heap
+ * - Recency-Biased Average Rating: O(N) primitive scan
+ * - Search by airline: O(N) primitive scan
+ *
+ * Space Complexity: O(N), ~28 bytes of column data per review plus its text
+ */
+public class ColumnarReviewStore {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int REFERENCE_BYTES = 4; // compressed oops
+
+    private int[] airlineId;
+    private int[] epochDay;
+    private float[] overallRating;
+    private byte[][] subRatingTenths;
+    private byte[] flags;
+    private byte[] cabin;
+    private byte[] traveller;
+    private int[] countryId;
+    private String[] content;
+    private int size;
+    private long contentBytes;
+
+    // Dictionaries
+    private final Map<String, Integer> airlineIds;
+    private final List<String> airlineNames;
+    private int[] airlineCounts;
+    private final Map<String, Byte> cabinCodes;
+    private final List<String> cabinNames;
+    private final Map<String, Byte> travellerCodes;
+    private final List<String> travellerNames;
+    private final Map<String, Integer> countryIds;
+    private final List<String> countryNames;
+
+    private int minEpochDay;
+    private int maxEpochDay;
+
+    // Cursor date index: newestFirstKey of rows [0, dateIndexedRows), sorted; extended on demand
+    private long[] dateIndex;
+    private int dateIndexedRows;
+    private int cursorGeneration = new Random().nextInt();
+
+    public ColumnarReviewStore() {
+        this.airlineIds = new HashMap<>();
+        this.airlineNames = new ArrayList<>();
+        this.cabinCodes = new HashMap<>();
+        this.cabinNames = new ArrayList<>();
+        this.travellerCodes = new HashMap<>();
+        this.travellerNames = new ArrayList<>();
+        this.countryIds = new HashMap<>();
+        this.countryNames = new ArrayList<>();
+        clear();
+    }
+
+    /**
+     * Add a new review to the store.
+     * Time Complexity: O(1) amortized
+     */
+    public void addReview(ReviewRecord review) {
+        ensureCapacity(size + 1);
+
+        int day = ReviewDates.toEpochDay(review.getDate());
+        int id = internAirline(review.getName());
+
+        airlineId[size] = id;
+        epochDay[size] = day;
+        overallRating[size] = (float) review.getOverallRating();
+        double[] subRatings = ReviewFields.subRatings(review);
+        for (int slot = 0; slot < subRatings.length && slot < subRatingTenths.length; slot++) {
+            subRatingTenths[slot][size] = (byte) Math.round(subRatings[slot] * 10.0);
+        }
+        flags[size] = (byte) (ReviewFields.recommended(review) == 1 ? 1 : 0);
+        cabin[size] = encode(ReviewFields.cabinFlown(review), cabinCodes, cabinNames);
+        traveller[size] = encode(ReviewFields.typeTraveller(review), travellerCodes, travellerNames);
+        countryId[size] = internCountry(review.getCountry());
+        content[size] = review.getContent();
+        contentBytes += textBytes(review.getContent());
+
+        airlineCounts[id]++;
+        minEpochDay = Math.min(minEpochDay, day);
+        maxEpochDay = Math.max(maxEpochDay, day);
+        size++;
+    }
+
+    /**
+     * Add multiple reviews at once.
+     * Time Complexity: O(m) amortized where m is the number of reviews to add
+     */
+    public void addReviews(List<ReviewRecord> newReviews) {
+        ensureCapacity(size + newReviews.size());
+        for (ReviewRecord review : newReviews) {
+            addReview(review);
+        }
+    }
+
+    /**
+     * Get the total number of reviews stored.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieve the k most recent reviews for a specific airline.
+     * Ties on the same date keep insertion order, like the stable sort of the linear list.
+     * Time Complexity: O(N log k)
+     */
+    public List<ReviewRecord> getTopKRecentReviews(String airlineName, int k) {
+        int id = getAirlineId(airlineName);
+        if (id < 0 || k <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Min-heap on (epochDay asc, row desc): the root is the worst row kept so far
+        int[] heap = new int[Math.min(k, airlineCounts[id])];
+        int heapSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (airlineId[i] != id) {
+                continue;
+            }
+            if (heapSize < heap.length) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++);
+            } else if (epochDay[i] > epochDay[heap[0]]) {
+                // Later rows never win a tie, so only a strictly newer date replaces the root
+                heap[0] = i;
+                siftDown(heap, heapSize);
+            }
+        }
+
+        long[] keys = new long[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            keys[i] = newestFirstKey(heap[i]);
+        }
+        Arrays.sort(keys);
+        return materialize(keys);
+    }
+
+    private boolean worse(int rowA, int rowB) {
+        return epochDay[rowA] < epochDay[rowB] || (epochDay[rowA] == epochDay[rowB] && rowA > rowB);
+    }
+
+    private void siftUp(int[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!worse(heap[index], heap[parent])) {
+                break;
+            }
+            int tmp = heap[index];
+            heap[index] = heap[parent];
+            heap[parent] = tmp;
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int heapSize) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            int right = left + 1;
+            int smallest = index;
+            if (left < heapSize && worse(heap[left], heap[smallest])) {
+                smallest = left;
+            }
+            if (right < heapSize && worse(heap[right], heap[smallest])) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            int tmp = heap[index];
+            heap[index] = heap[smallest];
+            heap[smallest] = tmp;
+            index = smallest;
+        }
+    }
+
+    /**
+     * Calculate Recency-Biased Average Rating (RB-AR) for a specific airline.
+     * Uses the same weighting as LinearListReviewStore, computed from the epoch-day column
+     * by RatingKernels.
+     * Time Complexity: O(N)
+     */
+    public double calculateRecencyBiasedAverageRating(String airlineName) {
+        return calculateRecencyBiasedAverageRating(airlineName, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Calculate RB-AR for a specific airline over reviews dated within [startDate, endDate].
+     * Time Complexity: O(N)
+     */
+    public double calculateRecencyBiasedAverageRating(String airlineName, LocalDate startDate, LocalDate endDate) {
+        return calculateRecencyBiasedAverageRating(airlineName, (int) startDate.toEpochDay(), (int) endDate.toEpochDay());
+    }
+
+    private double calculateRecencyBiasedAverageRating(String airlineName, int startDay, int endDay) {
+        int id = getAirlineId(airlineName);
+        if (id < 0) {
+            return 0.0;
+        }
+
+        LocalDate now = LocalDate.now();
+        long thirtyDaysAgo = ReviewDates.thirtyDaysBefore(now).toEpochDay();
+        long threeYearsAgo = ReviewDates.threeYearsBefore(now).toEpochDay();
+
+        double[] sums = new double[2];
+        RatingKernels.recencyWeightedSums(airlineId, epochDay, overallRating, size, id, startDay, endDay,
+                                          thirtyDaysAgo, threeYearsAgo, sums);
+        return sums[1] > 0 ? sums[0] / sums[1] : 0.0;
+    }
+
+    /**
+     * Average of one sub-rating slot for an airline, over the reviews that rated it.
+     * Slots follow ReviewFields.subRatings order for the stored review type.
+     * Time Complexity: O(N)
+     */
+    public double getAverageSubRating(String airlineName, int slot) {
+        int id = getAirlineId(airlineName);
+        if (id < 0 || slot < 0 || slot >= subRatingTenths.length) {
+            return 0.0;
+        }
+
+        double[] sums = new double[2];
+        RatingKernels.subRatingSums(airlineId, subRatingTenths[slot], size, id, sums);
+        return sums[1] > 0 ? sums[0] / sums[1] : 0.0;
+    }
+
+    /**
+     * Fraction of an airline's reviews that recommend it.
+     * Time Complexity: O(N)
+     */
+    public double getRecommendationRate(String airlineName) {
+        int id = getAirlineId(airlineName);
+        if (id < 0 || airlineCounts[id] == 0) {
+            return 0.0;
+        }
+
+        int recommended = 0;
+        for (int i = 0; i < size; i++) {
+            if (airlineId[i] == id) {
+                recommended += flags[i] & 1;
+            }
+        }
+        return (double) recommended / airlineCounts[id];
+    }
+
+    /**
+     * Get all reviews for a specific airline.
+     * Time Complexity: O(N)
+     */
+    public List<ReviewRecord> getReviewsByAirline(String airlineName) {
+        List<ReviewRecord> result = new ArrayList<>();
+        int id = getAirlineId(airlineName);
+        if (id < 0) {
+            return result;
+        }
+        for (int i = 0; i < size; i++) {
+            if (airlineId[i] == id) {
+                result.add(materialize(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get all unique airline names in the store.
+     * Time Complexity: O(A) from the dictionary
+     */
+    public Set<String> getAllAirlines() {
+        Set<String> airlines = new HashSet<>();
+        for (int id = 0; id < airlineNames.size(); id++) {
+            if (airlineCounts[id] > 0) {
+                airlines.add(airlineNames.get(id));
+            }
+        }
+        return airlines;
+    }
+
+    /**
+     * Get reviews within a specific date range.
+     * Time Complexity: O(N)
+     */
+    public List<ReviewRecord> getReviewsInDateRange(LocalDate startDate, LocalDate endDate) {
+        int start = (int) startDate.toEpochDay();
+        int end = (int) endDate.toEpochDay();
+        List<ReviewRecord> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (epochDay[i] >= start && epochDay[i] <= end) {
+                result.add(materialize(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Count reviews within a specific date range without materializing them.
+     * Time Complexity: O(N)
+     */
+    public int countReviewsInDateRange(LocalDate startDate, LocalDate endDate) {
+        return RatingKernels.countInDateRange(epochDay, size, (int) startDate.toEpochDay(), (int) endDate.toEpochDay());
+    }
+
+    /**
+     * Clear all reviews from the store.
+     * Time Complexity: O(1), columns are reallocated at the initial capacity
+     */
+    public void clear() {
+        airlineId = new int[INITIAL_CAPACITY];
+        epochDay = new int[INITIAL_CAPACITY];
+        overallRating = new float[INITIAL_CAPACITY];
+        subRatingTenths = new byte[ReviewFields.MAX_SUB_RATINGS][INITIAL_CAPACITY];
+        flags = new byte[INITIAL_CAPACITY];
+        cabin = new byte[INITIAL_CAPACITY];
+        traveller = new byte[INITIAL_CAPACITY];
+        countryId = new int[INITIAL_CAPACITY];
+        content = new String[INITIAL_CAPACITY];
+        size = 0;
+        contentBytes = 0;
+
+        airlineIds.clear();
+        airlineNames.clear();
+        airlineCounts = new int[16];
+        cabinCodes.clear();
+        cabinNames.clear();
+        cabinNames.add(null); // code 0 = unknown
+        travellerCodes.clear();
+        travellerNames.clear();
+        travellerNames.add(null);
+        countryIds.clear();
+        countryNames.clear();
+        countryNames.add(null);
+
+        minEpochDay = Integer.MAX_VALUE;
+        maxEpochDay = Integer.MIN_VALUE;
+
+        dateIndex = new long[0];
+        dateIndexedRows = 0;
+        cursorGeneration++;
+    }
+
+    /**
+     * Get all reviews sorted by date (most recent first).
+     * Sorts packed (date, row) primitive keys instead of comparing parsed dates.
+     * Time Complexity: O(N log N)
+     */
+    public List<ReviewRecord> getAllReviewsSortedByDate() {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = newestFirstKey(i);
+        }
+        Arrays.sort(keys);
+        return materialize(keys);
+    }
+
+    /**
+     * Pack a row into a sort key that orders newest first and then by insertion order.
+     */
+    private long newestFirstKey(int row) {
+        long dateKey = (long) Integer.MAX_VALUE - epochDay[row]; // fits in 32 bits
+        return (dateKey << 31) | row;
+    }
+
+    private List<ReviewRecord> materialize(long[] keys) {
+        List<ReviewRecord> result = new ArrayList<>(keys.length);
+        for (long key : keys) {
+            result.add(materialize((int) (key & Integer.MAX_VALUE)));
+        }
+        return result;
+    }
+
+    /**
+     * Rebuild a review from its row of the columns. Only result materialization allocates.
+     */
+    private ReviewRecord materialize(int row) {
+        double[] subRatings = new double[subRatingTenths.length];
+        for (int slot = 0; slot < subRatings.length; slot++) {
+            subRatings[slot] = subRatingTenths[slot][row] / 10.0;
+        }
+        return new OffHeapReviewStore.StoredReview(
+            airlineNames.get(airlineId[row]),
+            LocalDate.ofEpochDay(epochDay[row]).toString(),
+            overallRating[row],
+            countryNames.get(countryId[row]),
+            content[row],
+            subRatings,
+            flags[row] & 1,
+            cabinNames.get(cabin[row] & 0xFF),
+            travellerNames.get(traveller[row] & 0xFF)
+        );
+    }
+
+    /**
+     * Lazy newest-first cursor over every review (ties in insertion order).
+     * Reviews inserted after the cursor was created are not visited.
+     * Time Complexity: O(M log M + N) to index M rows added since the last cursor call,
+     * then O(1) per step
+     */
+    public Iterator<ReviewRecord> iterateNewestFirst() {
+        return cursorFrom(0);
+    }
+
+    /**
+     * One page of the newest-first listing. Pass null for the first page, then the previous
+     * page's token; the token's (epochDay, row) is found in the date index by binary search.
+     * Time Complexity: O(log N + pageSize) when no rows were added since the last call
+     */
+    public ReviewPage getReviewsNewestFirst(String pageToken, int pageSize) {
+        ReviewPage.checkPageSize(pageSize);
+        int start = 0;
+        if (pageToken != null) {
+            ReviewPage.Position position = ReviewPage.decodeToken(pageToken, cursorGeneration);
+            if (position.tiebreak < 0 || position.tiebreak > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Malformed page token");
+            }
+            long dateKey = (long) Integer.MAX_VALUE - position.epochDay;
+            long key = (dateKey << 31) | position.tiebreak;
+            updateDateIndex();
+            int found = Arrays.binarySearch(dateIndex, 0, dateIndexedRows, key);
+            start = found >= 0 ? found + 1 : -found - 1;
+        }
+        Iterator<ReviewRecord> cursor = cursorFrom(start);
+        List<ReviewRecord> reviews = new ArrayList<>(pageSize);
+        while (reviews.size() < pageSize && cursor.hasNext()) {
+            reviews.add(cursor.next());
+        }
+        String next = null;
+        if (cursor.hasNext()) {
+            int lastRow = (int) (dateIndex[start + pageSize - 1] & Integer.MAX_VALUE);
+            next = ReviewPage.encodeToken(cursorGeneration, epochDay[lastRow], lastRow);
+        }
+        return new ReviewPage(reviews, next);
+    }
+
+    private Iterator<ReviewRecord> cursorFrom(int start) {
+        updateDateIndex();
+        final long[] keys = dateIndex;
+        final int end = dateIndexedRows;
+        return new Iterator<ReviewRecord>() {
+            private int position = start;
+
+            @Override
+            public boolean hasNext() {
+                return position < end;
+            }
+
+            @Override
+            public ReviewRecord next() {
+                if (position >= end) {
+                    throw new NoSuchElementException();
+                }
+                return materialize((int) (keys[position++] & Integer.MAX_VALUE));
+            }
+        };
+    }
+
+    /**
+     * Bring the date index up to date: sort the keys of rows added since the last call and
+     * merge them into the sorted index (a fresh array, so running cursors keep theirs).
+     * Time Complexity: O(M log M + N)
+     */
+    private void updateDateIndex() {
+        if (dateIndexedRows == size) {
+            return;
+        }
+        int added = size - dateIndexedRows;
+        long[] fresh = new long[added];
+        for (int i = 0; i < added; i++) {
+            fresh[i] = newestFirstKey(dateIndexedRows + i);
+        }
+        Arrays.sort(fresh);
+        long[] merged = new long[size];
+        int a = 0;
+        int b = 0;
+        int out = 0;
+        while (a < dateIndexedRows && b < added) {
+            merged[out++] = dateIndex[a] <= fresh[b] ? dateIndex[a++] : fresh[b++];
+        }
+        while (a < dateIndexedRows) {
+            merged[out++] = dateIndex[a++];
+        }
+        while (b < added) {
+            merged[out++] = fresh[b++];
+        }
+        dateIndex = merged;
+        dateIndexedRows = size;
+    }
+
+    /**
+     * Recency-biased average rating of every airline in one parallel pass over the
+     * airlineId / epochDay / overallRating columns, accumulating into id-indexed arrays.
+     * Time Complexity: O(N / threads + A)
+     */
+    public AirlineScores scoreAllAirlines() {
+        return scoreAllAirlines(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as scoreAllAirlines() on a caller-supplied pool.
+     */
+    public AirlineScores scoreAllAirlines(ForkJoinPool pool) {
+        ParallelRbar.Cutoffs cutoffs = new ParallelRbar.Cutoffs(LocalDate.now());
+        final int[] ids = airlineId;
+        final int[] days = epochDay;
+        final float[] ratings = overallRating;
+        double[] sums = ParallelRbar.sumIdRanges(pool, size, airlineNames.size(), 1 << 16, (from, to, partial) -> {
+            for (int row = from; row < to; row++) {
+                ParallelRbar.add(partial, ids[row], ratings[row], cutoffs.weight(days[row]));
+            }
+        });
+        return AirlineScores.fromIdSums(airlineNames.toArray(new String[0]), sums);
+    }
+
+    /**
+     * Get statistics about the review store.
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalReviews", size);
+        stats.put("uniqueAirlines", getAllAirlines().size());
+        stats.put("columnBytes", getColumnBytes());
+
+        if (size > 0) {
+            stats.put("oldestReview", LocalDate.ofEpochDay(minEpochDay));
+            stats.put("newestReview", LocalDate.ofEpochDay(maxEpochDay));
+        }
+
+        return stats;
+    }
+
+    /**
+     * Bytes held by the columns for the stored reviews: the primitive columns plus the content
+     * side table (estimated as one reference and one String per review). Spare capacity and
+     * the dictionaries are excluded.
+     */
+    public long getColumnBytes() {
+        long bytesPerRow = Integer.BYTES * 3L + Float.BYTES + ReviewFields.MAX_SUB_RATINGS + 3L;
+        return bytesPerRow * size + contentBytes;
+    }
+
+    // Reference plus String header, backing array header and one byte per char (compact strings)
+    private static long textBytes(String text) {
+        return text == null ? REFERENCE_BYTES : REFERENCE_BYTES + 40L + text.length();
+    }
+
+    /**
+     * Get the dictionary id of an airline, or -1 if it has never been stored.
+     * Time Complexity: O(1)
+     */
+    public int getAirlineId(String airlineName) {
+        Integer id = airlineIds.get(airlineName);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Get the airline name for a dictionary id.
+     */
+    public String getAirlineName(int id) {
+        return airlineNames.get(id);
+    }
+
+    private int internAirline(String airlineName) {
+        Integer id = airlineIds.get(airlineName);
+        if (id == null) {
+            id = airlineNames.size();
+            airlineIds.put(airlineName, id);
+            airlineNames.add(airlineName);
+            if (id >= airlineCounts.length) {
+                airlineCounts = Arrays.copyOf(airlineCounts, airlineCounts.length * 2);
+            }
+        }
+        return id;
+    }
+
+    private int internCountry(String country) {
+        if (country == null || country.isEmpty()) {
+            return 0;
+        }
+        Integer id = countryIds.get(country);
+        if (id == null) {
+            id = countryNames.size();
+            countryIds.put(country, id);
+            countryNames.add(country);
+        }
+        return id;
+    }
+
+    private byte encode(String value, Map<String, Byte> codes, List<String> names) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        Byte code = codes.get(value);
+        if (code == null) {
+            if (names.size() > 0xFF) {
+                return 0; // dictionary full: treat as unknown
+            }
+            code = (byte) names.size();
+            codes.put(value, code);
+            names.add(value);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= epochDay.length) {
+            return;
+        }
+        int capacity = Math.max(required, epochDay.length * 2);
+        airlineId = Arrays.copyOf(airlineId, capacity);
+        epochDay = Arrays.copyOf(epochDay, capacity);
+        overallRating = Arrays.copyOf(overallRating, capacity);
+        for (int slot = 0; slot < subRatingTenths.length; slot++) {
+            subRatingTenths[slot] = Arrays.copyOf(subRatingTenths[slot], capacity);
+        }
+        flags = Arrays.copyOf(flags, capacity);
+        cabin = Arrays.copyOf(cabin, capacity);
+        traveller = Arrays.copyOf(traveller, capacity);
+        countryId = Arrays.copyOf(countryId, capacity);
+        content = Arrays.copyOf(content, capacity);
+    }
+}
@@ -0,0 +1,401 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Thread-safe review store partitioned by airline.
+ * Each airline owns a partition with its own StampedLock, so inserts to different airlines
+ * never contend, and readers of an airline never block its writer for long.
+ *
+ * Partitions are append-only column arrays (epochDay, rating, global insert sequence, row).
+ * A slot below the published count never changes, so readers take an optimistic stamp, copy
+ * the array references and the count, validate, and then scan without holding any lock.
+ * Only when a writer intervened between the stamp and the validation does the reader fall
+ * back to a (briefly held) read lock to take the same snapshot.
+ *
+ * Queries that span airlines (date ranges, global sort) snapshot each partition in turn, so
+ * they see every review inserted before the call started but are not an atomic cut across
+ * airlines. The global insert sequence keeps same-date ties in insertion order, matching the
+ * stable sorts of the single-threaded stores.
+ *
+ * Time Complexities:
+ * - Insert: O(1) amortized, locks only the airline's partition
+ * - Top-k Recent Retrieval: O(A log A) for the airline's A reviews, lock-free on the fast path
+ * - Recency-Biased Average Rating: O(A), lock-free on the fast path
+ * - Search by airline: O(1) partition lookup + O(A) copy
+ * - Newest-first page: O(log N + page size) once the date index exists; the index adds
+ *   O(log N) to every insert from the first cursor call on
+ *
+ * Space Complexity: O(N)
+ */
+public class ConcurrentReviewStore {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ConcurrentHashMap<String, Partition> partitions;
+    private final AtomicInteger totalReviews;
+    private final AtomicLong sequence;
+    // Newest-first date index for the cursor API, built on first use and then kept up to date.
+    // Writers add to it as soon as the build starts; readers only get it once it is complete.
+    private volatile NewestFirstIndex indexForWriters;
+    private volatile NewestFirstIndex cursorIndex;
+
+    /**
+     * Reviews of one airline. Written under the write lock, read through snapshots.
+     */
+    private static final class Partition {
+        private final StampedLock lock = new StampedLock();
+        private int[] epochDay = new int[INITIAL_CAPACITY];
+        private double[] rating = new double[INITIAL_CAPACITY];
+        private long[] sequence = new long[INITIAL_CAPACITY];
+        private ReviewRecord[] rows = new ReviewRecord[INITIAL_CAPACITY];
+        private int count;
+
+        void append(int day, double value, long seq, ReviewRecord review) {
+            long stamp = lock.writeLock();
+            try {
+                if (count == rows.length) {
+                    int capacity = rows.length * 2;
+                    epochDay = Arrays.copyOf(epochDay, capacity);
+                    rating = Arrays.copyOf(rating, capacity);
+                    sequence = Arrays.copyOf(sequence, capacity);
+                    rows = Arrays.copyOf(rows, capacity);
+                }
+                epochDay[count] = day;
+                rating[count] = value;
+                sequence[count] = seq;
+                rows[count] = review;
+                count++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        Snapshot snapshot() {
+            long stamp = lock.tryOptimisticRead();
+            Snapshot snapshot = new Snapshot(epochDay, rating, sequence, rows, count);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    snapshot = new Snapshot(epochDay, rating, sequence, rows, count);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Consistent view of a partition's first {@code count} slots.
+     */
+    private static final class Snapshot {
+        final int[] epochDay;
+        final double[] rating;
+        final long[] sequence;
+        final ReviewRecord[] rows;
+        final int count;
+
+        Snapshot(int[] epochDay, double[] rating, long[] sequence, ReviewRecord[] rows, int count) {
+            this.epochDay = epochDay;
+            this.rating = rating;
+            this.sequence = sequence;
+            this.rows = rows;
+            this.count = count;
+        }
+    }
+
+    public ConcurrentReviewStore() {
+        this.partitions = new ConcurrentHashMap<>();
+        this.totalReviews = new AtomicInteger();
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * Add a new review to the store. Safe to call from any number of threads.
+     * Time Complexity: O(1) amortized
+     */
+    public void addReview(ReviewRecord review) {
+        int day = ReviewDates.toEpochDay(review.getDate());
+        Partition partition = partitions.computeIfAbsent(review.getName(), name -> new Partition());
+        long seq = sequence.getAndIncrement();
+        partition.append(day, review.getOverallRating(), seq, review);
+        totalReviews.incrementAndGet();
+        // Read after the append: if the builder published the index before this read, the
+        // review is added here; otherwise the builder's partition scan already sees it
+        NewestFirstIndex index = indexForWriters;
+        if (index != null) {
+            index.add(review, day, seq);
+        }
+    }
+
+    /**
+     * Add multiple reviews to the store.
+     * Time Complexity: O(M) where M is the number of new reviews
+     */
+    public void addReviews(List<ReviewRecord> newReviews) {
+        for (ReviewRecord review : newReviews) {
+            addReview(review);
+        }
+    }
+
+    /**
+     * Get the total number of reviews stored.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return totalReviews.get();
+    }
+
+    /**
+     * Retrieve the k most recent reviews for a specific airline.
+     * Time Complexity: O(A log A) where A is the number of reviews for the airline
+     */
+    public List<ReviewRecord> getTopKRecentReviews(String airlineName, int k) {
+        Partition partition = partitions.get(airlineName);
+        if (partition == null || k <= 0) {
+            return new ArrayList<>();
+        }
+        Snapshot snapshot = partition.snapshot();
+        Integer[] order = newestFirst(snapshot);
+        int limit = Math.min(k, order.length);
+        List<ReviewRecord> result = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            result.add(snapshot.rows[order[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Calculate Recency-Biased Average Rating (RB-AR) for a specific airline.
+     * Time Complexity: O(A) where A is the number of reviews for the airline
+     */
+    public double calculateRecencyBiasedAverageRating(String airlineName) {
+        Partition partition = partitions.get(airlineName);
+        if (partition == null) {
+            return 0.0;
+        }
+        Snapshot snapshot = partition.snapshot();
+        if (snapshot.count == 0) {
+            return 0.0;
+        }
+
+        LocalDate now = LocalDate.now();
+        long thirtyDaysAgo = ReviewDates.thirtyDaysBefore(now).toEpochDay();
+        long threeYearsAgo = ReviewDates.threeYearsBefore(now).toEpochDay();
+
+        double weightedSum = 0.0;
+        double totalWeight = 0.0;
+        for (int i = 0; i < snapshot.count; i++) {
+            double weight = ReviewDates.recencyWeight(snapshot.epochDay[i], thirtyDaysAgo, threeYearsAgo);
+            weightedSum += snapshot.rating[i] * weight;
+            totalWeight += weight;
+        }
+        return totalWeight > 0 ? weightedSum / totalWeight : 0.0;
+    }
+
+    /**
+     * Get all reviews for a specific airline, in insertion order. The list is a copy.
+     * Time Complexity: O(A)
+     */
+    public List<ReviewRecord> getReviewsByAirline(String airlineName) {
+        Partition partition = partitions.get(airlineName);
+        if (partition == null) {
+            return new ArrayList<>();
+        }
+        Snapshot snapshot = partition.snapshot();
+        return new ArrayList<>(Arrays.asList(snapshot.rows).subList(0, snapshot.count));
+    }
+
+    /**
+     * Get all unique airline names in the store.
+     * Time Complexity: O(P) where P is the number of airlines
+     */
+    public Set<String> getAllAirlines() {
+        return new HashSet<>(partitions.keySet());
+    }
+
+    /**
+     * Get reviews within a specific date range (inclusive), grouped by airline.
+     * Time Complexity: O(N)
+     */
+    public List<ReviewRecord> getReviewsInDateRange(LocalDate startDate, LocalDate endDate) {
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+        List<ReviewRecord> result = new ArrayList<>();
+        for (Partition partition : partitions.values()) {
+            Snapshot snapshot = partition.snapshot();
+            for (int i = 0; i < snapshot.count; i++) {
+                if (snapshot.epochDay[i] >= start && snapshot.epochDay[i] <= end) {
+                    result.add(snapshot.rows[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Clear all reviews from the store. Intended for quiescent moments: an insert racing with
+     * clear() may be dropped together with its partition.
+     * Time Complexity: O(P)
+     */
+    public void clear() {
+        for (String airline : new ArrayList<>(partitions.keySet())) {
+            Partition removed = partitions.remove(airline);
+            if (removed != null) {
+                totalReviews.addAndGet(-removed.snapshot().count);
+            }
+        }
+        NewestFirstIndex index = indexForWriters;
+        if (index != null) {
+            index.clear();
+        }
+    }
+
+    /**
+     * Get all reviews sorted by date (most recent first), ties in insertion order.
+     * Time Complexity: O(N log N)
+     */
+    public List<ReviewRecord> getAllReviewsSortedByDate() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        int total = 0;
+        for (Partition partition : partitions.values()) {
+            Snapshot snapshot = partition.snapshot();
+            snapshots.add(snapshot);
+            total += snapshot.count;
+        }
+
+        long[][] keys = new long[total][];
+        List<ReviewRecord> rows = new ArrayList<>(total);
+        int next = 0;
+        for (Snapshot snapshot : snapshots) {
+            for (int i = 0; i < snapshot.count; i++) {
+                keys[next] = new long[] {snapshot.epochDay[i], snapshot.sequence[i], next};
+                rows.add(snapshot.rows[i]);
+                next++;
+            }
+        }
+        Arrays.sort(keys, (a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(a[1], b[1]));
+
+        List<ReviewRecord> result = new ArrayList<>(total);
+        for (long[] key : keys) {
+            result.add(rows.get((int) key[2]));
+        }
+        return result;
+    }
+
+    /**
+     * Weakly consistent newest-first cursor over every review (ties in insertion order);
+     * it never blocks writers and may or may not see reviews inserted while it runs.
+     * Time Complexity: O(N log N) once to build the date index, then O(1) per step
+     */
+    public Iterator<ReviewRecord> iterateNewestFirst() {
+        return cursorIndex().iterator();
+    }
+
+    /**
+     * One page of the newest-first listing. Pass null for the first page, then the previous
+     * page's token; each page seeks straight to its start in the skip-list date index.
+     * Time Complexity: O(log N + pageSize) once the date index exists
+     */
+    public ReviewPage getReviewsNewestFirst(String pageToken, int pageSize) {
+        return cursorIndex().page(pageToken, pageSize);
+    }
+
+    /**
+     * The date index, built on first use. It is handed to writers before the partitions are
+     * scanned, so a review inserted meanwhile is indexed by the scan, by its writer, or by
+     * both (the same key, so once); readers only see it after the scan.
+     */
+    private NewestFirstIndex cursorIndex() {
+        NewestFirstIndex index = cursorIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (partitions) {
+            if (cursorIndex == null) {
+                NewestFirstIndex built = new NewestFirstIndex();
+                indexForWriters = built;
+                for (Partition partition : partitions.values()) {
+                    Snapshot snapshot = partition.snapshot();
+                    for (int i = 0; i < snapshot.count; i++) {
+                        built.add(snapshot.rows[i], snapshot.epochDay[i], snapshot.sequence[i]);
+                    }
+                }
+                cursorIndex = built;
+            }
+            return cursorIndex;
+        }
+    }
+
+    /**
+     * Recency-biased average rating of every airline; each partition is scored by its own
+     * fork-join task from a lock-free snapshot.
+     * Time Complexity: O(N / threads)
+     */
+    public AirlineScores scoreAllAirlines() {
+        return scoreAllAirlines(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as scoreAllAirlines() on a caller-supplied pool.
+     */
+    public AirlineScores scoreAllAirlines(ForkJoinPool pool) {
+        ParallelRbar.Cutoffs cutoffs = new ParallelRbar.Cutoffs(LocalDate.now());
+        List<Map.Entry<String, Partition>> entries = new ArrayList<>(partitions.entrySet());
+        return AirlineScores.fromSums(ParallelRbar.sumRanges(pool, entries.size(), 1, (from, to, sums) -> {
+            for (int i = from; i < to; i++) {
+                Snapshot snapshot = entries.get(i).getValue().snapshot();
+                for (int slot = 0; slot < snapshot.count; slot++) {
+                    ParallelRbar.add(sums, entries.get(i).getKey(), snapshot.rating[slot],
+                                     cutoffs.weight(snapshot.epochDay[slot]));
+                }
+            }
+        }));
+    }
+
+    /**
+     * Get statistics about the review store.
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalReviews", size());
+        stats.put("uniqueAirlines", partitions.size());
+
+        long oldest = Long.MAX_VALUE;
+        long newest = Long.MIN_VALUE;
+        for (Partition partition : partitions.values()) {
+            Snapshot snapshot = partition.snapshot();
+            for (int i = 0; i < snapshot.count; i++) {
+                oldest = Math.min(oldest, snapshot.epochDay[i]);
+                newest = Math.max(newest, snapshot.epochDay[i]);
+            }
+        }
+        if (oldest <= newest) {
+            stats.put("oldestReview", LocalDate.ofEpochDay(oldest));
+            stats.put("newestReview", LocalDate.ofEpochDay(newest));
+        }
+
+        return stats;
+    }
+
+    /**
+     * Snapshot indices ordered newest first, ties by insertion sequence.
+     */
+    private static Integer[] newestFirst(Snapshot snapshot) {
+        Integer[] order = new Integer[snapshot.count];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> snapshot.epochDay[a] != snapshot.epochDay[b]
+                                     ? Integer.compare(snapshot.epochDay[b], snapshot.epochDay[a])
+                                     : Long.compare(snapshot.sequence[a], snapshot.sequence[b]));
+        return order;
+    }
+}
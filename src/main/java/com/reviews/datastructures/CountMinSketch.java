@@ -0,0 +1,189 @@
+package com.reviews.datastructures;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Count-Min sketch: approximate counts of string items in a fixed depth x width table of
+ * counters, whatever the number of distinct items.
+ *
+ * Each of the depth rows hashes an item to one counter; add() increments one counter per
+ * row and estimate() returns the smallest. Collisions only ever add, so with N the total
+ * count added:
+ * - estimate(x) >= count(x), always
+ * - estimate(x) <= count(x) + epsilon * N with probability at least 1 - delta,
+ *   for width = ceil(e / epsilon) and depth = ceil(ln(1 / delta))
+ *
+ * Sketches with the same dimensions merge by adding their tables, and the merged sketch
+ * has the same guarantee for the combined stream.
+ *
+ * Not thread-safe.
+ *
+ * Time Complexities:
+ * - add / estimate: O(depth)
+ * - merge: O(depth * width)
+ *
+ * Space Complexity: O(depth * width) ints, independent of the number of items
+ */
+public class CountMinSketch {
+    private final int width;
+    private final int depth;
+    private final double epsilon;
+    private final double delta;
+    private final int[] counts; // row-major, depth rows of width counters
+    private long total;
+
+    /**
+     * @param epsilon additive error as a fraction of the total count
+     * @param delta   probability that an estimate exceeds that error
+     */
+    public CountMinSketch(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("epsilon and delta must be in (0, 1)");
+        }
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counts = new int[width * depth];
+    }
+
+    /**
+     * Count one occurrence of the item.
+     * Time Complexity: O(depth)
+     */
+    public void add(String item) {
+        add(item, 1);
+    }
+
+    /**
+     * Count occurrences of the item.
+     * Time Complexity: O(depth)
+     */
+    public void add(String item, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be non-negative");
+        }
+        long hash = hash(item);
+        for (int row = 0; row < depth; row++) {
+            counts[row * width + column(hash, row)] += count;
+        }
+        total += count;
+    }
+
+    /**
+     * Upper bound on the item's count; see the class comment for the error.
+     * Time Complexity: O(depth)
+     */
+    public long estimate(String item) {
+        long hash = hash(item);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[row * width + column(hash, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * The item's estimate in the union of the sketches' streams, as if they had been
+     * merged first, without building the merged table. All sketches need the same dimensions.
+     * Time Complexity: O(S * depth) for S sketches
+     */
+    public static long estimate(Collection<CountMinSketch> sketches, String item) {
+        if (sketches.isEmpty()) {
+            return 0;
+        }
+        CountMinSketch first = sketches.iterator().next();
+        long hash = hash(item);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < first.depth; row++) {
+            long sum = 0;
+            for (CountMinSketch sketch : sketches) {
+                first.checkCompatible(sketch);
+                sum += sketch.counts[row * sketch.width + sketch.column(hash, row)];
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    /**
+     * Add another sketch's counts into this one.
+     * Time Complexity: O(depth * width)
+     *
+     * @throws IllegalArgumentException if the dimensions differ
+     */
+    public void merge(CountMinSketch other) {
+        checkCompatible(other);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    private void checkCompatible(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Sketch dimensions differ: " + depth + "x" + width
+                                               + " vs " + other.depth + "x" + other.width);
+        }
+    }
+
+    // 64-bit FNV-1a over the chars, finished with the murmur3 mixer; shared with HyperLogLog
+    static long hash(String item) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < item.length(); i++) {
+            hash = (hash ^ item.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    // Row hash h1 + row * h2 from the two halves of one 64-bit hash (Kirsch-Mitzenmacher)
+    private int column(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    /**
+     * Total count added (the N of the error bound).
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Additive error bound epsilon * N that estimates stay within with probability 1 - delta.
+     */
+    public double getErrorBound() {
+        return epsilon * total;
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    public double getDelta() {
+        return delta;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getSizeInBytes() {
+        return 48 + 16 + 4L * counts.length;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+}
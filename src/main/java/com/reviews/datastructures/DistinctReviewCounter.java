@@ -0,0 +1,243 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Unique reviewers and unique routes per airline and per month, from HyperLogLog sketches
+ * rather than exact sets of author strings.
+ *
+ * Every review updates its airline's sketch for its month, its airline's all-time sketch,
+ * and the global sketches for its month and all time. Any other figure is a register
+ * merge: an airline over a range of months, several airlines together, or every airline
+ * over a period, each with the single-sketch error of 1.04 / sqrt(2^precision) and no
+ * double counting of people who review in several months or airlines.
+ *
+ * Authors are matched ignoring case and spacing ("Paul  Staples" = "paul staples"); routes
+ * as in TrendingTracker. Month keys follow TimeBucketRollupIndex: year * 12 + month - 1.
+ *
+ * Plugs into the ingest path as a RingBufferIngestor sink. Not thread-safe.
+ *
+ * Time Complexities:
+ * - accept: O(1) per dimension (O(m / 8) while a sketch is sparse)
+ * - distinct over M months and A airlines: O(A * (log B + M * m))
+ * - all-time per airline or global: O(m)
+ *
+ * Space Complexity: O(A * B * min(distinct, m)) bytes for B months with reviews
+ */
+public class DistinctReviewCounter implements Consumer<ReviewRecord> {
+
+    /**
+     * Counted review fields.
+     */
+    public enum Dimension {
+        AUTHOR, ROUTE
+    }
+
+    /**
+     * Sketches of one airline and dimension.
+     */
+    private final class AirlineSketches {
+        final TreeMap<Integer, HyperLogLog> months = new TreeMap<>(); // key: year * 12 + month - 1
+        final HyperLogLog total = new HyperLogLog(precision);
+    }
+
+    private final int precision;
+    private final EnumMap<Dimension, Map<String, AirlineSketches>> airlines;
+    private final EnumMap<Dimension, HyperLogLog> global;
+    private final EnumMap<Dimension, TreeMap<Integer, HyperLogLog>> globalMonths;
+    private int totalReviews;
+
+    public DistinctReviewCounter() {
+        this(HyperLogLog.DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision HyperLogLog precision of every sketch (see HyperLogLog)
+     */
+    public DistinctReviewCounter(int precision) {
+        this.precision = precision;
+        this.airlines = new EnumMap<>(Dimension.class);
+        this.global = new EnumMap<>(Dimension.class);
+        this.globalMonths = new EnumMap<>(Dimension.class);
+        for (Dimension dimension : Dimension.values()) {
+            airlines.put(dimension, new HashMap<>());
+            global.put(dimension, new HyperLogLog(precision));
+            globalMonths.put(dimension, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Count the review's author and route.
+     * Time Complexity: O(1) per dimension
+     */
+    @Override
+    public void accept(ReviewRecord review) {
+        LocalDate date = ReviewDates.parseDate(review.getDate());
+        int month = monthKey(date.getYear(), date.getMonthValue());
+        for (Dimension dimension : Dimension.values()) {
+            String item = itemKey(dimension, value(dimension, review));
+            if (item.isEmpty()) {
+                continue;
+            }
+            AirlineSketches sketches = airlines.get(dimension).computeIfAbsent(review.getName(), a -> new AirlineSketches());
+            sketches.months.computeIfAbsent(month, key -> new HyperLogLog(precision)).add(item);
+            sketches.total.add(item);
+            global.get(dimension).add(item);
+            globalMonths.get(dimension).computeIfAbsent(month, key -> new HyperLogLog(precision)).add(item);
+        }
+        totalReviews++;
+    }
+
+    /**
+     * Count every review, in order.
+     */
+    public void addReviews(List<? extends ReviewRecord> reviews) {
+        for (ReviewRecord review : reviews) {
+            accept(review);
+        }
+    }
+
+    private static String value(Dimension dimension, ReviewRecord review) {
+        return dimension == Dimension.AUTHOR ? ReviewFields.author(review) : ReviewFields.route(review);
+    }
+
+    /**
+     * The key a value is counted under: the dimension, then lower-cased words separated by
+     * single spaces ("author:paul staples"; routes normalized as TrendingTracker counts
+     * them), so an author and a route with the same words never share a key. Empty for a
+     * missing value.
+     */
+    public static String itemKey(Dimension dimension, String value) {
+        String words = TrendingTracker.itemKey(TrendingTracker.Dimension.ROUTE, value);
+        return words.isEmpty() ? words : dimension.name().toLowerCase(Locale.ROOT) + ":" + words;
+    }
+
+    private static int monthKey(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    /**
+     * Estimated distinct values among the airline's reviews, all time.
+     * Time Complexity: O(m)
+     */
+    public long distinct(Dimension dimension, String airline) {
+        AirlineSketches sketches = airlines.get(dimension).get(airline);
+        return sketches == null ? 0 : sketches.total.estimate();
+    }
+
+    /**
+     * Estimated distinct values among the airline's reviews in months [from, to].
+     * Time Complexity: O(log B + M * m)
+     */
+    public long distinct(Dimension dimension, String airline, YearMonth from, YearMonth to) {
+        return sketch(dimension, Collections.singletonList(airline), from, to).estimate();
+    }
+
+    /**
+     * Estimated distinct values among the reviews of all the airlines in months [from, to],
+     * each value counted once however many airlines or months it appears in.
+     * Time Complexity: O(A * (log B + M * m))
+     */
+    public long distinct(Dimension dimension, Collection<String> airlineNames, YearMonth from, YearMonth to) {
+        return sketch(dimension, airlineNames, from, to).estimate();
+    }
+
+    /**
+     * Estimated distinct values across every review.
+     * Time Complexity: O(m)
+     */
+    public long distinctAll(Dimension dimension) {
+        return global.get(dimension).estimate();
+    }
+
+    /**
+     * Estimated distinct values of every airline, in months [from, to], from the global
+     * month sketches.
+     * Time Complexity: O(log B + M * m)
+     */
+    public long distinctAll(Dimension dimension, YearMonth from, YearMonth to) {
+        HyperLogLog union = new HyperLogLog(precision);
+        mergeMonths(union, globalMonths.get(dimension), from, to);
+        return union.estimate();
+    }
+
+    private static void mergeMonths(HyperLogLog union, TreeMap<Integer, HyperLogLog> months, YearMonth from, YearMonth to) {
+        int start = monthKey(from.getYear(), from.getMonthValue());
+        int end = monthKey(to.getYear(), to.getMonthValue());
+        if (start <= end) {
+            for (HyperLogLog month : months.subMap(start, true, end, true).values()) {
+                union.merge(month);
+            }
+        }
+    }
+
+    /**
+     * The merged sketch of the airlines over months [from, to], for further merging.
+     * Time Complexity: O(A * (log B + M * m))
+     */
+    public HyperLogLog sketch(Dimension dimension, Collection<String> airlineNames, YearMonth from, YearMonth to) {
+        HyperLogLog union = new HyperLogLog(precision);
+        for (String airline : airlineNames) {
+            AirlineSketches sketches = airlines.get(dimension).get(airline);
+            if (sketches != null) {
+                mergeMonths(union, sketches.months, from, to);
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Estimated distinct values per month of the airline, in month order.
+     * Time Complexity: O(B * m)
+     */
+    public Map<YearMonth, Long> monthlySeries(Dimension dimension, String airline) {
+        Map<YearMonth, Long> series = new LinkedHashMap<>();
+        AirlineSketches sketches = airlines.get(dimension).get(airline);
+        if (sketches != null) {
+            for (Map.Entry<Integer, HyperLogLog> entry : sketches.months.entrySet()) {
+                series.put(YearMonth.of(entry.getKey() / 12, entry.getKey() % 12 + 1), entry.getValue().estimate());
+            }
+        }
+        return series;
+    }
+
+    public Set<String> getAirlines(Dimension dimension) {
+        return Collections.unmodifiableSet(airlines.get(dimension).keySet());
+    }
+
+    public int getTotalReviews() {
+        return totalReviews;
+    }
+
+    /**
+     * Relative standard error of every estimate.
+     */
+    public double getRelativeStandardError() {
+        return global.get(Dimension.AUTHOR).getRelativeStandardError();
+    }
+
+    /**
+     * Bytes used by every sketch (estimated).
+     * Time Complexity: O(A * B)
+     */
+    public long getSizeInBytes() {
+        long bytes = 0;
+        for (Dimension dimension : Dimension.values()) {
+            bytes += global.get(dimension).getSizeInBytes();
+            for (HyperLogLog month : globalMonths.get(dimension).values()) {
+                bytes += 48 + month.getSizeInBytes();
+            }
+            for (AirlineSketches sketches : airlines.get(dimension).values()) {
+                bytes += sketches.total.getSizeInBytes() + 48L * sketches.months.size();
+                for (HyperLogLog month : sketches.months.values()) {
+                    bytes += month.getSizeInBytes();
+                }
+            }
+        }
+        return bytes;
+    }
+}
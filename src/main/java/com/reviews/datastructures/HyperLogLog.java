@@ -0,0 +1,271 @@
+package com.reviews.datastructures;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * HyperLogLog distinct counter: the number of distinct strings added, within a relative
+ * standard error of 1.04 / sqrt(m), in m = 2^precision one-byte registers.
+ *
+ * Each item's 64-bit hash picks a register by its top precision bits; the register keeps
+ * the longest run of leading zeros (plus one) seen in the remaining bits. The estimate uses
+ * Ertl's improved estimator over the register histogram, which needs neither the
+ * linear-counting switch nor empirical bias tables and is unbiased from 0 to billions.
+ *
+ * Small sketches start sparse: a sorted array of (register, value) pairs, which costs 4
+ * bytes per non-zero register, and turn dense once that would exceed m / 2 bytes. Sparse
+ * and dense sketches give identical estimates, so thousands of per-airline, per-month
+ * sketches with a handful of reviews each stay small.
+ *
+ * Sketches of the same precision merge by taking the larger of each register; the result
+ * is exactly the sketch of the combined stream, so unions across airlines and periods
+ * lose nothing beyond the sketch's own error. Adding an item twice changes nothing.
+ *
+ * Not thread-safe.
+ *
+ * Time Complexities:
+ * - add: O(1) dense, O(m / 8) worst case sparse
+ * - estimate: O(m)
+ * - merge: O(m)
+ *
+ * Space Complexity: O(min(distinct items, m)) bytes
+ */
+public class HyperLogLog {
+    /** Registers 2^12: 4 KB dense, 1.6% standard error. */
+    public static final int DEFAULT_PRECISION = 12;
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 18;
+    private static final int VALUE_BITS = 6;
+
+    private final int precision;
+    private final int m;
+    private byte[] registers;          // dense form, null while sparse
+    private int[] sparse = new int[4]; // sorted register << VALUE_BITS | value
+    private int sparseSize;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision log2 of the register count, 4 to 18
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be in [" + MIN_PRECISION + ", " + MAX_PRECISION + "]");
+        }
+        this.precision = precision;
+        this.m = 1 << precision;
+    }
+
+    /**
+     * Count the item (null is ignored).
+     * Time Complexity: O(1) dense, O(m / 8) sparse
+     */
+    public void add(String item) {
+        if (item == null) {
+            return;
+        }
+        long hash = CountMinSketch.hash(item);
+        int register = (int) (hash >>> (64 - precision));
+        // Leading zeros of the remaining bits, plus one; the guard bit caps it at 65 - precision
+        int value = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        update(register, value);
+    }
+
+    private void update(int register, int value) {
+        if (registers != null) {
+            if (registers[register] < value) {
+                registers[register] = (byte) value;
+            }
+            return;
+        }
+        int position = Arrays.binarySearch(sparse, 0, sparseSize, register << VALUE_BITS);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        if (position < sparseSize && sparse[position] >>> VALUE_BITS == register) {
+            if ((sparse[position] & ((1 << VALUE_BITS) - 1)) < value) {
+                sparse[position] = register << VALUE_BITS | value;
+            }
+            return;
+        }
+        if (sparseSize + 1 > m / 8) {
+            densify();
+            registers[register] = (byte) value;
+            return;
+        }
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(sparse.length * 2, m / 8));
+        }
+        System.arraycopy(sparse, position, sparse, position + 1, sparseSize - position);
+        sparse[position] = register << VALUE_BITS | value;
+        sparseSize++;
+    }
+
+    private void densify() {
+        registers = new byte[m];
+        for (int i = 0; i < sparseSize; i++) {
+            registers[sparse[i] >>> VALUE_BITS] = (byte) (sparse[i] & ((1 << VALUE_BITS) - 1));
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+
+    /**
+     * Estimated number of distinct items added.
+     * Time Complexity: O(m)
+     */
+    public long estimate() {
+        int q = 64 - precision;
+        int[] histogram = new int[q + 2];
+        if (registers != null) {
+            for (byte value : registers) {
+                histogram[value]++;
+            }
+        } else {
+            histogram[0] = m - sparseSize;
+            for (int i = 0; i < sparseSize; i++) {
+                histogram[sparse[i] & ((1 << VALUE_BITS) - 1)]++;
+            }
+        }
+        if (histogram[0] == m) {
+            return 0;
+        }
+        double z = m * tau(1 - (double) histogram[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += m * sigma((double) histogram[0] / m);
+        return Math.round(m * (double) m / (2 * Math.log(2)) / z);
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    /**
+     * Fold another sketch into this one: afterwards it is the sketch of both streams.
+     * Time Complexity: O(m)
+     *
+     * @throws IllegalArgumentException if the precisions differ
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Precisions differ: " + precision + " vs " + other.precision);
+        }
+        if (other.registers == null) {
+            for (int i = 0; i < other.sparseSize; i++) {
+                update(other.sparse[i] >>> VALUE_BITS, other.sparse[i] & ((1 << VALUE_BITS) - 1));
+            }
+            return;
+        }
+        if (registers == null) {
+            densify();
+        }
+        for (int i = 0; i < m; i++) {
+            if (registers[i] < other.registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * A new sketch of the union of the sketches' streams.
+     * Time Complexity: O(S * m) for S sketches
+     */
+    public static HyperLogLog union(Collection<HyperLogLog> sketches, int precision) {
+        HyperLogLog union = new HyperLogLog(precision);
+        for (HyperLogLog sketch : sketches) {
+            union.merge(sketch);
+        }
+        return union;
+    }
+
+    public HyperLogLog copy() {
+        HyperLogLog copy = new HyperLogLog(precision);
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Relative standard error of estimate(): 1.04 / sqrt(m).
+     */
+    public double getRelativeStandardError() {
+        return 1.04 / Math.sqrt(m);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public boolean isSparse() {
+        return registers == null;
+    }
+
+    /**
+     * Bytes used by the registers (or the sparse array) and the object.
+     */
+    public long getSizeInBytes() {
+        return 40 + (registers != null ? 16 + m : 16 + 4L * sparse.length);
+    }
+
+    /**
+     * Whether both sketches have the same precision and registers (and so estimates).
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HyperLogLog)) {
+            return false;
+        }
+        HyperLogLog other = (HyperLogLog) o;
+        return precision == other.precision && Arrays.equals(denseRegisters(), other.denseRegisters());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * precision + Arrays.hashCode(denseRegisters());
+    }
+
+    private byte[] denseRegisters() {
+        if (registers != null) {
+            return registers;
+        }
+        byte[] dense = new byte[m];
+        for (int i = 0; i < sparseSize; i++) {
+            dense[sparse[i] >>> VALUE_BITS] = (byte) (sparse[i] & ((1 << VALUE_BITS) - 1));
+        }
+        return dense;
+    }
+}
@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Baseline implementation using an ArrayList for storing reviews.
@@ -20,6 +21,8 @@ import java.util.stream.Collectors;
 public class LinearListReviewStore {
     private List<ReviewRecord> reviews;
     private DateTimeFormatter dateFormatter;
+    // Newest-first date index for the cursor API, built on first use (sequence = list index)
+    private NewestFirstIndex cursorIndex;
     
     public LinearListReviewStore() {
         this.reviews = new ArrayList<>();
@@ -27,15 +30,24 @@ public class LinearListReviewStore {
     }
     
     // Add a new review to the store.
-    // Time Complexity: O(1) amortized
+    // Time Complexity: O(1) amortized, O(log N) once the cursor index has been built
     public void addReview(ReviewRecord review) {
         reviews.add(review);
+        if (cursorIndex != null) {
+            cursorIndex.add(review, ReviewDates.toEpochDay(review.getDate()), reviews.size() - 1);
+        }
     }
     
     // Add multiple reviews at once.
-    // Time Complexity: O(m) where m is the number of reviews to add
+    // Time Complexity: O(m) where m is the number of reviews to add (O(m log N) with the cursor index)
     public void addReviews(List<ReviewRecord> newReviews) {
+        int first = reviews.size();
         reviews.addAll(newReviews);
+        if (cursorIndex != null) {
+            for (int i = first; i < reviews.size(); i++) {
+                cursorIndex.add(reviews.get(i), ReviewDates.toEpochDay(reviews.get(i).getDate()), i);
+            }
+        }
     }
     
     // Get the total number of reviews stored.
@@ -104,10 +116,10 @@ public class LinearListReviewStore {
             // Recent reviews (last 30 days): weight = 1.0
             return 1.0;
         } else if (reviewDate.isAfter(threeYearsAgo)) {
-            // Medium age reviews (30 days to 3 years): linear decay
-            long daysSinceThirtyDays = java.time.temporal.ChronoUnit.DAYS.between(thirtyDaysAgo, reviewDate);
+            // Medium age reviews (30 days to 3 years): linear decay from 1.0 to a floor of 0.1
+            long daysPastThirtyDays = java.time.temporal.ChronoUnit.DAYS.between(reviewDate, thirtyDaysAgo);
             long totalDays = java.time.temporal.ChronoUnit.DAYS.between(threeYearsAgo, thirtyDaysAgo);
-            return Math.max(0.1, 1.0 - (double) daysSinceThirtyDays / totalDays);
+            return Math.max(0.1, 1.0 - (double) daysPastThirtyDays / totalDays);
         } else {
             // Old reviews (3+ years): minimal weight
             return 0.05;
@@ -179,6 +191,9 @@ public class LinearListReviewStore {
      */
     public void clear() {
         reviews.clear();
+        if (cursorIndex != null) {
+            cursorIndex.clear();
+        }
     }
     
     /**
@@ -191,6 +206,70 @@ public class LinearListReviewStore {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Recency-biased average rating of every airline in one parallel pass.
+     * The list is split into index ranges; each range accumulates per-airline weighted sums
+     * on its own and the partial sums are merged, instead of one full scan per airline.
+     * Time Complexity: O(N / threads) instead of O(A * N)
+     */
+    public AirlineScores scoreAllAirlines() {
+        return scoreAllAirlines(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as scoreAllAirlines() on a caller-supplied pool.
+     */
+    public AirlineScores scoreAllAirlines(ForkJoinPool pool) {
+        ParallelRbar.Cutoffs cutoffs = new ParallelRbar.Cutoffs(LocalDate.now());
+        List<ReviewRecord> snapshot = reviews;
+        return AirlineScores.fromSums(ParallelRbar.sumRanges(pool, snapshot.size(), ParallelRbar.DEFAULT_LEAF_SIZE,
+                (from, to, sums) -> {
+                    for (int i = from; i < to; i++) {
+                        ReviewRecord review = snapshot.get(i);
+                        double weight = cutoffs.weight(ReviewDates.toEpochDay(review.getDate()));
+                        ParallelRbar.add(sums, review.getName(), review.getOverallRating(), weight);
+                    }
+                }));
+    }
+
+    /**
+     * Lazy newest-first cursor over every review; ties on a date keep insertion order,
+     * like getAllReviewsSortedByDate, without sorting the whole list per caller.
+     * Time Complexity: O(N log N) once to build the date index, then O(1) per step
+     */
+    public Iterator<ReviewRecord> iterateNewestFirst() {
+        return cursorIndex().iterator();
+    }
+
+    /**
+     * One page of the newest-first listing. Pass null for the first page, then the previous
+     * page's token; each page seeks straight to its start.
+     * Time Complexity: O(log N + pageSize) once the date index exists
+     */
+    public ReviewPage getReviewsNewestFirst(String pageToken, int pageSize) {
+        return cursorIndex().page(pageToken, pageSize);
+    }
+
+    private NewestFirstIndex cursorIndex() {
+        if (cursorIndex == null) {
+            NewestFirstIndex index = new NewestFirstIndex();
+            for (int i = 0; i < reviews.size(); i++) {
+                index.add(reviews.get(i), ReviewDates.toEpochDay(reviews.get(i).getDate()), i);
+            }
+            cursorIndex = index;
+        }
+        return cursorIndex;
+    }
+
+    /**
+     * Answer every query registered on the batch with one pass over the list,
+     * instead of one pass per query.
+     * Time Complexity: O(N log K) regardless of the number of queries
+     */
+    public void executeBatch(SharedScanBatch batch) {
+        batch.execute(reviews);
+    }
+    
     /**
      * Get statistics about the review store.
      */
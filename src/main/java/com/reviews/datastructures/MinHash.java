@@ -0,0 +1,122 @@
+package com.reviews.datastructures;
+
+import java.util.*;
+
+/**
+ * MinHash signatures of texts, for estimating the Jaccard similarity of their word
+ * shingles without comparing the texts.
+ *
+ * A text becomes the set of its k-word shingles (consecutive runs of k tokens, tokenized
+ * as by TextTokenizer), each hashed to 64 bits. Signature slot i is the minimum over the
+ * shingles of the i-th hash function, a multiply-shift hash (a_i * x + b_i) >>> 32 with
+ * random odd a_i. Two signatures agree in a slot with probability equal to the Jaccard
+ * similarity of the shingle sets, so the fraction of agreeing slots estimates it with
+ * standard error sqrt(J (1 - J) / numHashes).
+ *
+ * Signatures are only comparable between texts hashed by the same MinHash (same size and
+ * seed).
+ *
+ * Time Complexities:
+ * - signature: O(T * numHashes) for T tokens
+ * - similarity: O(numHashes)
+ *
+ * Space Complexity: O(numHashes)
+ */
+public class MinHash {
+    private final long[] multipliers;
+    private final long[] addends;
+
+    /**
+     * @param numHashes signature length
+     * @param seed      seed of the hash functions
+     */
+    public MinHash(int numHashes, long seed) {
+        if (numHashes < 1) {
+            throw new IllegalArgumentException("numHashes must be positive");
+        }
+        Random random = new Random(seed);
+        this.multipliers = new long[numHashes];
+        this.addends = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            addends[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * 64-bit hashes of the text's k-word shingles, in text order (repeats included). A text
+     * shorter than k words is one shingle; a text without words has none.
+     * Time Complexity: O(T)
+     */
+    public static long[] shingles(String text, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        List<String> tokens = TextTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return new long[0];
+        }
+        long[] tokenHashes = new long[tokens.size()];
+        for (int i = 0; i < tokenHashes.length; i++) {
+            tokenHashes[i] = CountMinSketch.hash(tokens.get(i));
+        }
+        int width = Math.min(k, tokenHashes.length);
+        long[] shingles = new long[tokenHashes.length - width + 1];
+        for (int start = 0; start < shingles.length; start++) {
+            long hash = 0;
+            for (int j = 0; j < width; j++) {
+                // Rotating by position keeps "a b c" and "c b a" apart
+                hash ^= Long.rotateLeft(tokenHashes[start + j], 21 * j);
+            }
+            shingles[start] = hash;
+        }
+        return shingles;
+    }
+
+    /**
+     * Signature of a set of shingle hashes (duplicates do not matter).
+     * Time Complexity: O(S * numHashes) for S shingles
+     */
+    public int[] signature(long[] shingles) {
+        int[] signature = new int[multipliers.length];
+        for (int i = 0; i < multipliers.length; i++) {
+            long multiplier = multipliers[i];
+            long addend = addends[i];
+            long min = Long.MAX_VALUE;
+            for (long shingle : shingles) {
+                min = Math.min(min, (multiplier * shingle + addend) >>> 32);
+            }
+            signature[i] = (int) min;
+        }
+        return signature;
+    }
+
+    /**
+     * Signature of the text's k-word shingles.
+     * Time Complexity: O(T * numHashes)
+     */
+    public int[] signature(String text, int k) {
+        return signature(shingles(text, k));
+    }
+
+    /**
+     * Estimated Jaccard similarity: the fraction of slots where the signatures agree.
+     * Time Complexity: O(numHashes)
+     */
+    public static double similarity(int[] a, int[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Signatures differ in length: " + a.length + " vs " + b.length);
+        }
+        int agree = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                agree++;
+            }
+        }
+        return (double) agree / a.length;
+    }
+
+    public int getNumHashes() {
+        return multipliers.length;
+    }
+}
@@ -0,0 +1,368 @@
+package com.reviews.datastructures;
+
+import java.util.*;
+
+/**
+ * Compact, immutable radix trie over names, mapping each name to a dense symbol id and
+ * answering prefix and autocomplete queries without touching the reviews.
+ *
+ * Names are matched case-insensitively: keys are lower-cased (Locale.ROOT) and names that
+ * only differ in case share one symbol, whose display name is the most-reviewed spelling.
+ * Symbol ids are the ranks of the keys in sorted order, so they are stable for a given set
+ * of names and prefix matches come out alphabetically as a contiguous id range.
+ *
+ * Layout: nodes are numbered breadth-first so each node's children are contiguous, and
+ * every node is a few int columns (label start, label length, first child, child count,
+ * symbol range) over one shared char[] of edge labels, instead of one object and map per
+ * node. Each node also keeps the TOP_COMPLETIONS heaviest symbols of its subtree, so
+ * top-N completion for small N is a walk down the prefix plus a copy.
+ *
+ * Time Complexities:
+ * - Build: O(K log K + total key length) for K names
+ * - Exact lookup / prefix descent: O(L log S) for prefix length L and alphabet fan-out S
+ * - Prefix matches: O(L log S + M) for M matches
+ * - Top-N completion: O(L log S + N) for N <= TOP_COMPLETIONS, else O(L log S + M log N)
+ *
+ * Space Complexity: O(K) nodes (at most 2K) plus the label characters
+ */
+public class NameTrie {
+    /** Completions precomputed per node. */
+    public static final int TOP_COMPLETIONS = 8;
+
+    private final String[] names;      // display name per symbol
+    private final String[] keys;       // lower-cased key per symbol, sorted
+    private final long[] weights;      // review count per symbol
+    private final char[] labels;
+    private final int[] labelStart;
+    private final int[] labelLength;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] symbol;        // symbol ending at this node, or -1
+    private final int[] rangeStart;    // symbols in the subtree are [rangeStart, rangeEnd)
+    private final int[] rangeEnd;
+    private final int[] topStart;      // offsets into topSymbols, topStart[node + 1] ends
+    private final int[] topSymbols;
+
+    /**
+     * Build a trie over the given names, each weighted by its review count.
+     */
+    public NameTrie(Map<String, Long> reviewCounts) {
+        // Fold names to keys; the most-reviewed spelling names the symbol
+        TreeMap<String, String> display = new TreeMap<>();
+        Map<String, Long> keyWeights = new HashMap<>();
+        Map<String, Long> displayWeights = new HashMap<>();
+        for (Map.Entry<String, Long> entry : reviewCounts.entrySet()) {
+            String name = entry.getKey();
+            long weight = entry.getValue();
+            String key = normalize(name);
+            if (key.isEmpty()) {
+                continue;
+            }
+            keyWeights.merge(key, weight, Long::sum);
+            String current = display.get(key);
+            if (current == null || weight > displayWeights.get(key)
+                || (weight == displayWeights.get(key) && name.compareTo(current) < 0)) {
+                display.put(key, name);
+                displayWeights.put(key, weight);
+            }
+        }
+        int count = display.size();
+        this.keys = display.keySet().toArray(new String[0]);
+        this.names = new String[count];
+        this.weights = new long[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = display.get(keys[i]);
+            weights[i] = keyWeights.get(keys[i]);
+        }
+
+        // Breadth-first build over sorted key ranges; a range's label is the longest prefix
+        // shared by its first and last key past the parent's depth
+        int capacity = Math.max(1, 2 * count);
+        int[] start = new int[capacity];
+        int[] length = new int[capacity];
+        int[] first = new int[capacity];
+        int[] children = new int[capacity];
+        int[] terminal = new int[capacity];
+        int[] from = new int[capacity];
+        int[] to = new int[capacity];
+        int[] depth = new int[capacity];
+        StringBuilder labelChars = new StringBuilder();
+        int nodes = 1;
+        from[0] = 0;
+        to[0] = count;
+        depth[0] = 0;
+        for (int node = 0; node < nodes; node++) {
+            int lo = from[node];
+            int hi = to[node];
+            int d = depth[node];
+            int end = d;
+            if (node > 0) {
+                end = d + 1;
+                String low = keys[lo];
+                String high = keys[hi - 1];
+                while (end < low.length() && end < high.length() && low.charAt(end) == high.charAt(end)) {
+                    end++;
+                }
+            }
+            start[node] = labelChars.length();
+            length[node] = end - d;
+            labelChars.append(keys.length == 0 ? "" : keys[lo], d, end);
+            terminal[node] = -1;
+            int next = lo;
+            if (next < hi && keys[next].length() == end) {
+                terminal[node] = next++;
+            }
+            first[node] = nodes;
+            while (next < hi) {
+                char c = keys[next].charAt(end);
+                int stop = next + 1;
+                while (stop < hi && keys[stop].charAt(end) == c) {
+                    stop++;
+                }
+                from[nodes] = next;
+                to[nodes] = stop;
+                depth[nodes] = end;
+                nodes++;
+                next = stop;
+            }
+            children[node] = nodes - first[node];
+        }
+        this.labels = labelChars.toString().toCharArray();
+        this.labelStart = Arrays.copyOf(start, nodes);
+        this.labelLength = Arrays.copyOf(length, nodes);
+        this.firstChild = Arrays.copyOf(first, nodes);
+        this.childCount = Arrays.copyOf(children, nodes);
+        this.symbol = Arrays.copyOf(terminal, nodes);
+        this.rangeStart = Arrays.copyOf(from, nodes);
+        this.rangeEnd = Arrays.copyOf(to, nodes);
+
+        // Top completions per node, merged bottom-up from the children's lists
+        int[][] top = new int[nodes][];
+        for (int node = nodes - 1; node >= 0; node--) {
+            List<Integer> candidates = new ArrayList<>();
+            if (symbol[node] >= 0) {
+                candidates.add(symbol[node]);
+            }
+            for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+                for (int s : top[child]) {
+                    candidates.add(s);
+                }
+            }
+            candidates.sort(this::heavierFirst);
+            int kept = Math.min(TOP_COMPLETIONS, candidates.size());
+            top[node] = new int[kept];
+            for (int i = 0; i < kept; i++) {
+                top[node][i] = candidates.get(i);
+            }
+        }
+        this.topStart = new int[nodes + 1];
+        int total = 0;
+        for (int node = 0; node < nodes; node++) {
+            topStart[node] = total;
+            total += top[node].length;
+        }
+        topStart[nodes] = total;
+        this.topSymbols = new int[total];
+        for (int node = 0; node < nodes; node++) {
+            System.arraycopy(top[node], 0, topSymbols, topStart[node], top[node].length);
+        }
+    }
+
+    /**
+     * Lower-cased key a name is stored and looked up under.
+     */
+    public static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Prefixes keep trailing spaces: "british " must not match "britishairways"
+    private static String prefixKey(String prefix) {
+        return prefix == null ? "" : prefix.stripLeading().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Number of symbols (distinct names after case folding).
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Symbol id of a name (case-insensitive), or -1 if it is not in the trie.
+     * Time Complexity: O(L log S)
+     */
+    public int symbolOf(String name) {
+        String key = normalize(name);
+        int[] found = descend(key);
+        if (found == null || found[1] != labelLength[found[0]]) {
+            return -1;
+        }
+        return symbol[found[0]];
+    }
+
+    /**
+     * Display name of a symbol.
+     */
+    public String nameOf(int symbolId) {
+        return names[symbolId];
+    }
+
+    /**
+     * Review count of a symbol.
+     */
+    public long weightOf(int symbolId) {
+        return weights[symbolId];
+    }
+
+    /**
+     * Number of names starting with the prefix.
+     * Time Complexity: O(L log S)
+     */
+    public int countPrefixMatches(String prefix) {
+        int[] found = descend(prefixKey(prefix));
+        return found == null ? 0 : rangeEnd[found[0]] - rangeStart[found[0]];
+    }
+
+    /**
+     * Every name starting with the prefix (case-insensitive), alphabetically by key.
+     * Time Complexity: O(L log S + M)
+     */
+    public List<String> prefixMatches(String prefix) {
+        int[] found = descend(prefixKey(prefix));
+        if (found == null) {
+            return new ArrayList<>();
+        }
+        List<String> result = new ArrayList<>(rangeEnd[found[0]] - rangeStart[found[0]]);
+        for (int s = rangeStart[found[0]]; s < rangeEnd[found[0]]; s++) {
+            result.add(names[s]);
+        }
+        return result;
+    }
+
+    /**
+     * The n most-reviewed names starting with the prefix, heaviest first (ties
+     * alphabetically by key).
+     * Time Complexity: O(L log S + n) for n <= TOP_COMPLETIONS, else O(L log S + M log n)
+     */
+    public List<String> complete(String prefix, int n) {
+        List<String> result = new ArrayList<>();
+        for (int s : completeSymbols(prefix, n)) {
+            result.add(names[s]);
+        }
+        return result;
+    }
+
+    /**
+     * Symbol ids of complete(prefix, n).
+     */
+    public int[] completeSymbols(String prefix, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be non-negative");
+        }
+        int[] found = descend(prefixKey(prefix));
+        if (found == null || n == 0) {
+            return new int[0];
+        }
+        int node = found[0];
+        int available = topStart[node + 1] - topStart[node];
+        if (n <= TOP_COMPLETIONS || available == rangeEnd[node] - rangeStart[node]) {
+            return Arrays.copyOfRange(topSymbols, topStart[node], topStart[node] + Math.min(n, available));
+        }
+        // Past the precomputed list: select from the whole symbol range
+        PriorityQueue<Integer> best = new PriorityQueue<>(n + 1, (a, b) -> heavierFirst(b, a));
+        for (int s = rangeStart[node]; s < rangeEnd[node]; s++) {
+            best.add(s);
+            if (best.size() > n) {
+                best.poll();
+            }
+        }
+        int[] result = new int[best.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = best.poll();
+        }
+        return result;
+    }
+
+    /**
+     * Bytes used by the trie's arrays and strings (object headers included, estimated).
+     * Time Complexity: O(K)
+     */
+    public long getMemoryBytes() {
+        long bytes = 16 + 2L * labels.length;
+        bytes += 7L * (16 + 4L * labelStart.length);   // seven int columns over the nodes
+        bytes += 2 * 16 + 4L * topStart.length + 4L * topSymbols.length;
+        bytes += 3 * 16 + 8L * weights.length + 2 * 4L * names.length;
+        for (int s = 0; s < names.length; s++) {
+            bytes += 40 + 2L * keys[s].length();
+            if (!names[s].equals(keys[s])) { // display spelling kept separately
+                bytes += 40 + 2L * names[s].length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Average bytes per symbol.
+     */
+    public double getBytesPerKey() {
+        return names.length == 0 ? 0.0 : (double) getMemoryBytes() / names.length;
+    }
+
+    public int getNodeCount() {
+        return labelStart.length;
+    }
+
+    private int heavierFirst(int a, int b) {
+        return weights[a] != weights[b] ? Long.compare(weights[b], weights[a]) : Integer.compare(a, b);
+    }
+
+    /**
+     * Walk down the key. Returns {node, characters of its label matched} for the deepest
+     * node reached once the key is used up, or null if the key leaves the trie.
+     */
+    private int[] descend(String key) {
+        if (names.length == 0) {
+            return null;
+        }
+        int node = 0;
+        int position = 0;
+        while (position < key.length()) {
+            int child = findChild(node, key.charAt(position));
+            if (child < 0) {
+                return null;
+            }
+            int matched = 0;
+            int labelEnd = labelStart[child] + labelLength[child];
+            for (int i = labelStart[child]; i < labelEnd && position < key.length(); i++) {
+                if (labels[i] != key.charAt(position)) {
+                    return null;
+                }
+                matched++;
+                position++;
+            }
+            node = child;
+            if (position == key.length()) {
+                return new int[] {node, matched};
+            }
+        }
+        return new int[] {node, labelLength[node]};
+    }
+
+    // Child of node whose label starts with c (binary search: children are sorted)
+    private int findChild(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char first = labels[labelStart[middle]];
+            if (first < c) {
+                low = middle + 1;
+            } else if (first > c) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+}
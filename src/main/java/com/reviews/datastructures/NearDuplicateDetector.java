@@ -0,0 +1,241 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Ingest-time stage that catches re-posted and near-identical reviews before they reach
+ * the store, so they are not counted twice in RBAR.
+ *
+ * Each review's content is shingled into 3-word shingles and given a MinHash signature of
+ * bands * rows slots. The signature is cut into bands; reviews whose signatures agree on
+ * every slot of at least one band land in the same bucket (LSH banding). Only bucket mates
+ * are compared, so a review is checked against a handful of candidates instead of every
+ * review seen: two reviews with Jaccard similarity J become candidates with probability
+ * 1 - (1 - J^rows)^bands, which with the defaults (20 bands of 5) is above 99.9% at
+ * J = 0.8 and about 0.02% at J = 0.1.
+ *
+ * A candidate whose estimated similarity reaches the threshold makes the review a
+ * duplicate of the most similar earlier review (its original), across airlines too: the
+ * Skytrax dumps post the same lounge review under several airlines. What happens next
+ * depends on the policy:
+ * - FLAG: the duplicate is recorded and still passed to the sink
+ * - MERGE: the duplicate is recorded against its original and not passed on
+ * Duplicates are never added to the buckets, so later copies match the original. Reviews
+ * without words in their content are passed on unchecked.
+ *
+ * Wraps the store's insert, e.g. new RingBufferIngestor(new NearDuplicateDetector(store::addReview)).
+ * Not thread-safe; the ring buffer's single applier thread is the intended caller.
+ *
+ * Time Complexities:
+ * - accept: O(T * bands * rows) for the signature, plus O(C * bands * rows) for C candidates
+ *
+ * Space Complexity: O(N * bands * rows) for N unique reviews
+ */
+public class NearDuplicateDetector implements Consumer<ReviewRecord> {
+    public static final int DEFAULT_BANDS = 20;
+    public static final int DEFAULT_ROWS = 5;
+    public static final double DEFAULT_THRESHOLD = 0.8;
+    public static final int SHINGLE_SIZE = 3;
+
+    /**
+     * What to do with a duplicate.
+     */
+    public enum Policy {
+        FLAG, MERGE
+    }
+
+    /**
+     * A review found to duplicate an earlier one.
+     */
+    public static final class Match {
+        public final ReviewRecord review;
+        public final ReviewRecord original;
+        public final double similarity; // estimated Jaccard similarity of the shingles
+
+        Match(ReviewRecord review, ReviewRecord original, double similarity) {
+            this.review = review;
+            this.original = original;
+            this.similarity = similarity;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s duplicates %s %s (%.2f)", review.getName(), review.getDate(),
+                                 original.getName(), original.getDate(), similarity);
+        }
+    }
+
+    private final Consumer<ReviewRecord> sink;
+    private final Policy policy;
+    private final double threshold;
+    private final int bands;
+    private final int rows;
+    private final MinHash minHash;
+    private final List<ReviewRecord> originals;
+    private final List<int[]> signatures;
+    private final List<Map<Long, List<Integer>>> buckets; // per band: band hash -> original ids
+    private final List<Match> matches;
+    private final Map<ReviewRecord, List<ReviewRecord>> merged;
+    private int totalReviews;
+    private long candidatesChecked;
+
+    public NearDuplicateDetector(Consumer<ReviewRecord> sink) {
+        this(sink, Policy.MERGE, DEFAULT_THRESHOLD, DEFAULT_BANDS, DEFAULT_ROWS);
+    }
+
+    /**
+     * @param sink      where unique reviews (and, under FLAG, duplicates too) are passed on
+     * @param policy    what to do with a duplicate
+     * @param threshold estimated Jaccard similarity at which a candidate is a duplicate
+     * @param bands     LSH bands; more bands find less similar candidates
+     * @param rows      signature slots per band; more rows make buckets more selective
+     */
+    public NearDuplicateDetector(Consumer<ReviewRecord> sink, Policy policy, double threshold, int bands, int rows) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("threshold must be in (0, 1]");
+        }
+        if (bands < 1 || rows < 1) {
+            throw new IllegalArgumentException("bands and rows must be positive");
+        }
+        this.sink = Objects.requireNonNull(sink, "sink");
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.threshold = threshold;
+        this.bands = bands;
+        this.rows = rows;
+        this.minHash = new MinHash(bands * rows, 0x5eed);
+        this.originals = new ArrayList<>();
+        this.signatures = new ArrayList<>();
+        this.buckets = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+        this.matches = new ArrayList<>();
+        this.merged = new IdentityHashMap<>();
+    }
+
+    /**
+     * Check the review against earlier ones, then pass it on unless it is a merged duplicate.
+     * Time Complexity: O(T * bands * rows) plus candidate checks
+     */
+    @Override
+    public void accept(ReviewRecord review) {
+        totalReviews++;
+        long[] shingles = MinHash.shingles(review.getContent(), SHINGLE_SIZE);
+        if (shingles.length == 0) {
+            sink.accept(review);
+            return;
+        }
+        int[] signature = minHash.signature(shingles);
+        long[] bandKeys = new long[bands];
+        int best = -1;
+        double bestSimilarity = 0;
+        Set<Integer> checked = new HashSet<>();
+        for (int band = 0; band < bands; band++) {
+            bandKeys[band] = bandKey(signature, band);
+            List<Integer> bucket = buckets.get(band).get(bandKeys[band]);
+            if (bucket == null) {
+                continue;
+            }
+            for (int candidate : bucket) {
+                if (!checked.add(candidate)) {
+                    continue;
+                }
+                candidatesChecked++;
+                double similarity = MinHash.similarity(signature, signatures.get(candidate));
+                if (similarity >= threshold && similarity > bestSimilarity) {
+                    best = candidate;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+
+        if (best >= 0) {
+            ReviewRecord original = originals.get(best);
+            matches.add(new Match(review, original, bestSimilarity));
+            if (policy == Policy.MERGE) {
+                merged.computeIfAbsent(original, r -> new ArrayList<>()).add(review);
+                return;
+            }
+        } else {
+            int id = originals.size();
+            originals.add(review);
+            signatures.add(signature);
+            for (int band = 0; band < bands; band++) {
+                buckets.get(band).computeIfAbsent(bandKeys[band], key -> new ArrayList<>(1)).add(id);
+            }
+        }
+        sink.accept(review);
+    }
+
+    /**
+     * Check and pass on every review, in order.
+     */
+    public void addReviews(List<? extends ReviewRecord> reviews) {
+        for (ReviewRecord review : reviews) {
+            accept(review);
+        }
+    }
+
+    // Hash of the band's slots; buckets are per band, so equal slots in different bands never mix
+    private long bandKey(int[] signature, int band) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            hash = (hash ^ signature[i]) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Every duplicate found so far, in arrival order.
+     */
+    public List<Match> getMatches() {
+        return Collections.unmodifiableList(matches);
+    }
+
+    /**
+     * Duplicates merged into the given original (empty under FLAG or if none).
+     * Time Complexity: O(1)
+     */
+    public List<ReviewRecord> getMerged(ReviewRecord original) {
+        return Collections.unmodifiableList(merged.getOrDefault(original, Collections.emptyList()));
+    }
+
+    /**
+     * Probability that two reviews with the given Jaccard similarity share a bucket.
+     * Time Complexity: O(1)
+     */
+    public double candidateProbability(double similarity) {
+        return 1 - Math.pow(1 - Math.pow(similarity, rows), bands);
+    }
+
+    public int getTotalReviews() {
+        return totalReviews;
+    }
+
+    public int getDuplicateCount() {
+        return matches.size();
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Detector statistics: reviews seen, unique reviews, duplicates, candidate comparisons.
+     * Time Complexity: O(1)
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("reviews", totalReviews);
+        metrics.put("unique", originals.size());
+        metrics.put("duplicates", matches.size());
+        metrics.put("candidatesChecked", candidatesChecked);
+        metrics.put("policy", policy.name());
+        metrics.put("threshold", threshold);
+        metrics.put("bands", bands);
+        metrics.put("rows", rows);
+        return metrics;
+    }
+}
@@ -0,0 +1,122 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Newest-first date index behind the cursor API of stores that have no date order of their own.
+ * Reviews are kept in a skip list keyed by (epochDay descending, sequence ascending), packed
+ * into one long like RecencySkipListIndex, so ties on a date come out in the order the store
+ * numbered them and a page token resumes with one O(log N) seek.
+ *
+ * The skip list is concurrent, so stores whose writers run in parallel can add to it
+ * without extra locking; iteration is weakly consistent and never blocks writers.
+ *
+ * Time Complexities:
+ * - add: O(log N) expected
+ * - page: O(log N + pageSize)
+ *
+ * Space Complexity: O(N), one skip list entry per review
+ */
+public class NewestFirstIndex {
+    private static final long MAX_SEQUENCE = 0xFFFFFFFFL;
+
+    private final ConcurrentSkipListMap<Long, ReviewRecord> entries;
+    private volatile int generation;
+
+    public NewestFirstIndex() {
+        this.entries = new ConcurrentSkipListMap<>();
+        this.generation = ThreadLocalRandom.current().nextInt();
+    }
+
+    /**
+     * Index a review under the store's sequence number for it (unique per review, < 2^32).
+     * Time Complexity: O(log N) expected
+     */
+    public void add(ReviewRecord review, int epochDay, long sequence) {
+        if (sequence < 0 || sequence > MAX_SEQUENCE) {
+            throw new IllegalStateException("Cursor sequence out of range: " + sequence);
+        }
+        entries.put(key(epochDay, sequence), review);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop every entry and invalidate every token issued so far.
+     * Time Complexity: O(N)
+     */
+    public void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Lazy newest-first iterator over every indexed review.
+     * Time Complexity: O(1) to create, O(1) per step
+     */
+    public Iterator<ReviewRecord> iterator() {
+        return Collections.unmodifiableCollection(entries.values()).iterator();
+    }
+
+    /**
+     * Lazy newest-first iterator that starts right after the review a page token points at.
+     * Time Complexity: O(log N) to create, O(1) per step
+     */
+    public Iterator<ReviewRecord> iteratorAfter(String pageToken) {
+        if (pageToken == null) {
+            return iterator();
+        }
+        return Collections.unmodifiableCollection(entries.tailMap(seekKey(pageToken), false).values()).iterator();
+    }
+
+    /**
+     * Up to pageSize reviews, newest first, starting after pageToken (null for the first page).
+     * Time Complexity: O(log N + pageSize)
+     */
+    public ReviewPage page(String pageToken, int pageSize) {
+        ReviewPage.checkPageSize(pageSize);
+        Map<Long, ReviewRecord> tail = entries;
+        if (pageToken != null) {
+            tail = entries.tailMap(seekKey(pageToken), false);
+        }
+        List<ReviewRecord> reviews = new ArrayList<>(pageSize);
+        long lastKey = 0;
+        boolean more = false;
+        for (Map.Entry<Long, ReviewRecord> entry : tail.entrySet()) {
+            if (reviews.size() == pageSize) {
+                more = true;
+                break;
+            }
+            reviews.add(entry.getValue());
+            lastKey = entry.getKey();
+        }
+        String next = more ? ReviewPage.encodeToken(generation, epochDayOf(lastKey), sequenceOf(lastKey)) : null;
+        return new ReviewPage(reviews, next);
+    }
+
+    // Key of the review a token points at
+    private long seekKey(String pageToken) {
+        ReviewPage.Position position = ReviewPage.decodeToken(pageToken, generation);
+        if (position.tiebreak < 0 || position.tiebreak > MAX_SEQUENCE) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+        return key(position.epochDay, position.tiebreak);
+    }
+
+    private static long key(long epochDay, long sequence) {
+        return (-epochDay << 32) | sequence;
+    }
+
+    private static int epochDayOf(long key) {
+        return (int) -(key >> 32);
+    }
+
+    private static long sequenceOf(long key) {
+        return key & MAX_SEQUENCE;
+    }
+}
@@ -0,0 +1,763 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Off-heap implementation for storing reviews.
+ * Each review becomes one fixed-width slot in direct (off-heap) memory, and the review
+ * text goes into a separate off-heap body arena. The per-airline and per-day indexes are
+ * intrusive: every slot stores the previous slot of the same airline and of the same day,
+ * so the only heap structures are the name dictionaries and one int per distinct day.
+ * Inserting therefore allocates no per-review heap objects once the segments exist.
+ *
+ * Slot layout (SLOT_BYTES = 48, little-endian):
+ * - 0  airlineId int      - 4  epochDay int       - 8  overallRating float
+ * - 12 subRatings[8] byte (tenths, 0 = not rated)
+ * - 20 flags byte (bit 0 = recommended)            - 21 cabin byte  - 22 traveller byte
+ * - 24 countryId int      - 28 prevInAirline int  - 32 prevSameDay int
+ * - 36 bodyLength int     - 40 bodyOffset long
+ *
+ * Time Complexities:
+ * - Insert: O(1) amortized
+ * - Top-k Recent Retrieval: O(n_a log k) walking the airline chain
+ * - Recency-Biased Average Rating: O(n_a) walking the airline chain
+ * - Search by airline: O(n_a)
+ * - Date range: O(days in range + reviews returned)
+ *
+ * Space Complexity: O(N) off-heap (48 bytes per review plus UTF-8 text), O(A + D) on heap
+ */
+public class OffHeapReviewStore {
+    public static final int SLOT_BYTES = 48;
+
+    private static final int OFF_AIRLINE = 0;
+    private static final int OFF_EPOCH_DAY = 4;
+    private static final int OFF_RATING = 8;
+    private static final int OFF_SUB_RATINGS = 12;
+    private static final int OFF_FLAGS = 20;
+    private static final int OFF_CABIN = 21;
+    private static final int OFF_TRAVELLER = 22;
+    private static final int OFF_COUNTRY = 24;
+    private static final int OFF_PREV_AIRLINE = 28;
+    private static final int OFF_PREV_DAY = 32;
+    private static final int OFF_BODY_LENGTH = 36;
+    private static final int OFF_BODY_OFFSET = 40;
+
+    private static final int NO_SLOT = -1;
+
+    private final int slotsPerSegmentShift;
+    private final int slotsPerSegment;
+    private final int bodySegmentBytes;
+
+    private final List<ByteBuffer> slotSegments;
+    private final List<ByteBuffer> bodySegments;
+    private int size;
+    private long bodyBytesUsed;
+
+    // Per-airline chain heads and counts, indexed by airline id
+    private int[] airlineHeads;
+    private int[] airlineCounts;
+
+    // Per-day chain heads, indexed by epochDay - dayBase
+    private int[] dayHeads;
+    private int dayBase;
+    private int minEpochDay;
+    private int maxEpochDay;
+
+    // Bumped by clear() so page tokens from before it are rejected
+    private int cursorGeneration = new Random().nextInt();
+
+    private final Dictionary airlines;
+    private final Dictionary countries;
+    private final Dictionary cabins;
+    private final Dictionary travellers;
+
+    /**
+     * Create a store with 1M-slot (48 MB) segments and 64 MB body segments.
+     */
+    public OffHeapReviewStore() {
+        this(20, 64 << 20);
+    }
+
+    /**
+     * Create a store with custom segment sizes.
+     * @param slotsPerSegmentShift log2 of the number of slots per off-heap segment
+     * @param bodySegmentBytes size of each off-heap text segment in bytes
+     */
+    public OffHeapReviewStore(int slotsPerSegmentShift, int bodySegmentBytes) {
+        if ((long) SLOT_BYTES << slotsPerSegmentShift > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Slot segment too large: 2^" + slotsPerSegmentShift + " slots");
+        }
+        this.slotsPerSegmentShift = slotsPerSegmentShift;
+        this.slotsPerSegment = 1 << slotsPerSegmentShift;
+        this.bodySegmentBytes = bodySegmentBytes;
+        this.slotSegments = new ArrayList<>();
+        this.bodySegments = new ArrayList<>();
+        this.airlines = new Dictionary();
+        this.countries = new Dictionary();
+        this.cabins = new Dictionary();
+        this.travellers = new Dictionary();
+        clear();
+    }
+
+    /**
+     * Add a new review to the store.
+     * Time Complexity: O(1) amortized
+     */
+    public void addReview(ReviewRecord review) {
+        int slot = size;
+        if ((slot >>> slotsPerSegmentShift) >= slotSegments.size()) {
+            slotSegments.add(allocate((long) SLOT_BYTES * slotsPerSegment));
+        }
+        ByteBuffer segment = slotSegments.get(slot >>> slotsPerSegmentShift);
+        int base = (slot & (slotsPerSegment - 1)) * SLOT_BYTES;
+        // The body goes first: nothing is interned or written to the slot if it fails
+        byte[] body = bodyBytes(review.getContent());
+        long bodyOffset = appendBody(body);
+
+        int id = airlines.intern(review.getName());
+        int day = ReviewDates.toEpochDay(review.getDate());
+        if (id >= airlineHeads.length) {
+            int oldLength = airlineHeads.length;
+            airlineHeads = Arrays.copyOf(airlineHeads, oldLength * 2);
+            Arrays.fill(airlineHeads, oldLength, airlineHeads.length, NO_SLOT);
+            airlineCounts = Arrays.copyOf(airlineCounts, oldLength * 2);
+        }
+        int dayIndex = ensureDay(day);
+
+        segment.putInt(base + OFF_AIRLINE, id);
+        segment.putInt(base + OFF_EPOCH_DAY, day);
+        segment.putFloat(base + OFF_RATING, (float) review.getOverallRating());
+        double[] subRatings = ReviewFields.subRatings(review);
+        for (int i = 0; i < ReviewFields.MAX_SUB_RATINGS; i++) {
+            byte tenths = i < subRatings.length ? (byte) Math.round(subRatings[i] * 10.0) : 0;
+            segment.put(base + OFF_SUB_RATINGS + i, tenths);
+        }
+        segment.put(base + OFF_FLAGS, (byte) (ReviewFields.recommended(review) == 1 ? 1 : 0));
+        segment.put(base + OFF_CABIN, (byte) cabins.internSmall(ReviewFields.cabinFlown(review)));
+        segment.put(base + OFF_TRAVELLER, (byte) travellers.internSmall(ReviewFields.typeTraveller(review)));
+        segment.putInt(base + OFF_COUNTRY, countries.intern(review.getCountry()));
+        segment.putInt(base + OFF_PREV_AIRLINE, airlineHeads[id]);
+        segment.putInt(base + OFF_PREV_DAY, dayHeads[dayIndex]);
+        segment.putInt(base + OFF_BODY_LENGTH, body.length);
+        segment.putLong(base + OFF_BODY_OFFSET, bodyOffset);
+
+        airlineHeads[id] = slot;
+        airlineCounts[id]++;
+        dayHeads[dayIndex] = slot;
+        minEpochDay = Math.min(minEpochDay, day);
+        maxEpochDay = Math.max(maxEpochDay, day);
+        size++;
+    }
+
+    /**
+     * Add multiple reviews at once.
+     * Time Complexity: O(m) amortized where m is the number of reviews to add
+     */
+    public void addReviews(List<ReviewRecord> newReviews) {
+        for (ReviewRecord review : newReviews) {
+            addReview(review);
+        }
+    }
+
+    /**
+     * Get the total number of reviews stored.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieve the k most recent reviews for a specific airline.
+     * Ties on the same date keep insertion order, like the stable sort of the other stores.
+     * Time Complexity: O(n_a log k)
+     */
+    public List<ReviewRecord> getTopKRecentReviews(String airlineName, int k) {
+        int id = airlines.lookup(airlineName);
+        if (id < 0 || k <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Min-heap on (epochDay asc, slot desc): the root is the worst slot kept so far
+        int[] heap = new int[Math.min(k, airlineCounts[id])];
+        int heapSize = 0;
+        for (int slot = airlineHeads[id]; slot != NO_SLOT; slot = getInt(slot, OFF_PREV_AIRLINE)) {
+            if (heapSize < heap.length) {
+                heap[heapSize] = slot;
+                siftUp(heap, heapSize++);
+            } else if (worse(heap[0], slot)) {
+                heap[0] = slot;
+                siftDown(heap, heapSize);
+            }
+        }
+
+        Integer[] ordered = new Integer[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            ordered[i] = heap[i];
+        }
+        Arrays.sort(ordered, (a, b) -> worse(a, b) ? 1 : (worse(b, a) ? -1 : 0));
+
+        List<ReviewRecord> result = new ArrayList<>(heapSize);
+        for (int slot : ordered) {
+            result.add(materialize(slot));
+        }
+        return result;
+    }
+
+    private boolean worse(int slotA, int slotB) {
+        int dayA = getInt(slotA, OFF_EPOCH_DAY);
+        int dayB = getInt(slotB, OFF_EPOCH_DAY);
+        return dayA < dayB || (dayA == dayB && slotA > slotB);
+    }
+
+    private void siftUp(int[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!worse(heap[index], heap[parent])) {
+                break;
+            }
+            int tmp = heap[index];
+            heap[index] = heap[parent];
+            heap[parent] = tmp;
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int heapSize) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            int right = left + 1;
+            int smallest = index;
+            if (left < heapSize && worse(heap[left], heap[smallest])) {
+                smallest = left;
+            }
+            if (right < heapSize && worse(heap[right], heap[smallest])) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            int tmp = heap[index];
+            heap[index] = heap[smallest];
+            heap[smallest] = tmp;
+            index = smallest;
+        }
+    }
+
+    /**
+     * Calculate Recency-Biased Average Rating (RB-AR) for a specific airline.
+     * Reads only the epoch day and rating of each slot; allocates nothing per review.
+     * Time Complexity: O(n_a)
+     */
+    public double calculateRecencyBiasedAverageRating(String airlineName) {
+        int id = airlines.lookup(airlineName);
+        if (id < 0) {
+            return 0.0;
+        }
+
+        LocalDate now = LocalDate.now();
+        long thirtyDaysAgo = ReviewDates.thirtyDaysBefore(now).toEpochDay();
+        long threeYearsAgo = ReviewDates.threeYearsBefore(now).toEpochDay();
+
+        double weightedSum = 0.0;
+        double totalWeight = 0.0;
+        for (int slot = airlineHeads[id]; slot != NO_SLOT; slot = getInt(slot, OFF_PREV_AIRLINE)) {
+            double weight = ReviewDates.recencyWeight(getInt(slot, OFF_EPOCH_DAY), thirtyDaysAgo, threeYearsAgo);
+            weightedSum += getFloat(slot, OFF_RATING) * weight;
+            totalWeight += weight;
+        }
+
+        return totalWeight > 0 ? weightedSum / totalWeight : 0.0;
+    }
+
+    /**
+     * Get all reviews for a specific airline, in insertion order.
+     * Time Complexity: O(n_a)
+     */
+    public List<ReviewRecord> getReviewsByAirline(String airlineName) {
+        int id = airlines.lookup(airlineName);
+        if (id < 0) {
+            return new ArrayList<>();
+        }
+
+        ReviewRecord[] result = new ReviewRecord[airlineCounts[id]];
+        int index = result.length;
+        for (int slot = airlineHeads[id]; slot != NO_SLOT; slot = getInt(slot, OFF_PREV_AIRLINE)) {
+            result[--index] = materialize(slot);
+        }
+        return new ArrayList<>(Arrays.asList(result));
+    }
+
+    /**
+     * Get all unique airline names in the store.
+     * Time Complexity: O(A)
+     */
+    public Set<String> getAllAirlines() {
+        Set<String> result = new HashSet<>();
+        for (int id = 1; id < airlines.size(); id++) {
+            if (airlineCounts[id] > 0) {
+                result.add(airlines.name(id));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get reviews within a specific date range, most recent first.
+     * Time Complexity: O(days in range + reviews returned)
+     */
+    public List<ReviewRecord> getReviewsInDateRange(LocalDate startDate, LocalDate endDate) {
+        List<ReviewRecord> result = new ArrayList<>();
+        collectDays((int) startDate.toEpochDay(), (int) endDate.toEpochDay(), result);
+        return result;
+    }
+
+    /**
+     * Count reviews within a date range without materializing them.
+     * Time Complexity: O(days in range + reviews counted)
+     */
+    public int countReviewsInDateRange(LocalDate startDate, LocalDate endDate) {
+        int from = Math.max((int) startDate.toEpochDay(), minEpochDay);
+        int to = Math.min((int) endDate.toEpochDay(), maxEpochDay);
+        int count = 0;
+        for (int day = from; day <= to; day++) {
+            for (int slot = dayHeads[day - dayBase]; slot != NO_SLOT; slot = getInt(slot, OFF_PREV_DAY)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Walk day chains from endDay down to startDay. Each chain is newest-insert-first, so
+     * it is reversed to keep insertion order among reviews of the same day.
+     */
+    private void collectDays(int startDay, int endDay, List<ReviewRecord> result) {
+        int from = Math.max(startDay, minEpochDay);
+        int to = Math.min(endDay, maxEpochDay);
+        int[] daySlots = new int[16];
+        for (int day = to; day >= from; day--) {
+            int count = 0;
+            for (int slot = dayHeads[day - dayBase]; slot != NO_SLOT; slot = getInt(slot, OFF_PREV_DAY)) {
+                if (count == daySlots.length) {
+                    daySlots = Arrays.copyOf(daySlots, count * 2);
+                }
+                daySlots[count++] = slot;
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                result.add(materialize(daySlots[i]));
+            }
+        }
+    }
+
+    /**
+     * Clear all reviews from the store.
+     * The off-heap segments are kept and reused by later inserts.
+     * Time Complexity: O(A + D)
+     */
+    public void clear() {
+        size = 0;
+        bodyBytesUsed = 0;
+        airlines.clear();
+        countries.clear();
+        cabins.clear();
+        travellers.clear();
+        airlineHeads = new int[16];
+        Arrays.fill(airlineHeads, NO_SLOT);
+        airlineCounts = new int[16];
+        dayHeads = new int[0];
+        dayBase = 0;
+        minEpochDay = Integer.MAX_VALUE;
+        maxEpochDay = Integer.MIN_VALUE;
+        cursorGeneration++;
+    }
+
+    /**
+     * Get all reviews sorted by date (most recent first).
+     * The day index is already ordered, so no sort is needed.
+     * Time Complexity: O(D + N)
+     */
+    public List<ReviewRecord> getAllReviewsSortedByDate() {
+        List<ReviewRecord> result = new ArrayList<>(size);
+        if (size > 0) {
+            collectDays(minEpochDay, maxEpochDay, result);
+        }
+        return result;
+    }
+
+    /**
+     * Lazy newest-first cursor over every review, walking the day index from the newest day
+     * down (ties in insertion order); only the current day's slots are buffered.
+     * Time Complexity: O(1) to create, O(1) amortized per step plus empty days skipped
+     */
+    public Iterator<ReviewRecord> iterateNewestFirst() {
+        return new DayCursor(maxEpochDay, -1);
+    }
+
+    /**
+     * One page of the newest-first listing. Pass null for the first page, then the previous
+     * page's token; the token's (epochDay, slot) leads straight to the right day chain.
+     * Time Complexity: O(reviews on the token's day + pageSize + empty days skipped)
+     */
+    public ReviewPage getReviewsNewestFirst(String pageToken, int pageSize) {
+        ReviewPage.checkPageSize(pageSize);
+        DayCursor cursor;
+        if (pageToken == null) {
+            cursor = new DayCursor(maxEpochDay, -1);
+        } else {
+            ReviewPage.Position position = ReviewPage.decodeToken(pageToken, cursorGeneration);
+            if (position.tiebreak < 0 || position.tiebreak > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Malformed page token");
+            }
+            cursor = new DayCursor(position.epochDay, (int) position.tiebreak);
+        }
+        List<ReviewRecord> reviews = new ArrayList<>(pageSize);
+        int lastSlot = NO_SLOT;
+        while (reviews.size() < pageSize && cursor.hasNext()) {
+            lastSlot = cursor.nextSlot();
+            reviews.add(materialize(lastSlot));
+        }
+        String next = cursor.hasNext()
+                      ? ReviewPage.encodeToken(cursorGeneration, getInt(lastSlot, OFF_EPOCH_DAY), lastSlot) : null;
+        return new ReviewPage(reviews, next);
+    }
+
+    /**
+     * Walks days downward from startDay; on startDay itself only slots after afterSlot.
+     * Each day chain is newest-insert-first, so a day's slots are buffered and replayed
+     * in reverse to keep insertion order.
+     */
+    private final class DayCursor implements Iterator<ReviewRecord> {
+        private int day;
+        private int[] daySlots;
+        private int remaining;
+
+        DayCursor(int startDay, int afterSlot) {
+            this.daySlots = new int[16];
+            this.day = Math.min(startDay, maxEpochDay);
+            if (size > 0 && day >= minEpochDay) {
+                // afterSlot only applies if startDay is a real day of the index
+                load(day == startDay ? afterSlot : -1);
+            } else {
+                this.day = minEpochDay - 1;
+            }
+            advance();
+        }
+
+        // Buffer the slots of the current day that come after afterSlot
+        private void load(int afterSlot) {
+            remaining = 0;
+            for (int slot = dayHeads[day - dayBase]; slot != NO_SLOT && slot > afterSlot;
+                 slot = getInt(slot, OFF_PREV_DAY)) {
+                if (remaining == daySlots.length) {
+                    daySlots = Arrays.copyOf(daySlots, remaining * 2);
+                }
+                daySlots[remaining++] = slot;
+            }
+        }
+
+        // Move to the next day with buffered slots
+        private void advance() {
+            while (remaining == 0 && day > minEpochDay) {
+                day--;
+                load(-1);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        int nextSlot() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            int slot = daySlots[--remaining];
+            advance();
+            return slot;
+        }
+
+        @Override
+        public ReviewRecord next() {
+            return materialize(nextSlot());
+        }
+    }
+
+    /**
+     * Recency-biased average rating of every airline in one parallel pass over the slots.
+     * Workers only use absolute reads of the slot buffers, so they share no buffer state.
+     * Time Complexity: O(N / threads + A)
+     */
+    public AirlineScores scoreAllAirlines() {
+        return scoreAllAirlines(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as scoreAllAirlines() on a caller-supplied pool.
+     */
+    public AirlineScores scoreAllAirlines(ForkJoinPool pool) {
+        ParallelRbar.Cutoffs cutoffs = new ParallelRbar.Cutoffs(LocalDate.now());
+        String[] names = new String[airlines.size()];
+        for (int id = 1; id < names.length; id++) {
+            names[id] = airlines.name(id);
+        }
+        double[] sums = ParallelRbar.sumIdRanges(pool, size, names.length, 1 << 16, (from, to, partial) -> {
+            for (int slot = from; slot < to; slot++) {
+                ParallelRbar.add(partial, getInt(slot, OFF_AIRLINE), getFloat(slot, OFF_RATING),
+                                 cutoffs.weight(getInt(slot, OFF_EPOCH_DAY)));
+            }
+        });
+        return AirlineScores.fromIdSums(names, sums);
+    }
+
+    /**
+     * Get statistics about the review store.
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalReviews", size);
+        stats.put("uniqueAirlines", getAllAirlines().size());
+        stats.put("offHeapSlotBytes", (long) size * SLOT_BYTES);
+        stats.put("offHeapBodyBytes", bodyBytesUsed);
+        stats.put("offHeapReservedBytes", getReservedOffHeapBytes());
+        if (size > 0) {
+            stats.put("oldestReview", LocalDate.ofEpochDay(minEpochDay));
+            stats.put("newestReview", LocalDate.ofEpochDay(maxEpochDay));
+        }
+        return stats;
+    }
+
+    /**
+     * Total direct memory reserved by slot and body segments.
+     */
+    public long getReservedOffHeapBytes() {
+        long bytes = 0;
+        for (ByteBuffer segment : slotSegments) {
+            bytes += segment.capacity();
+        }
+        for (ByteBuffer segment : bodySegments) {
+            bytes += segment.capacity();
+        }
+        return bytes;
+    }
+
+    // ---- slot access -------------------------------------------------------------------
+
+    private int getInt(int slot, int field) {
+        return slotSegments.get(slot >>> slotsPerSegmentShift)
+                .getInt((slot & (slotsPerSegment - 1)) * SLOT_BYTES + field);
+    }
+
+    private float getFloat(int slot, int field) {
+        return slotSegments.get(slot >>> slotsPerSegmentShift)
+                .getFloat((slot & (slotsPerSegment - 1)) * SLOT_BYTES + field);
+    }
+
+    private byte getByte(int slot, int field) {
+        return slotSegments.get(slot >>> slotsPerSegmentShift)
+                .get((slot & (slotsPerSegment - 1)) * SLOT_BYTES + field);
+    }
+
+    private long getLong(int slot, int field) {
+        return slotSegments.get(slot >>> slotsPerSegmentShift)
+                .getLong((slot & (slotsPerSegment - 1)) * SLOT_BYTES + field);
+    }
+
+    /**
+     * Grow the day index so that it covers the given epoch day.
+     * @return the index of the day in dayHeads
+     */
+    private int ensureDay(int day) {
+        if (dayHeads.length == 0) {
+            dayBase = day - 256;
+            dayHeads = new int[512];
+            Arrays.fill(dayHeads, NO_SLOT);
+        } else if (day < dayBase || day >= dayBase + dayHeads.length) {
+            int newBase = Math.min(dayBase, day - 256);
+            int newEnd = Math.max(dayBase + dayHeads.length, day + 256);
+            int[] grown = new int[newEnd - newBase];
+            Arrays.fill(grown, NO_SLOT);
+            System.arraycopy(dayHeads, 0, grown, dayBase - newBase, dayHeads.length);
+            dayHeads = grown;
+            dayBase = newBase;
+        }
+        return day - dayBase;
+    }
+
+    /**
+     * The content's UTF-8 bytes, truncated to one body segment on a code-point boundary.
+     */
+    private byte[] bodyBytes(String content) {
+        byte[] bytes = content != null ? content.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (bytes.length <= bodySegmentBytes) {
+            return bytes;
+        }
+        int length = bodySegmentBytes;
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--; // back off continuation bytes to the start of the split character
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+
+    /**
+     * Append the bytes to the body arena, starting a new segment when they do not fit in
+     * the current one (a body never spans two segments).
+     * @return the arena offset of the body
+     */
+    private long appendBody(byte[] bytes) {
+        long offsetInSegment = bodyBytesUsed % bodySegmentBytes;
+        if (offsetInSegment + bytes.length > bodySegmentBytes) {
+            bodyBytesUsed += bodySegmentBytes - offsetInSegment; // skip the tail of the segment
+        }
+        int segmentIndex = (int) (bodyBytesUsed / bodySegmentBytes);
+        if (segmentIndex >= bodySegments.size()) {
+            // Also covers a previous body ending exactly on the segment boundary
+            bodySegments.add(allocate(bodySegmentBytes));
+        }
+        long offset = bodyBytesUsed;
+        bodySegments.get(segmentIndex).put((int) (offset % bodySegmentBytes), bytes);
+        bodyBytesUsed += bytes.length;
+        return offset;
+    }
+
+    private String readBody(int slot) {
+        int length = getInt(slot, OFF_BODY_LENGTH);
+        long offset = getLong(slot, OFF_BODY_OFFSET);
+        byte[] bytes = new byte[length];
+        bodySegments.get((int) (offset / bodySegmentBytes)).get((int) (offset % bodySegmentBytes), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Build an on-heap view of a slot. Only result materialization allocates.
+     */
+    private ReviewRecord materialize(int slot) {
+        double[] subRatings = new double[ReviewFields.MAX_SUB_RATINGS];
+        for (int i = 0; i < subRatings.length; i++) {
+            subRatings[i] = getByte(slot, OFF_SUB_RATINGS + i) / 10.0;
+        }
+        return new StoredReview(
+            airlines.name(getInt(slot, OFF_AIRLINE)),
+            LocalDate.ofEpochDay(getInt(slot, OFF_EPOCH_DAY)).toString(),
+            getFloat(slot, OFF_RATING),
+            countries.name(getInt(slot, OFF_COUNTRY)),
+            readBody(slot),
+            subRatings,
+            getByte(slot, OFF_FLAGS) & 1,
+            cabins.name(getByte(slot, OFF_CABIN) & 0xFF),
+            travellers.name(getByte(slot, OFF_TRAVELLER) & 0xFF)
+        );
+    }
+
+    /**
+     * Review rebuilt from an off-heap slot or a ColumnarReviewStore row. Carries the fields
+     * those stores keep.
+     */
+    public static class StoredReview implements ReviewRecord {
+        private final String airlineName;
+        private final String date;
+        private final double overallRating;
+        private final String country;
+        private final String content;
+        private final double[] subRatings;
+        private final int recommended;
+        private final String cabinFlown;
+        private final String typeTraveller;
+
+        StoredReview(String airlineName, String date, double overallRating, String country, String content,
+                     double[] subRatings, int recommended, String cabinFlown, String typeTraveller) {
+            this.airlineName = airlineName;
+            this.date = date;
+            this.overallRating = overallRating;
+            this.country = country;
+            this.content = content;
+            this.subRatings = subRatings;
+            this.recommended = recommended;
+            this.cabinFlown = cabinFlown;
+            this.typeTraveller = typeTraveller;
+        }
+
+        @Override
+        public String getName() { return airlineName; }
+        @Override
+        public String getDate() { return date; }
+        @Override
+        public double getOverallRating() { return overallRating; }
+        @Override
+        public String getCountry() { return country; }
+        @Override
+        public String getContent() { return content; }
+        @Override
+        public String getAirline() { return airlineName; }
+
+        public double getSubRating(int slot) { return subRatings[slot]; }
+        public int getRecommended() { return recommended; }
+        public String getCabinFlown() { return cabinFlown; }
+        public String getTypeTraveller() { return typeTraveller; }
+    }
+
+    /**
+     * String-to-id dictionary. Id 0 is reserved for null / empty values.
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        Dictionary() {
+            clear();
+        }
+
+        int intern(String value) {
+            if (value == null || value.isEmpty()) {
+                return 0;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = names.size();
+                ids.put(value, id);
+                names.add(value);
+            }
+            return id;
+        }
+
+        /** Intern into a byte-sized code space; values past 255 map to "unknown". */
+        int internSmall(String value) {
+            Integer id = value != null ? ids.get(value) : null;
+            if (id == null && names.size() > 0xFF) {
+                return 0;
+            }
+            return intern(value);
+        }
+
+        int lookup(String value) {
+            Integer id = value != null ? ids.get(value) : null;
+            return id != null ? id : -1;
+        }
+
+        String name(int id) {
+            return names.get(id);
+        }
+
+        int size() {
+            return names.size();
+        }
+
+        void clear() {
+            ids.clear();
+            names.clear();
+            names.add(null);
+        }
+    }
+}
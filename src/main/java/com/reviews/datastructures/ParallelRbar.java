@@ -0,0 +1,268 @@
+package com.reviews.datastructures;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join helpers behind every store's scoreAllAirlines().
+ * A leaderboard is one pass that accumulates {weightedSum, totalWeight, count} per airline;
+ * the pass is split into independent pieces (index ranges or subtrees), each piece fills its
+ * own partial sums, and partials are merged pairwise on the way back up. No piece shares
+ * mutable state with another, so the pass scales with the number of pool threads.
+ */
+public final class ParallelRbar {
+    /** Positions inside a per-airline sum array. */
+    public static final int WEIGHTED_SUM = 0;
+    public static final int TOTAL_WEIGHT = 1;
+    public static final int COUNT = 2;
+    public static final int FIELDS = 3;
+
+    /** Index ranges at most this long are summed sequentially. */
+    public static final int DEFAULT_LEAF_SIZE = 4096;
+
+    private ParallelRbar() {
+    }
+
+    /**
+     * Recency cutoffs of one leaderboard computation, so every piece uses the same "now".
+     */
+    public static final class Cutoffs {
+        public final long thirtyDaysAgo;
+        public final long threeYearsAgo;
+
+        public Cutoffs(LocalDate today) {
+            this.thirtyDaysAgo = ReviewDates.thirtyDaysBefore(today).toEpochDay();
+            this.threeYearsAgo = ReviewDates.threeYearsBefore(today).toEpochDay();
+        }
+
+        public double weight(long epochDay) {
+            return ReviewDates.recencyWeight(epochDay, thirtyDaysAgo, threeYearsAgo);
+        }
+    }
+
+    /**
+     * Sums the reviews at positions [from, to) into a name-keyed partial.
+     */
+    public interface RangeAccumulator {
+        void accumulate(int from, int to, Map<String, double[]> sums);
+    }
+
+    /**
+     * Sums the reviews at positions [from, to) into a partial packed by dictionary id
+     * (FIELDS doubles per id).
+     */
+    public interface IdRangeAccumulator {
+        void accumulate(int from, int to, double[] sums);
+    }
+
+    /**
+     * Tree shape and per-node work for subtree-parallel traversals.
+     */
+    public interface TreeAccess<N> {
+        N left(N node);
+
+        N right(N node);
+
+        void accumulate(N node, Map<String, double[]> sums);
+    }
+
+    /**
+     * Add one review to a name-keyed partial.
+     * Time Complexity: O(1) expected
+     */
+    public static void add(Map<String, double[]> sums, String airline, double rating, double weight) {
+        double[] sum = sums.computeIfAbsent(airline, name -> new double[FIELDS]);
+        sum[WEIGHTED_SUM] += rating * weight;
+        sum[TOTAL_WEIGHT] += weight;
+        sum[COUNT] += 1;
+    }
+
+    /**
+     * Add one review to an id-packed partial.
+     * Time Complexity: O(1)
+     */
+    public static void add(double[] sums, int airlineId, double rating, double weight) {
+        int base = airlineId * FIELDS;
+        sums[base + WEIGHTED_SUM] += rating * weight;
+        sums[base + TOTAL_WEIGHT] += weight;
+        sums[base + COUNT] += 1;
+    }
+
+    /**
+     * Split [0, n) into leaves of at most leafSize positions and sum them in parallel.
+     * Time Complexity: O(n / threads + P log n)
+     */
+    public static Map<String, double[]> sumRanges(ForkJoinPool pool, int n, int leafSize, RangeAccumulator accumulator) {
+        return pool.invoke(new RangeTask(0, n, Math.max(1, leafSize), accumulator));
+    }
+
+    /**
+     * Id-packed variant of sumRanges for stores that dictionary-encode airlines.
+     * Time Complexity: O(n / threads + ids log n)
+     */
+    public static double[] sumIdRanges(ForkJoinPool pool, int n, int idCount, int leafSize,
+                                       IdRangeAccumulator accumulator) {
+        return pool.invoke(new IdRangeTask(0, n, idCount, Math.max(1, leafSize), accumulator));
+    }
+
+    /**
+     * Fork at every node down to forkDepth, then traverse each remaining subtree sequentially
+     * (with an explicit stack, so deep unbalanced trees cannot overflow the worker's stack).
+     * Time Complexity: O(N / threads + P * 2^forkDepth)
+     */
+    public static <N> Map<String, double[]> sumTree(ForkJoinPool pool, N root, int forkDepth, TreeAccess<N> access) {
+        if (root == null) {
+            return new HashMap<>();
+        }
+        return pool.invoke(new TreeTask<>(root, forkDepth, access));
+    }
+
+    /**
+     * Fork depth that yields a few subtrees per pool thread.
+     */
+    public static int forkDepthFor(ForkJoinPool pool) {
+        return 32 - Integer.numberOfLeadingZeros(pool.getParallelism()) + 2;
+    }
+
+    /**
+     * Merge partial b into partial a and return a.
+     * Time Complexity: O(P)
+     */
+    public static Map<String, double[]> merge(Map<String, double[]> a, Map<String, double[]> b) {
+        if (a.size() < b.size()) {
+            Map<String, double[]> swap = a;
+            a = b;
+            b = swap;
+        }
+        for (Map.Entry<String, double[]> entry : b.entrySet()) {
+            double[] target = a.get(entry.getKey());
+            if (target == null) {
+                a.put(entry.getKey(), entry.getValue());
+            } else {
+                for (int field = 0; field < FIELDS; field++) {
+                    target[field] += entry.getValue()[field];
+                }
+            }
+        }
+        return a;
+    }
+
+    private static final class RangeTask extends RecursiveTask<Map<String, double[]>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final RangeAccumulator accumulator;
+
+        RangeTask(int from, int to, int leafSize, RangeAccumulator accumulator) {
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        protected Map<String, double[]> compute() {
+            if (to - from <= leafSize) {
+                Map<String, double[]> sums = new HashMap<>();
+                accumulator.accumulate(from, to, sums);
+                return sums;
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask left = new RangeTask(from, middle, leafSize, accumulator);
+            left.fork();
+            Map<String, double[]> right = new RangeTask(middle, to, leafSize, accumulator).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    private static final class IdRangeTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int idCount;
+        private final int leafSize;
+        private final IdRangeAccumulator accumulator;
+
+        IdRangeTask(int from, int to, int idCount, int leafSize, IdRangeAccumulator accumulator) {
+            this.from = from;
+            this.to = to;
+            this.idCount = idCount;
+            this.leafSize = leafSize;
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= leafSize) {
+                double[] sums = new double[idCount * FIELDS];
+                accumulator.accumulate(from, to, sums);
+                return sums;
+            }
+            int middle = (from + to) >>> 1;
+            IdRangeTask left = new IdRangeTask(from, middle, idCount, leafSize, accumulator);
+            left.fork();
+            double[] right = new IdRangeTask(middle, to, idCount, leafSize, accumulator).compute();
+            double[] sums = left.join();
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += right[i];
+            }
+            return sums;
+        }
+    }
+
+    private static final class TreeTask<N> extends RecursiveTask<Map<String, double[]>> {
+        private static final long serialVersionUID = 1L;
+
+        private final N node;
+        private final int forkDepth;
+        private final TreeAccess<N> access;
+
+        TreeTask(N node, int forkDepth, TreeAccess<N> access) {
+            this.node = node;
+            this.forkDepth = forkDepth;
+            this.access = access;
+        }
+
+        @Override
+        protected Map<String, double[]> compute() {
+            Map<String, double[]> sums = new HashMap<>();
+            if (forkDepth <= 0) {
+                Deque<N> stack = new ArrayDeque<>();
+                stack.push(node);
+                while (!stack.isEmpty()) {
+                    N current = stack.pop();
+                    access.accumulate(current, sums);
+                    N left = access.left(current);
+                    N right = access.right(current);
+                    if (left != null) {
+                        stack.push(left);
+                    }
+                    if (right != null) {
+                        stack.push(right);
+                    }
+                }
+                return sums;
+            }
+
+            N leftChild = access.left(node);
+            N rightChild = access.right(node);
+            TreeTask<N> left = leftChild != null ? new TreeTask<>(leftChild, forkDepth - 1, access) : null;
+            if (left != null) {
+                left.fork();
+            }
+            if (rightChild != null) {
+                sums = merge(sums, new TreeTask<>(rightChild, forkDepth - 1, access).compute());
+            }
+            access.accumulate(node, sums);
+            if (left != null) {
+                sums = merge(sums, left.join());
+            }
+            return sums;
+        }
+    }
+}
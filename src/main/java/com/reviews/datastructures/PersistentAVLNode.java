@@ -0,0 +1,86 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+
+/**
+ * Immutable AVL Tree Node for the persistent (path-copying) review store.
+ * A node is never modified after construction: inserts build new nodes along the search
+ * path and share every untouched subtree with the previous version.
+ * Each node stores the reviews of one airline as an immutable linked list, newest insert first.
+ */
+public final class PersistentAVLNode {
+    public final String airlineName;
+    public final ReviewLink reviews;
+    public final int reviewCount;
+    public final PersistentAVLNode left;
+    public final PersistentAVLNode right;
+    public final int height;
+
+    /**
+     * One element of an airline's immutable review list. Prepending shares the whole tail.
+     */
+    public static final class ReviewLink {
+        public final ReviewRecord review;
+        public final int epochDay;
+        public final long sequence;
+        public final ReviewLink next;
+
+        public ReviewLink(ReviewRecord review, int epochDay, long sequence, ReviewLink next) {
+            this.review = review;
+            this.epochDay = epochDay;
+            this.sequence = sequence;
+            this.next = next;
+        }
+    }
+
+    public PersistentAVLNode(String airlineName, ReviewLink reviews, int reviewCount,
+                             PersistentAVLNode left, PersistentAVLNode right) {
+        this.airlineName = airlineName;
+        this.reviews = reviews;
+        this.reviewCount = reviewCount;
+        this.left = left;
+        this.right = right;
+        this.height = Math.max(heightOf(left), heightOf(right)) + 1;
+    }
+
+    /**
+     * Copy of this node with different children (same airline and reviews).
+     */
+    public PersistentAVLNode withChildren(PersistentAVLNode newLeft, PersistentAVLNode newRight) {
+        return new PersistentAVLNode(airlineName, reviews, reviewCount, newLeft, newRight);
+    }
+
+    /**
+     * Copy of this node with one more review prepended to its list (same children).
+     */
+    public PersistentAVLNode withReview(ReviewRecord review, int epochDay, long sequence) {
+        return new PersistentAVLNode(airlineName, new ReviewLink(review, epochDay, sequence, reviews), reviewCount + 1,
+                                     left, right);
+    }
+
+    public static int heightOf(PersistentAVLNode node) {
+        return node != null ? node.height : 0;
+    }
+
+    /**
+     * Get the balance factor of this node.
+     * Positive means left-heavy, negative means right-heavy.
+     */
+    public int getBalanceFactor() {
+        return heightOf(left) - heightOf(right);
+    }
+
+    /**
+     * Check if this node is balanced (balance factor between -1 and 1).
+     */
+    public boolean isBalanced() {
+        int balance = getBalanceFactor();
+        return balance >= -1 && balance <= 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PersistentAVLNode[%s: %d reviews, height=%d, balance=%d]",
+                           airlineName, reviewCount, height, getBalanceFactor());
+    }
+}
@@ -0,0 +1,580 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.PersistentAVLNode.ReviewLink;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Persistent (path-copying) AVL Tree implementation for storing reviews.
+ * Same airline-keyed AVL as AVLReviewStore, but nodes are immutable: an insert copies only
+ * the nodes on the path from the root to the airline (plus any rotated nodes) and shares
+ * every other subtree with the previous version. The airline's review list is an immutable
+ * linked list, so adding a review to it is a single prepend.
+ *
+ * Every insert publishes a new Snapshot (root, size, version) with one atomic swap.
+ * Readers grab the current snapshot with a single volatile read and query it for as long as
+ * they like without locks; concurrent inserts never change what a snapshot returns, so a
+ * whole leaderboard computed from one snapshot is consistent. Concurrent writers retry their
+ * path copy when another writer published first.
+ *
+ * Time Complexities:
+ * - Insert: O(log P) time and allocations, where P is the number of airlines
+ * - Snapshot: O(1), no copying
+ * - Top-k Recent Retrieval: O(log P + A log A) for the airline's A reviews
+ * - Recency-Biased Average Rating: O(log P + A)
+ *
+ * Space Complexity: O(N) for the current version; old versions only retain their own copied paths
+ */
+public class PersistentAVLReviewStore {
+    private static final Snapshot EMPTY = new Snapshot(null, 0, 0);
+
+    private final AtomicReference<Snapshot> current;
+    // Newest-first date index for the cursor API, built on first use and then kept up to date.
+    // Writers add to it as soon as the build starts; readers only get it once it is complete.
+    private volatile NewestFirstIndex indexForWriters;
+    private volatile NewestFirstIndex cursorIndex;
+
+    /**
+     * Immutable, self-contained view of the store at one version.
+     */
+    public static final class Snapshot {
+        private final PersistentAVLNode root;
+        private final int totalReviews;
+        private final long version;
+
+        private Snapshot(PersistentAVLNode root, int totalReviews, long version) {
+            this.root = root;
+            this.totalReviews = totalReviews;
+            this.version = version;
+        }
+
+        /**
+         * Number of inserts (and clears) that produced this snapshot.
+         * Time Complexity: O(1)
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Get the total number of reviews in this snapshot.
+         * Time Complexity: O(1)
+         */
+        public int size() {
+            return totalReviews;
+        }
+
+        public PersistentAVLNode getRoot() {
+            return root;
+        }
+
+        /**
+         * Retrieve the k most recent reviews for a specific airline.
+         * Time Complexity: O(log P + A log A)
+         */
+        public List<ReviewRecord> getTopKRecentReviews(String airlineName, int k) {
+            PersistentAVLNode node = search(root, airlineName);
+            if (node == null || k <= 0) {
+                return new ArrayList<>();
+            }
+            ReviewLink[] links = linksNewestFirst(node);
+            int limit = Math.min(k, links.length);
+            List<ReviewRecord> result = new ArrayList<>(limit);
+            for (int i = 0; i < limit; i++) {
+                result.add(links[i].review);
+            }
+            return result;
+        }
+
+        /**
+         * Calculate Recency-Biased Average Rating (RB-AR) for a specific airline.
+         * Time Complexity: O(log P + A)
+         */
+        public double calculateRecencyBiasedAverageRating(String airlineName) {
+            PersistentAVLNode node = search(root, airlineName);
+            if (node == null) {
+                return 0.0;
+            }
+
+            LocalDate now = LocalDate.now();
+            long thirtyDaysAgo = ReviewDates.thirtyDaysBefore(now).toEpochDay();
+            long threeYearsAgo = ReviewDates.threeYearsBefore(now).toEpochDay();
+
+            double weightedSum = 0.0;
+            double totalWeight = 0.0;
+            for (ReviewLink link = node.reviews; link != null; link = link.next) {
+                double weight = ReviewDates.recencyWeight(link.epochDay, thirtyDaysAgo, threeYearsAgo);
+                weightedSum += link.review.getOverallRating() * weight;
+                totalWeight += weight;
+            }
+            return totalWeight > 0 ? weightedSum / totalWeight : 0.0;
+        }
+
+        /**
+         * RBAR of every airline in this snapshot, all computed from the same version.
+         * Time Complexity: O(N)
+         */
+        public Map<String, Double> getRecencyBiasedLeaderboard() {
+            Map<String, Double> leaderboard = new TreeMap<>();
+            for (String airline : getAllAirlines()) {
+                leaderboard.put(airline, calculateRecencyBiasedAverageRating(airline));
+            }
+            return leaderboard;
+        }
+
+        /**
+         * Get all reviews for a specific airline, in insertion order.
+         * Time Complexity: O(log P + A)
+         */
+        public List<ReviewRecord> getReviewsByAirline(String airlineName) {
+            PersistentAVLNode node = search(root, airlineName);
+            if (node == null) {
+                return new ArrayList<>();
+            }
+            ReviewRecord[] reviews = new ReviewRecord[node.reviewCount];
+            int i = reviews.length;
+            for (ReviewLink link = node.reviews; link != null; link = link.next) {
+                reviews[--i] = link.review;
+            }
+            return new ArrayList<>(Arrays.asList(reviews));
+        }
+
+        /**
+         * Get all unique airline names in this snapshot.
+         * Time Complexity: O(P)
+         */
+        public Set<String> getAllAirlines() {
+            Set<String> airlines = new HashSet<>();
+            collectAirlines(root, airlines);
+            return airlines;
+        }
+
+        /**
+         * Get reviews within a specific date range (inclusive), filtered on the links' epoch
+         * days; each airline's matches come in insertion order.
+         * Time Complexity: O(N)
+         */
+        public List<ReviewRecord> getReviewsInDateRange(LocalDate startDate, LocalDate endDate) {
+            long start = startDate.toEpochDay();
+            long end = endDate.toEpochDay();
+            List<ReviewRecord> result = new ArrayList<>();
+            Deque<PersistentAVLNode> stack = new ArrayDeque<>();
+            if (root != null) {
+                stack.push(root);
+            }
+            while (!stack.isEmpty()) {
+                PersistentAVLNode node = stack.pop();
+                int first = result.size();
+                for (ReviewLink link = node.reviews; link != null; link = link.next) {
+                    if (link.epochDay >= start && link.epochDay <= end) {
+                        result.add(link.review);
+                    }
+                }
+                // The chain is newest insert first
+                Collections.reverse(result.subList(first, result.size()));
+                if (node.right != null) {
+                    stack.push(node.right);
+                }
+                if (node.left != null) {
+                    stack.push(node.left);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Get all reviews sorted by date (most recent first), ties in insertion order.
+         * Time Complexity: O(N log N)
+         */
+        public List<ReviewRecord> getAllReviewsSortedByDate() {
+            List<ReviewLink> links = new ArrayList<>(totalReviews);
+            collectLinks(root, links);
+            links.sort(NEWEST_FIRST);
+            List<ReviewRecord> result = new ArrayList<>(links.size());
+            for (ReviewLink link : links) {
+                result.add(link.review);
+            }
+            return result;
+        }
+
+        /**
+         * Get the height of the AVL tree.
+         * Time Complexity: O(1)
+         */
+        public int getTreeHeight() {
+            return PersistentAVLNode.heightOf(root);
+        }
+
+        /**
+         * Check if the AVL tree is balanced.
+         * Time Complexity: O(P)
+         */
+        public boolean isBalanced() {
+            return isBalancedHelper(root);
+        }
+
+        /**
+         * Recency-biased average rating of every airline in this snapshot, computed by a
+         * fork-join traversal of the (immutable, so freely shared) subtrees.
+         * Time Complexity: O(N / threads)
+         */
+        public AirlineScores scoreAllAirlines(ForkJoinPool pool) {
+            ParallelRbar.Cutoffs cutoffs = new ParallelRbar.Cutoffs(LocalDate.now());
+            return AirlineScores.fromSums(ParallelRbar.sumTree(pool, root, Integer.MAX_VALUE,
+                    new ParallelRbar.TreeAccess<PersistentAVLNode>() {
+                        public PersistentAVLNode left(PersistentAVLNode node) {
+                            return node.left;
+                        }
+
+                        public PersistentAVLNode right(PersistentAVLNode node) {
+                            return node.right;
+                        }
+
+                        public void accumulate(PersistentAVLNode node, Map<String, double[]> sums) {
+                            for (ReviewLink link = node.reviews; link != null; link = link.next) {
+                                ParallelRbar.add(sums, node.airlineName, link.review.getOverallRating(),
+                                                 cutoffs.weight(link.epochDay));
+                            }
+                        }
+                    }));
+        }
+
+        /**
+         * Get statistics about this snapshot. The oldest and newest dates come from one pass
+         * over the links' epoch days.
+         * Time Complexity: O(N)
+         */
+        public Map<String, Object> getStatistics() {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalReviews", totalReviews);
+            stats.put("uniqueAirlines", getAllAirlines().size());
+            stats.put("treeHeight", getTreeHeight());
+            stats.put("version", version);
+
+            int oldest = Integer.MAX_VALUE;
+            int newest = Integer.MIN_VALUE;
+            Deque<PersistentAVLNode> stack = new ArrayDeque<>();
+            if (root != null) {
+                stack.push(root);
+            }
+            while (!stack.isEmpty()) {
+                PersistentAVLNode node = stack.pop();
+                for (ReviewLink link = node.reviews; link != null; link = link.next) {
+                    oldest = Math.min(oldest, link.epochDay);
+                    newest = Math.max(newest, link.epochDay);
+                }
+                if (node.right != null) {
+                    stack.push(node.right);
+                }
+                if (node.left != null) {
+                    stack.push(node.left);
+                }
+            }
+            if (oldest <= newest) {
+                stats.put("newestReview", LocalDate.ofEpochDay(newest));
+                stats.put("oldestReview", LocalDate.ofEpochDay(oldest));
+            }
+
+            return stats;
+        }
+    }
+
+    private static final Comparator<ReviewLink> NEWEST_FIRST = (a, b) ->
+            a.epochDay != b.epochDay ? Integer.compare(b.epochDay, a.epochDay) : Long.compare(a.sequence, b.sequence);
+
+    public PersistentAVLReviewStore() {
+        this.current = new AtomicReference<>(EMPTY);
+    }
+
+    /**
+     * Current snapshot; free to take and safe to query from any thread without locks.
+     * Time Complexity: O(1)
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Add a new review, publishing a new version. Safe to call from any number of threads.
+     * Time Complexity: O(log P) expected, retried if another writer published first
+     */
+    public void addReview(ReviewRecord review) {
+        int day = ReviewDates.toEpochDay(review.getDate());
+        String airline = review.getName();
+        while (true) {
+            Snapshot base = current.get();
+            PersistentAVLNode newRoot = insert(base.root, airline, review, day, base.version);
+            Snapshot next = new Snapshot(newRoot, base.totalReviews + 1, base.version + 1);
+            if (current.compareAndSet(base, next)) {
+                NewestFirstIndex index = indexForWriters;
+                if (index != null) {
+                    index.add(review, day, base.version);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Add multiple reviews to the store.
+     * Time Complexity: O(M log P) where M is the number of new reviews
+     */
+    public void addReviews(List<ReviewRecord> newReviews) {
+        for (ReviewRecord review : newReviews) {
+            addReview(review);
+        }
+    }
+
+    /**
+     * Get the total number of reviews stored.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return snapshot().size();
+    }
+
+    /**
+     * Retrieve the k most recent reviews for a specific airline from the current snapshot.
+     * Time Complexity: O(log P + A log A)
+     */
+    public List<ReviewRecord> getTopKRecentReviews(String airlineName, int k) {
+        return snapshot().getTopKRecentReviews(airlineName, k);
+    }
+
+    /**
+     * Calculate Recency-Biased Average Rating (RB-AR) from the current snapshot.
+     * Time Complexity: O(log P + A)
+     */
+    public double calculateRecencyBiasedAverageRating(String airlineName) {
+        return snapshot().calculateRecencyBiasedAverageRating(airlineName);
+    }
+
+    /**
+     * Get all reviews for a specific airline from the current snapshot.
+     * Time Complexity: O(log P + A)
+     */
+    public List<ReviewRecord> getReviewsByAirline(String airlineName) {
+        return snapshot().getReviewsByAirline(airlineName);
+    }
+
+    /**
+     * Get all unique airline names in the current snapshot.
+     * Time Complexity: O(P)
+     */
+    public Set<String> getAllAirlines() {
+        return snapshot().getAllAirlines();
+    }
+
+    /**
+     * Get reviews within a specific date range from the current snapshot.
+     * Time Complexity: O(N)
+     */
+    public List<ReviewRecord> getReviewsInDateRange(LocalDate startDate, LocalDate endDate) {
+        return snapshot().getReviewsInDateRange(startDate, endDate);
+    }
+
+    /**
+     * Get all reviews sorted by date (most recent first) from the current snapshot.
+     * Time Complexity: O(N log N)
+     */
+    public List<ReviewRecord> getAllReviewsSortedByDate() {
+        return snapshot().getAllReviewsSortedByDate();
+    }
+
+    /**
+     * Clear all reviews. Snapshots taken earlier keep their contents.
+     * Time Complexity: O(1)
+     */
+    public void clear() {
+        while (true) {
+            Snapshot base = current.get();
+            if (current.compareAndSet(base, new Snapshot(null, 0, base.version + 1))) {
+                NewestFirstIndex index = indexForWriters;
+                if (index != null) {
+                    index.clear();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Weakly consistent newest-first cursor over every review (ties in insertion order).
+     * Unlike snapshot queries it follows the live store: it never blocks writers and may or
+     * may not see reviews inserted while it runs.
+     * Time Complexity: O(N log N) once to build the date index, then O(1) per step
+     */
+    public Iterator<ReviewRecord> iterateNewestFirst() {
+        return cursorIndex().iterator();
+    }
+
+    /**
+     * One page of the newest-first listing. Pass null for the first page, then the previous
+     * page's token; each page seeks straight to its start in the skip-list date index.
+     * Time Complexity: O(log N + pageSize) once the date index exists
+     */
+    public ReviewPage getReviewsNewestFirst(String pageToken, int pageSize) {
+        return cursorIndex().page(pageToken, pageSize);
+    }
+
+    /**
+     * The date index, built on first use. It is handed to writers before the snapshot is
+     * scanned, so a review published meanwhile is indexed by the scan, by its writer, or by
+     * both (the same key, so once); readers only see it after the scan.
+     */
+    private NewestFirstIndex cursorIndex() {
+        NewestFirstIndex index = cursorIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (current) {
+            if (cursorIndex == null) {
+                NewestFirstIndex built = new NewestFirstIndex();
+                indexForWriters = built;
+                Deque<PersistentAVLNode> stack = new ArrayDeque<>();
+                PersistentAVLNode root = current.get().root;
+                if (root != null) {
+                    stack.push(root);
+                }
+                while (!stack.isEmpty()) {
+                    PersistentAVLNode node = stack.pop();
+                    for (ReviewLink link = node.reviews; link != null; link = link.next) {
+                        built.add(link.review, link.epochDay, link.sequence);
+                    }
+                    if (node.left != null) {
+                        stack.push(node.left);
+                    }
+                    if (node.right != null) {
+                        stack.push(node.right);
+                    }
+                }
+                cursorIndex = built;
+            }
+            return cursorIndex;
+        }
+    }
+
+    /**
+     * Recency-biased average rating of every airline, from the current snapshot.
+     * Time Complexity: O(N / threads)
+     */
+    public AirlineScores scoreAllAirlines() {
+        return snapshot().scoreAllAirlines(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as scoreAllAirlines() on a caller-supplied pool.
+     */
+    public AirlineScores scoreAllAirlines(ForkJoinPool pool) {
+        return snapshot().scoreAllAirlines(pool);
+    }
+
+    /**
+     * Get statistics about the current snapshot.
+     */
+    public Map<String, Object> getStatistics() {
+        return snapshot().getStatistics();
+    }
+
+    /**
+     * Path-copying insert: returns the root of the new version.
+     * Time Complexity: O(log P)
+     */
+    private static PersistentAVLNode insert(PersistentAVLNode node, String airline, ReviewRecord review,
+                                            int day, long sequence) {
+        if (node == null) {
+            return new PersistentAVLNode(airline, new ReviewLink(review, day, sequence, null), 1, null, null);
+        }
+
+        int comparison = airline.compareTo(node.airlineName);
+        if (comparison < 0) {
+            return rebalance(node.withChildren(insert(node.left, airline, review, day, sequence), node.right));
+        } else if (comparison > 0) {
+            return rebalance(node.withChildren(node.left, insert(node.right, airline, review, day, sequence)));
+        }
+        // Same airline: new list head, no structural change
+        return node.withReview(review, day, sequence);
+    }
+
+    /**
+     * Restore the AVL property at a freshly copied node, copying rotated nodes.
+     */
+    private static PersistentAVLNode rebalance(PersistentAVLNode node) {
+        int balance = node.getBalanceFactor();
+
+        if (balance > 1) {
+            // Left Right Case turns into Left Left Case
+            if (node.left.getBalanceFactor() < 0) {
+                node = node.withChildren(leftRotate(node.left), node.right);
+            }
+            return rightRotate(node);
+        }
+        if (balance < -1) {
+            // Right Left Case turns into Right Right Case
+            if (node.right.getBalanceFactor() > 0) {
+                node = node.withChildren(node.left, rightRotate(node.right));
+            }
+            return leftRotate(node);
+        }
+        return node;
+    }
+
+    private static PersistentAVLNode rightRotate(PersistentAVLNode y) {
+        PersistentAVLNode x = y.left;
+        return x.withChildren(x.left, y.withChildren(x.right, y.right));
+    }
+
+    private static PersistentAVLNode leftRotate(PersistentAVLNode x) {
+        PersistentAVLNode y = x.right;
+        return y.withChildren(x.withChildren(x.left, y.left), y.right);
+    }
+
+    private static PersistentAVLNode search(PersistentAVLNode node, String airlineName) {
+        while (node != null) {
+            int comparison = airlineName.compareTo(node.airlineName);
+            if (comparison == 0) {
+                return node;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private static ReviewLink[] linksNewestFirst(PersistentAVLNode node) {
+        ReviewLink[] links = new ReviewLink[node.reviewCount];
+        int i = 0;
+        for (ReviewLink link = node.reviews; link != null; link = link.next) {
+            links[i++] = link;
+        }
+        Arrays.sort(links, NEWEST_FIRST);
+        return links;
+    }
+
+    private static void collectAirlines(PersistentAVLNode node, Set<String> airlines) {
+        if (node != null) {
+            airlines.add(node.airlineName);
+            collectAirlines(node.left, airlines);
+            collectAirlines(node.right, airlines);
+        }
+    }
+
+    private static void collectLinks(PersistentAVLNode node, List<ReviewLink> links) {
+        if (node != null) {
+            for (ReviewLink link = node.reviews; link != null; link = link.next) {
+                links.add(link);
+            }
+            collectLinks(node.left, links);
+            collectLinks(node.right, links);
+        }
+    }
+
+    private static boolean isBalancedHelper(PersistentAVLNode node) {
+        if (node == null) {
+            return true;
+        }
+        return node.isBalanced() && isBalancedHelper(node.left) && isBalancedHelper(node.right);
+    }
+}
@@ -0,0 +1,151 @@
+package com.reviews.datastructures;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load generator for ReviewQueryService.
+ * Keeps {@code concurrency} requests in flight at all times over HTTP/1.1 (the JDK HttpClient
+ * opens one connection per in-flight request and reuses it), cycling through a list of paths,
+ * and records the latency of every request from send to fully received body.
+ *
+ * Time Complexities:
+ * - run: O(N log N) for N requests (sorting latencies for percentiles)
+ *
+ * Space Complexity: O(N) latency samples
+ */
+public class QueryLoadClient {
+    private final URI base;
+    private final Duration timeout;
+
+    /**
+     * Latencies and counts of one run.
+     */
+    public static final class Result {
+        private final int concurrency;
+        private final long[] latencyNanos;
+        private final int failures;
+        private final long elapsedNanos;
+
+        Result(int concurrency, long[] latencyNanos, int failures, long elapsedNanos) {
+            this.concurrency = concurrency;
+            this.latencyNanos = latencyNanos;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+            Arrays.sort(this.latencyNanos);
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        /** Requests that returned HTTP 200. */
+        public int getSuccesses() {
+            return latencyNanos.length;
+        }
+
+        /** Requests that failed, timed out or returned a non-200 status. */
+        public int getFailures() {
+            return failures;
+        }
+
+        public double getRequestsPerSecond() {
+            return latencyNanos.length / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * Latency percentile in milliseconds over successful requests (nearest rank).
+         * Time Complexity: O(1)
+         */
+        public double percentileMillis(double percentile) {
+            if (latencyNanos.length == 0) {
+                return Double.NaN;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * latencyNanos.length);
+            return latencyNanos[Math.max(0, Math.min(latencyNanos.length - 1, rank - 1))] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("concurrency=%d ok=%d failed=%d rps=%.0f p50=%.2fms p99=%.2fms",
+                                 concurrency, getSuccesses(), failures, getRequestsPerSecond(),
+                                 percentileMillis(50), percentileMillis(99));
+        }
+    }
+
+    /**
+     * @param base    service root, e.g. http://127.0.0.1:8080
+     * @param timeout per-request timeout; requests that exceed it count as failures
+     */
+    public QueryLoadClient(URI base, Duration timeout) {
+        this.base = base;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Send {@code totalRequests} GETs with {@code concurrency} of them in flight at once.
+     * Time Complexity: O(N log N)
+     *
+     * @param paths request paths with query strings, used round-robin
+     */
+    public Result run(List<String> paths, int concurrency, int totalRequests) throws InterruptedException {
+        if (paths.isEmpty() || concurrency < 1 || totalRequests < 1) {
+            throw new IllegalArgumentException("need paths, concurrency >= 1 and totalRequests >= 1");
+        }
+        List<HttpRequest> requests = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            requests.add(HttpRequest.newBuilder(base.resolve(path)).timeout(timeout).GET().build());
+        }
+
+        // A small fixed pool runs the completion callbacks; the client's selector thread does the I/O
+        ExecutorService callbacks = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                                                                 runnable -> {
+                                                                     Thread thread = new Thread(runnable, "load-client");
+                                                                     thread.setDaemon(true);
+                                                                     return thread;
+                                                                 });
+        HttpClient client = HttpClient.newBuilder()
+                                      .version(HttpClient.Version.HTTP_1_1)
+                                      .connectTimeout(timeout)
+                                      .executor(callbacks)
+                                      .build();
+        long[] latencies = new long[totalRequests];
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        Semaphore slots = new Semaphore(concurrency);
+
+        long startTime = System.nanoTime();
+        try {
+            for (int i = 0; i < totalRequests; i++) {
+                slots.acquire();
+                long sent = System.nanoTime();
+                client.sendAsync(requests.get(i % requests.size()), HttpResponse.BodyHandlers.ofByteArray())
+                      .whenComplete((response, failure) -> {
+                          long latency = System.nanoTime() - sent;
+                          if (failure == null && response.statusCode() == 200) {
+                              latencies[successes.getAndIncrement()] = latency;
+                          } else {
+                              failures.incrementAndGet();
+                          }
+                          slots.release();
+                      });
+            }
+            // Wait for the tail to drain
+            slots.acquire(concurrency);
+            long elapsed = System.nanoTime() - startTime;
+            return new Result(concurrency, Arrays.copyOf(latencies, successes.get()), failures.get(), elapsed);
+        } finally {
+            callbacks.shutdownNow();
+            callbacks.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+}
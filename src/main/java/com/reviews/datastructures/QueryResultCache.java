@@ -0,0 +1,248 @@
+package com.reviews.datastructures;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Versioned result cache for store queries, keyed by (airline, query, params).
+ * Every airline has a version counter that writers bump with invalidate(airline) after each
+ * insert; a cached result remembers the version it was computed at and is only served while
+ * that version is still current, so one airline's inserts never evict another airline's
+ * results. Queries over all airlines (airline == null, e.g. the leaderboard) are checked
+ * against a global version that every invalidation bumps.
+ *
+ * Recency-weighted answers also change when the date changes, without any insert, so each
+ * result remembers the day it was computed and the whole cache is dropped on the first
+ * lookup of a new day.
+ *
+ * Entries are evicted least-recently-used once maxEntries is reached. Loaders run outside
+ * the cache lock: two threads missing on the same key may both compute it, and a result
+ * computed while an insert lands is stored under the version read before computing, so it
+ * is never served after that insert.
+ *
+ * Time Complexities:
+ * - get (hit): O(1) expected
+ * - get (miss): O(1) expected plus the loader
+ * - invalidate: O(1) expected
+ *
+ * Space Complexity: O(maxEntries + A) for A airlines
+ */
+public class QueryResultCache {
+    private final int maxEntries;
+    private final Supplier<LocalDate> today;
+
+    private final ConcurrentHashMap<String, AtomicLong> airlineVersions;
+    private final AtomicLong globalVersion;
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Key, Entry> entries;
+    private volatile long currentDay;
+
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong staleMisses;
+    private final AtomicLong evictions;
+    private final AtomicLong rollovers;
+
+    private static final class Key {
+        final String airline;
+        final String query;
+        final Object params;
+        final int hash;
+
+        Key(String airline, String query, Object params) {
+            this.airline = airline;
+            this.query = query;
+            this.params = params;
+            this.hash = Objects.hash(airline, query, params);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return hash == key.hash && Objects.equals(airline, key.airline)
+                   && query.equals(key.query) && Objects.equals(params, key.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long version;
+        final long day;
+
+        Entry(Object value, long version, long day) {
+            this.value = value;
+            this.version = version;
+            this.day = day;
+        }
+    }
+
+    /**
+     * Create a cache whose "today" is the system date.
+     */
+    public QueryResultCache(int maxEntries) {
+        this(maxEntries, LocalDate::now);
+    }
+
+    /**
+     * Create a cache with an explicit date source (for tests and replay).
+     */
+    public QueryResultCache(int maxEntries, Supplier<LocalDate> today) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.today = today;
+        this.airlineVersions = new ConcurrentHashMap<>();
+        this.globalVersion = new AtomicLong();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.currentDay = today.get().toEpochDay();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.staleMisses = new AtomicLong();
+        this.evictions = new AtomicLong();
+        this.rollovers = new AtomicLong();
+    }
+
+    /**
+     * Return the cached result of (airline, query, params), computing it with loader on a miss.
+     * The loader's result is shared between callers, so it should be immutable.
+     * Time Complexity: O(1) expected on a hit
+     *
+     * @param airline the airline the result depends on, or null if it depends on all airlines
+     * @param query   query name, e.g. "topk"
+     * @param params  query parameters with value equality (Integer, String, List...), or null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String airline, String query, Object params, Supplier<T> loader) {
+        long day = rollOverIfNeeded();
+        Key key = new Key(airline, query, params);
+        long version = getVersion(airline);
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.version == version && entry.day == day) {
+                    hits.incrementAndGet();
+                    return (T) entry.value;
+                }
+                entries.remove(key);
+                staleMisses.incrementAndGet();
+            }
+        }
+
+        misses.incrementAndGet();
+        T value = loader.get();
+        synchronized (entries) {
+            // Only store if nothing newer was stored meanwhile
+            Entry existing = entries.get(key);
+            if (existing == null || existing.version < version) {
+                entries.put(key, new Entry(value, version, day));
+                if (entries.size() > maxEntries) {
+                    Iterator<Key> eldest = entries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Current version of an airline (null: the global version).
+     * Time Complexity: O(1) expected
+     */
+    public long getVersion(String airline) {
+        if (airline == null) {
+            return globalVersion.get();
+        }
+        AtomicLong version = airlineVersions.get(airline);
+        return version != null ? version.get() : 0;
+    }
+
+    /**
+     * Mark an airline's cached results stale; call after inserting one of its reviews.
+     * Also invalidates every all-airline result.
+     * Time Complexity: O(1) expected
+     */
+    public void invalidate(String airline) {
+        airlineVersions.computeIfAbsent(airline, name -> new AtomicLong()).incrementAndGet();
+        globalVersion.incrementAndGet();
+    }
+
+    /**
+     * Drop every cached result (e.g. after clear() on the store).
+     * Time Complexity: O(entries)
+     */
+    public void invalidateAll() {
+        for (AtomicLong version : airlineVersions.values()) {
+            version.incrementAndGet();
+        }
+        globalVersion.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private long rollOverIfNeeded() {
+        long day = today.get().toEpochDay();
+        if (day != currentDay) {
+            synchronized (entries) {
+                if (day != currentDay) {
+                    entries.clear();
+                    currentDay = day;
+                    rollovers.incrementAndGet();
+                }
+            }
+        }
+        return day;
+    }
+
+    /**
+     * Number of cached results.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Fraction of lookups served from the cache (0 before any lookup).
+     * Time Complexity: O(1)
+     */
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Hit, miss, eviction and rollover counters.
+     * Time Complexity: O(1)
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("entries", size());
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("hits", hits.get());
+        metrics.put("misses", misses.get());
+        metrics.put("staleMisses", staleMisses.get());
+        metrics.put("evictions", evictions.get());
+        metrics.put("rollovers", rollovers.get());
+        metrics.put("hitRatio", getHitRatio());
+        return metrics;
+    }
+}
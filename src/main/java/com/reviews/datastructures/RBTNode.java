@@ -120,7 +120,7 @@ public class RBTNode {
     public String toString() {
         return String.format("RBTNode[%s: %s, depth=%d]", 
                            reviewDate, 
-                           review.getAirline(), 
+                           review.getName(), 
                            getDepth());
     }
     
@@ -130,7 +130,7 @@ public class RBTNode {
     public String toDetailedString() {
         return String.format("RBTNode[date=%s, airline=%s, rating=%.1f, depth=%d, height=%d, parent=%s]",
                            reviewDate,
-                           review.getAirline(),
+                           review.getName(),
                            review.getOverallRating(),
                            getDepth(),
                            getHeight(),
@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
  * - Top-k Recent Retrieval: O(k) - recent reviews are clustered near root!
  * - Old Review Access: O(N) worst case - old reviews sink to the bottom
  * - Search by date: O(depth of node) - varies dramatically by recency
+ * - Newest-first page: O(height + pageSize), resumed from a page token
  * 
  * Space Complexity: O(N)
  * 
@@ -29,6 +31,7 @@ public class RBTReviewStore {
     private DateTimeFormatter dateFormatter;
     private int totalReviews;
     private int splayDepth; // How many levels to splay new nodes up (configurable)
+    private int cursorGeneration = new Random().nextInt(); // Page tokens from before clear() are rejected
     
     /**
      * Create a new RBT with default splay depth (splay to root).
@@ -252,7 +255,7 @@ public class RBTReviewStore {
         getTopKRecentHelper(node.right, airline, k, result);
         
         // Add current node if we haven't hit k yet and matches airline
-        if (result.size() < k && node.getReview().getAirline().equals(airline)) {
+        if (result.size() < k && node.getReview().getName().equals(airline)) {
             result.add(node.getReview());
         }
         
@@ -387,6 +390,7 @@ public class RBTReviewStore {
     public void clear() {
         root = null;
         totalReviews = 0;
+        cursorGeneration++;
     }
     
     /**
@@ -499,7 +503,7 @@ public class RBTReviewStore {
     
     private void collectAirlines(RBTNode node, Set<String> airlines) {
         if (node == null) return;
-        airlines.add(node.getReview().getAirline());
+        airlines.add(node.getReview().getName());
         collectAirlines(node.left, airlines);
         collectAirlines(node.right, airlines);
     }
@@ -516,7 +520,7 @@ public class RBTReviewStore {
     private void collectReviewsByAirline(RBTNode node, String airline, List<ReviewRecord> result) {
         if (node == null) return;
         
-        if (node.getReview().getAirline().equals(airline)) {
+        if (node.getReview().getName().equals(airline)) {
             result.add(node.getReview());
         }
         
@@ -524,6 +528,163 @@ public class RBTReviewStore {
         collectReviewsByAirline(node.right, airline, result);
     }
 
+    /**
+     * Recency-biased average rating of every airline (same exponential weights as
+     * calculateRecencyBiasedAverageRating), computed by a fork-join traversal: the top
+     * levels of the tree are split into subtree tasks and each subtree is then walked with
+     * an explicit stack, since splaying can leave long paths.
+     * Time Complexity: O(N / threads)
+     */
+    public AirlineScores scoreAllAirlines() {
+        return scoreAllAirlines(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as scoreAllAirlines() on a caller-supplied pool.
+     */
+    public AirlineScores scoreAllAirlines(ForkJoinPool pool) {
+        long today = LocalDate.now().toEpochDay();
+        return AirlineScores.fromSums(ParallelRbar.sumTree(pool, root, ParallelRbar.forkDepthFor(pool),
+                new ParallelRbar.TreeAccess<RBTNode>() {
+                    public RBTNode left(RBTNode node) {
+                        return node.left;
+                    }
+
+                    public RBTNode right(RBTNode node) {
+                        return node.right;
+                    }
+
+                    public void accumulate(RBTNode node, Map<String, double[]> sums) {
+                        ReviewRecord review = node.getReview();
+                        double weight = recencyWeight(today - ReviewDates.toEpochDay(review.getDate()));
+                        ParallelRbar.add(sums, review.getName(), review.getOverallRating(), weight);
+                    }
+                }));
+    }
+
+    /**
+     * Answer every query registered on the batch with one reverse in-order traversal
+     * (newest first, explicit stack), instead of one full traversal per query.
+     * The batch's RBAR uses this store's exponential weights (see recencyWeight).
+     * Time Complexity: O(N log K) regardless of the number of queries
+     */
+    public void executeBatch(SharedScanBatch batch) {
+        batch.begin(RBTReviewStore::recencyWeight);
+        Deque<RBTNode> stack = new ArrayDeque<>();
+        RBTNode current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.right;
+            }
+            current = stack.pop();
+            batch.accept(current.getReview());
+            current = current.left;
+        }
+        batch.finish();
+    }
+
+    /**
+     * Lazy newest-first cursor: a reverse in-order traversal with an explicit stack, so only
+     * the path to the next review is held instead of a sorted copy of the whole tree.
+     * Time Complexity: O(height) to start, amortized O(1) per step
+     */
+    public Iterator<ReviewRecord> iterateNewestFirst() {
+        return new ReverseInOrderCursor(root, Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * One page of the newest-first listing. Pass null for the first page, then the previous
+     * page's token. The token holds the last review's epochDay and its ordinal among that
+     * day's reviews, so the next page descends straight to that day and skips only the reviews
+     * already returned for it. Inserts dated on the token's day may shift that day by one.
+     * Time Complexity: O(height + reviews on the token's day + pageSize)
+     */
+    public ReviewPage getReviewsNewestFirst(String pageToken, int pageSize) {
+        ReviewPage.checkPageSize(pageSize);
+        int startDay = Integer.MAX_VALUE;
+        int skip = 0;
+        if (pageToken != null) {
+            ReviewPage.Position position = ReviewPage.decodeToken(pageToken, cursorGeneration);
+            if (position.tiebreak < 0 || position.tiebreak >= Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Malformed page token");
+            }
+            startDay = position.epochDay;
+            skip = (int) position.tiebreak + 1;
+        }
+        ReverseInOrderCursor cursor = new ReverseInOrderCursor(root, startDay, skip);
+        List<ReviewRecord> reviews = new ArrayList<>(pageSize);
+        while (reviews.size() < pageSize && cursor.hasNext()) {
+            reviews.add(cursor.next());
+        }
+        String next = cursor.hasNext()
+                      ? ReviewPage.encodeToken(cursorGeneration, cursor.lastDay, cursor.lastOrdinal)
+                      : null;
+        return new ReviewPage(reviews, next);
+    }
+
+    /**
+     * Reverse in-order iterator starting at the newest node dated on or before startDay,
+     * after skipping the first {@code skip} nodes dated exactly startDay. Tracks each
+     * returned node's ordinal within its day for page tokens.
+     */
+    private static final class ReverseInOrderCursor implements Iterator<ReviewRecord> {
+        private final Deque<RBTNode> stack = new ArrayDeque<>();
+        private RBTNode pending;
+        int lastDay;
+        long lastOrdinal;
+
+        ReverseInOrderCursor(RBTNode root, int startDay, int skip) {
+            // Push the nodes dated <= startDay along the search path; newer subtrees are skipped
+            RBTNode node = root;
+            while (node != null) {
+                if (ReviewDates.toEpochDay(node.reviewDate) > startDay) {
+                    node = node.left;
+                } else {
+                    stack.push(node);
+                    node = node.right;
+                }
+            }
+            lastDay = Integer.MIN_VALUE;
+            advance();
+            for (int skipped = 0; skipped < skip && pending != null
+                                  && ReviewDates.toEpochDay(pending.reviewDate) == startDay; skipped++) {
+                lastDay = startDay;
+                lastOrdinal = skipped;
+                advance();
+            }
+        }
+
+        private void advance() {
+            if (stack.isEmpty()) {
+                pending = null;
+                return;
+            }
+            pending = stack.pop();
+            for (RBTNode node = pending.left; node != null; node = node.right) {
+                stack.push(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
+
+        @Override
+        public ReviewRecord next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+            int day = ReviewDates.toEpochDay(pending.reviewDate);
+            lastOrdinal = day == lastDay ? lastOrdinal + 1 : 0;
+            lastDay = day;
+            ReviewRecord review = pending.getReview();
+            advance();
+            return review;
+        }
+    }
+
     /**
      * Calculate recency-biased average rating for an airline.
      * Recent reviews (≤30 days) get full weight (1.0)
@@ -545,14 +706,7 @@ public class RBTReviewStore {
             LocalDate reviewDate = parseDate(review.getDate());
             long daysOld = ChronoUnit.DAYS.between(reviewDate, now);
             
-            // Calculate weight using exponential decay
-            double weight;
-            if (daysOld <= 30) {
-                weight = 1.0; // Full weight for recent reviews
-            } else {
-                // Exponential decay: e^(-days/365)
-                weight = Math.exp(-daysOld / 365.0);
-            }
+            double weight = recencyWeight(daysOld);
             
             weightedSum += review.getOverallRating() * weight;
             totalWeight += weight;
@@ -560,4 +714,13 @@ public class RBTReviewStore {
         
         return totalWeight > 0 ? weightedSum / totalWeight : 0.0;
     }
-}
\ No newline at end of file
+
+    /**
+     * RBAR weight of a review the given number of days old: full weight up to 30 days,
+     * then exponential decay e^(-days/365).
+     * Time Complexity: O(1)
+     */
+    public static double recencyWeight(long daysOld) {
+        return daysOld <= 30 ? 1.0 : Math.exp(-daysOld / 365.0);
+    }
+}
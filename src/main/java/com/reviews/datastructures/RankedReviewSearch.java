@@ -0,0 +1,534 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Ranked retrieval over a ReviewTextIndex: BM25 blended with the stores' recency weight,
+ * with top-k pruning so the best reviews come back without scoring every match.
+ *
+ * A review's score for a free-text query is the sum over the query's distinct terms of
+ *
+ *   impact(term, review) = idf(term) * tf(k1 + 1) / (tf + k1(1 - b + b * len / avgLen)) * boost(review)
+ *   boost(review) = 1 - recencyBoost + recencyBoost * ReviewDates.recencyWeight(date)
+ *
+ * The recency weight is 1.0 for the last 30 days, falls linearly to a floor of 0.1 over
+ * three years and is 0.05 beyond, so the boost runs from 1 for recent reviews down to
+ * 1 - 0.95 * recencyBoost for the oldest.
+ *
+ * The boost only depends on the review, so it folds into every term impact and each term
+ * has fixed upper bounds. On first use a term's impacts are decoded from the compressed
+ * postings and cached in two orders:
+ *
+ * - impact order (largest first): topKByImpact reads the terms' lists best-first and stops
+ *   as soon as the sum of their next impacts, a bound on every unseen review, falls below
+ *   the k-th best score (the threshold algorithm). A one-word query reads about k postings.
+ * - document order, with the maximum impact of the whole list and of every BLOCK_SIZE
+ *   postings: topKWand runs block-max WAND. Terms sorted by current document have their
+ *   maxima summed until they could beat the k-th best score; documents before that pivot
+ *   are skipped unscored, and if the block maxima at the pivot still cannot beat it the
+ *   whole block range is skipped. This order intersects cheaply with an airline's list.
+ *
+ * Both return exactly the ranking of topKExhaustive. Ties on score rank the
+ * earlier-indexed review first. Impacts depend on the index size and on "today"; the
+ * cache is rebuilt when the index grows, so like ReviewTextIndex this is for one thread
+ * at a time.
+ *
+ * Time Complexities:
+ * - First use of a term: O(P log P) for its P postings
+ * - topKByImpact: O(S * T log P) for S reviews seen and T terms, usually S << matches
+ * - topKWand: O(S log k + skipped postings * log P) for S scored pivots
+ * - topKExhaustive: O(M log k) for M matching reviews
+ *
+ * Space Complexity: O(P) per cached term (two ints and one double per posting, plus blocks)
+ */
+public class RankedReviewSearch {
+    private static final int BLOCK_SIZE = 64;
+    private static final double DEFAULT_K1 = 1.2;
+    private static final double DEFAULT_B = 0.75;
+    private static final double DEFAULT_RECENCY_BOOST = 0.5;
+
+    private final ReviewTextIndex index;
+    private final ParallelRbar.Cutoffs cutoffs;
+    private final double k1;
+    private final double b;
+    private final double recencyBoost;
+    private final Map<String, TermImpacts> impacts;
+    private int impactsDocumentCount;
+
+    /**
+     * One ranked review.
+     */
+    public static final class Hit {
+        private final ReviewRecord review;
+        private final double score;
+        private final int doc;
+
+        Hit(ReviewRecord review, double score, int doc) {
+            this.review = review;
+            this.score = score;
+            this.doc = doc;
+        }
+
+        public ReviewRecord getReview() {
+            return review;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Top hits of one query plus how many reviews were fully scored to find them.
+     */
+    public static final class Result {
+        private final List<Hit> hits;
+        private final int documentsScored;
+
+        Result(List<Hit> hits, int documentsScored) {
+            this.hits = Collections.unmodifiableList(hits);
+            this.documentsScored = documentsScored;
+        }
+
+        /**
+         * Hits, best first.
+         */
+        public List<Hit> getHits() {
+            return hits;
+        }
+
+        public List<ReviewRecord> getReviews() {
+            List<ReviewRecord> reviews = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                reviews.add(hit.review);
+            }
+            return reviews;
+        }
+
+        public int getDocumentsScored() {
+            return documentsScored;
+        }
+    }
+
+    /**
+     * Precomputed impacts of one term, in document order, with the largest impact and last
+     * document of every BLOCK_SIZE postings for block-max pruning.
+     */
+    private static final class TermImpacts {
+        final int[] docs;
+        final double[] impacts;
+        final double maxImpact;
+        final double[] blockMax;
+        final int[] blockLastDoc;
+        // Positions in impact order: largest impact first, ties by doc
+        final int[] byImpact;
+
+        TermImpacts(int[] docs, double[] impacts) {
+            this.docs = docs;
+            this.impacts = impacts;
+            Integer[] positions = new Integer[docs.length];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = i;
+            }
+            Arrays.sort(positions, (x, y) -> impacts[x] != impacts[y] ? Double.compare(impacts[y], impacts[x])
+                                                                       : Integer.compare(x, y));
+            this.byImpact = new int[docs.length];
+            for (int i = 0; i < positions.length; i++) {
+                byImpact[i] = positions[i];
+            }
+            int blocks = (docs.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            this.blockMax = new double[blocks];
+            this.blockLastDoc = new int[blocks];
+            double max = 0;
+            for (int i = 0; i < docs.length; i++) {
+                int block = i / BLOCK_SIZE;
+                blockMax[block] = Math.max(blockMax[block], impacts[i]);
+                blockLastDoc[block] = docs[i];
+                max = Math.max(max, impacts[i]);
+            }
+            this.maxImpact = max;
+        }
+
+        // Block holding the first posting >= doc, searching from the block of position
+        int blockOf(int position, int doc) {
+            int low = Math.min(position / BLOCK_SIZE, blockLastDoc.length - 1);
+            if (blockLastDoc[low] >= doc) {
+                return low;
+            }
+            int high = blockLastDoc.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (blockLastDoc[middle] < doc) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Ranker with BM25 defaults (k1 = 1.2, b = 0.75), recency relative to today, and half of
+     * each score subject to the recency weight.
+     */
+    public RankedReviewSearch(ReviewTextIndex index) {
+        this(index, LocalDate.now(), DEFAULT_K1, DEFAULT_B, DEFAULT_RECENCY_BOOST);
+    }
+
+    /**
+     * Ranker with explicit parameters. recencyBoost in [0, 1] is the share of each score
+     * scaled by the recency weight: 0 is plain BM25, 1 multiplies BM25 by the weight.
+     */
+    public RankedReviewSearch(ReviewTextIndex index, LocalDate today, double k1, double b, double recencyBoost) {
+        if (recencyBoost < 0 || recencyBoost > 1) {
+            throw new IllegalArgumentException("recencyBoost must be in [0, 1]");
+        }
+        this.index = Objects.requireNonNull(index, "index");
+        this.cutoffs = new ParallelRbar.Cutoffs(today);
+        this.k1 = k1;
+        this.b = b;
+        this.recencyBoost = recencyBoost;
+        this.impacts = new HashMap<>();
+    }
+
+    /**
+     * The k best reviews for the query text over all airlines, read from the impact-ordered
+     * postings (topKByImpact).
+     * Time Complexity: see class comment
+     */
+    public Result topK(String queryText, int k) {
+        return topK(queryText, null, k);
+    }
+
+    /**
+     * The k best reviews for the query text, optionally for one airline (null for all).
+     * Over all airlines this reads the impact-ordered postings (topKByImpact); for one
+     * airline it runs block-max WAND, which leapfrogs the airline's document list.
+     * Time Complexity: see class comment
+     */
+    public Result topK(String queryText, String airline, int k) {
+        return airline == null ? topKByImpact(queryText, null, k) : topKWand(queryText, airline, k);
+    }
+
+    /**
+     * Threshold algorithm over impact-ordered postings. Each step takes the largest unread
+     * impact of any query term (sorted access) and scores its review completely by looking
+     * the review up in the other terms' doc-ordered impacts (random access). The sum of the
+     * terms' next unread impacts bounds every review not seen yet, so once the k-th best
+     * score exceeds it the top k are final.
+     * Time Complexity: O(S * (T log P + log k)) for S reviews seen, T terms
+     */
+    public Result topKByImpact(String queryText, String airline, int k) {
+        checkK(k);
+        TermImpacts[] terms = queryTerms(queryText);
+        PriorityQueue<Hit> best = new PriorityQueue<>(k + 1, WORST_FIRST);
+        if (terms.length == 0 || k == 0) {
+            return new Result(new ArrayList<>(), 0);
+        }
+        int[] read = new int[terms.length];
+        BitSet seen = new BitSet(index.getDocumentCount());
+        int scored = 0;
+        while (true) {
+            // Bound on unseen reviews, and the term with the largest unread impact
+            double bound = 0;
+            int next = -1;
+            for (int t = 0; t < terms.length; t++) {
+                if (read[t] < terms[t].byImpact.length) {
+                    double impact = terms[t].impacts[terms[t].byImpact[read[t]]];
+                    bound += impact;
+                    if (next < 0 || impact > terms[next].impacts[terms[next].byImpact[read[next]]]) {
+                        next = t;
+                    }
+                }
+            }
+            if (next < 0 || (best.size() == k && best.peek().score > bound)) {
+                break;
+            }
+            int doc = terms[next].docs[terms[next].byImpact[read[next]++]];
+            if (seen.get(doc)) {
+                continue;
+            }
+            seen.set(doc);
+            if (airline != null && !index.document(doc).getName().equals(airline)) {
+                continue;
+            }
+            double score = 0;
+            for (int t = 0; t < terms.length; t++) {
+                int position = seek(terms[t], 0, doc);
+                if (currentDoc(terms[t], position) == doc) {
+                    score += terms[t].impacts[position];
+                }
+            }
+            scored++;
+            if (best.size() < k || beats(score, doc, best.peek())) {
+                offer(best, k, new Hit(index.document(doc), score, doc));
+            }
+        }
+        return new Result(drain(best), scored);
+    }
+
+    /**
+     * Block-max WAND over doc-ordered impacts, optionally for one airline (null for all).
+     * Time Complexity: see class comment
+     */
+    public Result topKWand(String queryText, String airline, int k) {
+        checkK(k);
+        TermImpacts[] terms = queryTerms(queryText);
+        ReviewTextIndex.DocIterator allowed = airline == null ? null : index.airlineIterator(airline);
+        PriorityQueue<Hit> best = new PriorityQueue<>(k + 1, WORST_FIRST);
+        if (terms.length == 0 || k == 0) {
+            return new Result(new ArrayList<>(), 0);
+        }
+
+        // Per term (in query order, for summing scores): position in its postings and current doc.
+        // order[] holds the term numbers sorted by current doc, for pivoting.
+        int[] positions = new int[terms.length];
+        int[] docs = new int[terms.length];
+        int[] order = new int[terms.length];
+        for (int t = 0; t < terms.length; t++) {
+            docs[t] = currentDoc(terms[t], 0);
+            order[t] = t;
+        }
+        int scored = 0;
+        while (true) {
+            sortByDoc(order, docs);
+            double threshold = best.size() < k ? -1.0 : best.peek().score;
+
+            // Pivot: first term whose cumulative upper bound beats the threshold
+            double bound = 0;
+            int pivot = -1;
+            for (int i = 0; i < order.length && docs[order[i]] != ReviewTextIndex.NO_MORE_DOCS; i++) {
+                bound += terms[order[i]].maxImpact;
+                if (bound > threshold) {
+                    pivot = i;
+                    break;
+                }
+            }
+            if (pivot < 0) {
+                break;
+            }
+            int pivotDoc = docs[order[pivot]];
+            while (pivot + 1 < order.length && docs[order[pivot + 1]] == pivotDoc) {
+                pivot++; // terms sharing the pivot's doc belong to it
+            }
+
+            if (allowed != null) {
+                int next = allowed.docId() >= pivotDoc ? allowed.docId() : allowed.advance(pivotDoc);
+                if (next != pivotDoc) {
+                    moveTo(terms, positions, docs, order, pivot, next);
+                    continue;
+                }
+            }
+
+            // Block-max check: the blocks holding pivotDoc bound every doc up to the first block end
+            if (best.size() == k && skipBlocks(terms, positions, docs, order, pivot, pivotDoc, threshold)) {
+                continue;
+            }
+
+            if (docs[order[0]] == pivotDoc) {
+                // Every term before the pivot is on it: score the document fully
+                double score = 0;
+                for (int t = 0; t < terms.length; t++) {
+                    if (docs[t] == pivotDoc) {
+                        score += terms[t].impacts[positions[t]];
+                        positions[t]++;
+                        docs[t] = currentDoc(terms[t], positions[t]);
+                    }
+                }
+                scored++;
+                if (best.size() < k || score > threshold) {
+                    offer(best, k, new Hit(index.document(pivotDoc), score, pivotDoc));
+                }
+            } else {
+                // Skip the documents before the pivot: they cannot reach the threshold
+                moveTo(terms, positions, docs, order, pivot - 1, pivotDoc);
+            }
+        }
+        return new Result(drain(best), scored);
+    }
+
+    /**
+     * The same ranking as topK, scoring every matching review (the baseline for pruning).
+     * Time Complexity: O(M log k) for M matching reviews
+     */
+    public Result topKExhaustive(String queryText, String airline, int k) {
+        checkK(k);
+        TermImpacts[] terms = queryTerms(queryText);
+        ReviewTextIndex.DocIterator allowed = airline == null ? null : index.airlineIterator(airline);
+        PriorityQueue<Hit> best = new PriorityQueue<>(k + 1, WORST_FIRST);
+        int[] positions = new int[terms.length];
+        int scored = 0;
+        while (true) {
+            int doc = ReviewTextIndex.NO_MORE_DOCS;
+            for (int t = 0; t < terms.length; t++) {
+                doc = Math.min(doc, currentDoc(terms[t], positions[t]));
+            }
+            if (doc == ReviewTextIndex.NO_MORE_DOCS) {
+                break;
+            }
+            boolean included = allowed == null
+                               || (allowed.docId() >= doc ? allowed.docId() : allowed.advance(doc)) == doc;
+            double score = 0;
+            for (int t = 0; t < terms.length; t++) {
+                if (currentDoc(terms[t], positions[t]) == doc) {
+                    score += terms[t].impacts[positions[t]];
+                    positions[t]++;
+                }
+            }
+            if (included) {
+                scored++;
+                if (k > 0 && (best.size() < k || score > best.peek().score)) {
+                    offer(best, k, new Hit(index.document(doc), score, doc));
+                }
+            }
+        }
+        return new Result(drain(best), scored);
+    }
+
+    // Worst first: lower score, then later document
+    private static final Comparator<Hit> WORST_FIRST = (x, y) ->
+        x.score != y.score ? Double.compare(x.score, y.score) : Integer.compare(y.doc, x.doc);
+
+    private static boolean beats(double score, int doc, Hit worst) {
+        return score != worst.score ? score > worst.score : doc < worst.doc;
+    }
+
+    private static void offer(PriorityQueue<Hit> best, int k, Hit hit) {
+        if (best.size() < k) {
+            best.add(hit);
+        } else if (WORST_FIRST.compare(hit, best.peek()) > 0) {
+            best.poll();
+            best.add(hit);
+        }
+    }
+
+    private static List<Hit> drain(PriorityQueue<Hit> best) {
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(WORST_FIRST.reversed());
+        return hits;
+    }
+
+    private static void checkK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative");
+        }
+    }
+
+    /**
+     * If the block maxima of the blocks holding pivotDoc (for the terms order[0..pivot])
+     * cannot beat the threshold, move those terms past the first of those blocks to end
+     * (or to the next term's doc, if sooner) and return true: no doc in between can score
+     * more than the block maxima.
+     */
+    private static boolean skipBlocks(TermImpacts[] terms, int[] positions, int[] docs, int[] order, int pivot,
+                                      int pivotDoc, double threshold) {
+        double blockBound = 0;
+        int blockEnd = pivot + 1 < order.length ? docs[order[pivot + 1]] : ReviewTextIndex.NO_MORE_DOCS;
+        for (int i = 0; i <= pivot; i++) {
+            TermImpacts term = terms[order[i]];
+            int block = term.blockOf(positions[order[i]], pivotDoc);
+            blockBound += term.blockMax[block];
+            blockEnd = Math.min(blockEnd, term.blockLastDoc[block] + 1);
+        }
+        if (blockBound > threshold) {
+            return false;
+        }
+        moveTo(terms, positions, docs, order, pivot, blockEnd);
+        return true;
+    }
+
+    // Insertion sort of term numbers by current doc; nearly sorted between iterations
+    private static void sortByDoc(int[] order, int[] docs) {
+        for (int i = 1; i < order.length; i++) {
+            int term = order[i];
+            int j = i - 1;
+            while (j >= 0 && docs[order[j]] > docs[term]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = term;
+        }
+    }
+
+    // Advance the terms order[0..last] to their first doc >= target
+    private static void moveTo(TermImpacts[] terms, int[] positions, int[] docs, int[] order, int last, int target) {
+        for (int i = 0; i <= last; i++) {
+            int t = order[i];
+            if (docs[t] < target) {
+                positions[t] = target == ReviewTextIndex.NO_MORE_DOCS ? terms[t].docs.length
+                                                                      : seek(terms[t], positions[t], target);
+                docs[t] = currentDoc(terms[t], positions[t]);
+            }
+        }
+    }
+
+    private static int currentDoc(TermImpacts term, int position) {
+        return position < term.docs.length ? term.docs[position] : ReviewTextIndex.NO_MORE_DOCS;
+    }
+
+    // First position at or after from whose doc is >= target (galloping search)
+    private static int seek(TermImpacts term, int from, int target) {
+        int[] docs = term.docs;
+        int step = 1;
+        int high = from;
+        while (high < docs.length && docs[high] < target) {
+            from = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        high = Math.min(high, docs.length);
+        while (from < high) {
+            int middle = (from + high) >>> 1;
+            if (docs[middle] < target) {
+                from = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return from;
+    }
+
+    // Impacts of the query's distinct terms that occur in the index
+    private TermImpacts[] queryTerms(String queryText) {
+        if (index.getDocumentCount() != impactsDocumentCount) {
+            impacts.clear();
+            impactsDocumentCount = index.getDocumentCount();
+        }
+        List<TermImpacts> terms = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(TextTokenizer.tokenize(queryText))) {
+            TermImpacts termImpacts = impacts.get(term);
+            if (termImpacts == null) {
+                ReviewTextIndex.PostingList postings = index.postings(term);
+                if (postings == null) {
+                    continue;
+                }
+                termImpacts = computeImpacts(postings);
+                impacts.put(term, termImpacts);
+            }
+            terms.add(termImpacts);
+        }
+        return terms.toArray(new TermImpacts[0]);
+    }
+
+    private TermImpacts computeImpacts(ReviewTextIndex.PostingList postings) {
+        int documents = index.getDocumentCount();
+        double averageLength = Math.max(1.0, (double) index.getTotalTokens() / documents);
+        double idf = Math.log(1 + (documents - postings.docFrequency + 0.5) / (postings.docFrequency + 0.5));
+        int[] docs = new int[postings.docFrequency];
+        double[] termImpacts = new double[postings.docFrequency];
+        ReviewTextIndex.PostingsCursor cursor = postings.cursor();
+        int i = 0;
+        for (int doc = cursor.nextDoc(); doc != ReviewTextIndex.NO_MORE_DOCS; doc = cursor.nextDoc()) {
+            int tf = cursor.frequency();
+            double norm = k1 * (1 - b + b * index.documentLength(doc) / averageLength);
+            double boost = 1 - recencyBoost + recencyBoost * cutoffs.weight(index.documentDay(doc));
+            docs[i] = doc;
+            termImpacts[i] = idf * tf * (k1 + 1) / (tf + norm) * boost;
+            i++;
+        }
+        return new TermImpacts(docs, termImpacts);
+    }
+}
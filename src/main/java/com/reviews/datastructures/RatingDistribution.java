@@ -0,0 +1,153 @@
+package com.reviews.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable distribution of one rating, answering quantiles in O(bins).
+ *
+ * While every rating added is a whole number from 1 to 10 (the Skytrax scales) the
+ * distribution is an exact histogram of 11 counters, and quantile(q) is the exact
+ * nearest-rank value: the smallest rating r with at least ceil(q * n) ratings <= r.
+ * The first fractional or out-of-range rating converts it to a TDigest (each bin becomes
+ * one weighted point), and from then on quantiles are t-digest estimates.
+ *
+ * Ratings of 0 or below mean "not rated" (as in RollupCell) and are ignored.
+ *
+ * Time Complexities:
+ * - add: O(1) (amortized for a digest)
+ * - quantile: O(bins), 11 counters or ~compression centroids
+ * - merge: O(bins)
+ *
+ * Space Complexity: O(1) exact, O(compression) as a digest
+ */
+public class RatingDistribution {
+    private static final int MAX_EXACT = 10;
+
+    private long[] histogram = new long[MAX_EXACT + 1]; // null once converted
+    private TDigest digest;
+    private long count;
+    private double sum;
+
+    /**
+     * Add one rating (ignored if not positive).
+     * Time Complexity: O(1)
+     */
+    public void add(double rating) {
+        if (!(rating > 0)) {
+            return;
+        }
+        if (histogram != null && rating <= MAX_EXACT && rating == Math.rint(rating)) {
+            histogram[(int) rating]++;
+        } else {
+            toDigest();
+            digest.add(rating);
+        }
+        count++;
+        sum += rating;
+    }
+
+    private void toDigest() {
+        if (histogram == null) {
+            return;
+        }
+        digest = new TDigest();
+        for (int rating = 1; rating <= MAX_EXACT; rating++) {
+            if (histogram[rating] > 0) {
+                digest.add(rating, histogram[rating]);
+            }
+        }
+        histogram = null;
+    }
+
+    /**
+     * The rating at quantile q in [0, 1], or NaN if nothing was rated.
+     * Time Complexity: O(bins)
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be in [0, 1]");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (histogram == null) {
+            return digest.quantile(q);
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int rating = 1; rating <= MAX_EXACT; rating++) {
+            seen += histogram[rating];
+            if (seen >= rank) {
+                return rating;
+            }
+        }
+        return MAX_EXACT;
+    }
+
+    public double median() {
+        return quantile(0.5);
+    }
+
+    /**
+     * Fold another distribution into this one. Exact + exact stays exact.
+     * Time Complexity: O(bins)
+     */
+    public void merge(RatingDistribution other) {
+        if (other == this) {
+            other = copy();
+        }
+        if (histogram != null && other.histogram != null) {
+            for (int rating = 1; rating <= MAX_EXACT; rating++) {
+                histogram[rating] += other.histogram[rating];
+            }
+        } else {
+            toDigest();
+            if (other.histogram != null) {
+                for (int rating = 1; rating <= MAX_EXACT; rating++) {
+                    if (other.histogram[rating] > 0) {
+                        digest.add(rating, other.histogram[rating]);
+                    }
+                }
+            } else {
+                digest.merge(other.digest);
+            }
+        }
+        count += other.count;
+        sum += other.sum;
+    }
+
+    public RatingDistribution copy() {
+        RatingDistribution copy = new RatingDistribution();
+        copy.histogram = histogram == null ? null : histogram.clone();
+        copy.digest = digest == null ? null : digest.copy();
+        copy.count = count;
+        copy.sum = sum;
+        return copy;
+    }
+
+    /**
+     * Whether quantiles are exact (every rating so far a whole number from 1 to 10).
+     */
+    public boolean isExact() {
+        return histogram != null;
+    }
+
+    /**
+     * Ratings per whole value 1..10 (index = rating), or null once converted to a digest.
+     */
+    public long[] getHistogram() {
+        return histogram == null ? null : Arrays.copyOf(histogram, histogram.length);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    public long getSizeInBytes() {
+        return 40 + (histogram != null ? 16 + 8L * histogram.length : digest.getSizeInBytes());
+    }
+}
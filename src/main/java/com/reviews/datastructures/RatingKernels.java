@@ -0,0 +1,250 @@
+package com.reviews.datastructures;
+
+/**
+ * Aggregation kernels over primitive review columns (see ColumnarReviewStore).
+ * Each kernel has a scalar reference version, written like the per-review loops of the
+ * other stores, and a blocked version that processes LANES rows per step with the airline
+ * and date filters turned into 0/1 masks instead of branches. The blocked loops have no
+ * data-dependent control flow and keep independent accumulators per lane, which lets the
+ * JIT unroll and vectorize them.
+ *
+ * Stores call the dispatching methods, which use the scalar path unless the JVM is started
+ * with -Dreviews.kernels=blocked. On the machines measured so far (RatingKernelsBenchmark)
+ * the JIT already compiles the scalar loops well and the blocked ones are not faster, so
+ * the blocked path is opt-in until a platform shows otherwise.
+ *
+ * Time Complexity of every kernel: O(n), no allocation
+ */
+public final class RatingKernels {
+    /** Rows processed per step by the blocked kernels. */
+    public static final int LANES = 4;
+
+    /** Airline id that disables the airline filter. */
+    public static final int ANY_AIRLINE = -1;
+
+    private static final boolean BLOCKED =
+            "blocked".equalsIgnoreCase(System.getProperty("reviews.kernels"));
+
+    private RatingKernels() {
+    }
+
+    /**
+     * Whether stores should call the blocked kernels.
+     */
+    public static boolean useBlocked() {
+        return BLOCKED;
+    }
+
+    /**
+     * Weighted RBAR sums over rows [0, n) matching the airline and date filters.
+     * out[0] receives the weighted rating sum and out[1] the total weight.
+     */
+    public static void recencyWeightedSums(int[] airlineId, int[] epochDay, float[] rating, int n,
+                                           int targetAirline, int startDay, int endDay,
+                                           long thirtyDaysAgo, long threeYearsAgo, double[] out) {
+        if (useBlocked()) {
+            recencyWeightedSumsBlocked(airlineId, epochDay, rating, n, targetAirline, startDay, endDay,
+                                       thirtyDaysAgo, threeYearsAgo, out);
+        } else {
+            recencyWeightedSumsScalar(airlineId, epochDay, rating, n, targetAirline, startDay, endDay,
+                                      thirtyDaysAgo, threeYearsAgo, out);
+        }
+    }
+
+    /**
+     * Reference RBAR loop: one branchy weight computation per matching row.
+     */
+    public static void recencyWeightedSumsScalar(int[] airlineId, int[] epochDay, float[] rating, int n,
+                                                 int targetAirline, int startDay, int endDay,
+                                                 long thirtyDaysAgo, long threeYearsAgo, double[] out) {
+        double weightedSum = 0.0;
+        double totalWeight = 0.0;
+        for (int i = 0; i < n; i++) {
+            if ((targetAirline == ANY_AIRLINE || airlineId[i] == targetAirline)
+                    && epochDay[i] >= startDay && epochDay[i] <= endDay) {
+                double weight = ReviewDates.recencyWeight(epochDay[i], thirtyDaysAgo, threeYearsAgo);
+                weightedSum += rating[i] * weight;
+                totalWeight += weight;
+            }
+        }
+        out[0] = weightedSum;
+        out[1] = totalWeight;
+    }
+
+    /**
+     * Blocked RBAR loop: masks instead of branches, LANES independent accumulators.
+     * The recency weight only depends on the day, so it is read from a lookup table that
+     * covers the medium-age window; days outside it clamp to the 0.05 and 1.0 ends.
+     * Time Complexity: O(n + T) where T = days between the 3-year and 30-day cutoffs
+     */
+    public static void recencyWeightedSumsBlocked(int[] airlineId, int[] epochDay, float[] rating, int n,
+                                                  int targetAirline, int startDay, int endDay,
+                                                  long thirtyDaysAgo, long threeYearsAgo, double[] out) {
+        double[] weights = weightTable(thirtyDaysAgo, threeYearsAgo);
+        final int last = weights.length - 1;
+        final int oldCutoff = (int) threeYearsAgo;
+        final boolean anyAirline = targetAirline == ANY_AIRLINE;
+        if (endDay < startDay) {
+            out[0] = 0.0;
+            out[1] = 0.0;
+            return;
+        }
+        // Unsigned trick: start <= d <= end  <=>  (d - start) <= (end - start) as unsigned ints;
+        // the true width always fits in 32 unsigned bits, so the wrapped int is still correct
+        final int width = endDay - startDay;
+
+        double ws0 = 0, ws1 = 0, ws2 = 0, ws3 = 0;
+        double tw0 = 0, tw1 = 0, tw2 = 0, tw3 = 0;
+        int i = 0;
+        int blockedEnd = n - (n % LANES);
+        for (; i < blockedEnd; i += LANES) {
+            int d0 = epochDay[i];
+            int d1 = epochDay[i + 1];
+            int d2 = epochDay[i + 2];
+            int d3 = epochDay[i + 3];
+            double w0 = selected(airlineId[i], d0, anyAirline, targetAirline, startDay, width)
+                        ? weights[Math.min(Math.max(d0 - oldCutoff, 0), last)] : 0.0;
+            double w1 = selected(airlineId[i + 1], d1, anyAirline, targetAirline, startDay, width)
+                        ? weights[Math.min(Math.max(d1 - oldCutoff, 0), last)] : 0.0;
+            double w2 = selected(airlineId[i + 2], d2, anyAirline, targetAirline, startDay, width)
+                        ? weights[Math.min(Math.max(d2 - oldCutoff, 0), last)] : 0.0;
+            double w3 = selected(airlineId[i + 3], d3, anyAirline, targetAirline, startDay, width)
+                        ? weights[Math.min(Math.max(d3 - oldCutoff, 0), last)] : 0.0;
+            ws0 += rating[i] * w0;
+            ws1 += rating[i + 1] * w1;
+            ws2 += rating[i + 2] * w2;
+            ws3 += rating[i + 3] * w3;
+            tw0 += w0;
+            tw1 += w1;
+            tw2 += w2;
+            tw3 += w3;
+        }
+        for (; i < n; i++) {
+            int d = epochDay[i];
+            double w = selected(airlineId[i], d, anyAirline, targetAirline, startDay, width)
+                       ? weights[Math.min(Math.max(d - oldCutoff, 0), last)] : 0.0;
+            ws0 += rating[i] * w;
+            tw0 += w;
+        }
+        out[0] = (ws0 + ws1) + (ws2 + ws3);
+        out[1] = (tw0 + tw1) + (tw2 + tw3);
+    }
+
+    /**
+     * Airline and date filter of one row, evaluated with non-short-circuit operators.
+     */
+    private static boolean selected(int id, int day, boolean anyAirline, int targetAirline,
+                                    int startDay, int width) {
+        return (anyAirline | id == targetAirline) & Integer.compareUnsigned(day - startDay, width) <= 0;
+    }
+
+    /**
+     * Weight of every day from threeYearsAgo (index 0, weight 0.05) to thirtyDaysAgo + 1
+     * (last index, weight 1.0), using ReviewDates.recencyWeight for each entry.
+     */
+    private static double[] weightTable(long thirtyDaysAgo, long threeYearsAgo) {
+        int length = (int) (thirtyDaysAgo - threeYearsAgo) + 2;
+        double[] weights = new double[length];
+        for (int j = 0; j < length; j++) {
+            weights[j] = ReviewDates.recencyWeight(threeYearsAgo + j, thirtyDaysAgo, threeYearsAgo);
+        }
+        return weights;
+    }
+
+    /**
+     * Sum and count of one sub-rating column (tenths, 0 = not rated) for the airline filter.
+     * out[0] receives the sum in rating units and out[1] the number of rated rows.
+     */
+    public static void subRatingSums(int[] airlineId, byte[] tenths, int n, int targetAirline, double[] out) {
+        if (useBlocked()) {
+            subRatingSumsBlocked(airlineId, tenths, n, targetAirline, out);
+        } else {
+            subRatingSumsScalar(airlineId, tenths, n, targetAirline, out);
+        }
+    }
+
+    public static void subRatingSumsScalar(int[] airlineId, byte[] tenths, int n, int targetAirline, double[] out) {
+        long sum = 0;
+        long count = 0;
+        for (int i = 0; i < n; i++) {
+            if ((targetAirline == ANY_AIRLINE || airlineId[i] == targetAirline) && tenths[i] != 0) {
+                sum += tenths[i];
+                count++;
+            }
+        }
+        out[0] = sum / 10.0;
+        out[1] = count;
+    }
+
+    public static void subRatingSumsBlocked(int[] airlineId, byte[] tenths, int n, int targetAirline, double[] out) {
+        final boolean anyAirline = targetAirline == ANY_AIRLINE;
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        long c0 = 0, c1 = 0, c2 = 0, c3 = 0;
+        int i = 0;
+        int blockedEnd = n - (n % LANES);
+        for (; i < blockedEnd; i += LANES) {
+            int m0 = (anyAirline | airlineId[i] == targetAirline) ? 1 : 0;
+            int m1 = (anyAirline | airlineId[i + 1] == targetAirline) ? 1 : 0;
+            int m2 = (anyAirline | airlineId[i + 2] == targetAirline) ? 1 : 0;
+            int m3 = (anyAirline | airlineId[i + 3] == targetAirline) ? 1 : 0;
+            // 0 tenths contributes nothing to the sum; it only has to be excluded from the count
+            s0 += tenths[i] * m0;
+            s1 += tenths[i + 1] * m1;
+            s2 += tenths[i + 2] * m2;
+            s3 += tenths[i + 3] * m3;
+            c0 += m0 & (tenths[i] != 0 ? 1 : 0);
+            c1 += m1 & (tenths[i + 1] != 0 ? 1 : 0);
+            c2 += m2 & (tenths[i + 2] != 0 ? 1 : 0);
+            c3 += m3 & (tenths[i + 3] != 0 ? 1 : 0);
+        }
+        for (; i < n; i++) {
+            int m = (anyAirline | airlineId[i] == targetAirline) ? 1 : 0;
+            s0 += tenths[i] * m;
+            c0 += m & (tenths[i] != 0 ? 1 : 0);
+        }
+        out[0] = (s0 + s1 + s2 + s3) / 10.0;
+        out[1] = c0 + c1 + c2 + c3;
+    }
+
+    /**
+     * Count rows with startDay <= epochDay <= endDay.
+     */
+    public static int countInDateRange(int[] epochDay, int n, int startDay, int endDay) {
+        if (useBlocked()) {
+            return countInDateRangeBlocked(epochDay, n, startDay, endDay);
+        }
+        return countInDateRangeScalar(epochDay, n, startDay, endDay);
+    }
+
+    public static int countInDateRangeScalar(int[] epochDay, int n, int startDay, int endDay) {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (epochDay[i] >= startDay && epochDay[i] <= endDay) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static int countInDateRangeBlocked(int[] epochDay, int n, int startDay, int endDay) {
+        if (endDay < startDay) {
+            return 0;
+        }
+        // Unsigned trick: start <= d <= end  <=>  (d - start) <= (end - start) as unsigned ints;
+        // the true width always fits in 32 unsigned bits, so the wrapped int is still correct
+        final int width = endDay - startDay;
+        int c0 = 0, c1 = 0, c2 = 0, c3 = 0;
+        int i = 0;
+        int blockedEnd = n - (n % LANES);
+        for (; i < blockedEnd; i += LANES) {
+            c0 += Integer.compareUnsigned(epochDay[i] - startDay, width) <= 0 ? 1 : 0;
+            c1 += Integer.compareUnsigned(epochDay[i + 1] - startDay, width) <= 0 ? 1 : 0;
+            c2 += Integer.compareUnsigned(epochDay[i + 2] - startDay, width) <= 0 ? 1 : 0;
+            c3 += Integer.compareUnsigned(epochDay[i + 3] - startDay, width) <= 0 ? 1 : 0;
+        }
+        for (; i < n; i++) {
+            c0 += Integer.compareUnsigned(epochDay[i] - startDay, width) <= 0 ? 1 : 0;
+        }
+        return c0 + c1 + c2 + c3;
+    }
+}
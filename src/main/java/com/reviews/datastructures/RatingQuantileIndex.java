@@ -0,0 +1,219 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Per-airline, per-month rating distributions, so medians and percentiles of the overall
+ * rating and every sub-rating come from merged summaries instead of collecting and
+ * sorting reviews.
+ *
+ * Distributions are kept per review type and airline: sub-rating slots mean different
+ * things for each type (slot 1 is seat comfort for AirlineReview, legroom for SeatReview,
+ * comfort for AirportLoungeReview), and the CSVs share airline names across types, so
+ * every query names the type (the review's class). Each review updates its type and
+ * airline's distributions for its month and for all time: one RatingDistribution per
+ * metric, metric 0 being the overall rating and metric i the type's i-th sub-rating in
+ * ReviewFields.subRatings() order. A period query merges the months
+ * it covers, so its cost depends on the months and the bins (11 counters for whole-number
+ * ratings, a t-digest otherwise), never on the number of reviews. Month keys follow
+ * TimeBucketRollupIndex: year * 12 + month - 1.
+ *
+ * Time Complexities:
+ * - Insert: O(log B + S) for B months of the airline and S sub-ratings
+ * - All-time quantile: O(bins)
+ * - Quantile over M months: O(log B + M * bins)
+ *
+ * Space Complexity: O(T * A * B * (S + 1) * bins) for T review types, independent of N
+ */
+public class RatingQuantileIndex {
+    /** Metric index of the overall rating; sub-rating i is metric i + 1. */
+    public static final int OVERALL = 0;
+    /** Number of metrics: the overall rating plus ReviewFields.MAX_SUB_RATINGS sub-ratings. */
+    public static final int METRICS = 1 + ReviewFields.MAX_SUB_RATINGS;
+
+    /**
+     * Distributions of one airline's reviews of one type, per month and all time.
+     */
+    private static class AirlineDistributions {
+        final TreeMap<Integer, RatingDistribution[]> months = new TreeMap<>(); // key: year * 12 + month - 1
+        final RatingDistribution[] total = newMetrics();
+    }
+
+    private final Map<Class<? extends ReviewRecord>, Map<String, AirlineDistributions>> types;
+    private int totalReviews;
+
+    public RatingQuantileIndex() {
+        this.types = new HashMap<>();
+    }
+
+    private static RatingDistribution[] newMetrics() {
+        RatingDistribution[] metrics = new RatingDistribution[METRICS];
+        for (int i = 0; i < METRICS; i++) {
+            metrics[i] = new RatingDistribution();
+        }
+        return metrics;
+    }
+
+    /**
+     * Add a review's overall rating and sub-ratings.
+     * Time Complexity: O(log B + S)
+     */
+    public void addReview(ReviewRecord review) {
+        LocalDate date = ReviewDates.parseDate(review.getDate());
+        AirlineDistributions distributions = types.computeIfAbsent(review.getClass(), type -> new HashMap<>())
+                                                  .computeIfAbsent(review.getName(), name -> new AirlineDistributions());
+        RatingDistribution[] month = distributions.months.computeIfAbsent(
+            monthKey(YearMonth.from(date)), key -> newMetrics());
+        double[] subRatings = ReviewFields.subRatings(review);
+        for (RatingDistribution[] metrics : Arrays.asList(month, distributions.total)) {
+            metrics[OVERALL].add(review.getOverallRating());
+            for (int i = 0; i < subRatings.length && i < ReviewFields.MAX_SUB_RATINGS; i++) {
+                metrics[i + 1].add(subRatings[i]);
+            }
+        }
+        totalReviews++;
+    }
+
+    /**
+     * Add multiple reviews at once.
+     * Time Complexity: O(m (log B + S))
+     */
+    public void addReviews(List<? extends ReviewRecord> newReviews) {
+        for (ReviewRecord review : newReviews) {
+            addReview(review);
+        }
+    }
+
+    private AirlineDistributions find(Class<? extends ReviewRecord> type, String airline) {
+        Map<String, AirlineDistributions> airlines = types.get(type);
+        return airlines == null ? null : airlines.get(airline);
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    /**
+     * The all-time distribution of the metric over the airline's reviews of the type (a
+     * copy), empty if unknown.
+     * Time Complexity: O(bins)
+     */
+    public RatingDistribution distribution(Class<? extends ReviewRecord> type, String airline, int metric) {
+        checkMetric(metric);
+        AirlineDistributions distributions = find(type, airline);
+        return distributions == null ? new RatingDistribution() : distributions.total[metric].copy();
+    }
+
+    /**
+     * The distribution of the metric over the airline's reviews of the type in months
+     * [from, to], merged.
+     * Time Complexity: O(log B + M * bins)
+     */
+    public RatingDistribution distribution(Class<? extends ReviewRecord> type, String airline, int metric,
+                                           YearMonth from, YearMonth to) {
+        checkMetric(metric);
+        RatingDistribution merged = new RatingDistribution();
+        AirlineDistributions distributions = find(type, airline);
+        int start = monthKey(from);
+        int end = monthKey(to);
+        if (distributions != null && start <= end) {
+            for (RatingDistribution[] month : distributions.months.subMap(start, true, end, true).values()) {
+                merged.merge(month[metric]);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * The all-time value of the metric at quantile q over the airline's reviews of the type
+     * (NaN if never rated).
+     * Time Complexity: O(bins)
+     */
+    public double quantile(Class<? extends ReviewRecord> type, String airline, int metric, double q) {
+        checkMetric(metric);
+        AirlineDistributions distributions = find(type, airline);
+        return distributions == null ? Double.NaN : distributions.total[metric].quantile(q);
+    }
+
+    /**
+     * The values of the metric at each quantile over the airline's reviews of the type in
+     * months [from, to].
+     * Time Complexity: O(log B + M * bins + Q * bins)
+     */
+    public double[] quantiles(Class<? extends ReviewRecord> type, String airline, int metric, YearMonth from,
+                              YearMonth to, double... qs) {
+        RatingDistribution distribution = distribution(type, airline, metric, from, to);
+        double[] values = new double[qs.length];
+        for (int i = 0; i < qs.length; i++) {
+            values[i] = distribution.quantile(qs[i]);
+        }
+        return values;
+    }
+
+    /**
+     * The monthly values of the metric at quantile q over the airline's reviews of the type,
+     * in month order.
+     * Time Complexity: O(B * bins)
+     */
+    public Map<YearMonth, Double> monthlySeries(Class<? extends ReviewRecord> type, String airline, int metric,
+                                                double q) {
+        checkMetric(metric);
+        Map<YearMonth, Double> series = new LinkedHashMap<>();
+        AirlineDistributions distributions = find(type, airline);
+        if (distributions != null) {
+            for (Map.Entry<Integer, RatingDistribution[]> entry : distributions.months.entrySet()) {
+                series.put(YearMonth.of(entry.getKey() / 12, entry.getKey() % 12 + 1), entry.getValue()[metric].quantile(q));
+            }
+        }
+        return series;
+    }
+
+    private static void checkMetric(int metric) {
+        if (metric < 0 || metric >= METRICS) {
+            throw new IllegalArgumentException("metric must be in [0, " + METRICS + ")");
+        }
+    }
+
+    /**
+     * The review types added so far.
+     */
+    public Set<Class<? extends ReviewRecord>> getReviewTypes() {
+        return Collections.unmodifiableSet(types.keySet());
+    }
+
+    /**
+     * The airlines with reviews of the type.
+     */
+    public Set<String> getAirlines(Class<? extends ReviewRecord> type) {
+        return Collections.unmodifiableSet(types.getOrDefault(type, Collections.emptyMap()).keySet());
+    }
+
+    public int getTotalReviews() {
+        return totalReviews;
+    }
+
+    /**
+     * Bytes used by every distribution (estimated).
+     * Time Complexity: O(T * A * B * S)
+     */
+    public long getSizeInBytes() {
+        long bytes = 0;
+        for (Map<String, AirlineDistributions> airlines : types.values()) {
+            for (AirlineDistributions distributions : airlines.values()) {
+                for (RatingDistribution[] metrics : distributions.months.values()) {
+                    bytes += 48;
+                    for (RatingDistribution metric : metrics) {
+                        bytes += metric.getSizeInBytes();
+                    }
+                }
+                for (RatingDistribution metric : distributions.total) {
+                    bytes += metric.getSizeInBytes();
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,133 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-size, recency-biased sample of each airline's reviews for previews and downstream
+ * analysis, maintained at ingest so a preview never reads the airline's history.
+ *
+ * Every review is offered to its airline's WeightedReservoir with the RBAR recency weight
+ * (ReviewDates.recencyWeight: 1.0 for the last 30 days, linear decay to 0.1 over three
+ * years, 0.05 beyond), so a review from last week is twenty times as likely to be picked
+ * as one from five years ago. Weights are fixed relative to the "today" given at
+ * construction, the same way ParallelRbar.Cutoffs pins one "now" per leaderboard; a sampler
+ * built long ago keeps the weighting of its day.
+ *
+ * Plugs into the ingest path as a RingBufferIngestor sink. Not thread-safe.
+ *
+ * Time Complexities:
+ * - accept: O(1) amortized (hash lookup plus a reservoir offer)
+ * - preview: O(k log k), independent of the airline's review count
+ *
+ * Space Complexity: O(A * k) for A airlines
+ */
+public class RecencyReviewSampler implements Consumer<ReviewRecord> {
+    /** Default reviews kept per airline. */
+    public static final int DEFAULT_CAPACITY = 20;
+
+    private final int capacity;
+    private final ParallelRbar.Cutoffs cutoffs;
+    private final Random random;
+    private final Map<String, WeightedReservoir<ReviewRecord>> reservoirs;
+    private int totalReviews;
+
+    public RecencyReviewSampler() {
+        this(DEFAULT_CAPACITY, LocalDate.now(), new Random());
+    }
+
+    /**
+     * @param capacity reviews kept per airline
+     * @param today    day the recency weights are relative to
+     * @param random   source of the sampling randomness (seed it for repeatable samples)
+     */
+    public RecencyReviewSampler(int capacity, LocalDate today, Random random) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.cutoffs = new ParallelRbar.Cutoffs(today);
+        this.random = Objects.requireNonNull(random, "random");
+        this.reservoirs = new HashMap<>();
+    }
+
+    /**
+     * Offer the review to its airline's sample.
+     * Time Complexity: O(1) amortized
+     */
+    @Override
+    public void accept(ReviewRecord review) {
+        reservoirs.computeIfAbsent(review.getName(), airline -> new WeightedReservoir<>(capacity, random))
+                  .offer(review, weight(review));
+        totalReviews++;
+    }
+
+    /**
+     * Offer every review, in order.
+     */
+    public void addReviews(List<? extends ReviewRecord> reviews) {
+        for (ReviewRecord review : reviews) {
+            accept(review);
+        }
+    }
+
+    /**
+     * The recency weight the review is sampled with.
+     * Time Complexity: O(1)
+     */
+    public double weight(ReviewRecord review) {
+        return cutoffs.weight(ReviewDates.toEpochDay(review.getDate()));
+    }
+
+    /**
+     * The airline's whole sample (up to capacity reviews), in draw order.
+     * Time Complexity: O(k log k)
+     */
+    public List<ReviewRecord> sample(String airline) {
+        return preview(airline, capacity);
+    }
+
+    /**
+     * A recency-weighted sample of up to n of the airline's reviews, in draw order; empty if
+     * the airline is unknown. Any n up to the capacity is a valid sample on its own.
+     * Time Complexity: O(k log k)
+     */
+    public List<ReviewRecord> preview(String airline, int n) {
+        WeightedReservoir<ReviewRecord> reservoir = reservoirs.get(airline);
+        return reservoir == null ? new ArrayList<>() : reservoir.sample(n);
+    }
+
+    public Set<String> getAirlines() {
+        return Collections.unmodifiableSet(reservoirs.keySet());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getTotalReviews() {
+        return totalReviews;
+    }
+
+    /**
+     * Sampler statistics: reviews seen, airlines, reviews held and reservoir replacements.
+     * Time Complexity: O(A)
+     */
+    public Map<String, Object> getMetrics() {
+        long held = 0;
+        long replacements = 0;
+        for (WeightedReservoir<ReviewRecord> reservoir : reservoirs.values()) {
+            held += reservoir.size();
+            replacements += reservoir.getReplacements();
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("reviews", totalReviews);
+        metrics.put("airlines", reservoirs.size());
+        metrics.put("capacity", capacity);
+        metrics.put("sampled", held);
+        metrics.put("replacements", replacements);
+        return metrics;
+    }
+}
@@ -0,0 +1,254 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free recency index built on concurrent skip lists.
+ * The RBT keeps recent reviews near its root, which makes every insert a write to the
+ * root and the tree single-writer. Here reviews are keyed by (epochDay, insert sequence)
+ * in a ConcurrentSkipListMap ordered newest first: inserts only CAS the few links around
+ * their own position, so many ingest threads can insert while readers walk the list.
+ *
+ * Keys pack the pair into one long: the high 32 bits hold -epochDay (so newer days sort
+ * first) and the low 32 bits the insert sequence (so same-day reviews stay in insertion
+ * order, like the stable sorts of the other stores). One global list serves newest-first
+ * scans and date ranges; one list per airline serves per-airline top-k.
+ *
+ * Iterators and range views are weakly consistent: they never block or throw, always see
+ * the entries present when they started, and may or may not see entries inserted while
+ * they run.
+ *
+ * Time Complexities:
+ * - Insert: O(log N) expected, lock-free
+ * - Top-k Recent Retrieval: O(log N + k), per airline or global
+ * - Date range scan: O(log N + R) for R results
+ * - Recency-Biased Average Rating: O(A) for the airline's A reviews
+ *
+ * Space Complexity: O(N), two skip list entries per review
+ */
+public class RecencySkipListIndex {
+    private static final long MAX_SEQUENCE = 0xFFFFFFFFL;
+
+    private final ConcurrentSkipListMap<Long, ReviewRecord> newestFirst;
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<Long, ReviewRecord>> byAirline;
+    private final AtomicLong sequence;
+    private final AtomicInteger totalReviews;
+
+    public RecencySkipListIndex() {
+        this.newestFirst = new ConcurrentSkipListMap<>();
+        this.byAirline = new ConcurrentHashMap<>();
+        this.sequence = new AtomicLong();
+        this.totalReviews = new AtomicInteger();
+    }
+
+    /**
+     * Add a new review to the index. Safe to call from any number of threads.
+     * Time Complexity: O(log N) expected
+     */
+    public void addReview(ReviewRecord review) {
+        long seq = sequence.getAndIncrement();
+        if (seq > MAX_SEQUENCE) {
+            throw new IllegalStateException("Recency index is limited to 2^32 inserts");
+        }
+        long key = key(ReviewDates.toEpochDay(review.getDate()), seq);
+        newestFirst.put(key, review);
+        byAirline.computeIfAbsent(review.getName(), name -> new ConcurrentSkipListMap<>()).put(key, review);
+        totalReviews.incrementAndGet();
+    }
+
+    /**
+     * Add multiple reviews to the index.
+     * Time Complexity: O(M log N) where M is the number of new reviews
+     */
+    public void addReviews(List<ReviewRecord> newReviews) {
+        for (ReviewRecord review : newReviews) {
+            addReview(review);
+        }
+    }
+
+    /**
+     * Get the total number of reviews indexed.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return totalReviews.get();
+    }
+
+    /**
+     * Weakly consistent newest-first view of every review; iterating it never blocks writers.
+     * Time Complexity: O(1) to create, O(1) per step
+     */
+    public Iterable<ReviewRecord> newestFirst() {
+        return newestFirst.values();
+    }
+
+    /**
+     * Retrieve the k most recent reviews for a specific airline.
+     * Time Complexity: O(log N + k)
+     */
+    public List<ReviewRecord> getTopKRecentReviews(String airlineName, int k) {
+        ConcurrentSkipListMap<Long, ReviewRecord> airline = byAirline.get(airlineName);
+        if (airline == null) {
+            return new ArrayList<>();
+        }
+        return firstK(airline.values(), k);
+    }
+
+    /**
+     * Retrieve the k most recent reviews across all airlines.
+     * Time Complexity: O(log N + k)
+     */
+    public List<ReviewRecord> getTopKRecentReviews(int k) {
+        return firstK(newestFirst.values(), k);
+    }
+
+    /**
+     * Get reviews within a date range (inclusive), newest first. The scan is lock-free.
+     * Time Complexity: O(log N + R) where R is the number of results
+     */
+    public List<ReviewRecord> getReviewsInDateRange(LocalDate startDate, LocalDate endDate) {
+        return new ArrayList<>(rangeView(newestFirst, startDate.toEpochDay(), endDate.toEpochDay()).values());
+    }
+
+    /**
+     * Get reviews of one airline within a date range (inclusive), newest first.
+     * Time Complexity: O(log A + R)
+     */
+    public List<ReviewRecord> getReviewsInDateRange(String airlineName, LocalDate startDate, LocalDate endDate) {
+        ConcurrentSkipListMap<Long, ReviewRecord> airline = byAirline.get(airlineName);
+        if (airline == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(rangeView(airline, startDate.toEpochDay(), endDate.toEpochDay()).values());
+    }
+
+    /**
+     * Average overall rating of the reviews from the last {@code days} days (same definition
+     * as RBTReviewStore.getRecentAverageRating).
+     * Time Complexity: O(log N + R)
+     */
+    public double getRecentAverageRating(int days) {
+        long cutoff = LocalDate.now().minusDays(days).toEpochDay();
+        // Strictly after the cutoff, up to any future date
+        ConcurrentNavigableMap<Long, ReviewRecord> recent = newestFirst.headMap(key(cutoff, 0), false);
+        double sum = 0.0;
+        int count = 0;
+        for (ReviewRecord review : recent.values()) {
+            sum += review.getOverallRating();
+            count++;
+        }
+        return count > 0 ? sum / count : 0.0;
+    }
+
+    /**
+     * Calculate Recency-Biased Average Rating (RB-AR) for a specific airline.
+     * Time Complexity: O(A) where A is the number of reviews for the airline
+     */
+    public double calculateRecencyBiasedAverageRating(String airlineName) {
+        ConcurrentSkipListMap<Long, ReviewRecord> airline = byAirline.get(airlineName);
+        if (airline == null) {
+            return 0.0;
+        }
+
+        LocalDate now = LocalDate.now();
+        long thirtyDaysAgo = ReviewDates.thirtyDaysBefore(now).toEpochDay();
+        long threeYearsAgo = ReviewDates.threeYearsBefore(now).toEpochDay();
+
+        double weightedSum = 0.0;
+        double totalWeight = 0.0;
+        for (Map.Entry<Long, ReviewRecord> entry : airline.entrySet()) {
+            double weight = ReviewDates.recencyWeight(epochDayOf(entry.getKey()), thirtyDaysAgo, threeYearsAgo);
+            weightedSum += entry.getValue().getOverallRating() * weight;
+            totalWeight += weight;
+        }
+        return totalWeight > 0 ? weightedSum / totalWeight : 0.0;
+    }
+
+    /**
+     * Get all unique airline names in the index.
+     * Time Complexity: O(P) where P is the number of airlines
+     */
+    public Set<String> getAllAirlines() {
+        return new HashSet<>(byAirline.keySet());
+    }
+
+    /**
+     * Get all reviews sorted by date (most recent first), ties in insertion order.
+     * Time Complexity: O(N), the list is already in order
+     */
+    public List<ReviewRecord> getAllReviewsSortedByDate() {
+        return new ArrayList<>(newestFirst.values());
+    }
+
+    /**
+     * Clear all reviews from the index. Intended for quiescent moments.
+     * Time Complexity: O(N)
+     */
+    public void clear() {
+        newestFirst.clear();
+        byAirline.clear();
+        totalReviews.set(0);
+    }
+
+    /**
+     * Get statistics about the index.
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalReviews", size());
+        stats.put("uniqueAirlines", byAirline.size());
+
+        Map.Entry<Long, ReviewRecord> newest = newestFirst.firstEntry();
+        Map.Entry<Long, ReviewRecord> oldest = newestFirst.lastEntry();
+        if (newest != null && oldest != null) {
+            stats.put("newestReview", LocalDate.ofEpochDay(epochDayOf(newest.getKey())));
+            stats.put("oldestReview", LocalDate.ofEpochDay(epochDayOf(oldest.getKey())));
+        }
+
+        return stats;
+    }
+
+    /**
+     * Newest-first key: -epochDay in the high 32 bits, sequence in the low 32 bits.
+     */
+    private static long key(long epochDay, long seq) {
+        return (-epochDay << 32) | seq;
+    }
+
+    private static long epochDayOf(long key) {
+        return -(key >> 32);
+    }
+
+    /**
+     * Entries with startDay <= epochDay <= endDay. Keys of endDay come first, and the view
+     * stops right before the first key of startDay - 1.
+     */
+    private static ConcurrentNavigableMap<Long, ReviewRecord> rangeView(ConcurrentSkipListMap<Long, ReviewRecord> map,
+                                                                       long startDay, long endDay) {
+        if (endDay < startDay) {
+            return new ConcurrentSkipListMap<>();
+        }
+        return map.subMap(key(endDay, 0), true, key(startDay - 1, 0), false);
+    }
+
+    private static List<ReviewRecord> firstK(Collection<ReviewRecord> values, int k) {
+        List<ReviewRecord> result = new ArrayList<>(Math.max(0, Math.min(k, 64)));
+        if (k <= 0) {
+            return result;
+        }
+        for (ReviewRecord review : values) {
+            result.add(review);
+            if (result.size() >= k) {
+                break;
+            }
+        }
+        return result;
+    }
+}
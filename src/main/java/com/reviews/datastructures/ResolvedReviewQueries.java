@@ -0,0 +1,62 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+
+import java.util.*;
+
+/**
+ * A review store whose per-airline queries accept any spelling of the airline name.
+ * The name is resolved with an AirlineNameResolver to the airline's primary spelling
+ * before it reaches the store, so "Singapore Airlines", "singapore-airlines" and
+ * "Singapor Airlines" all hit the same reviews. Names that do not resolve are passed
+ * through unchanged and get the store's usual answer for an unknown airline.
+ *
+ * Only the primary spelling is queried: a store loaded with several spellings of the same
+ * airline keeps them apart, and the others are reachable through getResolver().
+ *
+ * Implements ReviewQueryService.Backend, so it can sit in front of CachedReviewQueries or
+ * be served over HTTP directly.
+ *
+ * Time Complexities:
+ * - topK / rbar: one resolve (see AirlineNameResolver) plus the store's query cost
+ *
+ * Space Complexity: O(1) on top of the resolver
+ */
+public class ResolvedReviewQueries implements ReviewQueryService.Backend {
+    private final ReviewQueryService.Backend store;
+    private final AirlineNameResolver resolver;
+
+    public ResolvedReviewQueries(ReviewQueryService.Backend store, AirlineNameResolver resolver) {
+        this.store = store;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public List<ReviewRecord> topK(String airline, int k) {
+        return store.topK(resolve(airline), k);
+    }
+
+    @Override
+    public double rbar(String airline) {
+        return store.rbar(resolve(airline));
+    }
+
+    @Override
+    public AirlineScores leaderboard() {
+        return store.leaderboard();
+    }
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    public AirlineNameResolver getResolver() {
+        return resolver;
+    }
+
+    private String resolve(String airline) {
+        String name = resolver.resolveName(airline);
+        return name == null ? airline : name;
+    }
+}
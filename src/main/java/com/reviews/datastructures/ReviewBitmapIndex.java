@@ -0,0 +1,356 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Secondary indexes on the low-cardinality review attributes, one RoaringBitmap of review
+ * ids per distinct value, so filters such as "Business cabin, Solo Leisure, A350, last 90
+ * days" are bitmap intersections that touch no review until the result is materialized.
+ *
+ * Review ids are stable: the insertion ordinal, never reused (clear() aside). Ids only
+ * grow, so every add appends to the end of its bitmaps.
+ *
+ * Values are matched loosely, since the sources disagree on spelling: case, spaces and
+ * punctuation are ignored ("FamilyLeisure" = "Family Leisure", "United Kingdom" =
+ * "united-kingdom"). Aircraft also drop the manufacturer ("BOEING 747-400" = "B747-400" =
+ * "747-400"), and an aircraft lookup matches the whole family: "A350" finds "Airbus A350"
+ * and "A350-900" but not "A3500". Empty values are not indexed.
+ *
+ * Dates have one bitmap per day; a date range is the union of its days. For a filter that
+ * is already small, filterByDate() checks a per-review day column instead, which costs
+ * O(result) rather than O(days in range).
+ *
+ * Not thread-safe: like ReviewTextIndex it expects one writer and no queries running
+ * while a review is added.
+ *
+ * Time Complexities:
+ * - Add review: O(A) appends for A attributes
+ * - Attribute lookup: O(1) expected, plus O(V) family members OR'd for aircraft
+ * - Date range: O(D + n) for D days in range and n reviews in it
+ * - and / or / andNot: see RoaringBitmap
+ * - Materialize: O(n) for n ids
+ *
+ * Space Complexity: O(N) ids in compressed bitmaps plus O(N) ints of day column
+ */
+public class ReviewBitmapIndex {
+
+    /**
+     * Indexed attributes.
+     */
+    public enum Attribute {
+        AIRLINE, COUNTRY, AIRCRAFT, CABIN, TRAVELLER_TYPE
+    }
+
+    private final List<ReviewRecord> reviews;
+    private int[] days;
+    private final EnumMap<Attribute, TreeMap<String, RoaringBitmap>> bitmaps;
+    private final EnumMap<Attribute, Map<String, String>> displayValues;
+    private final TreeMap<Integer, RoaringBitmap> byDay;
+
+    public ReviewBitmapIndex() {
+        this.reviews = new ArrayList<>();
+        this.days = new int[16];
+        this.bitmaps = new EnumMap<>(Attribute.class);
+        this.displayValues = new EnumMap<>(Attribute.class);
+        for (Attribute attribute : Attribute.values()) {
+            bitmaps.put(attribute, new TreeMap<>());
+            displayValues.put(attribute, new HashMap<>());
+        }
+        this.byDay = new TreeMap<>();
+    }
+
+    /**
+     * Index one review; returns its review id.
+     * Time Complexity: O(A) bitmap appends
+     */
+    public int addReview(ReviewRecord review) {
+        int id = reviews.size();
+        reviews.add(review);
+        if (id == days.length) {
+            days = Arrays.copyOf(days, id * 2);
+        }
+        int day = ReviewDates.toEpochDay(review.getDate());
+        days[id] = day;
+        byDay.computeIfAbsent(day, d -> new RoaringBitmap()).add(id);
+        for (Attribute attribute : Attribute.values()) {
+            index(attribute, value(attribute, review), id);
+        }
+        return id;
+    }
+
+    /**
+     * The review's raw value of the attribute, or null if its type has none.
+     */
+    static String value(Attribute attribute, ReviewRecord review) {
+        switch (attribute) {
+            case AIRLINE:
+                return review.getName();
+            case COUNTRY:
+                return review.getCountry();
+            case AIRCRAFT:
+                return ReviewFields.aircraft(review);
+            case CABIN:
+                return ReviewFields.cabinFlown(review);
+            default:
+                return ReviewFields.typeTraveller(review);
+        }
+    }
+
+    /**
+     * Index every review, in order.
+     * Time Complexity: O(M * A)
+     */
+    public void addReviews(List<? extends ReviewRecord> newReviews) {
+        for (ReviewRecord review : newReviews) {
+            addReview(review);
+        }
+    }
+
+    private void index(Attribute attribute, String value, int id) {
+        String key = key(attribute, value);
+        if (key.isEmpty()) {
+            return;
+        }
+        bitmaps.get(attribute).computeIfAbsent(key, k -> new RoaringBitmap()).add(id);
+        displayValues.get(attribute).putIfAbsent(key, value.trim());
+    }
+
+    /**
+     * Lookup key of a value: lower-cased letters and digits only; for aircraft, without
+     * a leading manufacturer and with '-' kept between model and variant.
+     */
+    static String key(Attribute attribute, String value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (attribute == Attribute.AIRCRAFT) {
+            for (String maker : new String[] {"airbus", "boeing", "embraer", "bombardier"}) {
+                if (text.startsWith(maker)) {
+                    text = text.substring(maker.length()).trim();
+                    break;
+                }
+            }
+            if (text.length() > 1 && text.charAt(0) == 'b' && Character.isDigit(text.charAt(1))) {
+                text = text.substring(1); // "b747" -> "747"
+            }
+        }
+        StringBuilder key = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || (c == '-' && attribute == Attribute.AIRCRAFT && key.length() > 0)) {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Ids of the reviews whose attribute matches the value (an aircraft matches its whole
+     * family). The bitmap is a copy the caller may modify.
+     * Time Complexity: O(1) expected plus the copy
+     */
+    public RoaringBitmap lookup(Attribute attribute, String value) {
+        List<RoaringBitmap> bitmaps = matching(attribute, key(attribute, value));
+        if (bitmaps.size() == 1) {
+            return bitmaps.get(0).copy();
+        }
+        return RoaringBitmap.orAll(bitmaps);
+    }
+
+    /**
+     * Number of reviews lookup(attribute, value) would return, without building the bitmap.
+     * Time Complexity: O(1) expected, plus O(V) family members for aircraft
+     */
+    public int count(Attribute attribute, String value) {
+        String key = key(attribute, value);
+        int count = 0;
+        for (RoaringBitmap bitmap : matching(attribute, key)) {
+            count += bitmap.cardinality();
+        }
+        return count;
+    }
+
+    // The stored bitmaps whose values match the key: one, or an aircraft family
+    private List<RoaringBitmap> matching(Attribute attribute, String key) {
+        return matching(attribute, bitmaps.get(attribute), key);
+    }
+
+    /**
+     * The bitmaps of a value -> bitmap map (keyed like this index) whose values match the
+     * key, by the same rules as lookup(). Shared with AdaptiveIndexStore's indexes.
+     */
+    static List<RoaringBitmap> matching(Attribute attribute, TreeMap<String, RoaringBitmap> values, String key) {
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (attribute != Attribute.AIRCRAFT) {
+            RoaringBitmap bitmap = values.get(key);
+            return bitmap == null ? Collections.emptyList() : Collections.singletonList(bitmap);
+        }
+        List<RoaringBitmap> family = new ArrayList<>();
+        for (Map.Entry<String, RoaringBitmap> entry : values.subMap(key, true, key + Character.MAX_VALUE, true).entrySet()) {
+            String member = entry.getKey();
+            if (member.length() == key.length() || !Character.isLetterOrDigit(member.charAt(key.length()))) {
+                family.add(entry.getValue());
+            }
+        }
+        return family;
+    }
+
+    /**
+     * Whether a raw attribute value matches a lookup key, by the same rules as lookup().
+     */
+    static boolean matchesKey(Attribute attribute, String key, String value) {
+        String valueKey = key(attribute, value);
+        if (key.isEmpty() || !valueKey.startsWith(key)) {
+            return false;
+        }
+        return valueKey.length() == key.length()
+            || (attribute == Attribute.AIRCRAFT && !Character.isLetterOrDigit(valueKey.charAt(key.length())));
+    }
+
+    /**
+     * The index's own bitmap for the value (no copy; the union for an aircraft family).
+     * Callers must not modify it.
+     */
+    RoaringBitmap shared(Attribute attribute, String value) {
+        List<RoaringBitmap> bitmaps = matching(attribute, key(attribute, value));
+        if (bitmaps.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        return bitmaps.size() == 1 ? bitmaps.get(0) : RoaringBitmap.orAll(bitmaps);
+    }
+
+    /**
+     * Per-day bitmaps by epoch day (live view; callers must not modify).
+     */
+    NavigableMap<Integer, RoaringBitmap> days() {
+        return byDay;
+    }
+
+    int day(int id) {
+        return days[id];
+    }
+
+    public RoaringBitmap airline(String airline) {
+        return lookup(Attribute.AIRLINE, airline);
+    }
+
+    public RoaringBitmap country(String country) {
+        return lookup(Attribute.COUNTRY, country);
+    }
+
+    public RoaringBitmap aircraft(String aircraft) {
+        return lookup(Attribute.AIRCRAFT, aircraft);
+    }
+
+    public RoaringBitmap cabin(String cabin) {
+        return lookup(Attribute.CABIN, cabin);
+    }
+
+    public RoaringBitmap travellerType(String travellerType) {
+        return lookup(Attribute.TRAVELLER_TYPE, travellerType);
+    }
+
+    /**
+     * Ids of the reviews dated in [startDate, endDate].
+     * Time Complexity: O(D + n) for D indexed days in range and n reviews
+     */
+    public RoaringBitmap dateRange(LocalDate startDate, LocalDate endDate) {
+        int start = (int) startDate.toEpochDay();
+        int end = (int) endDate.toEpochDay();
+        if (start > end) {
+            return new RoaringBitmap();
+        }
+        return RoaringBitmap.orAll(byDay.subMap(start, true, end, true).values());
+    }
+
+    /**
+     * The ids of filter whose review is dated in [startDate, endDate], checked against
+     * the day column: cheaper than and(filter, dateRange(...)) when filter is small.
+     * Time Complexity: O(n) for n ids in filter
+     */
+    public RoaringBitmap filterByDate(RoaringBitmap filter, LocalDate startDate, LocalDate endDate) {
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+        RoaringBitmap result = new RoaringBitmap();
+        filter.forEach(id -> {
+            if (id < reviews.size() && days[id] >= start && days[id] <= end) {
+                result.add(id);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Ids of every indexed review.
+     */
+    public RoaringBitmap all() {
+        return RoaringBitmap.range(0, reviews.size());
+    }
+
+    /**
+     * Reviews of the ids, in id order.
+     * Time Complexity: O(n)
+     */
+    public List<ReviewRecord> getReviews(RoaringBitmap ids) {
+        List<ReviewRecord> result = new ArrayList<>(ids.cardinality());
+        ids.forEach(id -> {
+            if (id < reviews.size()) {
+                result.add(reviews.get(id));
+            }
+        });
+        return result;
+    }
+
+    public ReviewRecord getReview(int id) {
+        return reviews.get(id);
+    }
+
+    /**
+     * Review count per distinct value of the attribute, keyed by the first spelling seen.
+     * Time Complexity: O(V)
+     */
+    public Map<String, Integer> getValueCounts(Attribute attribute) {
+        Map<String, Integer> counts = new TreeMap<>();
+        Map<String, String> display = displayValues.get(attribute);
+        for (Map.Entry<String, RoaringBitmap> entry : bitmaps.get(attribute).entrySet()) {
+            counts.put(display.get(entry.getKey()), entry.getValue().cardinality());
+        }
+        return counts;
+    }
+
+    public int size() {
+        return reviews.size();
+    }
+
+    /**
+     * Bytes used by every bitmap, attribute and day (estimated).
+     * Time Complexity: O(total containers)
+     */
+    public long getIndexSizeBytes() {
+        long bytes = 16 + 4L * days.length;
+        for (TreeMap<String, RoaringBitmap> values : bitmaps.values()) {
+            for (RoaringBitmap bitmap : values.values()) {
+                bytes += bitmap.getSizeInBytes();
+            }
+        }
+        for (RoaringBitmap bitmap : byDay.values()) {
+            bytes += bitmap.getSizeInBytes();
+        }
+        return bytes;
+    }
+
+    public void clear() {
+        reviews.clear();
+        days = new int[16];
+        for (Attribute attribute : Attribute.values()) {
+            bitmaps.get(attribute).clear();
+            displayValues.get(attribute).clear();
+        }
+        byDay.clear();
+    }
+}
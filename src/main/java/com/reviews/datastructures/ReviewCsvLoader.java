@@ -0,0 +1,174 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.AirportLoungeReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.Models.SeatReview;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Loader for the review CSVs under data/ (lounge.csv, seat.csv).
+ * Fields are RFC 4180 style: optionally double-quoted, with "" for a literal quote, and
+ * quoted fields may contain commas and line breaks (review content often does).
+ * Columns are looked up by header name, so column order does not matter; empty rating
+ * cells become 0.0, which the models treat as "not rated".
+ *
+ * Time Complexity: O(file size)
+ */
+public final class ReviewCsvLoader {
+
+    private ReviewCsvLoader() {
+    }
+
+    /**
+     * Load lounge.csv rows as AirportLoungeReview records.
+     */
+    public static List<ReviewRecord> loadLoungeReviews(Path path) throws IOException {
+        List<ReviewRecord> reviews = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Rows rows = new Rows(reader);
+            while (rows.next()) {
+                reviews.add(new AirportLoungeReview(
+                    rows.get("airline_name"), rows.get("link"), rows.get("title"), rows.get("author"),
+                    rows.get("author_country"), rows.get("date"), rows.get("content"), rows.get("lounge_name"),
+                    rows.get("airport"), rows.get("lounge_type"), rows.get("date_visit"), rows.get("type_traveller"),
+                    rows.getDouble("overall_rating"), rows.getDouble("comfort_rating"),
+                    rows.getDouble("cleanliness_rating"), rows.getDouble("bar_beverages_rating"),
+                    rows.getDouble("catering_rating"), rows.getDouble("washrooms_rating"),
+                    rows.getDouble("wifi_connectivity_rating"), rows.getDouble("staff_service_rating"),
+                    (int) rows.getDouble("recommended")));
+            }
+        }
+        return reviews;
+    }
+
+    /**
+     * Load seat.csv rows as SeatReview records.
+     */
+    public static List<ReviewRecord> loadSeatReviews(Path path) throws IOException {
+        List<ReviewRecord> reviews = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Rows rows = new Rows(reader);
+            while (rows.next()) {
+                reviews.add(new SeatReview(
+                    rows.get("airline_name"), rows.get("link"), rows.get("title"), rows.get("author"),
+                    rows.get("author_country"), rows.get("date"), rows.get("content"), rows.get("aircraft"),
+                    rows.get("seat_layout"), rows.get("date_flown"), rows.get("cabin_flown"),
+                    rows.get("type_traveller"), rows.getDouble("overall_rating"),
+                    rows.getDouble("seat_legroom_rating"), rows.getDouble("seat_recline_rating"),
+                    rows.getDouble("seat_width_rating"), rows.getDouble("aisle_space_rating"),
+                    rows.getDouble("viewing_tv_rating"), rows.getDouble("power_supply_rating"),
+                    rows.getDouble("seat_storage_rating"), (int) rows.getDouble("recommended")));
+            }
+        }
+        return reviews;
+    }
+
+    /**
+     * Parse every record of a CSV stream, header included, into its fields.
+     *
+     * @throws IllegalArgumentException if a quoted field is never closed
+     */
+    public static List<String[]> parse(Reader reader) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        String[] record;
+        while ((record = readRecord(reader)) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Data rows of one file with header-name lookup.
+     */
+    private static final class Rows {
+        private final Reader reader;
+        private final Map<String, Integer> columns;
+        private String[] current;
+
+        Rows(Reader reader) throws IOException {
+            this.reader = reader;
+            this.columns = new HashMap<>();
+            String[] header = readRecord(reader);
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i].trim(), i);
+            }
+        }
+
+        boolean next() throws IOException {
+            do {
+                current = readRecord(reader);
+            } while (current != null && current.length == 1 && current[0].isEmpty()); // blank line
+            return current != null;
+        }
+
+        String get(String column) {
+            Integer index = columns.get(column);
+            if (index == null) {
+                throw new IllegalArgumentException("CSV has no column " + column);
+            }
+            return index < current.length ? current[index] : "";
+        }
+
+        double getDouble(String column) {
+            String value = get(column).trim();
+            if (value.isEmpty()) {
+                return 0.0;
+            }
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                return 0.0;
+            }
+        }
+    }
+
+    // Next record, or null at end of input
+    private static String[] readRecord(Reader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted CSV field");
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c != '\r') { // CRLF endings: the \n ends the record
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,121 @@
+package com.reviews.datastructures;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Shared date helpers for the review stores and indexes.
+ * Mirrors the date parsing and recency weighting used by LinearListReviewStore and
+ * AVLReviewStore so that every structure built on epoch days produces the same RBAR.
+ */
+public final class ReviewDates {
+    private static final DateTimeFormatter ISO_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter US_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final DateTimeFormatter DMY_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    /** Date used when a review date cannot be parsed, so that its weight is minimal. */
+    public static final LocalDate UNKNOWN_DATE = LocalDate.of(1900, 1, 1);
+
+    private ReviewDates() {
+    }
+
+    /**
+     * Parse date string to LocalDate.
+     * Handles common date formats used in review data.
+     */
+    public static LocalDate parseDate(String dateStr) {
+        if (dateStr == null) {
+            return UNKNOWN_DATE;
+        }
+        try {
+            return LocalDate.parse(dateStr, ISO_FORMAT);
+        } catch (Exception e) {
+            try {
+                return LocalDate.parse(dateStr, US_FORMAT);
+            } catch (Exception e2) {
+                try {
+                    return LocalDate.parse(dateStr, DMY_FORMAT);
+                } catch (Exception e3) {
+                    return UNKNOWN_DATE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse date string straight to an epoch day.
+     * Plain yyyy-MM-dd strings are decoded digit by digit without going through the
+     * formatters; anything else (or an invalid calendar date) takes the parseDate path.
+     */
+    public static int toEpochDay(String dateStr) {
+        if (dateStr != null && dateStr.length() == 10 && dateStr.charAt(4) == '-' && dateStr.charAt(7) == '-') {
+            int year = digits(dateStr, 0, 4);
+            int month = digits(dateStr, 5, 7);
+            int day = digits(dateStr, 8, 10);
+            if (year >= 1 && month >= 1 && month <= 12 && day >= 1
+                    && day <= Month.of(month).length(Year.isLeap(year))) {
+                return (int) LocalDate.of(year, month, day).toEpochDay();
+            }
+        }
+        return (int) parseDate(dateStr).toEpochDay();
+    }
+
+    /**
+     * Decimal value of dateStr[from, to), or -1 if any character is not a digit.
+     */
+    private static int digits(String dateStr, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = dateStr.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Calculate the weight for a review based on its recency.
+     * Recent reviews (last 30 days) get high weight, old reviews (3+ years) get low weight.
+     * Same piecewise function as LinearListReviewStore.calculateRecencyWeight.
+     */
+    public static double recencyWeight(LocalDate reviewDate, LocalDate thirtyDaysAgo, LocalDate threeYearsAgo) {
+        return recencyWeight(reviewDate.toEpochDay(), thirtyDaysAgo.toEpochDay(), threeYearsAgo.toEpochDay());
+    }
+
+    /**
+     * Epoch-day form of the recency weight, for primitive columns and rollup cells.
+     * Time Complexity: O(1), no allocation
+     */
+    public static double recencyWeight(long reviewEpochDay, long thirtyDaysAgoEpochDay, long threeYearsAgoEpochDay) {
+        if (reviewEpochDay > thirtyDaysAgoEpochDay) {
+            // Recent reviews (last 30 days): weight = 1.0
+            return 1.0;
+        } else if (reviewEpochDay > threeYearsAgoEpochDay) {
+            // Medium age reviews (30 days to 3 years): linear decay from 1.0 to a floor of 0.1
+            long daysPastThirtyDays = thirtyDaysAgoEpochDay - reviewEpochDay;
+            long totalDays = thirtyDaysAgoEpochDay - threeYearsAgoEpochDay;
+            return Math.max(0.1, 1.0 - (double) daysPastThirtyDays / totalDays);
+        } else {
+            // Old reviews (3+ years): minimal weight
+            return 0.05;
+        }
+    }
+
+    /**
+     * Start of the "recent" window (exclusive) relative to the given day.
+     */
+    public static LocalDate thirtyDaysBefore(LocalDate today) {
+        return today.minusDays(30);
+    }
+
+    /**
+     * Start of the "medium age" window (exclusive) relative to the given day.
+     */
+    public static LocalDate threeYearsBefore(LocalDate today) {
+        return today.minusYears(3);
+    }
+}
@@ -0,0 +1,141 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.AirportLoungeReview;
+import com.reviews.Models.AirportReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.Models.SeatReview;
+
+/**
+ * Type-aware accessors for the columns that ReviewRecord does not expose.
+ * Each review type carries its own set of sub-ratings; they are returned positionally
+ * (in CSV column order) so that aggregates can keep one sum per slot.
+ */
+public final class ReviewFields {
+    /** Largest number of sub-ratings carried by any review type (AirportReview has 8). */
+    public static final int MAX_SUB_RATINGS = 8;
+
+    private static final double[] NO_SUB_RATINGS = new double[0];
+
+    private ReviewFields() {
+    }
+
+    /**
+     * Get the sub-ratings of a review in CSV column order.
+     * Missing ratings are stored as 0.0 by the models and are returned as-is.
+     */
+    public static double[] subRatings(ReviewRecord review) {
+        if (review instanceof AirlineReview) {
+            AirlineReview r = (AirlineReview) review;
+            return new double[] {
+                r.getSeatComfortRating(), r.getCabinStaffRating(), r.getFoodBeveragesRating(),
+                r.getInflightEntertainmentRating(), r.getGroundServiceRating(),
+                r.getWifiConnectivityRating(), r.getValueMoneyRating()
+            };
+        } else if (review instanceof SeatReview) {
+            SeatReview r = (SeatReview) review;
+            return new double[] {
+                r.getSeatLegroomRating(), r.getSeatReclineRating(), r.getSeatWidthRating(),
+                r.getAisleSpaceRating(), r.getViewingTvRating(), r.getPowerSupplyRating(),
+                r.getSeatStorageRating()
+            };
+        } else if (review instanceof AirportLoungeReview) {
+            AirportLoungeReview r = (AirportLoungeReview) review;
+            return new double[] {
+                r.getComfortRating(), r.getCleanlinessRating(), r.getBarBeveragesRating(),
+                r.getCateringRating(), r.getWashroomsRating(), r.getWifiConnectivityRating(),
+                r.getStaffServiceRating()
+            };
+        } else if (review instanceof AirportReview) {
+            AirportReview r = (AirportReview) review;
+            return new double[] {
+                r.getQueuingRating(), r.getTerminalCleanlinessRating(), r.getTerminalSeatingRating(),
+                r.getTerminalSignsRating(), r.getFoodBeveragesRating(), r.getAirportShoppingRating(),
+                r.getWifiConnectivityRating(), r.getAirportStaffRating()
+            };
+        }
+        return NO_SUB_RATINGS;
+    }
+
+    /**
+     * Get the recommended flag (1 or 0) of a review.
+     */
+    public static int recommended(ReviewRecord review) {
+        if (review instanceof AirlineReview) {
+            return ((AirlineReview) review).getRecommended();
+        } else if (review instanceof SeatReview) {
+            return ((SeatReview) review).getRecommended();
+        } else if (review instanceof AirportLoungeReview) {
+            return ((AirportLoungeReview) review).getRecommended();
+        } else if (review instanceof AirportReview) {
+            return ((AirportReview) review).getRecommended();
+        }
+        return 0;
+    }
+
+    /**
+     * Get the cabin flown, or null for review types without one.
+     */
+    public static String cabinFlown(ReviewRecord review) {
+        if (review instanceof AirlineReview) {
+            return ((AirlineReview) review).getCabinFlown();
+        } else if (review instanceof SeatReview) {
+            return ((SeatReview) review).getCabinFlown();
+        }
+        return null;
+    }
+
+    /**
+     * Get the aircraft, or null for review types without one.
+     */
+    public static String aircraft(ReviewRecord review) {
+        if (review instanceof AirlineReview) {
+            return ((AirlineReview) review).getAircraft();
+        } else if (review instanceof SeatReview) {
+            return ((SeatReview) review).getAircraft();
+        }
+        return null;
+    }
+
+    /**
+     * Get the review's author, or null for review types without one.
+     */
+    public static String author(ReviewRecord review) {
+        if (review instanceof AirlineReview) {
+            return ((AirlineReview) review).getAuthor();
+        } else if (review instanceof SeatReview) {
+            return ((SeatReview) review).getAuthor();
+        } else if (review instanceof AirportLoungeReview) {
+            return ((AirportLoungeReview) review).getAuthor();
+        } else if (review instanceof AirportReview) {
+            return ((AirportReview) review).getAuthor();
+        }
+        return null;
+    }
+
+    /**
+     * Get the route flown, or null for review types without one.
+     */
+    public static String route(ReviewRecord review) {
+        if (review instanceof AirlineReview) {
+            return ((AirlineReview) review).getRoute();
+        }
+        return null;
+    }
+
+    /**
+     * Get the traveller type, or null when the review type has none.
+     */
+    public static String typeTraveller(ReviewRecord review) {
+        if (review instanceof AirlineReview) {
+            return ((AirlineReview) review).getTypeTraveller();
+        } else if (review instanceof SeatReview) {
+            return ((SeatReview) review).getTypeTraveller();
+        } else if (review instanceof AirportLoungeReview) {
+            return ((AirportLoungeReview) review).getTypeTraveller();
+        } else if (review instanceof AirportReview) {
+            return ((AirportReview) review).getTypeTraveller();
+        }
+        return null;
+    }
+}
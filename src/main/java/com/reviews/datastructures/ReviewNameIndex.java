@@ -0,0 +1,67 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.AirportLoungeReview;
+import com.reviews.Models.AirportReview;
+import com.reviews.Models.ReviewRecord;
+import java.util.*;
+
+/**
+ * Autocomplete over the three name spaces in the review data: airlines, airports and
+ * lounges, one NameTrie each, weighted by review count.
+ *
+ * - airlines: getName() of airline, seat and lounge reviews
+ * - airports: getName() of airport reviews and getAirport() of lounge reviews
+ * - lounges: getLoungeName() of lounge reviews
+ *
+ * The tries are immutable; build a new index to pick up new names.
+ *
+ * Time Complexities:
+ * - Build: O(N + K log K) for N reviews and K distinct names
+ * - Prefix / completion queries: see NameTrie
+ *
+ * Space Complexity: O(K)
+ */
+public class ReviewNameIndex {
+    private final NameTrie airlines;
+    private final NameTrie airports;
+    private final NameTrie lounges;
+
+    public ReviewNameIndex(List<ReviewRecord> reviews) {
+        Map<String, Long> airlineCounts = new HashMap<>();
+        Map<String, Long> airportCounts = new HashMap<>();
+        Map<String, Long> loungeCounts = new HashMap<>();
+        for (ReviewRecord review : reviews) {
+            if (review instanceof AirportReview) {
+                count(airportCounts, review.getName());
+            } else {
+                count(airlineCounts, review.getName());
+            }
+            if (review instanceof AirportLoungeReview) {
+                AirportLoungeReview lounge = (AirportLoungeReview) review;
+                count(airportCounts, lounge.getAirport());
+                count(loungeCounts, lounge.getLoungeName());
+            }
+        }
+        this.airlines = new NameTrie(airlineCounts);
+        this.airports = new NameTrie(airportCounts);
+        this.lounges = new NameTrie(loungeCounts);
+    }
+
+    private static void count(Map<String, Long> counts, String name) {
+        if (name != null && !name.trim().isEmpty()) {
+            counts.merge(name, 1L, Long::sum);
+        }
+    }
+
+    public NameTrie getAirlines() {
+        return airlines;
+    }
+
+    public NameTrie getAirports() {
+        return airports;
+    }
+
+    public NameTrie getLounges() {
+        return lounges;
+    }
+}
@@ -0,0 +1,90 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * One page of a newest-first listing plus the opaque token that resumes it.
+ * The token encodes the position of the page's last review (its epochDay and a store-specific
+ * tiebreak id) and the store's cursor generation, so a store can seek straight to the next
+ * review instead of rescanning, and can reject tokens issued before a clear().
+ * Tokens are URL-safe strings; callers should treat them as opaque.
+ */
+public final class ReviewPage {
+    private static final byte TOKEN_FORMAT = 1;
+    private static final int TOKEN_BYTES = 1 + 4 + 4 + 8;
+
+    private final List<ReviewRecord> reviews;
+    private final String nextPageToken;
+
+    ReviewPage(List<ReviewRecord> reviews, String nextPageToken) {
+        this.reviews = Collections.unmodifiableList(reviews);
+        this.nextPageToken = nextPageToken;
+    }
+
+    /**
+     * Reviews on this page, newest first.
+     */
+    public List<ReviewRecord> getReviews() {
+        return reviews;
+    }
+
+    /**
+     * Token for the next page, or null if this is the last page.
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public boolean hasMore() {
+        return nextPageToken != null;
+    }
+
+    /**
+     * Decoded resume position: the last review returned was (epochDay, tiebreak).
+     */
+    static final class Position {
+        final int epochDay;
+        final long tiebreak;
+
+        Position(int epochDay, long tiebreak) {
+            this.epochDay = epochDay;
+            this.tiebreak = tiebreak;
+        }
+    }
+
+    static String encodeToken(int generation, int epochDay, long tiebreak) {
+        ByteBuffer bytes = ByteBuffer.allocate(TOKEN_BYTES);
+        bytes.put(TOKEN_FORMAT).putInt(generation).putInt(epochDay).putLong(tiebreak);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    /**
+     * Decode a token issued by a store whose cursor generation is {@code generation}.
+     *
+     * @throws IllegalArgumentException if the token is malformed or from another generation
+     */
+    static Position decodeToken(String token, int generation) {
+        byte[] raw;
+        try {
+            raw = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+        if (raw.length != TOKEN_BYTES || raw[0] != TOKEN_FORMAT) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(raw, 1, TOKEN_BYTES - 1);
+        if (bytes.getInt() != generation) {
+            throw new IllegalArgumentException("Page token is from before the store was cleared");
+        }
+        return new Position(bytes.getInt(), bytes.getLong());
+    }
+
+    static void checkPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.reviews.datastructures;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable compound filter over reviews, planned and run by ReviewQueryPlanner:
+ * an optional airline, an optional date range, attribute predicates, text queries, an
+ * ordering and a limit. Every predicate must hold (they are ANDed).
+ *
+ * Each method returns a new query, so a base query can be shared and refined:
+ * {@code ReviewQuery.all().where(CABIN, "Business").lastDays(today, 90).orderBy(NEWEST_FIRST).limit(10)}.
+ */
+public final class ReviewQuery {
+
+    /**
+     * Result order. NONE is review id (insertion) order.
+     */
+    public enum Order {
+        NONE, NEWEST_FIRST, OLDEST_FIRST, RATING_DESC
+    }
+
+    /**
+     * One attribute = value predicate.
+     */
+    public static final class Predicate {
+        private final ReviewBitmapIndex.Attribute attribute;
+        private final String value;
+
+        Predicate(ReviewBitmapIndex.Attribute attribute, String value) {
+            this.attribute = Objects.requireNonNull(attribute, "attribute");
+            this.value = Objects.requireNonNull(value, "value");
+        }
+
+        public ReviewBitmapIndex.Attribute getAttribute() {
+            return attribute;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return attribute.name().toLowerCase(Locale.ROOT) + "=" + value;
+        }
+    }
+
+    private static final ReviewQuery ALL = new ReviewQuery(Collections.emptyList(), null, null,
+                                                           Collections.emptyList(), Order.NONE, -1);
+
+    private final List<Predicate> predicates;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final List<TextQuery> textQueries;
+    private final Order order;
+    private final int limit;
+
+    private ReviewQuery(List<Predicate> predicates, LocalDate startDate, LocalDate endDate,
+                        List<TextQuery> textQueries, Order order, int limit) {
+        this.predicates = predicates;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.textQueries = textQueries;
+        this.order = order;
+        this.limit = limit;
+    }
+
+    /**
+     * Every review, in id order, unlimited.
+     */
+    public static ReviewQuery all() {
+        return ALL;
+    }
+
+    /**
+     * Reviews of the airline (matched like ReviewBitmapIndex, so a slug or display name).
+     */
+    public ReviewQuery airline(String airline) {
+        return where(ReviewBitmapIndex.Attribute.AIRLINE, airline);
+    }
+
+    /**
+     * Reviews whose attribute matches the value.
+     */
+    public ReviewQuery where(ReviewBitmapIndex.Attribute attribute, String value) {
+        List<Predicate> more = new ArrayList<>(predicates);
+        more.add(new Predicate(attribute, value));
+        return new ReviewQuery(Collections.unmodifiableList(more), startDate, endDate, textQueries, order, limit);
+    }
+
+    /**
+     * Reviews dated in [start, end] (inclusive), replacing any earlier range.
+     *
+     * @throws IllegalArgumentException if start is after end
+     */
+    public ReviewQuery between(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date " + start + " is after end date " + end);
+        }
+        return new ReviewQuery(predicates, start, end, textQueries, order, limit);
+    }
+
+    /**
+     * Reviews dated within the last days days up to and including today.
+     */
+    public ReviewQuery lastDays(LocalDate today, int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("days must be positive");
+        }
+        return between(today.minusDays(days - 1L), today);
+    }
+
+    /**
+     * Reviews whose content matches the text query.
+     */
+    public ReviewQuery text(TextQuery query) {
+        List<TextQuery> more = new ArrayList<>(textQueries);
+        more.add(Objects.requireNonNull(query, "query"));
+        return new ReviewQuery(predicates, startDate, endDate, Collections.unmodifiableList(more), order, limit);
+    }
+
+    public ReviewQuery orderBy(Order newOrder) {
+        return new ReviewQuery(predicates, startDate, endDate, textQueries, Objects.requireNonNull(newOrder), limit);
+    }
+
+    /**
+     * At most n results (after ordering).
+     */
+    public ReviewQuery limit(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("limit must be non-negative");
+        }
+        return new ReviewQuery(predicates, startDate, endDate, textQueries, order, n);
+    }
+
+    public List<Predicate> getPredicates() {
+        return predicates;
+    }
+
+    public boolean hasDateRange() {
+        return startDate != null;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public List<TextQuery> getTextQueries() {
+        return textQueries;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * The limit, or -1 for none.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(" AND ", "WHERE ", "");
+        joiner.setEmptyValue("ALL");
+        for (Predicate predicate : predicates) {
+            joiner.add(predicate.toString());
+        }
+        if (startDate != null) {
+            joiner.add("date in [" + startDate + ", " + endDate + "]");
+        }
+        for (TextQuery query : textQueries) {
+            joiner.add("text " + query);
+        }
+        String text = joiner.toString();
+        if (order != Order.NONE) {
+            text += " ORDER BY " + order;
+        }
+        if (limit >= 0) {
+            text += " LIMIT " + limit;
+        }
+        return text;
+    }
+}
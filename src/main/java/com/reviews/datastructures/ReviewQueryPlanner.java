@@ -0,0 +1,855 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Cost-based planner and executor for ReviewQuery over a ReviewBitmapIndex (airline and
+ * attribute bitmaps, per-day bitmaps, day column) and a ReviewTextIndex (postings), both
+ * kept in step by addReview() so review ids agree.
+ *
+ * Statistics are maintained at ingest: attribute counts are the exact bitmap
+ * cardinalities (per-airline counts included), dates have a per-month histogram read with
+ * a uniform spread inside partly covered months, and text terms have their document
+ * frequency.
+ * Predicates are assumed independent, so a conjunction's selectivity is the product.
+ *
+ * Three strategies are costed for every query and the cheapest is run:
+ *
+ * - SCAN: read every review in id order and check the predicates, cheapest-per-row first;
+ *   stops early when unordered with a limit.
+ * - INDEX: start from the most selective access path, then for each remaining predicate
+ *   (most selective first) either intersect its bitmap or probe it per surviving id,
+ *   whichever is cheaper at that point; then fetch, sort and limit.
+ * - DATE_WALK: for NEWEST_FIRST / OLDEST_FIRST with a limit, walk the day bitmaps in date
+ *   order and probe the other predicates per id, stopping at the limit.
+ *
+ * Costs are in abstract units calibrated so one review read and checked is 1.0.
+ * explain() shows the chosen plan with estimated and actual rows per step and the cost of
+ * the alternatives.
+ *
+ * Not thread-safe: one writer, and no queries while a review is added.
+ *
+ * Time Complexities:
+ * - Add review: the cost of both indexes plus O(1)
+ * - Plan: O(P log P + months in the date range) for P predicates
+ * - Execute: the chosen plan's cost
+ *
+ * Space Complexity: O(N) for the two indexes plus O(months) of histogram
+ */
+public class ReviewQueryPlanner {
+
+    /**
+     * Execution strategies.
+     */
+    public enum Strategy {
+        SCAN, INDEX, DATE_WALK
+    }
+
+    // Cost units, relative to reading one review and checking one attribute on it
+    static final double ROW_COST = 1.0;
+    static final double SCAN_ROW_COST = 0.2;
+    static final double BITMAP_ID_COST = 0.02;
+    static final double BITMAP_PROBE_COST = 0.1;
+    static final double DAY_BITMAP_COST = 0.5;
+    static final double DAY_CHECK_COST = 0.05;
+    static final double POSTING_COST = 0.1;
+    static final double TEXT_PROBE_COST = 0.5;
+    static final double FETCH_COST = 0.2;
+    static final double SORT_COST = 0.05;
+
+    private final ReviewBitmapIndex bitmaps;
+    private final ReviewTextIndex text;
+    private final TreeMap<Integer, int[]> months;   // months since year 0 -> {reviews, first day, last day}
+
+    public ReviewQueryPlanner() {
+        this.bitmaps = new ReviewBitmapIndex();
+        this.text = new ReviewTextIndex();
+        this.months = new TreeMap<>();
+    }
+
+    /**
+     * Index one review in both indexes and the statistics; returns its review id.
+     * Time Complexity: O(A + T) for A attributes and T content tokens
+     */
+    public int addReview(ReviewRecord review) {
+        int id = bitmaps.addReview(review);
+        int doc = text.addReview(review);
+        if (id != doc) {
+            throw new IllegalStateException("Indexes out of step: review " + id + ", document " + doc);
+        }
+        int day = bitmaps.day(id);
+        int[] month = months.computeIfAbsent(monthOf(day), m -> new int[] {0, day, day});
+        month[0]++;
+        month[1] = Math.min(month[1], day);
+        month[2] = Math.max(month[2], day);
+        return id;
+    }
+
+    /**
+     * Index every review, in order.
+     */
+    public void addReviews(List<? extends ReviewRecord> reviews) {
+        for (ReviewRecord review : reviews) {
+            addReview(review);
+        }
+    }
+
+    public int size() {
+        return bitmaps.size();
+    }
+
+    public ReviewBitmapIndex getBitmapIndex() {
+        return bitmaps;
+    }
+
+    public ReviewTextIndex getTextIndex() {
+        return text;
+    }
+
+    private static int monthOf(long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    // ---- Statistics ----
+
+    /**
+     * Estimated number of reviews dated in [start, end], from the month histogram. A month
+     * partly in range contributes in proportion to the overlap with the days it has reviews
+     * between (its first to last review), so the current, partly elapsed month is not diluted.
+     * Time Complexity: O(months in range)
+     */
+    public double estimateDateRange(LocalDate start, LocalDate end) {
+        long from = start.toEpochDay();
+        long to = end.toEpochDay();
+        double rows = 0;
+        for (int[] month : months.subMap(monthOf(from), true, monthOf(to), true).values()) {
+            long overlap = Math.min(to, month[2]) - Math.max(from, month[1]) + 1;
+            if (overlap > 0) {
+                rows += month[0] * (double) overlap / (month[2] - month[1] + 1);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Estimated number of reviews matching a text query, from document frequencies,
+     * assuming terms occur independently (a phrase is estimated as its terms ANDed).
+     */
+    public double estimateText(TextQuery query) {
+        double n = Math.max(1, size());
+        switch (query.kind) {
+            case TERM:
+                return text.getDocumentFrequency(query.terms.get(0));
+            case PHRASE: {
+                double selectivity = 1.0;
+                for (String term : query.terms) {
+                    selectivity *= text.getDocumentFrequency(term) / n;
+                }
+                return n * selectivity;
+            }
+            case AND: {
+                double selectivity = 1.0;
+                for (TextQuery child : query.children) {
+                    selectivity *= estimateText(child) / n;
+                }
+                return n * selectivity;
+            }
+            case OR: {
+                double missed = 1.0;
+                for (TextQuery child : query.children) {
+                    missed *= 1 - Math.min(1.0, estimateText(child) / n);
+                }
+                return n * (1 - missed);
+            }
+            default:
+                return estimateText(query.children.get(0)) * (1 - Math.min(1.0, estimateText(query.children.get(1)) / n));
+        }
+    }
+
+    // Postings a text query decodes
+    private long postingsOf(TextQuery query) {
+        if (query.kind == TextQuery.Kind.TERM || query.kind == TextQuery.Kind.PHRASE) {
+            long postings = 0;
+            for (String term : query.terms) {
+                postings += text.getDocumentFrequency(term);
+            }
+            return postings;
+        }
+        long postings = 0;
+        for (TextQuery child : query.children) {
+            postings += postingsOf(child);
+        }
+        return postings;
+    }
+
+    // ---- Planning ----
+
+    private enum Kind { ATTRIBUTE, DATE, TEXT }
+
+    private enum Method { DRIVE, INTERSECT, PROBE, CHECK }
+
+    /**
+     * One predicate of the query with its statistics.
+     */
+    private final class Access {
+        final Kind kind;
+        final ReviewQuery.Predicate predicate;
+        final TextQuery textQuery;
+        final String label;
+        final double rows;
+
+        Access(ReviewQuery.Predicate predicate) {
+            this.kind = Kind.ATTRIBUTE;
+            this.predicate = predicate;
+            this.textQuery = null;
+            this.label = predicate.toString();
+            this.rows = bitmaps.count(predicate.getAttribute(), predicate.getValue());
+        }
+
+        Access(LocalDate start, LocalDate end) {
+            this.kind = Kind.DATE;
+            this.predicate = null;
+            this.textQuery = null;
+            this.label = "date in [" + start + ", " + end + "]";
+            this.rows = estimateDateRange(start, end);
+        }
+
+        Access(TextQuery query) {
+            this.kind = Kind.TEXT;
+            this.predicate = null;
+            this.textQuery = query;
+            this.label = "text " + query;
+            this.rows = estimateText(query);
+        }
+
+        double selectivity() {
+            return size() == 0 ? 0.0 : Math.min(1.0, rows / size());
+        }
+
+        // Cost of producing this predicate's ids as a bitmap
+        double materializeCost(ReviewQuery query) {
+            switch (kind) {
+                case ATTRIBUTE:
+                    return rows * BITMAP_ID_COST;
+                case DATE: {
+                    long days = query.getEndDate().toEpochDay() - query.getStartDate().toEpochDay() + 1;
+                    return Math.min(days, bitmaps.days().size()) * DAY_BITMAP_COST + rows * BITMAP_ID_COST;
+                }
+                default:
+                    return postingsOf(textQuery) * POSTING_COST + rows * BITMAP_ID_COST;
+            }
+        }
+
+        // Cost of checking this predicate for one id that is already known
+        double probeCost() {
+            switch (kind) {
+                case ATTRIBUTE:
+                    return BITMAP_PROBE_COST;
+                case DATE:
+                    return DAY_CHECK_COST;
+                default:
+                    return TEXT_PROBE_COST;
+            }
+        }
+
+        // Cost of checking this predicate on a review read during a scan
+        double rowCheckCost() {
+            return kind == Kind.ATTRIBUTE ? ROW_COST : probeCost();
+        }
+    }
+
+    /**
+     * One operation of a plan, with its estimated and (after execution) actual output rows.
+     */
+    public static final class Step {
+        private final String description;
+        private final double estimatedRows;
+        private long actualRows = -1;
+        private final Access access;
+        private final Method method;
+
+        private Step(String description, double estimatedRows, Access access, Method method) {
+            this.description = description;
+            this.estimatedRows = estimatedRows;
+            this.access = access;
+            this.method = method;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public double getEstimatedRows() {
+            return estimatedRows;
+        }
+
+        /**
+         * Rows out of this step when the plan ran, or -1 if it has not.
+         */
+        public long getActualRows() {
+            return actualRows;
+        }
+    }
+
+    /**
+     * A costed plan for one query.
+     */
+    public static final class Plan {
+        private final ReviewQuery query;
+        private final Strategy strategy;
+        private final double cost;
+        private final List<Step> steps;
+        private final Map<Strategy, Double> alternatives;
+
+        private Plan(ReviewQuery query, Strategy strategy, double cost, List<Step> steps) {
+            this.query = query;
+            this.strategy = strategy;
+            this.cost = cost;
+            this.steps = steps;
+            this.alternatives = new EnumMap<>(Strategy.class);
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        public double getEstimatedCost() {
+            return cost;
+        }
+
+        public List<Step> getSteps() {
+            return Collections.unmodifiableList(steps);
+        }
+
+        /**
+         * Estimated cost of every strategy that was considered, the chosen one included.
+         */
+        public Map<Strategy, Double> getAlternatives() {
+            return Collections.unmodifiableMap(alternatives);
+        }
+
+        public double getEstimatedRows() {
+            return steps.get(steps.size() - 1).estimatedRows;
+        }
+
+        /**
+         * The plan as text: strategy, cost, each step with estimated and actual rows
+         * ("-" before execution), and the alternatives' costs.
+         */
+        public String explain() {
+            StringBuilder text = new StringBuilder();
+            text.append(String.format("Plan: %s (estimated cost %.1f)%n", strategy, cost));
+            text.append("  Query: ").append(query).append(System.lineSeparator());
+            text.append(String.format("  %-3s %-64s %12s %12s%n", "#", "Operation", "Est rows", "Actual rows"));
+            for (int i = 0; i < steps.size(); i++) {
+                Step step = steps.get(i);
+                text.append(String.format("  %-3d %-64s %12.0f %12s%n", i + 1, step.description, step.estimatedRows,
+                                          step.actualRows < 0 ? "-" : Long.toString(step.actualRows)));
+            }
+            StringJoiner others = new StringJoiner(", ");
+            for (Map.Entry<Strategy, Double> alternative : alternatives.entrySet()) {
+                if (alternative.getKey() != strategy) {
+                    others.add(String.format("%s %.1f", alternative.getKey(), alternative.getValue()));
+                }
+            }
+            text.append("  Alternatives: ").append(others.length() == 0 ? "none" : others.toString());
+            return text.toString();
+        }
+
+        @Override
+        public String toString() {
+            return explain();
+        }
+    }
+
+    /**
+     * The reviews a query returned and the plan that produced them, actual rows filled in.
+     */
+    public static final class Result {
+        private final List<ReviewRecord> reviews;
+        private final Plan plan;
+
+        private Result(List<ReviewRecord> reviews, Plan plan) {
+            this.reviews = reviews;
+            this.plan = plan;
+        }
+
+        public List<ReviewRecord> getReviews() {
+            return reviews;
+        }
+
+        public Plan getPlan() {
+            return plan;
+        }
+    }
+
+    /**
+     * Cost every applicable strategy and return the cheapest plan.
+     * Time Complexity: O(P log P + months in the date range)
+     */
+    public Plan plan(ReviewQuery query) {
+        List<Access> accesses = accesses(query);
+        Plan best = null;
+        Map<Strategy, Double> costs = new EnumMap<>(Strategy.class);
+        for (Strategy strategy : Strategy.values()) {
+            Plan candidate = plan(query, accesses, strategy);
+            if (candidate == null) {
+                continue;
+            }
+            costs.put(strategy, candidate.cost);
+            if (best == null || candidate.cost < best.cost) {
+                best = candidate;
+            }
+        }
+        best.alternatives.putAll(costs);
+        return best;
+    }
+
+    /**
+     * The plan for one strategy.
+     *
+     * @throws IllegalArgumentException if the strategy does not apply (DATE_WALK needs a
+     *                                  date order and a limit)
+     */
+    public Plan plan(ReviewQuery query, Strategy strategy) {
+        Plan plan = plan(query, accesses(query), strategy);
+        if (plan == null) {
+            throw new IllegalArgumentException(strategy + " does not apply to " + query);
+        }
+        plan.alternatives.put(strategy, plan.cost);
+        return plan;
+    }
+
+    /**
+     * Plan and run the query with the cheapest strategy.
+     */
+    public Result execute(ReviewQuery query) {
+        return execute(plan(query));
+    }
+
+    /**
+     * Run the query with the given strategy.
+     */
+    public Result execute(ReviewQuery query, Strategy strategy) {
+        return execute(plan(query, strategy));
+    }
+
+    /**
+     * Run the query and return its plan with estimated and actual rows.
+     */
+    public String explain(ReviewQuery query) {
+        return execute(query).getPlan().explain();
+    }
+
+    private List<Access> accesses(ReviewQuery query) {
+        List<Access> accesses = new ArrayList<>();
+        for (ReviewQuery.Predicate predicate : query.getPredicates()) {
+            accesses.add(new Access(predicate));
+        }
+        if (query.hasDateRange()) {
+            accesses.add(new Access(query.getStartDate(), query.getEndDate()));
+        }
+        for (TextQuery textQuery : query.getTextQueries()) {
+            accesses.add(new Access(textQuery));
+        }
+        return accesses;
+    }
+
+    private Plan plan(ReviewQuery query, List<Access> accesses, Strategy strategy) {
+        double n = size();
+        int limit = query.getLimit();
+        List<Step> steps = new ArrayList<>();
+        double cost = 0;
+        double rows;
+        switch (strategy) {
+            case SCAN: {
+                // Cheapest rejection per unit of cost first
+                List<Access> ordered = new ArrayList<>(accesses);
+                ordered.sort(Comparator.comparingDouble(a -> a.rowCheckCost() / Math.max(1e-9, 1 - a.selectivity())));
+                double selectivity = 1.0;
+                for (Access access : ordered) {
+                    selectivity *= access.selectivity();
+                }
+                double visited = n;
+                if (query.getOrder() == ReviewQuery.Order.NONE && limit >= 0) {
+                    visited = selectivity == 0 ? n : Math.min(n, limit / selectivity);
+                }
+                steps.add(new Step("Scan reviews in id order" + (visited < n ? " (stops at limit)" : ""),
+                                   visited, null, null));
+                cost = visited * SCAN_ROW_COST;
+                rows = visited;
+                for (Access access : ordered) {
+                    cost += rows * access.rowCheckCost();
+                    rows *= access.selectivity();
+                    steps.add(new Step("Check " + access.label, rows, access, Method.CHECK));
+                }
+                break;
+            }
+            case INDEX: {
+                if (accesses.isEmpty()) {
+                    return null;
+                }
+                List<Access> ordered = new ArrayList<>(accesses);
+                ordered.sort(Comparator.comparingDouble((Access a) -> a.rows).thenComparingDouble(a -> a.materializeCost(query)));
+                Access driver = ordered.get(0);
+                cost = driver.materializeCost(query);
+                rows = driver.rows;
+                steps.add(new Step(driveLabel(driver), rows, driver, Method.DRIVE));
+                for (Access access : ordered.subList(1, ordered.size())) {
+                    double intersect = access.materializeCost(query) + (rows + access.rows) * BITMAP_ID_COST;
+                    double probe = rows * access.probeCost();
+                    rows *= access.selectivity();
+                    if (probe <= intersect) {
+                        cost += probe;
+                        steps.add(new Step(probeLabel(access), rows, access, Method.PROBE));
+                    } else {
+                        cost += intersect;
+                        steps.add(new Step("Intersect " + driveLabel(access).toLowerCase(Locale.ROOT), rows, access,
+                                           Method.INTERSECT));
+                    }
+                }
+                break;
+            }
+            default: {
+                if (limit < 0 || (query.getOrder() != ReviewQuery.Order.NEWEST_FIRST
+                                  && query.getOrder() != ReviewQuery.Order.OLDEST_FIRST)) {
+                    return null;
+                }
+                double available = n;
+                double selectivity = 1.0;
+                Access dateAccess = null;
+                for (Access access : accesses) {
+                    if (access.kind == Kind.DATE) {
+                        available = access.rows;
+                        dateAccess = access;
+                    } else {
+                        selectivity *= access.selectivity();
+                    }
+                }
+                double visited = selectivity == 0 ? available : Math.min(available, limit / selectivity);
+                steps.add(new Step("Walk day bitmaps " + (query.getOrder() == ReviewQuery.Order.NEWEST_FIRST
+                                   ? "newest first" : "oldest first")
+                                   + (dateAccess == null ? "" : " within " + dateAccess.label), visited, null, null));
+                cost = visited * BITMAP_ID_COST + Math.min(visited, bitmaps.days().size()) * DAY_BITMAP_COST;
+                rows = visited;
+                for (Access access : accesses) {
+                    if (access.kind == Kind.DATE) {
+                        continue;
+                    }
+                    if (access.kind == Kind.TEXT || access.predicate.getAttribute() == ReviewBitmapIndex.Attribute.AIRCRAFT) {
+                        cost += access.materializeCost(query); // text and aircraft families become one bitmap first
+                    }
+                    cost += rows * BITMAP_PROBE_COST;
+                    rows *= access.selectivity();
+                    steps.add(new Step("Probe bitmap " + access.label, rows, access, Method.PROBE));
+                }
+                break;
+            }
+        }
+        double out = limit >= 0 ? Math.min(rows, limit) : rows;
+        if (strategy != Strategy.DATE_WALK && query.getOrder() != ReviewQuery.Order.NONE && rows > 1) {
+            cost += rows * Math.log(rows) / Math.log(2) * SORT_COST;
+            steps.add(new Step("Sort " + query.getOrder() + (limit >= 0 ? ", limit " + limit : ""), out, null, null));
+        } else if (limit >= 0) {
+            steps.add(new Step("Limit " + limit, out, null, null));
+        }
+        cost += out * FETCH_COST;
+        steps.add(new Step("Fetch reviews", out, null, null));
+        return new Plan(query, strategy, cost, steps);
+    }
+
+    private static String driveLabel(Access access) {
+        switch (access.kind) {
+            case ATTRIBUTE:
+                return "Bitmap lookup " + access.label;
+            case DATE:
+                return "Union day bitmaps " + access.label;
+            default:
+                return "Postings " + access.label;
+        }
+    }
+
+    private static String probeLabel(Access access) {
+        switch (access.kind) {
+            case ATTRIBUTE:
+                return "Probe bitmap " + access.label;
+            case DATE:
+                return "Probe day column " + access.label;
+            default:
+                return "Probe postings " + access.label;
+        }
+    }
+
+    // ---- Execution ----
+
+    private Result execute(Plan plan) {
+        ReviewQuery query = plan.query;
+        int[] ids;
+        switch (plan.strategy) {
+            case SCAN:
+                ids = executeScan(plan);
+                break;
+            case INDEX:
+                ids = executeIndex(plan);
+                break;
+            default:
+                ids = executeDateWalk(plan);
+                break;
+        }
+        int limit = query.getLimit();
+        if (plan.strategy != Strategy.DATE_WALK && query.getOrder() != ReviewQuery.Order.NONE) {
+            ids = sorted(ids, query.getOrder());
+        }
+        if (limit >= 0 && ids.length > limit) {
+            ids = Arrays.copyOf(ids, limit);
+        }
+        List<ReviewRecord> reviews = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            reviews.add(bitmaps.getReview(id));
+        }
+        for (Step step : plan.steps) {
+            if (step.method == null && step.actualRows < 0) {
+                step.actualRows = ids.length; // sort / limit / fetch
+            }
+        }
+        return new Result(reviews, plan);
+    }
+
+    private int[] executeScan(ReviewQuery query, List<Step> checks, Step scan) {
+        int n = size();
+        int limit = query.getOrder() == ReviewQuery.Order.NONE ? query.getLimit() : -1;
+        ReviewTextIndex.DocIterator[] iterators = new ReviewTextIndex.DocIterator[checks.size()];
+        String[] keys = new String[checks.size()];
+        long[] passed = new long[checks.size()];
+        for (int c = 0; c < checks.size(); c++) {
+            Access access = checks.get(c).access;
+            if (access.kind == Kind.TEXT) {
+                iterators[c] = text.matching(access.textQuery);
+            } else if (access.kind == Kind.ATTRIBUTE) {
+                keys[c] = ReviewBitmapIndex.key(access.predicate.getAttribute(), access.predicate.getValue());
+            }
+        }
+        long start = query.hasDateRange() ? query.getStartDate().toEpochDay() : 0;
+        long end = query.hasDateRange() ? query.getEndDate().toEpochDay() : 0;
+        int[] ids = new int[16];
+        int count = 0;
+        int visited = 0;
+        for (int id = 0; id < n && (limit < 0 || count < limit); id++) {
+            visited++;
+            ReviewRecord review = bitmaps.getReview(id);
+            boolean match = true;
+            for (int c = 0; c < checks.size() && match; c++) {
+                Access access = checks.get(c).access;
+                switch (access.kind) {
+                    case ATTRIBUTE:
+                        match = ReviewBitmapIndex.matchesKey(access.predicate.getAttribute(), keys[c],
+                                                             ReviewBitmapIndex.value(access.predicate.getAttribute(), review));
+                        break;
+                    case DATE:
+                        match = bitmaps.day(id) >= start && bitmaps.day(id) <= end;
+                        break;
+                    default:
+                        ReviewTextIndex.DocIterator iterator = iterators[c];
+                        int doc = iterator.docId();
+                        if (doc < id) {
+                            doc = iterator.advance(id);
+                        }
+                        match = doc == id;
+                        break;
+                }
+                if (match) {
+                    passed[c]++;
+                }
+            }
+            if (match) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = id;
+            }
+        }
+        scan.actualRows = visited;
+        for (int c = 0; c < checks.size(); c++) {
+            checks.get(c).actualRows = passed[c];
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private int[] executeScan(Plan plan) {
+        List<Step> checks = new ArrayList<>();
+        for (Step step : plan.steps) {
+            if (step.method == Method.CHECK) {
+                checks.add(step);
+            }
+        }
+        return executeScan(plan.query, checks, plan.steps.get(0));
+    }
+
+    private int[] executeIndex(Plan plan) {
+        RoaringBitmap current = null;
+        for (Step step : plan.steps) {
+            if (step.method == null) {
+                continue;
+            }
+            Access access = step.access;
+            switch (step.method) {
+                case DRIVE:
+                    current = materialize(access, plan.query);
+                    break;
+                case INTERSECT:
+                    current = RoaringBitmap.and(current, materialize(access, plan.query));
+                    break;
+                default:
+                    current = probe(current, access, plan.query);
+                    break;
+            }
+            step.actualRows = current.cardinality();
+        }
+        return current.toArray();
+    }
+
+    // The predicate's ids as a bitmap; attribute bitmaps are the index's own (never modified)
+    private RoaringBitmap materialize(Access access, ReviewQuery query) {
+        switch (access.kind) {
+            case ATTRIBUTE:
+                return bitmaps.shared(access.predicate.getAttribute(), access.predicate.getValue());
+            case DATE:
+                return bitmaps.dateRange(query.getStartDate(), query.getEndDate());
+            default: {
+                RoaringBitmap ids = new RoaringBitmap();
+                ReviewTextIndex.DocIterator iterator = text.matching(access.textQuery);
+                for (int doc = iterator.nextDoc(); doc != ReviewTextIndex.NO_MORE_DOCS; doc = iterator.nextDoc()) {
+                    ids.add(doc);
+                }
+                return ids;
+            }
+        }
+    }
+
+    private RoaringBitmap probe(RoaringBitmap current, Access access, ReviewQuery query) {
+        switch (access.kind) {
+            case ATTRIBUTE: {
+                RoaringBitmap values = bitmaps.shared(access.predicate.getAttribute(), access.predicate.getValue());
+                RoaringBitmap result = new RoaringBitmap();
+                current.forEach(id -> {
+                    if (values.contains(id)) {
+                        result.add(id);
+                    }
+                });
+                return result;
+            }
+            case DATE:
+                return bitmaps.filterByDate(current, query.getStartDate(), query.getEndDate());
+            default: {
+                ReviewTextIndex.DocIterator iterator = text.matching(access.textQuery);
+                RoaringBitmap result = new RoaringBitmap();
+                for (int id : current.toArray()) {
+                    int doc = iterator.docId();
+                    if (doc < id) {
+                        doc = iterator.advance(id);
+                    }
+                    if (doc == ReviewTextIndex.NO_MORE_DOCS) {
+                        break;
+                    }
+                    if (doc == id) {
+                        result.add(id);
+                    }
+                }
+                return result;
+            }
+        }
+    }
+
+    private int[] executeDateWalk(Plan plan) {
+        ReviewQuery query = plan.query;
+        List<Step> probes = new ArrayList<>();
+        List<RoaringBitmap> filters = new ArrayList<>();
+        for (Step step : plan.steps) {
+            if (step.method == Method.PROBE) {
+                probes.add(step);
+                filters.add(step.access.kind == Kind.TEXT ? materialize(step.access, query)
+                            : bitmaps.shared(step.access.predicate.getAttribute(), step.access.predicate.getValue()));
+            }
+        }
+        NavigableMap<Integer, RoaringBitmap> days = bitmaps.days();
+        if (query.hasDateRange()) {
+            days = days.subMap((int) query.getStartDate().toEpochDay(), true, (int) query.getEndDate().toEpochDay(), true);
+        }
+        boolean newestFirst = query.getOrder() == ReviewQuery.Order.NEWEST_FIRST;
+        if (newestFirst) {
+            days = days.descendingMap();
+        }
+        int limit = query.getLimit();
+        int[] ids = new int[Math.min(limit, 1024)];
+        int count = 0;
+        long visited = 0;
+        long[] passed = new long[probes.size()];
+        walk:
+        for (RoaringBitmap day : days.values()) {
+            if (count >= limit) {
+                break;
+            }
+            int[] dayIds = day.toArray();
+            for (int i = 0; i < dayIds.length; i++) {
+                int id = dayIds[newestFirst ? dayIds.length - 1 - i : i];
+                visited++;
+                boolean match = true;
+                for (int p = 0; p < filters.size() && match; p++) {
+                    match = filters.get(p).contains(id);
+                    if (match) {
+                        passed[p]++;
+                    }
+                }
+                if (match) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    ids[count++] = id;
+                    if (count >= limit) {
+                        break walk;
+                    }
+                }
+            }
+        }
+        plan.steps.get(0).actualRows = visited;
+        for (int p = 0; p < probes.size(); p++) {
+            probes.get(p).actualRows = passed[p];
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    // Ids in the query's order: by date (ties by id, matching the walk) or rating desc
+    private int[] sorted(int[] ids, ReviewQuery.Order order) {
+        Integer[] boxed = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            boxed[i] = ids[i];
+        }
+        Comparator<Integer> comparator;
+        switch (order) {
+            case NEWEST_FIRST:
+                comparator = (a, b) -> bitmaps.day(a) != bitmaps.day(b) ? Integer.compare(bitmaps.day(b), bitmaps.day(a))
+                                                                        : Integer.compare(b, a);
+                break;
+            case OLDEST_FIRST:
+                comparator = (a, b) -> bitmaps.day(a) != bitmaps.day(b) ? Integer.compare(bitmaps.day(a), bitmaps.day(b))
+                                                                        : Integer.compare(a, b);
+                break;
+            default:
+                comparator = (a, b) -> {
+                    int byRating = Double.compare(bitmaps.getReview(b).getOverallRating(),
+                                                  bitmaps.getReview(a).getOverallRating());
+                    return byRating != 0 ? byRating : Integer.compare(a, b);
+                };
+                break;
+        }
+        Arrays.sort(boxed, comparator);
+        int[] result = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = boxed[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,425 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Embedded HTTP query service in front of any review store, on the JDK's built-in HttpServer.
+ * It listens on the loopback interface only and answers GET requests with JSON:
+ *
+ * - /topk?airline=NAME&k=10    newest k reviews of an airline
+ * - /rbar?airline=NAME         recency-biased average rating of an airline
+ * - /leaderboard?limit=20      scoreAllAirlines() ranking, best first
+ * - /stats                     store size and request counters
+ *
+ * Each request runs on its own thread from the request executor. On a JDK that has virtual
+ * threads (Executors.newVirtualThreadPerTaskExecutor, looked up reflectively so this class
+ * still compiles and runs on 17), that is one virtual thread per request; otherwise it falls
+ * back to a cached pool of daemon platform threads, which also grows to one thread per
+ * in-flight request but costs a full thread stack each. getExecutorKind() reports which one
+ * is in use.
+ *
+ * The store is reached only through a Backend, so the service needs the store's own
+ * thread-safety guarantees for concurrent reads (e.g. ConcurrentReviewStore,
+ * PersistentAVLReviewStore, or any store that is no longer being written).
+ *
+ * Time Complexities:
+ * - per request: the cost of the backing store query plus O(R) JSON encoding for R results
+ *
+ * Space Complexity: O(in-flight requests)
+ */
+public class ReviewQueryService implements AutoCloseable {
+    private static final int DEFAULT_BACKLOG = 4096;
+    private static final int DEFAULT_TOP_K = 10;
+    private static final int MAX_TOP_K = 1000;
+
+    /**
+     * The store queries the service needs.
+     */
+    public interface Backend {
+        List<ReviewRecord> topK(String airline, int k);
+
+        double rbar(String airline);
+
+        AirlineScores leaderboard();
+
+        int size();
+    }
+
+    /**
+     * Adapt any store from its method references, e.g.
+     * {@code backend(store::getTopKRecentReviews, store::calculateRecencyBiasedAverageRating,
+     * store::scoreAllAirlines, store::size)}.
+     */
+    public static Backend backend(BiFunction<String, Integer, List<ReviewRecord>> topK,
+                                  ToDoubleFunction<String> rbar,
+                                  Supplier<AirlineScores> leaderboard,
+                                  IntSupplier size) {
+        return new Backend() {
+            @Override
+            public List<ReviewRecord> topK(String airline, int k) {
+                return topK.apply(airline, k);
+            }
+
+            @Override
+            public double rbar(String airline) {
+                return rbar.applyAsDouble(airline);
+            }
+
+            @Override
+            public AirlineScores leaderboard() {
+                return leaderboard.get();
+            }
+
+            @Override
+            public int size() {
+                return size.getAsInt();
+            }
+        };
+    }
+
+    private final Backend backend;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String executorKind;
+
+    private final AtomicLong requests;
+    private final AtomicLong errors;
+    private final AtomicInteger inFlight;
+    private final AtomicInteger maxInFlight;
+
+    /**
+     * Start a service on an ephemeral loopback port.
+     */
+    public ReviewQueryService(Backend backend) throws IOException {
+        this(backend, 0, DEFAULT_BACKLOG);
+    }
+
+    /**
+     * Start a service.
+     *
+     * @param port    loopback port, 0 for any free port (see getPort)
+     * @param backlog pending-connection queue length (the OS may cap it, e.g. somaxconn)
+     */
+    public ReviewQueryService(Backend backend, int port, int backlog) throws IOException {
+        this.backend = backend;
+        this.requests = new AtomicLong();
+        this.errors = new AtomicLong();
+        this.inFlight = new AtomicInteger();
+        this.maxInFlight = new AtomicInteger();
+
+        ExecutorService virtualThreads = newVirtualThreadExecutor();
+        if (virtualThreads != null) {
+            this.executor = virtualThreads;
+            this.executorKind = "virtual-thread-per-request";
+        } else {
+            this.executor = Executors.newCachedThreadPool(new DaemonThreadFactory());
+            this.executorKind = "cached-platform-threads";
+        }
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), backlog);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() when the running JDK provides it, else null.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not available (JDK < 19) or preview features disabled
+            return null;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(null, task, "review-query-" + counter.incrementAndGet(), 256 * 1024);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * "virtual-thread-per-request" or "cached-platform-threads".
+     */
+    public String getExecutorKind() {
+        return executorKind;
+    }
+
+    /**
+     * Request counters.
+     * Time Complexity: O(1)
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("requests", requests.get());
+        metrics.put("errors", errors.get());
+        metrics.put("inFlight", inFlight.get());
+        metrics.put("maxInFlight", maxInFlight.get());
+        metrics.put("executor", executorKind);
+        return metrics;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            int status;
+            String body;
+            try {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    status = 405;
+                    body = error("only GET is supported");
+                } else {
+                    Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+                    String path = exchange.getRequestURI().getPath();
+                    switch (path) {
+                        case "/topk":
+                            status = 200;
+                            body = topK(query);
+                            break;
+                        case "/rbar":
+                            status = 200;
+                            body = rbar(query);
+                            break;
+                        case "/leaderboard":
+                            status = 200;
+                            body = leaderboard(query);
+                            break;
+                        case "/stats":
+                            status = 200;
+                            body = stats();
+                            break;
+                        default:
+                            status = 404;
+                            body = error("unknown path " + path);
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                body = error(e.getMessage());
+            } catch (RuntimeException e) {
+                status = 500;
+                body = error(e.toString());
+            }
+            if (status != 200) {
+                errors.incrementAndGet();
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private String topK(Map<String, String> query) {
+        String airline = required(query, "airline");
+        int k = intParam(query, "k", DEFAULT_TOP_K, 1, MAX_TOP_K);
+        List<ReviewRecord> reviews = backend.topK(airline, k);
+        StringBuilder json = new StringBuilder(64 + reviews.size() * 96);
+        json.append("{\"airline\":");
+        appendString(json, airline);
+        json.append(",\"k\":").append(k).append(",\"reviews\":[");
+        for (int i = 0; i < reviews.size(); i++) {
+            ReviewRecord review = reviews.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"airline\":");
+            appendString(json, review.getName());
+            json.append(",\"date\":");
+            appendString(json, review.getDate());
+            json.append(",\"rating\":");
+            appendNumber(json, review.getOverallRating());
+            json.append(",\"country\":");
+            appendString(json, review.getCountry());
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private String rbar(Map<String, String> query) {
+        String airline = required(query, "airline");
+        StringBuilder json = new StringBuilder(64);
+        json.append("{\"airline\":");
+        appendString(json, airline);
+        json.append(",\"rbar\":");
+        appendNumber(json, backend.rbar(airline));
+        return json.append('}').toString();
+    }
+
+    private String leaderboard(Map<String, String> query) {
+        AirlineScores scores = backend.leaderboard();
+        int limit = intParam(query, "limit", scores.size(), 0, Integer.MAX_VALUE);
+        int[] ranking = scores.getRanking();
+        int shown = Math.min(limit, ranking.length);
+        StringBuilder json = new StringBuilder(32 + shown * 64);
+        json.append("{\"airlines\":[");
+        for (int rank = 0; rank < shown; rank++) {
+            int id = ranking[rank];
+            if (rank > 0) {
+                json.append(',');
+            }
+            json.append("{\"rank\":").append(rank + 1).append(",\"airline\":");
+            appendString(json, scores.getAirline(id));
+            json.append(",\"score\":");
+            appendNumber(json, scores.getScore(id));
+            json.append(",\"reviews\":").append(scores.getReviewCount(id)).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private String stats() {
+        StringBuilder json = new StringBuilder(128);
+        json.append("{\"size\":").append(backend.size())
+            .append(",\"requests\":").append(requests.get())
+            .append(",\"errors\":").append(errors.get())
+            .append(",\"inFlight\":").append(inFlight.get())
+            .append(",\"executor\":");
+        appendString(json, executorKind);
+        return json.append('}').toString();
+    }
+
+    private static String error(String message) {
+        StringBuilder json = new StringBuilder(32);
+        json.append("{\"error\":");
+        appendString(json, message);
+        return json.append('}').toString();
+    }
+
+    private static String required(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("missing parameter " + name);
+        }
+        return value;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue, int min, int max) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min || parsed > max) {
+                throw new IllegalArgumentException(name + " must be between " + min + " and " + max);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer");
+        }
+    }
+
+    /**
+     * Decode an application/x-www-form-urlencoded query string; later duplicates win.
+     * Time Complexity: O(length)
+     */
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals >= 0 ? pair.substring(0, equals) : pair;
+            String value = equals >= 0 ? pair.substring(equals + 1) : "";
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    /**
+     * Append a JSON string literal (null becomes JSON null).
+     * Time Complexity: O(length)
+     */
+    static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    // JSON has no NaN or Infinity
+    private static void appendNumber(StringBuilder json, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            json.append("null");
+        } else {
+            json.append(value);
+        }
+    }
+
+    /**
+     * Stop accepting connections and release the request threads.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
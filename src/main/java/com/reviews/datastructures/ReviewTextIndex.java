@@ -0,0 +1,773 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Inverted full-text index over review content, built at ingest.
+ * Each review gets a dense document id in insertion order; its content is tokenized with
+ * TextTokenizer and every term appends one posting to that term's list in the dictionary.
+ * Postings are compressed into one byte array per term:
+ *
+ *   varint(docId - previous docId), varint(term frequency), varint(position deltas)...
+ *
+ * Document ids only grow, so the deltas are small and most fit in one byte. Every
+ * SKIP_INTERVAL postings a skip entry (last docId before the block, byte offset) is kept,
+ * so intersections jump over whole blocks instead of decoding them.
+ *
+ * Queries (TextQuery) run document-at-a-time: AND leapfrogs the rarest list against the
+ * others, OR merges, phrases intersect and then check positions. An airline filter is one
+ * more list in the intersection (the airline's document ids); a date filter is checked
+ * against a per-document epochDay array.
+ *
+ * Not thread-safe: like LinearListReviewStore it expects one writer and no queries
+ * running while a review is added.
+ *
+ * Time Complexities:
+ * - Add review: O(T) for T tokens in its content
+ * - Term query: O(P) for the P postings of the term
+ * - AND / phrase: O(P_min * log) plus skipped blocks of the longer lists
+ * - OR: O(sum of P log Q) for Q sub-queries
+ *
+ * Space Complexity: O(total tokens) bytes of compressed postings plus O(N) per-document ints
+ */
+public class ReviewTextIndex {
+    static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+    private static final int SKIP_INTERVAL = 64;
+
+    private final List<ReviewRecord> documents;
+    private int[] docDays;
+    private int[] docAirlines;
+    private int[] docLengths;
+    private final Map<String, Integer> airlineIds;
+    private final List<DocList> airlineDocs;
+    private final Map<String, PostingList> dictionary;
+    private long totalTokens;
+
+    public ReviewTextIndex() {
+        this.documents = new ArrayList<>();
+        this.docDays = new int[16];
+        this.docAirlines = new int[16];
+        this.docLengths = new int[16];
+        this.airlineIds = new HashMap<>();
+        this.airlineDocs = new ArrayList<>();
+        this.dictionary = new HashMap<>();
+    }
+
+    /**
+     * Index one review; returns its document id.
+     * Time Complexity: O(T) for T tokens in its content
+     */
+    public int addReview(ReviewRecord review) {
+        int doc = documents.size();
+        if (doc == docDays.length) {
+            docDays = Arrays.copyOf(docDays, doc * 2);
+            docAirlines = Arrays.copyOf(docAirlines, doc * 2);
+            docLengths = Arrays.copyOf(docLengths, doc * 2);
+        }
+        documents.add(review);
+        docDays[doc] = ReviewDates.toEpochDay(review.getDate());
+        Integer airline = airlineIds.get(review.getName());
+        if (airline == null) {
+            airline = airlineDocs.size();
+            airlineIds.put(review.getName(), airline);
+            airlineDocs.add(new DocList());
+        }
+        docAirlines[doc] = airline;
+        airlineDocs.get(airline).add(doc);
+
+        // Group positions by term, then append one posting per distinct term
+        Map<String, DocList> positions = new HashMap<>();
+        int length = TextTokenizer.forEachToken(review.getContent(),
+            (term, position) -> positions.computeIfAbsent(term, t -> new DocList()).add(position));
+        for (Map.Entry<String, DocList> entry : positions.entrySet()) {
+            dictionary.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(doc, entry.getValue());
+        }
+        docLengths[doc] = length;
+        totalTokens += length;
+        return doc;
+    }
+
+    /**
+     * Index several reviews in order.
+     * Time Complexity: O(total tokens)
+     */
+    public void addReviews(List<ReviewRecord> reviews) {
+        for (ReviewRecord review : reviews) {
+            addReview(review);
+        }
+    }
+
+    /**
+     * Reviews matching the query, in insertion order.
+     * Time Complexity: see class comment
+     */
+    public List<ReviewRecord> search(TextQuery query) {
+        return search(query, null, null, null);
+    }
+
+    /**
+     * Reviews matching the query, optionally restricted to one airline and to dates within
+     * [startDate, endDate] (inclusive); null means no restriction. Insertion order.
+     * Time Complexity: see class comment
+     */
+    public List<ReviewRecord> search(TextQuery query, String airline, LocalDate startDate, LocalDate endDate) {
+        List<ReviewRecord> result = new ArrayList<>();
+        DocIterator matches = filtered(query, airline, startDate, endDate);
+        for (int doc = matches.nextDoc(); doc != NO_MORE_DOCS; doc = matches.nextDoc()) {
+            result.add(documents.get(doc));
+        }
+        return result;
+    }
+
+    /**
+     * Number of reviews search() would return, without building the list.
+     * Time Complexity: see class comment
+     */
+    public int count(TextQuery query, String airline, LocalDate startDate, LocalDate endDate) {
+        int count = 0;
+        DocIterator matches = filtered(query, airline, startDate, endDate);
+        while (matches.nextDoc() != NO_MORE_DOCS) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Number of reviews whose content contains the term (after tokenization).
+     * Time Complexity: O(1)
+     */
+    public int getDocumentFrequency(String term) {
+        List<String> tokens = TextTokenizer.tokenize(term);
+        PostingList postings = tokens.size() == 1 ? dictionary.get(tokens.get(0)) : null;
+        return postings == null ? 0 : postings.docFrequency;
+    }
+
+    public int getDocumentCount() {
+        return documents.size();
+    }
+
+    /**
+     * Number of distinct terms in the dictionary.
+     */
+    public int getTermCount() {
+        return dictionary.size();
+    }
+
+    public long getTotalTokens() {
+        return totalTokens;
+    }
+
+    /**
+     * Bytes of compressed postings (doc deltas, frequencies, position deltas).
+     * Time Complexity: O(terms)
+     */
+    public long getPostingsBytes() {
+        long bytes = 0;
+        for (PostingList postings : dictionary.values()) {
+            bytes += postings.size;
+        }
+        return bytes;
+    }
+
+    /**
+     * Bytes the same postings would take as plain ints (4 bytes per doc id, frequency and
+     * position), for comparing against the compressed size.
+     * Time Complexity: O(terms)
+     */
+    public long getUncompressedPostingsBytes() {
+        long ints = 0;
+        for (PostingList postings : dictionary.values()) {
+            ints += 2L * postings.docFrequency + postings.totalFrequency;
+        }
+        return ints * 4;
+    }
+
+    /**
+     * Estimated heap footprint of the index: postings and skip entries (at their used
+     * length), dictionary strings and entries, and the per-document arrays. The reviews
+     * themselves are not counted.
+     * Time Complexity: O(terms)
+     */
+    public long getIndexSizeBytes() {
+        long bytes = 0;
+        for (Map.Entry<String, PostingList> entry : dictionary.entrySet()) {
+            PostingList postings = entry.getValue();
+            bytes += postings.size + 8L * postings.skipCount; // postings, skip docs and offsets
+            bytes += 40 + 2L * entry.getKey().length();       // String and its chars
+            bytes += 32 + 64;                                 // hash entry, PostingList and arrays
+        }
+        bytes += 12L * documents.size();                      // day, airline, length
+        bytes += 4L * documents.size() + 32L * airlineDocs.size();
+        return bytes;
+    }
+
+    /**
+     * Remove every review from the index.
+     * Time Complexity: O(1)
+     */
+    public void clear() {
+        documents.clear();
+        docDays = new int[16];
+        docAirlines = new int[16];
+        docLengths = new int[16];
+        airlineIds.clear();
+        airlineDocs.clear();
+        dictionary.clear();
+        totalTokens = 0;
+    }
+
+    // Per-document accessors for ranked retrieval over the same postings
+    ReviewRecord document(int doc) {
+        return documents.get(doc);
+    }
+
+    int documentDay(int doc) {
+        return docDays[doc];
+    }
+
+    int documentLength(int doc) {
+        return docLengths[doc];
+    }
+
+    PostingList postings(String term) {
+        return dictionary.get(term);
+    }
+
+    Set<Map.Entry<String, PostingList>> dictionaryEntries() {
+        return dictionary.entrySet();
+    }
+
+    /**
+     * Iterator over the documents matching the query; its cost() bounds their number.
+     */
+    DocIterator matching(TextQuery query) {
+        return compile(Objects.requireNonNull(query, "query"));
+    }
+
+    DocIterator airlineIterator(String airline) {
+        Integer id = airlineIds.get(airline);
+        return id == null ? DocIterator.empty() : airlineDocs.get(id).iterator();
+    }
+
+    private DocIterator filtered(TextQuery query, String airline, LocalDate startDate, LocalDate endDate) {
+        DocIterator matches = compile(Objects.requireNonNull(query, "query"));
+        if (airline != null) {
+            matches = new AndIterator(Arrays.asList(matches, airlineIterator(airline)));
+        }
+        if (startDate != null || endDate != null) {
+            long from = startDate == null ? Long.MIN_VALUE : startDate.toEpochDay();
+            long to = endDate == null ? Long.MAX_VALUE : endDate.toEpochDay();
+            matches = new DateFilterIterator(matches, docDays, from, to);
+        }
+        return matches;
+    }
+
+    private DocIterator compile(TextQuery query) {
+        switch (query.kind) {
+            case TERM: {
+                PostingList postings = dictionary.get(query.terms.get(0));
+                return postings == null ? DocIterator.empty() : postings.cursor();
+            }
+            case PHRASE: {
+                PostingsCursor[] cursors = new PostingsCursor[query.terms.size()];
+                for (int i = 0; i < cursors.length; i++) {
+                    PostingList postings = dictionary.get(query.terms.get(i));
+                    if (postings == null) {
+                        return DocIterator.empty();
+                    }
+                    cursors[i] = postings.cursor();
+                }
+                return new PhraseIterator(cursors);
+            }
+            case AND: {
+                List<DocIterator> children = new ArrayList<>();
+                for (TextQuery child : query.children) {
+                    children.add(compile(child));
+                }
+                return children.size() == 1 ? children.get(0) : new AndIterator(children);
+            }
+            case OR: {
+                List<DocIterator> children = new ArrayList<>();
+                for (TextQuery child : query.children) {
+                    children.add(compile(child));
+                }
+                return children.size() == 1 ? children.get(0) : new OrIterator(children);
+            }
+            default:
+                return new AndNotIterator(compile(query.children.get(0)), compile(query.children.get(1)));
+        }
+    }
+
+    // ---- Postings ----
+
+    /**
+     * Growable int list, used for an airline's document ids and for a term's positions
+     * within the document being indexed.
+     */
+    static final class DocList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        DocIterator iterator() {
+            return new ArrayIterator(values, size);
+        }
+    }
+
+    /**
+     * One term's compressed postings plus its skip entries.
+     */
+    static final class PostingList {
+        byte[] data = new byte[8];
+        int size;
+        int docFrequency;
+        long totalFrequency;
+        int lastDoc = -1;
+        // skipDocs[k] = last docId before posting (k + 1) * SKIP_INTERVAL, skipOffsets[k] = its byte offset
+        int[] skipDocs = new int[0];
+        int[] skipOffsets = new int[0];
+        int skipCount;
+
+        void add(int doc, DocList positions) {
+            if (docFrequency > 0 && docFrequency % SKIP_INTERVAL == 0) {
+                if (skipCount == skipDocs.length) {
+                    skipDocs = Arrays.copyOf(skipDocs, Math.max(4, skipCount * 2));
+                    skipOffsets = Arrays.copyOf(skipOffsets, skipDocs.length);
+                }
+                skipDocs[skipCount] = lastDoc;
+                skipOffsets[skipCount] = size;
+                skipCount++;
+            }
+            writeVarint(doc - lastDoc);
+            writeVarint(positions.size);
+            int previous = 0;
+            for (int i = 0; i < positions.size; i++) {
+                writeVarint(positions.values[i] - previous);
+                previous = positions.values[i];
+            }
+            lastDoc = doc;
+            docFrequency++;
+            totalFrequency += positions.size;
+        }
+
+        private void writeVarint(int value) {
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + 5));
+            }
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        PostingsCursor cursor() {
+            return new PostingsCursor(this);
+        }
+    }
+
+    // ---- Document iterators ----
+
+    /**
+     * Forward-only iterator over ascending document ids. docId() is -1 before the first
+     * nextDoc() and NO_MORE_DOCS once exhausted.
+     */
+    abstract static class DocIterator {
+        static DocIterator empty() {
+            return new ArrayIterator(new int[0], 0);
+        }
+
+        abstract int docId();
+
+        abstract int nextDoc();
+
+        /**
+         * Move to the first document >= target (which must be > docId()).
+         */
+        int advance(int target) {
+            int doc = docId();
+            while (doc < target) {
+                doc = nextDoc();
+            }
+            return doc;
+        }
+
+        /**
+         * Upper bound on the number of documents this iterator can return.
+         */
+        abstract long cost();
+    }
+
+    static final class ArrayIterator extends DocIterator {
+        private final int[] docs;
+        private final int size;
+        private int index = -1;
+
+        ArrayIterator(int[] docs, int size) {
+            this.docs = docs;
+            this.size = size;
+        }
+
+        int docId() {
+            return index < 0 ? -1 : index < size ? docs[index] : NO_MORE_DOCS;
+        }
+
+        int nextDoc() {
+            if (index < size) {
+                index++;
+            }
+            return docId();
+        }
+
+        int advance(int target) {
+            int low = Math.max(index + 1, 0);
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (docs[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            index = low;
+            return docId();
+        }
+
+        long cost() {
+            return size;
+        }
+    }
+
+    /**
+     * Decoder over one PostingList. Positions of the current document are decoded only
+     * when asked for; otherwise nextDoc() steps over them.
+     */
+    static final class PostingsCursor extends DocIterator {
+        private final PostingList list;
+        private final int end;
+        private int offset;
+        private int doc = -1;
+        private int frequency;
+        private int positionsOffset;
+        private boolean positionsPending;
+        private int[] positions = new int[4];
+
+        PostingsCursor(PostingList list) {
+            this.list = list;
+            this.end = list.size;
+        }
+
+        int docId() {
+            return doc;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+
+        int nextDoc() {
+            if (positionsPending) {
+                for (int i = 0; i < frequency; i++) {
+                    readVarint();
+                }
+                positionsPending = false;
+            }
+            if (offset >= end) {
+                doc = NO_MORE_DOCS;
+                return doc;
+            }
+            doc += readVarint();
+            frequency = readVarint();
+            positionsOffset = offset;
+            positionsPending = true;
+            return doc;
+        }
+
+        int advance(int target) {
+            // Jump to the last block that starts after a doc < target, if it is ahead of us
+            int low = 0;
+            int high = list.skipCount;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (list.skipDocs[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            int block = low - 1;
+            if (block >= 0 && list.skipOffsets[block] > offset && list.skipOffsets[block] < end) {
+                offset = list.skipOffsets[block];
+                doc = list.skipDocs[block];
+                positionsPending = false;
+            }
+            return super.advance(target);
+        }
+
+        /**
+         * Positions of the current document, ascending; valid until the next move.
+         */
+        int[] positions() {
+            if (positions.length < frequency) {
+                positions = new int[Math.max(frequency, positions.length * 2)];
+            }
+            int saved = offset;
+            offset = positionsOffset;
+            int position = 0;
+            for (int i = 0; i < frequency; i++) {
+                position += readVarint();
+                positions[i] = position;
+            }
+            offset = saved;
+            return positions;
+        }
+
+        long cost() {
+            return list.docFrequency;
+        }
+
+        private int readVarint() {
+            byte[] data = list.data;
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    /**
+     * Intersection by leapfrogging: the cheapest iterator leads, the others advance to it.
+     */
+    static class AndIterator extends DocIterator {
+        private final DocIterator[] iterators;
+        private int doc = -1;
+
+        AndIterator(List<DocIterator> children) {
+            iterators = children.toArray(new DocIterator[0]);
+            Arrays.sort(iterators, Comparator.comparingLong(DocIterator::cost));
+        }
+
+        int docId() {
+            return doc;
+        }
+
+        int nextDoc() {
+            return doc = align(iterators[0].nextDoc());
+        }
+
+        int advance(int target) {
+            return doc = align(iterators[0].advance(target));
+        }
+
+        long cost() {
+            return iterators[0].cost();
+        }
+
+        private int align(int target) {
+            outer:
+            while (target != NO_MORE_DOCS) {
+                for (int i = 1; i < iterators.length; i++) {
+                    int other = iterators[i].docId();
+                    if (other < target) {
+                        other = iterators[i].advance(target);
+                    }
+                    if (other > target) {
+                        target = iterators[0].advance(other);
+                        continue outer;
+                    }
+                }
+                return target;
+            }
+            return NO_MORE_DOCS;
+        }
+    }
+
+    /**
+     * Terms at consecutive positions: intersect the terms, then check positions.
+     */
+    static final class PhraseIterator extends DocIterator {
+        private final PostingsCursor[] terms;
+        private final AndIterator all;
+        private int doc = -1;
+
+        PhraseIterator(PostingsCursor[] terms) {
+            this.terms = terms;
+            this.all = new AndIterator(Arrays.asList(terms));
+        }
+
+        int docId() {
+            return doc;
+        }
+
+        int nextDoc() {
+            return doc = matchFrom(all.nextDoc());
+        }
+
+        int advance(int target) {
+            return doc = matchFrom(all.advance(target));
+        }
+
+        long cost() {
+            return all.cost();
+        }
+
+        private int matchFrom(int candidate) {
+            while (candidate != NO_MORE_DOCS && !phraseAt()) {
+                candidate = all.nextDoc();
+            }
+            return candidate;
+        }
+
+        private boolean phraseAt() {
+            int[] first = terms[0].positions();
+            int firstCount = terms[0].frequency();
+            for (int p = 0; p < firstCount; p++) {
+                boolean match = true;
+                for (int i = 1; i < terms.length && match; i++) {
+                    match = Arrays.binarySearch(terms[i].positions(), 0, terms[i].frequency(), first[p] + i) >= 0;
+                }
+                if (match) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Union: the smallest current document of any child.
+     */
+    static final class OrIterator extends DocIterator {
+        private final DocIterator[] iterators;
+        private int doc = -1;
+
+        OrIterator(List<DocIterator> children) {
+            iterators = children.toArray(new DocIterator[0]);
+        }
+
+        int docId() {
+            return doc;
+        }
+
+        int nextDoc() {
+            return doc == NO_MORE_DOCS ? doc : advance(doc + 1);
+        }
+
+        int advance(int target) {
+            int smallest = NO_MORE_DOCS;
+            for (DocIterator iterator : iterators) {
+                int other = iterator.docId();
+                if (other < target) {
+                    other = iterator.advance(target);
+                }
+                smallest = Math.min(smallest, other);
+            }
+            return doc = smallest;
+        }
+
+        long cost() {
+            long cost = 0;
+            for (DocIterator iterator : iterators) {
+                cost += iterator.cost();
+            }
+            return cost;
+        }
+    }
+
+    /**
+     * Documents of include that exclude does not contain.
+     */
+    static final class AndNotIterator extends DocIterator {
+        private final DocIterator include;
+        private final DocIterator exclude;
+
+        AndNotIterator(DocIterator include, DocIterator exclude) {
+            this.include = include;
+            this.exclude = exclude;
+        }
+
+        int docId() {
+            return include.docId();
+        }
+
+        int nextDoc() {
+            return skipExcluded(include.nextDoc());
+        }
+
+        int advance(int target) {
+            return skipExcluded(include.advance(target));
+        }
+
+        long cost() {
+            return include.cost();
+        }
+
+        private int skipExcluded(int doc) {
+            while (doc != NO_MORE_DOCS) {
+                int excluded = exclude.docId();
+                if (excluded < doc) {
+                    excluded = exclude.advance(doc);
+                }
+                if (excluded != doc) {
+                    return doc;
+                }
+                doc = include.nextDoc();
+            }
+            return doc;
+        }
+    }
+
+    /**
+     * Documents of the inner iterator dated within [from, to].
+     */
+    static final class DateFilterIterator extends DocIterator {
+        private final DocIterator inner;
+        private final int[] days;
+        private final long from;
+        private final long to;
+
+        DateFilterIterator(DocIterator inner, int[] days, long from, long to) {
+            this.inner = inner;
+            this.days = days;
+            this.from = from;
+            this.to = to;
+        }
+
+        int docId() {
+            return inner.docId();
+        }
+
+        int nextDoc() {
+            return skipOutOfRange(inner.nextDoc());
+        }
+
+        int advance(int target) {
+            return skipOutOfRange(inner.advance(target));
+        }
+
+        long cost() {
+            return inner.cost();
+        }
+
+        private int skipOutOfRange(int doc) {
+            while (doc != NO_MORE_DOCS && (days[doc] < from || days[doc] > to)) {
+                doc = inner.nextDoc();
+            }
+            return doc;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Single-writer ingestion front end for a review store.
+ * Any number of producer threads call publish(); each claims the next sequence number with
+ * one atomic increment (no locks), writes the review into that ring slot and marks the slot
+ * available. One applier thread drains runs of consecutive available slots as a batch,
+ * sorts the batch by airline and then date, applies it to the store sink in that order and
+ * publishes the new version (the number of reviews applied so far).
+ *
+ * The store behind the sink is therefore only ever written by the applier thread, and each
+ * batch touches one airline's structure at a time. Readers that need their writes to be
+ * visible wait for the version returned by publish() with awaitVersion().
+ *
+ * When the ring is full, producers back off (spin, then park) until the applier frees slots.
+ * Reviews the sink rejects with a RuntimeException, or whose airline or date cannot be
+ * read for sorting, are counted in the metrics and skipped; they still advance the version.
+ * close() drains the ring; it must not race with publish() calls from other threads.
+ *
+ * Time Complexities:
+ * - publish: O(1) when the ring has room
+ * - apply: O(B log B) per batch of B reviews for the sort, plus the sink's insert cost
+ *
+ * Space Complexity: O(capacity)
+ */
+public class RingBufferIngestor implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 1 << 14;
+    private static final int DEFAULT_MAX_BATCH = 1024;
+    private static final int SPIN_TRIES = 100;
+    private static final long IDLE_PARK_NANOS = 50_000;
+
+    /**
+     * Batch order: airline (missing names first), then date (oldest first), ties in arrival order.
+     */
+    private static final Comparator<Pending> APPLY_ORDER =
+        Comparator.comparing((Pending pending) -> pending.airline, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                  .thenComparingInt(pending -> pending.epochDay);
+
+    private final ReviewRecord[] slots;
+    private final AtomicLongArray available;
+    private final int mask;
+    private final int maxBatch;
+    private final Consumer<ReviewRecord> sink;
+
+    // Next sequence to hand out to a producer
+    private final AtomicLong claimed;
+    // Every sequence below this has been applied and its slot may be reused
+    private volatile long applied;
+    private final Object versionMonitor;
+    private final Thread applier;
+    private volatile boolean running;
+
+    // Metrics, written only by the applier thread
+    private volatile long batches;
+    private volatile int maxObservedBatch;
+    private volatile long maxObservedDepth;
+    private volatile long applyNanos;
+    private volatile long failures;
+    private final long startNanos;
+
+    private static final class Pending {
+        final ReviewRecord review;
+        final String airline;
+        final int epochDay;
+
+        Pending(ReviewRecord review) {
+            this.review = review;
+            this.airline = review.getName();
+            this.epochDay = ReviewDates.toEpochDay(review.getDate());
+        }
+    }
+
+    /**
+     * Create and start an ingestor with the default ring capacity and batch size.
+     */
+    public RingBufferIngestor(Consumer<ReviewRecord> sink) {
+        this(sink, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Create and start an ingestor.
+     *
+     * @param sink     store insert, e.g. {@code store::addReview}; only called by the applier thread
+     * @param capacity ring size, rounded up to a power of two
+     * @param maxBatch largest number of reviews applied per batch
+     */
+    public RingBufferIngestor(Consumer<ReviewRecord> sink, int capacity, int maxBatch) {
+        if (capacity < 1 || maxBatch < 1) {
+            throw new IllegalArgumentException("capacity and maxBatch must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new ReviewRecord[size];
+        this.available = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            available.set(i, -1);
+        }
+        this.mask = size - 1;
+        this.maxBatch = maxBatch;
+        this.sink = sink;
+        this.claimed = new AtomicLong();
+        this.applied = 0;
+        this.versionMonitor = new Object();
+        this.running = true;
+        this.startNanos = System.nanoTime();
+        this.applier = new Thread(this::applyLoop, "review-ingest-applier");
+        this.applier.setDaemon(true);
+        this.applier.start();
+    }
+
+    /**
+     * Hand a review to the applier. Safe to call from any number of threads.
+     * Time Complexity: O(1), waits only while the ring is full
+     *
+     * @return the version at which this review is applied (pass it to awaitVersion)
+     * @throws NullPointerException if review is null
+     */
+    public long publish(ReviewRecord review) {
+        Objects.requireNonNull(review, "review");
+        if (!running) {
+            throw new IllegalStateException("Ingestor is closed");
+        }
+        long sequence = claimed.getAndIncrement();
+        int tries = 0;
+        while (sequence - applied >= slots.length) {
+            tries = backOff(tries);
+        }
+        int index = (int) sequence & mask;
+        slots[index] = review;
+        // Release write: the slot contents become visible together with the sequence
+        available.lazySet(index, sequence);
+        return sequence + 1;
+    }
+
+    /**
+     * Publish every review in order.
+     * Time Complexity: O(M)
+     *
+     * @return the version at which the last review is applied
+     */
+    public long publishAll(List<ReviewRecord> reviews) {
+        long version = getVersion();
+        for (ReviewRecord review : reviews) {
+            version = publish(review);
+        }
+        return version;
+    }
+
+    /**
+     * Number of reviews applied to the store so far; only ever increases.
+     * Time Complexity: O(1)
+     */
+    public long getVersion() {
+        return applied;
+    }
+
+    /**
+     * Block until at least {@code version} reviews have been applied or the timeout passes.
+     * Time Complexity: O(1) per wake-up
+     *
+     * @return true if the version was reached
+     */
+    public boolean awaitVersion(long version, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (versionMonitor) {
+            while (applied < version) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(versionMonitor, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Block until everything published before this call has been applied.
+     */
+    public void flush() throws InterruptedException {
+        long target = claimed.get();
+        while (!awaitVersion(target, 1, TimeUnit.SECONDS)) {
+            // keep waiting; a bounded timeout avoids overflowing the deadline arithmetic
+        }
+    }
+
+    /**
+     * Reviews claimed by producers but not yet applied.
+     * Time Complexity: O(1)
+     */
+    public long getQueueDepth() {
+        return Math.max(0, claimed.get() - applied);
+    }
+
+    /**
+     * Throughput and queue metrics.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        long version = applied;
+        long batchCount = batches;
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        metrics.put("appliedReviews", version);
+        metrics.put("queueDepth", getQueueDepth());
+        metrics.put("maxQueueDepth", maxObservedDepth);
+        metrics.put("capacity", slots.length);
+        metrics.put("batches", batchCount);
+        metrics.put("avgBatchSize", batchCount > 0 ? (double) version / batchCount : 0.0);
+        metrics.put("maxBatchSize", maxObservedBatch);
+        metrics.put("appliedPerSecond", seconds > 0 ? version / seconds : 0.0);
+        metrics.put("failedReviews", failures);
+        metrics.put("applyNanosPerReview", version > 0 ? (double) applyNanos / version : 0.0);
+        return metrics;
+    }
+
+    /**
+     * Stop accepting reviews, apply everything already published and stop the applier.
+     * If the calling thread is interrupted while waiting, close() returns early with the
+     * interrupt flag set; the applier still drains the ring in the background.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(applier);
+        try {
+            applier.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applier thread: drain, sort, apply, publish version.
+     */
+    private void applyLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        long next = 0;
+        int idle = 0;
+        while (true) {
+            // Collect the run of consecutive published slots starting at next
+            int taken = 0;
+            while (taken < maxBatch) {
+                int index = (int) (next + taken) & mask;
+                if (available.get(index) != next + taken) {
+                    break;
+                }
+                ReviewRecord review = slots[index];
+                slots[index] = null;
+                taken++;
+                try {
+                    batch.add(new Pending(review));
+                } catch (RuntimeException e) {
+                    // Unreadable name or date: skipped like a review the sink rejects
+                    failures++;
+                }
+            }
+
+            if (taken == 0) {
+                if (!running && claimed.get() == next) {
+                    return;
+                }
+                idle = backOff(idle);
+                continue;
+            }
+            idle = 0;
+
+            long depth = claimed.get() - next;
+            if (depth > maxObservedDepth) {
+                maxObservedDepth = depth;
+            }
+
+            long startTime = System.nanoTime();
+            batch.sort(APPLY_ORDER);
+            for (Pending pending : batch) {
+                try {
+                    sink.accept(pending.review);
+                } catch (RuntimeException e) {
+                    // A bad review must not stop the applier (producers would block forever)
+                    failures++;
+                }
+            }
+            applyNanos += System.nanoTime() - startTime;
+
+            next += taken;
+            batches++;
+            if (taken > maxObservedBatch) {
+                maxObservedBatch = taken;
+            }
+            batch.clear();
+
+            synchronized (versionMonitor) {
+                applied = next;
+                versionMonitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Spin briefly, then park; returns the updated try count.
+     */
+    private static int backOff(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return tries + 1;
+    }
+}
@@ -0,0 +1,697 @@
+package com.reviews.datastructures;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints in the roaring layout: values are split by their
+ * high 16 bits into chunks of 65536, and each chunk is a container chosen by density.
+ * A chunk with at most ARRAY_LIMIT values is a sorted char[] (2 bytes per value); a denser
+ * one is a 1024-word bitmap (8 KB, one bit per possible value). Containers switch form as
+ * they grow or as set operations shrink them, so memory stays near the smaller of the two.
+ *
+ * and / or / andNot work chunk by chunk on the matching keys and pick the cheapest kernel
+ * for the container pair: merge or galloping intersection of arrays, bit tests of an array
+ * against a bitmap, word-wise AND/OR/ANDNOT of two bitmaps. They return new bitmaps and
+ * never modify or share their inputs' containers.
+ *
+ * Not thread-safe while being modified.
+ *
+ * Time Complexities:
+ * - add / contains: O(log C + log 4096) for C chunks
+ * - and / or / andNot: O(C + work per container pair), at most 1024 words per bitmap pair
+ * - cardinality: O(1)
+ * - forEach / toArray: O(n + C)
+ *
+ * Space Complexity: O(min(2n, 8 KB per chunk)) plus O(C)
+ */
+public final class RoaringBitmap {
+    /** Largest container kept as a sorted array. */
+    static final int ARRAY_LIMIT = 4096;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+    private int cardinality;
+
+    public RoaringBitmap() {
+    }
+
+    /**
+     * Bitmap of the given values, in any order, duplicates allowed.
+     * Time Complexity: O(n log n)
+     */
+    public static RoaringBitmap of(int... values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value : sorted) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Bitmap of every value in [start, end).
+     * Time Complexity: O((end - start) / 64 + C)
+     */
+    public static RoaringBitmap range(int start, int end) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        int from = Math.max(0, start);
+        while (from < end) {
+            char key = (char) (from >>> 16);
+            int chunkEnd = Math.min(end, (key + 1) << 16);
+            if (chunkEnd <= 0) { // last chunk: (key + 1) << 16 overflows
+                chunkEnd = end;
+            }
+            BitmapContainer container = new BitmapContainer();
+            container.setRange(from & 0xFFFF, chunkEnd - (key << 16));
+            bitmap.append(key, container.shrink());
+            from = chunkEnd;
+        }
+        return bitmap;
+    }
+
+    /**
+     * Add a value. Appending in increasing order takes the fast path.
+     *
+     * @throws IllegalArgumentException if value is negative
+     */
+    public void add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        char key = (char) (value >>> 16);
+        char low = (char) value;
+        int index = size > 0 && keys[size - 1] == key ? size - 1 : findKey(key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key, new ArrayContainer());
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add(low);
+        cardinality += containers[index].cardinality() - before;
+    }
+
+    /**
+     * Whether the value is in the set.
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = findKey((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Values present in both bitmaps.
+     * Time Complexity: O(C1 + C2) key merge plus the container intersections
+     */
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container container = a.containers[i].and(b.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.append(a.keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Values present in either bitmap.
+     * Time Complexity: O(C1 + C2) key merge plus the container unions
+     */
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.append(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                result.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.append(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Values in a but not in b.
+     * Time Complexity: O(C1 + C2) key merge plus the container differences
+     */
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            Container container = j < b.size && b.keys[j] == a.keys[i]
+                ? a.containers[i].andNot(b.containers[j])
+                : a.containers[i].copy();
+            if (container.cardinality() > 0) {
+                result.append(a.keys[i], container);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Intersection of every bitmap, smallest first so the running result stays small.
+     * Time Complexity: O(sum of the pairwise intersections)
+     */
+    public static RoaringBitmap andAll(RoaringBitmap... bitmaps) {
+        if (bitmaps.length == 0) {
+            return new RoaringBitmap();
+        }
+        RoaringBitmap[] ordered = bitmaps.clone();
+        Arrays.sort(ordered, Comparator.comparingInt(RoaringBitmap::cardinality));
+        RoaringBitmap result = ordered[0].copy();
+        for (int i = 1; i < ordered.length && !result.isEmpty(); i++) {
+            result = and(result, ordered[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Union of every bitmap. Chunks present in several inputs are accumulated into one
+     * bitmap container each, instead of re-copying a growing result per input.
+     * Time Complexity: O(total input size + 1024 words per shared chunk)
+     */
+    public static RoaringBitmap orAll(Collection<RoaringBitmap> bitmaps) {
+        TreeMap<Character, List<Container>> chunks = new TreeMap<>();
+        for (RoaringBitmap bitmap : bitmaps) {
+            for (int i = 0; i < bitmap.size; i++) {
+                chunks.computeIfAbsent(bitmap.keys[i], key -> new ArrayList<>(2)).add(bitmap.containers[i]);
+            }
+        }
+        RoaringBitmap result = new RoaringBitmap();
+        for (Map.Entry<Character, List<Container>> chunk : chunks.entrySet()) {
+            List<Container> parts = chunk.getValue();
+            if (parts.size() == 1) {
+                result.append(chunk.getKey(), parts.get(0).copy());
+                continue;
+            }
+            BitmapContainer union = new BitmapContainer();
+            for (Container part : parts) {
+                part.orInto(union);
+            }
+            result.append(chunk.getKey(), union.shrink());
+        }
+        return result;
+    }
+
+    /**
+     * Independent copy of this bitmap.
+     * Time Complexity: O(size in bytes)
+     */
+    public RoaringBitmap copy() {
+        RoaringBitmap result = new RoaringBitmap();
+        for (int i = 0; i < size; i++) {
+            result.append(keys[i], containers[i].copy());
+        }
+        return result;
+    }
+
+    /**
+     * Feed every value to the consumer in increasing order.
+     * Time Complexity: O(n + C)
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * Every value in increasing order.
+     * Time Complexity: O(n + C)
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality];
+        int[] next = new int[1];
+        forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Bytes used by the containers and key arrays (object headers included, estimated).
+     */
+    public long getSizeInBytes() {
+        long bytes = 16 + 16 + 2L * keys.length + 16 + 4L * containers.length;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Number of array and bitmap containers, in that order.
+     */
+    public int[] getContainerCounts() {
+        int[] counts = new int[2];
+        for (int i = 0; i < size; i++) {
+            counts[containers[i] instanceof ArrayContainer ? 0 : 1]++;
+        }
+        return counts;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof RoaringBitmap)) {
+            return false;
+        }
+        RoaringBitmap that = (RoaringBitmap) other;
+        return cardinality == that.cardinality && Arrays.equals(toArray(), that.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return "RoaringBitmap{cardinality=" + cardinality + ", chunks=" + size + "}";
+    }
+
+    private int findKey(char key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < key) {
+                low = middle + 1;
+            } else if (keys[middle] > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    // Keys arrive in increasing order from the set operations
+    private void append(char key, Container container) {
+        insertContainer(size, key, container);
+        cardinality += container.cardinality();
+    }
+
+    /**
+     * One 65536-value chunk. Operations return the resulting container, which may be a
+     * different form (or, for add, the same object).
+     */
+    private abstract static class Container {
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Container add(char value);
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container andNot(Container other);
+
+        abstract Container copy();
+
+        // Add every value to target
+        abstract void orInto(BitmapContainer target);
+
+        abstract void forEach(int high, IntConsumer consumer);
+
+        abstract long sizeInBytes();
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = cardinality > 0 && values[cardinality - 1] < value
+                ? -(cardinality + 1)
+                : Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof BitmapContainer) {
+                BitmapContainer bitmap = (BitmapContainer) other;
+                char[] result = new char[cardinality];
+                int count = 0;
+                for (int i = 0; i < cardinality; i++) {
+                    if (bitmap.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+                return new ArrayContainer(result, count);
+            }
+            ArrayContainer that = (ArrayContainer) other;
+            ArrayContainer small = cardinality <= that.cardinality ? this : that;
+            ArrayContainer large = small == this ? that : this;
+            char[] result = new char[small.cardinality];
+            int count = 0;
+            if (large.cardinality > 32 * small.cardinality) {
+                // Galloping: binary search each small value in the remaining large range
+                int from = 0;
+                for (int i = 0; i < small.cardinality && from < large.cardinality; i++) {
+                    int found = Arrays.binarySearch(large.values, from, large.cardinality, small.values[i]);
+                    if (found >= 0) {
+                        result[count++] = small.values[i];
+                        from = found + 1;
+                    } else {
+                        from = -found - 1;
+                    }
+                }
+            } else {
+                int i = 0;
+                int j = 0;
+                while (i < small.cardinality && j < large.cardinality) {
+                    char x = small.values[i];
+                    char y = large.values[j];
+                    if (x < y) {
+                        i++;
+                    } else if (x > y) {
+                        j++;
+                    } else {
+                        result[count++] = x;
+                        i++;
+                        j++;
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer that = (ArrayContainer) other;
+            if (cardinality + that.cardinality > ARRAY_LIMIT) {
+                BitmapContainer result = toBitmap();
+                for (int j = 0; j < that.cardinality; j++) {
+                    result.set(that.values[j]);
+                }
+                return result.shrink();
+            }
+            char[] result = new char[cardinality + that.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < that.cardinality) {
+                if (j == that.cardinality || (i < cardinality && values[i] < that.values[j])) {
+                    result[count++] = values[i++];
+                } else if (i == cardinality || values[i] > that.values[j]) {
+                    result[count++] = that.values[j++];
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        @Override
+        void orInto(BitmapContainer target) {
+            for (int i = 0; i < cardinality; i++) {
+                target.set(values[i]);
+            }
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16 + 16 + 2L * values.length;
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.set(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[1024], 0);
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            set(value);
+            return this;
+        }
+
+        void set(char value) {
+            long before = words[value >>> 6];
+            long after = before | (1L << value);
+            words[value >>> 6] = after;
+            if (before != after) {
+                cardinality++;
+            }
+        }
+
+        // Set every value in [from, to), 0 <= from < to <= 65536
+        void setRange(int from, int to) {
+            for (int value = from; value < to; ) {
+                if ((value & 63) == 0 && value + 64 <= to) {
+                    cardinality += 64 - Long.bitCount(words[value >>> 6]);
+                    words[value >>> 6] = -1L;
+                    value += 64;
+                } else {
+                    set((char) value);
+                    value++;
+                }
+            }
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] that = ((BitmapContainer) other).words;
+            long[] result = new long[1024];
+            int count = 0;
+            for (int w = 0; w < 1024; w++) {
+                result[w] = words[w] & that[w];
+                count += Long.bitCount(result[w]);
+            }
+            return new BitmapContainer(result, count).shrink();
+        }
+
+        @Override
+        Container or(Container other) {
+            BitmapContainer result = (BitmapContainer) copy();
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    result.set(array.values[i]);
+                }
+                return result;
+            }
+            long[] that = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int w = 0; w < 1024; w++) {
+                result.words[w] |= that[w];
+                count += Long.bitCount(result.words[w]);
+            }
+            result.cardinality = count;
+            return result;
+        }
+
+        @Override
+        Container andNot(Container other) {
+            BitmapContainer result = (BitmapContainer) copy();
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    char value = array.values[i];
+                    long before = result.words[value >>> 6];
+                    long after = before & ~(1L << value);
+                    result.words[value >>> 6] = after;
+                    if (before != after) {
+                        result.cardinality--;
+                    }
+                }
+                return result.shrink();
+            }
+            long[] that = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int w = 0; w < 1024; w++) {
+                result.words[w] &= ~that[w];
+                count += Long.bitCount(result.words[w]);
+            }
+            result.cardinality = count;
+            return result.shrink();
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        void orInto(BitmapContainer target) {
+            int count = 0;
+            for (int w = 0; w < 1024; w++) {
+                target.words[w] |= words[w];
+                count += Long.bitCount(target.words[w]);
+            }
+            target.cardinality = count;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int w = 0; w < 1024; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    consumer.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16 + 16 + 8L * words.length;
+        }
+
+        // Back to an array once sparse enough
+        Container shrink() {
+            if (cardinality > ARRAY_LIMIT) {
+                return this;
+            }
+            char[] values = new char[Math.max(1, cardinality)];
+            int count = 0;
+            for (int w = 0; w < 1024; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[count++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.reviews.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * Pre-aggregated statistics for one time bucket (a day, month or year) of one airline.
+ * Cells are additive, so any period is the sum of the cells that tile it.
+ *
+ * Besides the plain sums, each cell keeps the sum of epoch days and the sum of
+ * epoch day x rating. Within a stretch where the recency weight is linear in the
+ * review date, those two sums are enough to compute the weighted RBAR terms exactly
+ * without going back to the individual reviews.
+ */
+public class RollupCell {
+    private int count;
+    private double ratingSum;
+    private long epochDaySum;
+    private double epochDayRatingSum;
+    private final double[] subRatingSums;
+    private final int[] subRatingCounts;
+
+    public RollupCell() {
+        this.subRatingSums = new double[ReviewFields.MAX_SUB_RATINGS];
+        this.subRatingCounts = new int[ReviewFields.MAX_SUB_RATINGS];
+    }
+
+    /**
+     * Add a single review to this cell.
+     * Sub-ratings of 0.0 mean "not rated" in the CSVs and are not counted.
+     * Time Complexity: O(1)
+     */
+    public void add(int epochDay, double overallRating, double[] subRatings) {
+        count++;
+        ratingSum += overallRating;
+        epochDaySum += epochDay;
+        epochDayRatingSum += (double) epochDay * overallRating;
+        for (int i = 0; i < subRatings.length && i < subRatingSums.length; i++) {
+            if (subRatings[i] > 0) {
+                subRatingSums[i] += subRatings[i];
+                subRatingCounts[i]++;
+            }
+        }
+    }
+
+    /**
+     * Merge another cell into this one.
+     * Time Complexity: O(1)
+     */
+    public void merge(RollupCell other) {
+        count += other.count;
+        ratingSum += other.ratingSum;
+        epochDaySum += other.epochDaySum;
+        epochDayRatingSum += other.epochDayRatingSum;
+        for (int i = 0; i < subRatingSums.length; i++) {
+            subRatingSums[i] += other.subRatingSums[i];
+            subRatingCounts[i] += other.subRatingCounts[i];
+        }
+    }
+
+    /**
+     * Get a detached copy of this cell.
+     */
+    public RollupCell copy() {
+        RollupCell copy = new RollupCell();
+        copy.merge(this);
+        return copy;
+    }
+
+    public int getCount() { return count; }
+    public double getRatingSum() { return ratingSum; }
+    public long getEpochDaySum() { return epochDaySum; }
+    public double getEpochDayRatingSum() { return epochDayRatingSum; }
+    public double getSubRatingSum(int index) { return subRatingSums[index]; }
+    public int getSubRatingCount(int index) { return subRatingCounts[index]; }
+
+    /**
+     * Plain (unweighted) average overall rating of the bucket.
+     */
+    public double getAverageRating() {
+        return count > 0 ? ratingSum / count : 0.0;
+    }
+
+    /**
+     * Average of one sub-rating slot over the reviews that rated it.
+     */
+    public double getSubRatingAverage(int index) {
+        return subRatingCounts[index] > 0 ? subRatingSums[index] / subRatingCounts[index] : 0.0;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RollupCell[count=%d, avg=%.3f, subCounts=%s]",
+                           count, getAverageRating(), Arrays.toString(subRatingCounts));
+    }
+}
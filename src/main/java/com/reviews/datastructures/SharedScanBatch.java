@@ -0,0 +1,393 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * Batch of report queries answered by one shared scan over the reviews.
+ * Queries are registered first; each returns a Result that is filled in by execute().
+ * Registration compiles the batch into one accumulator state per airline scope (plus one
+ * for "all airlines"), so the scan does a single hash lookup per row and feeds that
+ * airline's state, no matter how many queries the batch holds:
+ *
+ * - RBAR: one {weightedSum, totalWeight} per airline, shared by repeated queries
+ * - top-k: one bounded heap per airline sized for the largest k asked for
+ * - date-range counts: per-day counts per airline; every range is answered after the scan
+ *   from prefix sums over the sorted days
+ * - sub-rating averages: one sum and count per sub-rating slot (0 = not rated, skipped)
+ *
+ * RBAR uses the linear recency weights of LinearListReviewStore/AVLReviewStore
+ * (ReviewDates.recencyWeight), fixed at the date the batch was created, unless the store
+ * driving the scan passes its own weight by age to begin(), as RBTReviewStore does.
+ * Top-k ties on date keep scan order, like the stable sorts of the stores.
+ *
+ * Time Complexities:
+ * - execute: O(N log K) for N scanned reviews and largest k (O(N) without top-k queries),
+ *   plus O(D log D + Q log D) to answer Q date-range queries over D distinct days
+ *
+ * Space Complexity: O(A * (K + D + slots) + Q)
+ */
+public class SharedScanBatch {
+    private static final String ALL_AIRLINES = null;
+
+    private final long today;
+    private LongToDoubleFunction weight; // epoch day -> recency weight
+    private final Map<String, Scope> byAirline;
+    private Scope allAirlines;
+    private final List<Result<?>> results;
+    private boolean executed;
+    private long rowsScanned;
+
+    /**
+     * Result of one query; available once the batch has executed.
+     */
+    public static final class Result<T> {
+        private final String description;
+        private final ResultSource<T> source;
+        private T value;
+        private boolean ready;
+
+        private Result(String description, ResultSource<T> source) {
+            this.description = description;
+            this.source = source;
+        }
+
+        /**
+         * The query's answer.
+         *
+         * @throws IllegalStateException if the batch has not executed yet
+         */
+        public T get() {
+            if (!ready) {
+                throw new IllegalStateException("Batch not executed yet: " + description);
+            }
+            return value;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        private void resolve() {
+            value = source.read();
+            ready = true;
+        }
+    }
+
+    private interface ResultSource<T> {
+        T read();
+    }
+
+    /**
+     * Everything the batch needs to accumulate for one airline (or for all airlines).
+     */
+    private static final class Scope {
+        // RBAR
+        boolean wantsRbar;
+        double weightedSum;
+        double totalWeight;
+
+        // Top-k: heap whose root is the worst kept review (oldest, then latest in scan order)
+        int maxK;
+        PriorityQueue<Candidate> topK;
+
+        // Date counts: epochDay -> count
+        Map<Integer, int[]> dayCounts;
+        int[] sortedDays;
+        long[] prefixCounts;
+
+        // Sub-ratings: sum and count of rated reviews per slot
+        double[] subSums;
+        long[] subCounts;
+
+        boolean needsDay() {
+            return wantsRbar || topK != null || dayCounts != null;
+        }
+    }
+
+    private static final class Candidate {
+        final ReviewRecord review;
+        final int epochDay;
+        final long order;
+
+        Candidate(ReviewRecord review, int epochDay, long order) {
+            this.review = review;
+            this.epochDay = epochDay;
+            this.order = order;
+        }
+    }
+
+    // Worst first: older date, then later in scan order
+    private static final Comparator<Candidate> WORST_FIRST = (a, b) ->
+        a.epochDay != b.epochDay ? Integer.compare(a.epochDay, b.epochDay) : Long.compare(b.order, a.order);
+
+    /**
+     * Create a batch whose recency weights are relative to today.
+     */
+    public SharedScanBatch() {
+        this(LocalDate.now());
+    }
+
+    /**
+     * Create a batch whose recency weights are relative to the given date.
+     */
+    public SharedScanBatch(LocalDate today) {
+        ParallelRbar.Cutoffs cutoffs = new ParallelRbar.Cutoffs(today);
+        this.today = today.toEpochDay();
+        this.weight = cutoffs::weight;
+        this.byAirline = new HashMap<>();
+        this.results = new ArrayList<>();
+    }
+
+    private Scope scope(String airline) {
+        if (executed) {
+            throw new IllegalStateException("Batch already executed");
+        }
+        if (airline == ALL_AIRLINES) {
+            if (allAirlines == null) {
+                allAirlines = new Scope();
+            }
+            return allAirlines;
+        }
+        return byAirline.computeIfAbsent(airline, name -> new Scope());
+    }
+
+    private <T> Result<T> register(String description, ResultSource<T> source) {
+        Result<T> result = new Result<>(description, source);
+        results.add(result);
+        return result;
+    }
+
+    /**
+     * Recency-biased average rating of an airline (0.0 if it has no reviews).
+     * Time Complexity: O(1) to register
+     */
+    public Result<Double> rbar(String airline) {
+        Scope scope = scope(Objects.requireNonNull(airline, "airline"));
+        scope.wantsRbar = true;
+        return register("rbar(" + airline + ")",
+                        () -> scope.totalWeight > 0 ? scope.weightedSum / scope.totalWeight : 0.0);
+    }
+
+    /**
+     * The k most recent reviews of an airline, newest first.
+     * Time Complexity: O(1) to register
+     */
+    public Result<List<ReviewRecord>> topK(String airline, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative");
+        }
+        Scope scope = scope(Objects.requireNonNull(airline, "airline"));
+        scope.maxK = Math.max(scope.maxK, k);
+        if (scope.topK == null) {
+            scope.topK = new PriorityQueue<>(WORST_FIRST);
+        }
+        return register("topK(" + airline + ", " + k + ")", () -> {
+            List<Candidate> best = new ArrayList<>(scope.topK);
+            best.sort(WORST_FIRST.reversed());
+            List<ReviewRecord> reviews = new ArrayList<>(Math.min(k, best.size()));
+            for (int i = 0; i < best.size() && i < k; i++) {
+                reviews.add(best.get(i).review);
+            }
+            return reviews;
+        });
+    }
+
+    /**
+     * Number of reviews dated within [startDate, endDate] (inclusive), for one airline or,
+     * with airline == null, for all airlines.
+     * Time Complexity: O(1) to register
+     */
+    public Result<Integer> countInDateRange(String airline, LocalDate startDate, LocalDate endDate) {
+        Scope scope = scope(airline);
+        if (scope.dayCounts == null) {
+            scope.dayCounts = new HashMap<>();
+        }
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+        return register("countInDateRange(" + airline + ", " + startDate + ", " + endDate + ")",
+                        () -> countDays(scope, startDay, endDay));
+    }
+
+    /**
+     * Average of one sub-rating slot (ReviewFields.subRatings order) over the reviews that
+     * rated it, for one airline or, with airline == null, for all airlines (0.0 if none).
+     * Time Complexity: O(1) to register
+     */
+    public Result<Double> subRatingAverage(String airline, int slot) {
+        if (slot < 0 || slot >= ReviewFields.MAX_SUB_RATINGS) {
+            throw new IllegalArgumentException("slot must be in [0, " + ReviewFields.MAX_SUB_RATINGS + ")");
+        }
+        Scope scope = scope(airline);
+        if (scope.subSums == null) {
+            scope.subSums = new double[ReviewFields.MAX_SUB_RATINGS];
+            scope.subCounts = new long[ReviewFields.MAX_SUB_RATINGS];
+        }
+        return register("subRatingAverage(" + airline + ", " + slot + ")",
+                        () -> scope.subCounts[slot] > 0 ? scope.subSums[slot] / scope.subCounts[slot] : 0.0);
+    }
+
+    /**
+     * Number of registered queries.
+     */
+    public int getQueryCount() {
+        return results.size();
+    }
+
+    /**
+     * Reviews fed to the batch by execute().
+     */
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    /**
+     * Run the batch over the reviews in one pass and resolve every Result.
+     * Time Complexity: O(N log K) plus the date-range finish
+     *
+     * @throws IllegalStateException if the batch was already executed
+     */
+    public void execute(Iterable<ReviewRecord> reviews) {
+        begin();
+        for (ReviewRecord review : reviews) {
+            accept(review);
+        }
+        finish();
+    }
+
+    /**
+     * Start a scan driven by the caller (for stores that walk their own structure):
+     * call begin(), then accept() once per review, then finish().
+     */
+    public void begin() {
+        if (executed) {
+            throw new IllegalStateException("Batch already executed");
+        }
+        executed = true;
+    }
+
+    /**
+     * Same as begin(), with RBAR weighting each review by the store's own function of its
+     * age in days (relative to the batch's date).
+     */
+    public void begin(LongToDoubleFunction weightByAge) {
+        Objects.requireNonNull(weightByAge, "weightByAge");
+        begin();
+        this.weight = epochDay -> weightByAge.applyAsDouble(today - epochDay);
+    }
+
+    /**
+     * Feed one review to every query interested in it.
+     * Time Complexity: O(log K) with top-k queries on its airline, else O(1)
+     */
+    public void accept(ReviewRecord review) {
+        long order = rowsScanned++;
+        Scope scope = byAirline.isEmpty() ? null : byAirline.get(review.getName());
+        if (scope == null && allAirlines == null) {
+            return;
+        }
+        boolean needsDay = (scope != null && scope.needsDay()) || (allAirlines != null && allAirlines.needsDay());
+        int epochDay = needsDay ? ReviewDates.toEpochDay(review.getDate()) : 0;
+        boolean needsSubRatings = (scope != null && scope.subSums != null)
+                                  || (allAirlines != null && allAirlines.subSums != null);
+        double[] subRatings = needsSubRatings ? ReviewFields.subRatings(review) : null;
+        if (scope != null) {
+            feed(scope, review, epochDay, order, subRatings);
+        }
+        if (allAirlines != null) {
+            feed(allAirlines, review, epochDay, order, subRatings);
+        }
+    }
+
+    private void feed(Scope scope, ReviewRecord review, int epochDay, long order, double[] subRatings) {
+        if (scope.wantsRbar) {
+            double weight = this.weight.applyAsDouble(epochDay);
+            scope.weightedSum += review.getOverallRating() * weight;
+            scope.totalWeight += weight;
+        }
+        if (scope.topK != null && scope.maxK > 0) {
+            if (scope.topK.size() < scope.maxK) {
+                scope.topK.add(new Candidate(review, epochDay, order));
+            } else if (epochDay > scope.topK.peek().epochDay) {
+                // Equal dates lose to the one already kept, which came earlier in the scan
+                scope.topK.poll();
+                scope.topK.add(new Candidate(review, epochDay, order));
+            }
+        }
+        if (scope.dayCounts != null) {
+            scope.dayCounts.computeIfAbsent(epochDay, day -> new int[1])[0]++;
+        }
+        if (scope.subSums != null) {
+            for (int slot = 0; slot < subRatings.length; slot++) {
+                if (subRatings[slot] != 0.0) {
+                    scope.subSums[slot] += subRatings[slot];
+                    scope.subCounts[slot]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * End the scan and resolve every Result.
+     * Time Complexity: O(D log D + Q log D)
+     */
+    public void finish() {
+        if (!executed) {
+            throw new IllegalStateException("begin() was not called");
+        }
+        for (Scope scope : byAirline.values()) {
+            prepareDayCounts(scope);
+        }
+        if (allAirlines != null) {
+            prepareDayCounts(allAirlines);
+        }
+        for (Result<?> result : results) {
+            result.resolve();
+        }
+    }
+
+    private static void prepareDayCounts(Scope scope) {
+        if (scope.dayCounts == null || scope.sortedDays != null) {
+            return;
+        }
+        int[] days = new int[scope.dayCounts.size()];
+        int index = 0;
+        for (int day : scope.dayCounts.keySet()) {
+            days[index++] = day;
+        }
+        Arrays.sort(days);
+        long[] prefix = new long[days.length + 1];
+        for (int i = 0; i < days.length; i++) {
+            prefix[i + 1] = prefix[i] + scope.dayCounts.get(days[i])[0];
+        }
+        scope.sortedDays = days;
+        scope.prefixCounts = prefix;
+    }
+
+    // Number of counted reviews with startDay <= epochDay <= endDay
+    private static int countDays(Scope scope, long startDay, long endDay) {
+        if (startDay > endDay) {
+            return 0;
+        }
+        int from = lowerBound(scope.sortedDays, startDay);
+        int to = lowerBound(scope.sortedDays, endDay + 1);
+        return (int) (scope.prefixCounts[to] - scope.prefixCounts[from]);
+    }
+
+    // First index whose day is >= target
+    private static int lowerBound(int[] days, long target) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (days[middle] < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,304 @@
+package com.reviews.datastructures;
+
+import java.util.*;
+
+/**
+ * Space-Saving heavy-hitter summary (Metwally et al.): the most frequent string items of a
+ * stream in k counters, whatever the number of distinct items.
+ *
+ * A new item, once all k counters are taken, replaces the item with the smallest count and
+ * inherits that count as its error. With N the total count added:
+ * - every item whose true count exceeds N / k holds a counter
+ * - for a monitored item, count - error <= true count <= count, and error <= N / k
+ *
+ * Summaries merge (Berinde et al.): an item missing from a full summary is charged that
+ * summary's smallest count, and the k largest merged counters are kept. The merged summary
+ * keeps both guarantees for the combined stream.
+ *
+ * Counters live in an indexed min-heap, so the smallest is found in O(1) and an update
+ * re-sorts one counter.
+ *
+ * Not thread-safe.
+ *
+ * Time Complexities:
+ * - add: O(log k)
+ * - estimate: O(1) expected
+ * - top(n): O(k log k)
+ * - merge: O(k log k); mergeAll of S summaries O(S^2 * k + S * k log(S * k))
+ *
+ * Space Complexity: O(k)
+ */
+public class SpaceSaving {
+
+    /**
+     * One monitored item: its count, an upper bound, and the error the count may include.
+     */
+    public static final class Counter {
+        private final String item;
+        private final long count;
+        private final long error;
+
+        Counter(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getItem() {
+            return item;
+        }
+
+        /**
+         * Upper bound on the item's true count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * How much of the count may belong to items this counter replaced.
+         */
+        public long getError() {
+            return error;
+        }
+
+        /**
+         * Lower bound on the item's true count.
+         */
+        public long getGuaranteedCount() {
+            return count - error;
+        }
+
+        @Override
+        public String toString() {
+            return item + "=" + count + (error > 0 ? " (+-" + error + ")" : "");
+        }
+    }
+
+    private final int capacity;
+    private final String[] items;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<String, Integer> slots;
+    private int size;
+    private long total;
+
+    /**
+     * @param capacity the number of counters k; items above N / k are always kept
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.items = new String[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.slots = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Count one occurrence of the item.
+     * Time Complexity: O(log k)
+     */
+    public void add(String item) {
+        add(item, 1);
+    }
+
+    /**
+     * Count occurrences of the item.
+     * Time Complexity: O(log k)
+     */
+    public void add(String item, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be non-negative");
+        }
+        total += count;
+        Integer slot = slots.get(item);
+        if (slot != null) {
+            counts[slot] += count;
+            siftDown(slot);
+        } else if (size < capacity) {
+            place(size, item, count, 0);
+            siftUp(size++);
+        } else {
+            // Evict the smallest counter; the newcomer inherits its count as error
+            slots.remove(items[0]);
+            place(0, item, counts[0] + count, counts[0]);
+            siftDown(0);
+        }
+    }
+
+    private void place(int slot, String item, long count, long error) {
+        items[slot] = item;
+        counts[slot] = count;
+        errors[slot] = error;
+        slots.put(item, slot);
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (counts[parent] <= counts[slot]) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int smallest = slot;
+            int left = 2 * slot + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (left + 1 < size && counts[left + 1] < counts[smallest]) {
+                smallest = left + 1;
+            }
+            if (smallest == slot) {
+                return;
+            }
+            swap(slot, smallest);
+            slot = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String item = items[a];
+        long count = counts[a];
+        long error = errors[a];
+        items[a] = items[b];
+        counts[a] = counts[b];
+        errors[a] = errors[b];
+        items[b] = item;
+        counts[b] = count;
+        errors[b] = error;
+        slots.put(items[a], a);
+        slots.put(items[b], b);
+    }
+
+    /**
+     * Upper bound on the item's count: its counter, or the smallest counter if it is not
+     * monitored (0 while the summary is not full).
+     * Time Complexity: O(1) expected
+     */
+    public long estimate(String item) {
+        Integer slot = slots.get(item);
+        return slot != null ? counts[slot] : getMaxError();
+    }
+
+    /**
+     * Lower bound on the item's count (0 if it is not monitored).
+     * Time Complexity: O(1) expected
+     */
+    public long guaranteedCount(String item) {
+        Integer slot = slots.get(item);
+        return slot != null ? counts[slot] - errors[slot] : 0;
+    }
+
+    /**
+     * The n largest counters, by count descending (ties by guaranteed count, then item).
+     * Time Complexity: O(k log k)
+     */
+    public List<Counter> top(int n) {
+        List<Counter> counters = new ArrayList<>(size);
+        for (int slot = 0; slot < size; slot++) {
+            counters.add(new Counter(items[slot], counts[slot], errors[slot]));
+        }
+        counters.sort(Comparator.comparingLong(Counter::getCount).reversed()
+                          .thenComparing(Comparator.comparingLong(Counter::getGuaranteedCount).reversed())
+                          .thenComparing(Counter::getItem));
+        return counters.subList(0, Math.min(n, counters.size()));
+    }
+
+    /**
+     * A new summary of capacity k for the combined streams of the summaries.
+     * Each summary charges its floor to every item merged so far (up to S * k of them),
+     * then the merged items are re-sorted by count and the best k rebuilt into a heap.
+     * Time Complexity: O(S^2 * k + S * k log(S * k)) for S summaries of capacity k
+     */
+    public static SpaceSaving mergeAll(Collection<SpaceSaving> summaries, int capacity) {
+        Map<String, long[]> merged = new HashMap<>();
+        long total = 0;
+        long missingCharge = 0;
+        for (SpaceSaving summary : summaries) {
+            total += summary.total;
+            long floor = summary.getMaxError();
+            // Items seen so far but absent here are charged this summary's floor
+            for (long[] counter : merged.values()) {
+                counter[0] += floor;
+                counter[1] += floor;
+            }
+            for (int slot = 0; slot < summary.size; slot++) {
+                long[] counter = merged.get(summary.items[slot]);
+                if (counter == null) {
+                    // Absent from every earlier summary: charged their floors
+                    merged.put(summary.items[slot], new long[] {
+                        missingCharge + summary.counts[slot], missingCharge + summary.errors[slot]});
+                } else {
+                    counter[0] += summary.counts[slot] - floor;
+                    counter[1] += summary.errors[slot] - floor;
+                }
+            }
+            missingCharge += floor;
+        }
+
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(merged.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        SpaceSaving result = new SpaceSaving(capacity);
+        for (int i = 0; i < Math.min(capacity, entries.size()); i++) {
+            Map.Entry<String, long[]> entry = entries.get(i);
+            result.place(result.size, entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+            result.siftUp(result.size++);
+        }
+        result.total = total;
+        return result;
+    }
+
+    /**
+     * A new summary of this summary's capacity for the combined streams of both.
+     * Time Complexity: O(k log k)
+     */
+    public SpaceSaving merge(SpaceSaving other) {
+        return mergeAll(Arrays.asList(this, other), capacity);
+    }
+
+    /**
+     * Largest error any counter can carry: the smallest count once all k counters are
+     * taken, else 0. Never more than N / k.
+     */
+    public long getMaxError() {
+        return size < capacity ? 0 : counts[0];
+    }
+
+    /**
+     * Total count added (the N of the error bound).
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Bytes used by the counters and item references (estimated, item strings excluded).
+     */
+    public long getSizeInBytes() {
+        return 64 + (long) capacity * (8 + 8 + 8) + (long) size * 48;
+    }
+
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        slots.clear();
+        size = 0;
+        total = 0;
+    }
+}
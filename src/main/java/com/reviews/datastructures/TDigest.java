@@ -0,0 +1,256 @@
+package com.reviews.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest (Dunning): approximate quantiles of a stream of doubles in a bounded
+ * number of weighted centroids.
+ *
+ * Values are buffered and periodically merged into the sorted centroids. A centroid may
+ * absorb neighbours only while it spans less than one unit of the scale function
+ * k(q) = compression / (2 pi) * asin(2q - 1), which is steep near q = 0 and q = 1, so
+ * centroids are small in the tails (where p1 / p99 live) and large around the median.
+ * The digest never holds more than ~compression centroids and the quantile error in rank
+ * terms is roughly proportional to q (1 - q) / compression; extremes are exact.
+ *
+ * Digests merge by re-merging their centroids, so per-bucket digests combine into one for
+ * any range of buckets with the same accuracy.
+ *
+ * Not thread-safe.
+ *
+ * Time Complexities:
+ * - add: O(1) amortized (O(B log B) per flush of B buffered values)
+ * - quantile: O(C) for C centroids, after a flush
+ * - merge: O(C log C)
+ *
+ * Space Complexity: O(compression)
+ */
+public class TDigest {
+    /** Default compression: ~100 centroids, rank error well under 1% around the median. */
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+    private final int bufferLimit;
+    private double[] bufferValues = new double[8]; // grows to bufferLimit, then flushes
+    private double[] bufferWeights = new double[8];
+    private int buffered;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param compression accuracy / size trade-off; more means more centroids and less error
+     */
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("compression must be at least 10");
+        }
+        this.compression = compression;
+        this.bufferLimit = 2 * ((int) Math.ceil(compression) + 10);
+        this.means = new double[0];
+        this.weights = new double[0];
+    }
+
+    /**
+     * Add one value.
+     * Time Complexity: O(1) amortized
+     */
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * Add a value with a weight (a count of equal values).
+     * Time Complexity: O(1) amortized
+     */
+    public void add(double value, double weight) {
+        if (Double.isNaN(value) || !(weight > 0)) {
+            throw new IllegalArgumentException("value must be a number and weight positive");
+        }
+        if (buffered == bufferValues.length) {
+            if (buffered < bufferLimit) {
+                bufferValues = Arrays.copyOf(bufferValues, Math.min(bufferLimit, buffered * 2));
+                bufferWeights = Arrays.copyOf(bufferWeights, bufferValues.length);
+            } else {
+                flush();
+            }
+        }
+        bufferValues[buffered] = value;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    // Merge the buffer into the centroids in one sorted pass
+    private void flush() {
+        if (buffered == 0) {
+            return;
+        }
+        sort(bufferValues, bufferWeights, 0, buffered, new double[buffered], new double[buffered]);
+        double[] newMeans = new double[Math.max(means.length, 16)];
+        double[] newWeights = new double[newMeans.length];
+        int count = 0;
+        double weightSoFar = 0;
+        double limit = 0;
+        double mean = 0;
+        double weight = 0;
+        int c = 0;
+        int b = 0;
+        while (c < centroids || b < buffered) {
+            boolean fromCentroids = b == buffered || (c < centroids && means[c] <= bufferValues[b]);
+            double nextMean = fromCentroids ? means[c] : bufferValues[b];
+            double nextWeight = fromCentroids ? weights[c++] : bufferWeights[b++];
+            if (weight > 0 && weightSoFar + weight + nextWeight <= limit) {
+                weight += nextWeight;
+                mean += (nextMean - mean) * nextWeight / weight;
+                continue;
+            }
+            if (weight > 0) {
+                if (count == newMeans.length) {
+                    newMeans = Arrays.copyOf(newMeans, count * 2);
+                    newWeights = Arrays.copyOf(newWeights, count * 2);
+                }
+                newMeans[count] = mean;
+                newWeights[count] = weight;
+                count++;
+                weightSoFar += weight;
+            }
+            limit = weightLimit(weightSoFar);
+            mean = nextMean;
+            weight = nextWeight;
+        }
+        if (count == newMeans.length) {
+            newMeans = Arrays.copyOf(newMeans, count + 1);
+            newWeights = Arrays.copyOf(newWeights, count + 1);
+        }
+        newMeans[count] = mean;
+        newWeights[count] = weight;
+        means = newMeans;
+        weights = newWeights;
+        centroids = count + 1;
+        buffered = 0;
+    }
+
+    // Merge sort of values[from, to) carrying the weights along
+    private static void sort(double[] values, double[] weights, int from, int to, double[] tmpValues, double[] tmpWeights) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        sort(values, weights, from, middle, tmpValues, tmpWeights);
+        sort(values, weights, middle, to, tmpValues, tmpWeights);
+        if (values[middle - 1] <= values[middle]) {
+            return;
+        }
+        System.arraycopy(values, from, tmpValues, from, to - from);
+        System.arraycopy(weights, from, tmpWeights, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right == to || (left < middle && tmpValues[left] <= tmpValues[right])) {
+                values[i] = tmpValues[left];
+                weights[i] = tmpWeights[left++];
+            } else {
+                values[i] = tmpValues[right];
+                weights[i] = tmpWeights[right++];
+            }
+        }
+    }
+
+    // Cumulative weight at which a centroid starting at weightSoFar must close: one k unit on
+    private double weightLimit(double weightSoFar) {
+        double q = weightSoFar / totalWeight;
+        double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1);
+        double nextK = Math.min(k + 1, compression / 4);
+        return (Math.sin(nextK * 2 * Math.PI / compression) + 1) / 2 * totalWeight;
+    }
+
+    /**
+     * Estimated value at quantile q in [0, 1] (NaN when empty). Each centroid's weight is
+     * taken as spread evenly around its mean; q = 0 and q = 1 return the exact min and max.
+     * While no two values share a centroid the answer is the exact nearest-rank value.
+     * Time Complexity: O(C)
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be in [0, 1]");
+        }
+        flush();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (totalWeight == centroids) {
+            // Every centroid is a single value: the exact nearest-rank answer
+            return means[(int) Math.max(1, Math.ceil(q * centroids)) - 1];
+        }
+        double index = q * totalWeight;
+        if (index <= weights[0] / 2) {
+            return weights[0] == 0 ? min : min + (means[0] - min) * index / (weights[0] / 2);
+        }
+        double weightSoFar = weights[0] / 2;
+        for (int i = 0; i < centroids - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (index < weightSoFar + gap) {
+                return means[i] + (means[i + 1] - means[i]) * (index - weightSoFar) / gap;
+            }
+            weightSoFar += gap;
+        }
+        double half = weights[centroids - 1] / 2;
+        return means[centroids - 1] + (max - means[centroids - 1]) * Math.min(1, (index - weightSoFar) / half);
+    }
+
+    /**
+     * Fold another digest's centroids into this one.
+     * Time Complexity: O(C log C)
+     */
+    public void merge(TDigest other) {
+        if (other == this) {
+            other = copy();
+        }
+        other.flush();
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public TDigest copy() {
+        TDigest copy = new TDigest(compression);
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Total weight added (the count, for unweighted adds).
+     */
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+    public int getCentroidCount() {
+        flush();
+        return centroids;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public long getSizeInBytes() {
+        return 96 + 16L * (means.length + bufferValues.length);
+    }
+}
@@ -0,0 +1,99 @@
+package com.reviews.datastructures;
+
+import java.util.*;
+
+/**
+ * Immutable boolean query over review text, evaluated by ReviewTextIndex.
+ * Leaves are single terms or phrases (consecutive terms); and/or/andNot combine them.
+ * Query text goes through TextTokenizer, so term("Delayed") matches "delayed," in a review.
+ */
+public final class TextQuery {
+
+    enum Kind { TERM, PHRASE, AND, OR, AND_NOT }
+
+    final Kind kind;
+    final List<String> terms;
+    final List<TextQuery> children;
+
+    private TextQuery(Kind kind, List<String> terms, List<TextQuery> children) {
+        this.kind = kind;
+        this.terms = terms;
+        this.children = children;
+    }
+
+    /**
+     * Reviews containing the word. Text that tokenizes to several words is a phrase.
+     */
+    public static TextQuery term(String word) {
+        List<String> tokens = TextTokenizer.tokenize(word);
+        if (tokens.size() != 1) {
+            return phrase(word);
+        }
+        return new TextQuery(Kind.TERM, tokens, Collections.emptyList());
+    }
+
+    /**
+     * Reviews containing the words of the text consecutively and in order.
+     *
+     * @throws IllegalArgumentException if the text has no words
+     */
+    public static TextQuery phrase(String text) {
+        List<String> tokens = TextTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Query text has no words: " + text);
+        }
+        if (tokens.size() == 1) {
+            return new TextQuery(Kind.TERM, tokens, Collections.emptyList());
+        }
+        return new TextQuery(Kind.PHRASE, Collections.unmodifiableList(tokens), Collections.emptyList());
+    }
+
+    /**
+     * Reviews matching every query.
+     */
+    public static TextQuery and(TextQuery... queries) {
+        return combine(Kind.AND, queries);
+    }
+
+    /**
+     * Reviews matching at least one query.
+     */
+    public static TextQuery or(TextQuery... queries) {
+        return combine(Kind.OR, queries);
+    }
+
+    /**
+     * Reviews matching include but not exclude.
+     */
+    public static TextQuery andNot(TextQuery include, TextQuery exclude) {
+        return combine(Kind.AND_NOT, include, exclude);
+    }
+
+    private static TextQuery combine(Kind kind, TextQuery... queries) {
+        if (queries.length == 0) {
+            throw new IllegalArgumentException(kind + " needs at least one query");
+        }
+        for (TextQuery query : queries) {
+            Objects.requireNonNull(query, "query");
+        }
+        return new TextQuery(kind, Collections.emptyList(), Collections.unmodifiableList(Arrays.asList(queries.clone())));
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case TERM:
+                return terms.get(0);
+            case PHRASE:
+                return "\"" + String.join(" ", terms) + "\"";
+            case AND_NOT:
+                return "(" + children.get(0) + " NOT " + children.get(1) + ")";
+            default:
+                StringJoiner joiner = new StringJoiner(" " + kind + " ", "(", ")");
+                for (TextQuery child : children) {
+                    joiner.add(child.toString());
+                }
+                return joiner.toString();
+        }
+    }
+}
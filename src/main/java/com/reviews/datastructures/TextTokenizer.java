@@ -0,0 +1,58 @@
+package com.reviews.datastructures;
+
+import java.util.*;
+
+/**
+ * Tokenizer shared by the text indexes and their queries, so both sides agree on terms.
+ * A token is a maximal run of letters and digits, lower-cased; apostrophes inside a word
+ * are dropped ("didn't" -> "didnt") and every other character separates tokens.
+ * Positions are token ordinals within the text, which is what phrase matching needs.
+ *
+ * Time Complexity: O(length of the text)
+ */
+public final class TextTokenizer {
+
+    /**
+     * Receives each token of a text with its position.
+     */
+    public interface TokenSink {
+        void token(String term, int position);
+    }
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * Feed every token of text to sink; returns the number of tokens.
+     */
+    public static int forEachToken(String text, TokenSink sink) {
+        if (text == null) {
+            return 0;
+        }
+        StringBuilder term = new StringBuilder();
+        int position = 0;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if ((c == '\'' || c == '’') && term.length() > 0
+                       && i + 1 < length && Character.isLetterOrDigit(text.charAt(i + 1))) {
+                continue; // inner apostrophe
+            } else if (term.length() > 0) {
+                sink.token(term.toString(), position++);
+                term.setLength(0);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Tokens of text in order.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        forEachToken(text, (term, position) -> terms.add(term));
+        return terms;
+    }
+}
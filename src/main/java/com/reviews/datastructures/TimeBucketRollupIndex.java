@@ -0,0 +1,331 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Per-airline day / month / year rollups of review statistics.
+ * Every insert updates one cell at each granularity, so late (back-dated) reviews are
+ * handled the same way as new ones. A period query is answered by tiling the period
+ * with the coarsest cells that fit inside it: whole years, then whole months, then the
+ * leftover days at the edges.
+ *
+ * Time Complexities:
+ * - Insert: O(log B) where B is the number of buckets of the airline
+ * - Aggregate over a period: O(Y + M + D) cells, at most ~60 cells plus the years spanned
+ * - RBAR over a period: same as aggregate, split at the 30-day and 3-year boundaries
+ * - Monthly series: O(number of months) cells
+ *
+ * Space Complexity: O(A * (days + months + years) with reviews), independent of N
+ */
+public class TimeBucketRollupIndex {
+
+    /**
+     * Bucket sizes kept by the index.
+     */
+    public enum Granularity {
+        DAY, MONTH, YEAR
+    }
+
+    /**
+     * Cells of one airline, one sorted map per granularity.
+     */
+    private static class AirlineRollups {
+        final TreeMap<Integer, RollupCell> days = new TreeMap<>();   // key: epoch day
+        final TreeMap<Integer, RollupCell> months = new TreeMap<>(); // key: year * 12 + month - 1
+        final TreeMap<Integer, RollupCell> years = new TreeMap<>();  // key: year
+        final RollupCell total = new RollupCell();
+    }
+
+    private final Map<String, AirlineRollups> airlines;
+    private int totalReviews;
+
+    public TimeBucketRollupIndex() {
+        this.airlines = new HashMap<>();
+        this.totalReviews = 0;
+    }
+
+    /**
+     * Add a new review to the rollups.
+     * Time Complexity: O(log B)
+     */
+    public void addReview(ReviewRecord review) {
+        LocalDate date = ReviewDates.parseDate(review.getDate());
+        int epochDay = (int) date.toEpochDay();
+        double rating = review.getOverallRating();
+        double[] subRatings = ReviewFields.subRatings(review);
+
+        AirlineRollups rollups = airlines.computeIfAbsent(review.getName(), name -> new AirlineRollups());
+        rollups.days.computeIfAbsent(epochDay, key -> new RollupCell()).add(epochDay, rating, subRatings);
+        rollups.months.computeIfAbsent(monthKey(date), key -> new RollupCell()).add(epochDay, rating, subRatings);
+        rollups.years.computeIfAbsent(date.getYear(), key -> new RollupCell()).add(epochDay, rating, subRatings);
+        rollups.total.add(epochDay, rating, subRatings);
+        totalReviews++;
+    }
+
+    /**
+     * Add multiple reviews at once.
+     * Time Complexity: O(m log B) where m is the number of reviews to add
+     */
+    public void addReviews(List<ReviewRecord> newReviews) {
+        for (ReviewRecord review : newReviews) {
+            addReview(review);
+        }
+    }
+
+    /**
+     * Get the total number of reviews rolled up.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return totalReviews;
+    }
+
+    /**
+     * Aggregate all reviews of an airline dated within [startDate, endDate].
+     * Time Complexity: O(Y + M + D) precomputed cells
+     *
+     * @return a detached cell; empty if the airline is unknown or has no reviews in range
+     */
+    public RollupCell getAggregate(String airlineName, LocalDate startDate, LocalDate endDate) {
+        RollupCell result = new RollupCell();
+        AirlineRollups rollups = airlines.get(airlineName);
+        if (rollups != null && !startDate.isAfter(endDate)) {
+            accumulate(rollups, startDate, endDate, result);
+        }
+        return result;
+    }
+
+    /**
+     * Aggregate of every review of an airline.
+     * Time Complexity: O(1)
+     */
+    public RollupCell getAggregate(String airlineName) {
+        AirlineRollups rollups = airlines.get(airlineName);
+        return rollups != null ? rollups.total.copy() : new RollupCell();
+    }
+
+    /**
+     * Tile [startDate, endDate] with year, month and day cells and merge them into result.
+     */
+    private void accumulate(AirlineRollups rollups, LocalDate startDate, LocalDate endDate, RollupCell result) {
+        if (rollups.days.isEmpty()) {
+            return;
+        }
+        // Clip to the airline's own date span so open-ended ranges do not walk empty years
+        LocalDate cursor = max(startDate, LocalDate.ofEpochDay(rollups.days.firstKey()));
+        endDate = min(endDate, LocalDate.ofEpochDay(rollups.days.lastKey()));
+        while (!cursor.isAfter(endDate)) {
+            LocalDate nextYear = cursor.plusYears(1);
+            LocalDate nextMonth = cursor.plusMonths(1);
+            if (cursor.getDayOfYear() == 1 && !nextYear.minusDays(1).isAfter(endDate)) {
+                mergeCell(rollups.years.get(cursor.getYear()), result);
+                cursor = nextYear;
+            } else if (cursor.getDayOfMonth() == 1 && !nextMonth.minusDays(1).isAfter(endDate)) {
+                mergeCell(rollups.months.get(monthKey(cursor)), result);
+                cursor = nextMonth;
+            } else {
+                // Partial month: take the stored day cells up to the month boundary
+                LocalDate boundary = cursor.withDayOfMonth(1).plusMonths(1);
+                if (boundary.isAfter(endDate)) {
+                    boundary = endDate.plusDays(1);
+                }
+                for (RollupCell cell : rollups.days.subMap((int) cursor.toEpochDay(), true,
+                                                           (int) boundary.toEpochDay(), false).values()) {
+                    result.merge(cell);
+                }
+                cursor = boundary;
+            }
+        }
+    }
+
+    private void mergeCell(RollupCell cell, RollupCell result) {
+        if (cell != null) {
+            result.merge(cell);
+        }
+    }
+
+    /**
+     * Get the non-empty buckets of an airline at the given granularity, keyed by the
+     * first day of each bucket. Every bucket that overlaps the range is included.
+     * Time Complexity: O(log B + number of buckets returned)
+     */
+    public SortedMap<LocalDate, RollupCell> getSeries(String airlineName, Granularity granularity,
+                                                      LocalDate startDate, LocalDate endDate) {
+        SortedMap<LocalDate, RollupCell> series = new TreeMap<>();
+        AirlineRollups rollups = airlines.get(airlineName);
+        if (rollups == null || startDate.isAfter(endDate)) {
+            return series;
+        }
+
+        switch (granularity) {
+            case DAY:
+                for (Map.Entry<Integer, RollupCell> entry : rollups.days.subMap(
+                        (int) startDate.toEpochDay(), true, (int) endDate.toEpochDay(), true).entrySet()) {
+                    series.put(LocalDate.ofEpochDay(entry.getKey()), entry.getValue().copy());
+                }
+                break;
+            case MONTH:
+                for (Map.Entry<Integer, RollupCell> entry : rollups.months.subMap(
+                        monthKey(startDate), true, monthKey(endDate), true).entrySet()) {
+                    int key = entry.getKey();
+                    series.put(LocalDate.of(key / 12, key % 12 + 1, 1), entry.getValue().copy());
+                }
+                break;
+            case YEAR:
+                for (Map.Entry<Integer, RollupCell> entry : rollups.years.subMap(
+                        startDate.getYear(), true, endDate.getYear(), true).entrySet()) {
+                    series.put(LocalDate.of(entry.getKey(), 1, 1), entry.getValue().copy());
+                }
+                break;
+        }
+        return series;
+    }
+
+    /**
+     * Calculate Recency-Biased Average Rating (RB-AR) over every review of an airline.
+     * Time Complexity: O(Y + M + D) cells
+     */
+    public double calculateRecencyBiasedAverageRating(String airlineName) {
+        AirlineRollups rollups = airlines.get(airlineName);
+        if (rollups == null || rollups.days.isEmpty()) {
+            return 0.0;
+        }
+        return calculateRecencyBiasedAverageRating(airlineName,
+                LocalDate.ofEpochDay(rollups.days.firstKey()),
+                LocalDate.ofEpochDay(rollups.days.lastKey()),
+                LocalDate.now());
+    }
+
+    /**
+     * Calculate RB-AR over the reviews of an airline dated within [startDate, endDate],
+     * weighting each review relative to today.
+     * Time Complexity: O(Y + M + D) cells
+     */
+    public double calculateRecencyBiasedAverageRating(String airlineName, LocalDate startDate, LocalDate endDate) {
+        return calculateRecencyBiasedAverageRating(airlineName, startDate, endDate, LocalDate.now());
+    }
+
+    /**
+     * Calculate RB-AR over [startDate, endDate] with weights relative to the given day.
+     *
+     * The recency weight is 1.0 after the 30-day cutoff, 0.05 before the 3-year cutoff
+     * and in between linear in the epoch day down to a floor of 0.1, so the period is split
+     * at those cutoffs and where the floor starts, and each piece is answered from the
+     * rolled-up sums.
+     */
+    public double calculateRecencyBiasedAverageRating(String airlineName, LocalDate startDate,
+                                                      LocalDate endDate, LocalDate today) {
+        AirlineRollups rollups = airlines.get(airlineName);
+        if (rollups == null || startDate.isAfter(endDate)) {
+            return 0.0;
+        }
+
+        LocalDate thirtyDaysAgo = ReviewDates.thirtyDaysBefore(today);
+        LocalDate threeYearsAgo = ReviewDates.threeYearsBefore(today);
+        double weightedSum = 0.0;
+        double totalWeight = 0.0;
+
+        // Old reviews (3+ years): constant minimal weight
+        RollupCell old = new RollupCell();
+        accumulate(rollups, startDate, min(endDate, threeYearsAgo), old);
+        weightedSum += 0.05 * old.getRatingSum();
+        totalWeight += 0.05 * old.getCount();
+
+        // Medium age reviews: w(d) = 1 - (thirtyDaysAgo - d) / totalDays, floored at 0.1
+        // once d is more than 0.9 * totalDays before the 30-day cutoff
+        double totalDays = thirtyDaysAgo.toEpochDay() - threeYearsAgo.toEpochDay();
+        LocalDate floorEnd = thirtyDaysAgo.minusDays((long) Math.floor(0.9 * totalDays) + 1);
+        RollupCell floored = new RollupCell();
+        accumulate(rollups, max(startDate, threeYearsAgo.plusDays(1)), min(endDate, floorEnd), floored);
+        weightedSum += 0.1 * floored.getRatingSum();
+        totalWeight += 0.1 * floored.getCount();
+
+        RollupCell medium = new RollupCell();
+        accumulate(rollups, max(startDate, floorEnd.plusDays(1)), min(endDate, thirtyDaysAgo), medium);
+        double intercept = 1.0 - thirtyDaysAgo.toEpochDay() / totalDays;
+        weightedSum += intercept * medium.getRatingSum() + medium.getEpochDayRatingSum() / totalDays;
+        totalWeight += intercept * medium.getCount() + medium.getEpochDaySum() / totalDays;
+
+        // Recent reviews (last 30 days): full weight
+        RollupCell recent = new RollupCell();
+        accumulate(rollups, max(startDate, thirtyDaysAgo.plusDays(1)), endDate, recent);
+        weightedSum += recent.getRatingSum();
+        totalWeight += recent.getCount();
+
+        return totalWeight > 0 ? weightedSum / totalWeight : 0.0;
+    }
+
+    /**
+     * RB-AR of each month in [from, to] that has reviews, weighted relative to today.
+     * Time Complexity: O(months * (M + D)) cells
+     */
+    public SortedMap<YearMonth, Double> getMonthlyRecencyBiasedAverageRatings(String airlineName,
+                                                                              YearMonth from, YearMonth to) {
+        SortedMap<YearMonth, Double> result = new TreeMap<>();
+        AirlineRollups rollups = airlines.get(airlineName);
+        if (rollups == null) {
+            return result;
+        }
+        LocalDate today = LocalDate.now();
+        for (Integer key : rollups.months.subMap(monthKey(from.atDay(1)), true, monthKey(to.atDay(1)), true).keySet()) {
+            YearMonth month = YearMonth.of(key / 12, key % 12 + 1);
+            result.put(month, calculateRecencyBiasedAverageRating(airlineName, month.atDay(1),
+                                                                  month.atEndOfMonth(), today));
+        }
+        return result;
+    }
+
+    /**
+     * Get all unique airline names in the index.
+     * Time Complexity: O(A)
+     */
+    public Set<String> getAllAirlines() {
+        return new HashSet<>(airlines.keySet());
+    }
+
+    /**
+     * Clear all rollups.
+     * Time Complexity: O(1)
+     */
+    public void clear() {
+        airlines.clear();
+        totalReviews = 0;
+    }
+
+    /**
+     * Get statistics about the rollup cells held.
+     */
+    public Map<String, Object> getStatistics() {
+        int dayCells = 0;
+        int monthCells = 0;
+        int yearCells = 0;
+        for (AirlineRollups rollups : airlines.values()) {
+            dayCells += rollups.days.size();
+            monthCells += rollups.months.size();
+            yearCells += rollups.years.size();
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalReviews", totalReviews);
+        stats.put("uniqueAirlines", airlines.size());
+        stats.put("dayCells", dayCells);
+        stats.put("monthCells", monthCells);
+        stats.put("yearCells", yearCells);
+        return stats;
+    }
+
+    private static int monthKey(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,332 @@
+package com.reviews.datastructures;
+
+import com.reviews.Models.ReviewRecord;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Streaming "most mentioned" routes and aircraft, globally and per airline, all-time and
+ * over a sliding window of recent days, in memory independent of how many distinct
+ * routes there are.
+ *
+ * Each summary pairs a Space-Saving summary (which items are heavy, ranked) with a
+ * Count-Min sketch (the count of any item, heavy or not). One sketch per summary serves
+ * every airline too: it counts the item under its own key and under "airline | item", so
+ * per-airline estimates share the global epsilon * N bound, N being all reviews in the
+ * summary. Per-airline rankings use their own, smaller, Space-Saving summaries.
+ *
+ * The window is a ring of one summary per day (review date). It ends at the newest day
+ * seen and spans windowDays days; a day's summary is recycled once it falls out. Queries
+ * over the window merge the live days, so their bounds are those of one summary over the
+ * window's reviews. Reviews dated before the window only count all-time.
+ *
+ * Items are matched like ReviewBitmapIndex: case, spacing and punctuation are ignored and
+ * aircraft drop the manufacturer. Rankings report those keys.
+ *
+ * Plugs into the ingest path as the sink (or part of the sink) of a RingBufferIngestor.
+ * Thread-safe: every method is synchronized.
+ *
+ * Time Complexities:
+ * - accept: O(d + log k) per dimension, for sketch depth d and summary capacity k
+ * - top / estimate: O(k log k) / O(d)
+ * - trending: O(W^2 * k + W * k log(W * k)) for W window days (see SpaceSaving.mergeAll)
+ *
+ * Space Complexity: O((W + 1) * (k + A * kA + d * width)) per dimension for A active airlines
+ */
+public class TrendingTracker implements Consumer<ReviewRecord> {
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int DEFAULT_AIRLINE_CAPACITY = 32;
+    private static final double DEFAULT_EPSILON = 0.001;
+    private static final double DEFAULT_DELTA = 0.01;
+    private static final int DEFAULT_WINDOW_DAYS = 7;
+    private static final char AIRLINE_SEPARATOR = '|';
+
+    /**
+     * Tracked review fields.
+     */
+    public enum Dimension {
+        ROUTE, AIRCRAFT
+    }
+
+    /**
+     * Heavy hitters and counts of one dimension over one period.
+     */
+    private final class Summary {
+        final SpaceSaving global = new SpaceSaving(capacity);
+        final Map<String, SpaceSaving> byAirline = new HashMap<>();
+        final CountMinSketch sketch = new CountMinSketch(epsilon, delta);
+        final long day;
+
+        Summary(long day) {
+            this.day = day;
+        }
+
+        void add(String airline, String item) {
+            global.add(item);
+            sketch.add(item);
+            if (!airline.isEmpty()) {
+                byAirline.computeIfAbsent(airline, a -> new SpaceSaving(airlineCapacity)).add(item);
+                sketch.add(airline + AIRLINE_SEPARATOR + item);
+            }
+        }
+
+        long sizeInBytes() {
+            long bytes = global.getSizeInBytes() + sketch.getSizeInBytes();
+            for (SpaceSaving summary : byAirline.values()) {
+                bytes += summary.getSizeInBytes();
+            }
+            return bytes;
+        }
+    }
+
+    private final int capacity;
+    private final int airlineCapacity;
+    private final double epsilon;
+    private final double delta;
+    private final int windowDays;
+    private final EnumMap<Dimension, Summary> allTime;
+    private final EnumMap<Dimension, Summary[]> windows;
+    private long latestDay = Long.MIN_VALUE;
+    private long reviewCount;
+
+    /**
+     * A tracker keeping 256 heavy hitters globally and 32 per airline, sketches with
+     * epsilon 0.001 and delta 0.01, and a 7-day window.
+     */
+    public TrendingTracker() {
+        this(DEFAULT_CAPACITY, DEFAULT_AIRLINE_CAPACITY, DEFAULT_EPSILON, DEFAULT_DELTA, DEFAULT_WINDOW_DAYS);
+    }
+
+    /**
+     * @param capacity        Space-Saving counters for the global rankings
+     * @param airlineCapacity Space-Saving counters per airline
+     * @param epsilon         Count-Min error as a fraction of the reviews counted
+     * @param delta           probability of exceeding that error
+     * @param windowDays      days in the sliding window
+     */
+    public TrendingTracker(int capacity, int airlineCapacity, double epsilon, double delta, int windowDays) {
+        if (capacity < 1 || airlineCapacity < 1 || windowDays < 1) {
+            throw new IllegalArgumentException("capacities and window must be positive");
+        }
+        this.capacity = capacity;
+        this.airlineCapacity = airlineCapacity;
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.windowDays = windowDays;
+        this.allTime = new EnumMap<>(Dimension.class);
+        this.windows = new EnumMap<>(Dimension.class);
+        for (Dimension dimension : Dimension.values()) {
+            allTime.put(dimension, new Summary(Long.MIN_VALUE));
+            windows.put(dimension, new Summary[windowDays]);
+        }
+    }
+
+    /**
+     * Count the review's route and aircraft.
+     * Time Complexity: O(d + log k) per dimension
+     */
+    @Override
+    public synchronized void accept(ReviewRecord review) {
+        long day = ReviewDates.toEpochDay(review.getDate());
+        if (day > latestDay) {
+            latestDay = day;
+        }
+        String airline = airlineKey(review.getName());
+        reviewCount++;
+        for (Dimension dimension : Dimension.values()) {
+            String item = itemKey(dimension, value(dimension, review));
+            if (item.isEmpty()) {
+                continue;
+            }
+            allTime.get(dimension).add(airline, item);
+            if (day > latestDay - windowDays) {
+                Summary[] ring = windows.get(dimension);
+                int slot = (int) Math.floorMod(day, (long) windowDays);
+                if (ring[slot] == null || ring[slot].day != day) {
+                    ring[slot] = new Summary(day); // recycles a day that left the window
+                }
+                ring[slot].add(airline, item);
+            }
+        }
+    }
+
+    /**
+     * Count every review, in order.
+     */
+    public void addReviews(List<? extends ReviewRecord> reviews) {
+        for (ReviewRecord review : reviews) {
+            accept(review);
+        }
+    }
+
+    private static String value(Dimension dimension, ReviewRecord review) {
+        return dimension == Dimension.ROUTE ? ReviewFields.route(review) : ReviewFields.aircraft(review);
+    }
+
+    /**
+     * The key a value is counted under: for aircraft as in ReviewBitmapIndex; for routes
+     * lower-cased words separated by single spaces ("LHR to  JFK" = "lhr to jfk").
+     */
+    public static String itemKey(Dimension dimension, String value) {
+        if (value == null) {
+            return "";
+        }
+        if (dimension == Dimension.AIRCRAFT) {
+            return ReviewBitmapIndex.key(ReviewBitmapIndex.Attribute.AIRCRAFT, value);
+        }
+        StringBuilder key = new StringBuilder(value.length());
+        for (String word : value.trim().toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                if (key.length() > 0) {
+                    key.append(' ');
+                }
+                key.append(word);
+            }
+        }
+        return key.toString();
+    }
+
+    private static String airlineKey(String airline) {
+        return ReviewBitmapIndex.key(ReviewBitmapIndex.Attribute.AIRLINE, airline);
+    }
+
+    // Day summaries still inside the window
+    private List<Summary> liveDays(Dimension dimension) {
+        List<Summary> live = new ArrayList<>(windowDays);
+        for (Summary summary : windows.get(dimension)) {
+            if (summary != null && summary.day > latestDay - windowDays) {
+                live.add(summary);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * The n most mentioned items of all time.
+     * Time Complexity: O(k log k)
+     */
+    public synchronized List<SpaceSaving.Counter> top(Dimension dimension, int n) {
+        return allTime.get(dimension).global.top(n);
+    }
+
+    /**
+     * The n items the airline's reviews mention most, of all time.
+     * Time Complexity: O(kA log kA)
+     */
+    public synchronized List<SpaceSaving.Counter> top(Dimension dimension, String airline, int n) {
+        SpaceSaving summary = allTime.get(dimension).byAirline.get(airlineKey(airline));
+        return summary == null ? Collections.emptyList() : summary.top(n);
+    }
+
+    /**
+     * The n most mentioned items within the window.
+     * Time Complexity: O(W^2 * k + W * k log(W * k))
+     */
+    public synchronized List<SpaceSaving.Counter> trending(Dimension dimension, int n) {
+        List<SpaceSaving> days = new ArrayList<>();
+        for (Summary summary : liveDays(dimension)) {
+            days.add(summary.global);
+        }
+        return SpaceSaving.mergeAll(days, capacity).top(n);
+    }
+
+    /**
+     * The n items the airline's reviews mention most within the window.
+     * Time Complexity: O(W^2 * kA + W * kA log(W * kA))
+     */
+    public synchronized List<SpaceSaving.Counter> trending(Dimension dimension, String airline, int n) {
+        String key = airlineKey(airline);
+        List<SpaceSaving> days = new ArrayList<>();
+        for (Summary summary : liveDays(dimension)) {
+            SpaceSaving day = summary.byAirline.get(key);
+            if (day != null) {
+                days.add(day);
+            }
+        }
+        return SpaceSaving.mergeAll(days, airlineCapacity).top(n);
+    }
+
+    /**
+     * Upper bound on the item's all-time mentions (Count-Min).
+     * Time Complexity: O(d)
+     */
+    public synchronized long estimate(Dimension dimension, String item) {
+        return allTime.get(dimension).sketch.estimate(itemKey(dimension, item));
+    }
+
+    /**
+     * Upper bound on the item's all-time mentions by the airline's reviews (Count-Min).
+     * Time Complexity: O(d)
+     */
+    public synchronized long estimate(Dimension dimension, String airline, String item) {
+        return allTime.get(dimension).sketch.estimate(airlineKey(airline) + AIRLINE_SEPARATOR + itemKey(dimension, item));
+    }
+
+    /**
+     * Upper bound on the item's mentions within the window (Count-Min).
+     * Time Complexity: O(W * d)
+     */
+    public synchronized long estimateTrending(Dimension dimension, String item) {
+        List<CountMinSketch> sketches = new ArrayList<>();
+        for (Summary summary : liveDays(dimension)) {
+            sketches.add(summary.sketch);
+        }
+        return CountMinSketch.estimate(sketches, itemKey(dimension, item));
+    }
+
+    /**
+     * The additive error that all-time estimates stay within with probability 1 - delta:
+     * epsilon times the mentions counted (per-airline keys included).
+     */
+    public synchronized double getErrorBound(Dimension dimension) {
+        return allTime.get(dimension).sketch.getErrorBound();
+    }
+
+    /**
+     * Newest review day seen (epoch day): the end of the window.
+     */
+    public synchronized long getLatestDay() {
+        return latestDay;
+    }
+
+    public int getWindowDays() {
+        return windowDays;
+    }
+
+    /**
+     * Bytes used by every summary and sketch (estimated, item strings excluded).
+     * Time Complexity: O(W * A)
+     */
+    public synchronized long getSizeInBytes() {
+        long bytes = 0;
+        for (Dimension dimension : Dimension.values()) {
+            bytes += allTime.get(dimension).sizeInBytes();
+            for (Summary summary : windows.get(dimension)) {
+                if (summary != null) {
+                    bytes += summary.sizeInBytes();
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Reviews counted, memory, and per dimension the mentions, airlines and error bounds.
+     */
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("reviews", reviewCount);
+        metrics.put("windowDays", windowDays);
+        metrics.put("sizeInBytes", getSizeInBytes());
+        for (Dimension dimension : Dimension.values()) {
+            Summary summary = allTime.get(dimension);
+            Map<String, Object> dimensionMetrics = new LinkedHashMap<>();
+            dimensionMetrics.put("mentions", summary.global.getTotal());
+            dimensionMetrics.put("airlines", summary.byAirline.size());
+            dimensionMetrics.put("heavyHitterMaxError", summary.global.getMaxError());
+            dimensionMetrics.put("sketchErrorBound", summary.sketch.getErrorBound());
+            metrics.put(dimension.name().toLowerCase(Locale.ROOT), dimensionMetrics);
+        }
+        return metrics;
+    }
+}
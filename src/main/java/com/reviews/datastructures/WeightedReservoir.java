@@ -0,0 +1,181 @@
+package com.reviews.datastructures;
+
+import java.util.*;
+
+/**
+ * Fixed-size weighted random sample of a stream, without replacement (Efraimidis and
+ * Spirakis, A-ExpJ).
+ *
+ * Each item conceptually draws the key u^(1/w) for u uniform in (0, 1]; the sample is the
+ * capacity items with the largest keys, which is the same as drawing items one at a time
+ * with probability proportional to weight among those not yet drawn. Keys are kept as
+ * ln(u) / w so weights far apart do not underflow.
+ *
+ * Instead of drawing a key per item, A-ExpJ draws how much weight may pass before the next
+ * replacement ("exponential jump") and only touches the heap when an item lands; a stream
+ * of n items replaces O(capacity * log(n / capacity)) times, so offer is O(1) amortized.
+ *
+ * The items with the largest keys are themselves a weighted sample, so sample(n) for any
+ * n <= capacity is a valid smaller sample.
+ *
+ * Not thread-safe.
+ *
+ * Time Complexities:
+ * - offer: O(1) amortized, O(log k) on a replacement
+ * - sample: O(k log k)
+ *
+ * Space Complexity: O(k)
+ */
+public class WeightedReservoir<T> {
+    private final int capacity;
+    private final Random random;
+    private final Object[] items;
+    private final double[] logKeys; // min-heap on ln(key), parallel to items
+    private int size;
+    private double skip; // weight still to pass before the next replacement
+    private long seen;
+    private long replacements;
+
+    public WeightedReservoir(int capacity) {
+        this(capacity, new Random());
+    }
+
+    public WeightedReservoir(int capacity, Random random) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.random = Objects.requireNonNull(random, "random");
+        this.items = new Object[capacity];
+        this.logKeys = new double[capacity];
+    }
+
+    /**
+     * Offer an item with a positive weight. Returns whether it entered the sample.
+     * Time Complexity: O(1) amortized
+     */
+    public boolean offer(T item, double weight) {
+        if (!(weight > 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("weight must be positive and finite");
+        }
+        seen++;
+        if (size < capacity) {
+            items[size] = item;
+            logKeys[size] = Math.log(uniform()) / weight;
+            siftUp(size++);
+            if (size == capacity) {
+                jump();
+            }
+            return true;
+        }
+        skip -= weight;
+        if (skip > 0) {
+            return false;
+        }
+        // The new key is uniform over keys above the current minimum: u in (t^w, 1]
+        double threshold = Math.exp(weight * logKeys[0]);
+        double u = threshold + (1 - threshold) * uniform();
+        items[0] = item;
+        logKeys[0] = Math.log(u) / weight;
+        siftDown(0);
+        replacements++;
+        jump();
+        return true;
+    }
+
+    // Weight to pass before the next replacement: ln(r) / ln(smallest key)
+    private void jump() {
+        skip = logKeys[0] == 0 ? Double.POSITIVE_INFINITY : Math.log(uniform()) / logKeys[0];
+    }
+
+    private double uniform() {
+        return 1 - random.nextDouble(); // (0, 1]
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (logKeys[parent] <= logKeys[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && logKeys[left] < logKeys[smallest]) {
+                smallest = left;
+            }
+            if (right < size && logKeys[right] < logKeys[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Object item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+        double key = logKeys[i];
+        logKeys[i] = logKeys[j];
+        logKeys[j] = key;
+    }
+
+    /**
+     * The whole sample, in draw order (largest key first).
+     * Time Complexity: O(k log k)
+     */
+    public List<T> sample() {
+        return sample(size);
+    }
+
+    /**
+     * A weighted sample of min(n, size) items: the n largest keys, in draw order.
+     * Time Complexity: O(k log k)
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> sample(int n) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(logKeys[b], logKeys[a]));
+        List<T> sample = new ArrayList<>(Math.min(n, size));
+        for (int i = 0; i < Math.min(n, size); i++) {
+            sample.add((T) items[order[i]]);
+        }
+        return sample;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Items offered so far.
+     */
+    public long getSeen() {
+        return seen;
+    }
+
+    /**
+     * Times an item displaced another once the reservoir was full.
+     */
+    public long getReplacements() {
+        return replacements;
+    }
+}
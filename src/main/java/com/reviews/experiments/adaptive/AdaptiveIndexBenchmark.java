@@ -0,0 +1,103 @@
+package com.reviews.experiments.adaptive;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AdaptiveIndexStore;
+import com.reviews.datastructures.ReviewBitmapIndex.Attribute;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A shifting workload against AdaptiveIndexStore: query latency per slice of queries as
+ * indexes are built for the hot attributes and dropped once the workload moves on.
+ * A writer appends reviews during the first phase; its worst insert latency shows that
+ * builds do not block it.
+ */
+public class AdaptiveIndexBenchmark {
+
+    private static final int BASE_REVIEWS = 200000;
+    private static final int STREAMED_REVIEWS = 50000;
+    private static final int SLICE = 100;
+
+    private static String state(AdaptiveIndexStore store) {
+        StringBuilder text = new StringBuilder();
+        for (Attribute attribute : Attribute.values()) {
+            AdaptiveIndexStore.IndexState state = store.getIndexState(attribute);
+            if (state != AdaptiveIndexStore.IndexState.NONE) {
+                text.append(attribute.name().toLowerCase())
+                    .append(state == AdaptiveIndexStore.IndexState.READY ? "" : "*").append(' ');
+            }
+        }
+        return text.length() == 0 ? "-" : text.toString().trim();
+    }
+
+    public static void runComprehensiveBenchmark() throws InterruptedException {
+        System.out.println("=== Workload-Driven Adaptive Indexes ===");
+        System.out.println();
+
+        List<ReviewRecord> reviews = AVLPerformanceBenchmark.generateTestData(BASE_REVIEWS + STREAMED_REVIEWS);
+        List<Map<Attribute, String>> phaseOne = List.of(
+            Map.of(Attribute.CABIN, "First", Attribute.COUNTRY, "Japan"),
+            Map.of(Attribute.CABIN, "Business", Attribute.COUNTRY, "UK"));
+        List<Map<Attribute, String>> phaseTwo = List.of(
+            Map.of(Attribute.AIRCRAFT, "A350"), Map.of(Attribute.AIRCRAFT, "Boeing 787"));
+        List<Map<Attribute, String>> phaseThree = List.of(
+            Map.of(Attribute.TRAVELLER_TYPE, "Business", Attribute.AIRCRAFT, "A380"));
+        long[] sink = new long[1];
+        long[] worstInsert = new long[1];
+
+        // Build once the scan cost of an attribute reaches 20 full scans within a 100-query window
+        try (AdaptiveIndexStore store = new AdaptiveIndexStore(20L * BASE_REVIEWS, 100, 2)) {
+            store.addReviews(reviews.subList(0, BASE_REVIEWS));
+            Thread writer = new Thread(() -> {
+                for (ReviewRecord review : reviews.subList(BASE_REVIEWS, reviews.size())) {
+                    long start = System.nanoTime();
+                    store.addReview(review);
+                    worstInsert[0] = Math.max(worstInsert[0], System.nanoTime() - start);
+                    Thread.yield();
+                }
+            }, "benchmark-writer");
+
+            System.out.printf("%-8s %-10s %-10s %-14s %-32s %-12s%n", "Queries", "Phase", "Reviews", "Avg (us)",
+                              "Indexes (*=building)", "Memory (KB)");
+            System.out.println("--------------------------------------------------------------------------------------");
+            String[] phases = {"ctry+cabin", "aircraft", "trav+acft"};
+            List<List<Map<Attribute, String>>> workloads = List.of(phaseOne, phaseTwo, phaseThree);
+            int query = 0;
+            for (int phase = 0; phase < phases.length; phase++) {
+                if (phase == 0) {
+                    writer.start();
+                }
+                List<Map<Attribute, String>> workload = workloads.get(phase);
+                for (int slice = 0; slice < 6; slice++) {
+                    long startTime = System.nanoTime();
+                    for (int i = 0; i < SLICE; i++) {
+                        sink[0] += store.find(workload.get(query++ % workload.size())).size();
+                    }
+                    double average = (System.nanoTime() - startTime) / 1e3 / SLICE;
+                    System.out.printf("%-8d %-10s %-10d %-14.1f %-32s %-12.1f%n", query, phases[phase], store.size(),
+                                      average, state(store), store.getIndexMemoryBytes() / 1024.0);
+                }
+                if (phase == 0) {
+                    writer.join();
+                }
+            }
+
+            System.out.println();
+            System.out.printf("Worst insert latency while indexes were built: %.1f us%n", worstInsert[0] / 1e3);
+            System.out.println();
+            System.out.println("Metrics:");
+            for (Map.Entry<String, Object> entry : store.getMetrics().entrySet()) {
+                System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+            }
+        }
+        if (sink[0] == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,203 @@
+package com.reviews.experiments.adaptive;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AdaptiveIndexStore;
+import com.reviews.datastructures.AdaptiveIndexStore.IndexState;
+import com.reviews.datastructures.ReviewBitmapIndex;
+import com.reviews.datastructures.ReviewBitmapIndex.Attribute;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.RoaringBitmap;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test suite for AdaptiveIndexStore.
+ * Every answer is checked against a ReviewBitmapIndex over the same reviews, before, during
+ * and after index builds, including while another thread keeps inserting.
+ */
+public class AdaptiveIndexTest {
+
+    private List<ReviewRecord> testReviews;
+    private ReviewBitmapIndex oracle;
+
+    public void setUp() throws IOException {
+        testReviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        testReviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        testReviews.addAll(AVLPerformanceBenchmark.generateTestData(20000));
+        oracle = new ReviewBitmapIndex();
+        oracle.addReviews(testReviews);
+    }
+
+    /**
+     * Test that an attribute is scanned until its scan cost crosses the threshold, then indexed
+     */
+    public void testBuildAfterThreshold() throws InterruptedException {
+        System.out.println("Testing index build after the scan threshold...");
+
+        int n = testReviews.size();
+        try (AdaptiveIndexStore store = new AdaptiveIndexStore(3L * n, 50, 2)) {
+            store.addReviews(testReviews);
+            for (int i = 0; i < 2; i++) {
+                assertAnswers(store, Map.of(Attribute.CABIN, "Business"), "Scanned query " + i);
+            }
+            assertEqual(IndexState.NONE, store.getIndexState(Attribute.CABIN), "Below threshold: no index");
+
+            assertAnswers(store, Map.of(Attribute.CABIN, "Business"), "Query crossing the threshold");
+            store.awaitBuilds();
+            assertEqual(IndexState.READY, store.getIndexState(Attribute.CABIN), "Index built");
+            assertEqual(IndexState.NONE, store.getIndexState(Attribute.AIRCRAFT), "Unqueried attribute not built");
+
+            assertAnswers(store, Map.of(Attribute.CABIN, "Economy"), "Indexed query");
+            assertAnswers(store, Map.of(Attribute.CABIN, "Business", Attribute.COUNTRY, "UK"), "Indexed + scanned predicate");
+            assertAnswers(store, Map.of(Attribute.CABIN, "No Such Cabin"), "Unknown value");
+
+            Map<String, Object> cabin = attributeMetrics(store, "cabin");
+            assertEqual(6L, cabin.get("queries"), "Cabin predicate count");
+            assertEqual(3L, cabin.get("indexedQueries"), "Cabin index hits");
+            assertEqual(0.5, cabin.get("hitRate"), "Cabin hit rate");
+            assertEqual(1L, cabin.get("builds"), "One build");
+            assertEqual(n, cabin.get("indexedUpTo"), "Watermark covers every review");
+            assertTrue((Long) cabin.get("memoryBytes") > 0, "Index memory reported");
+        }
+
+        System.out.println("✓ Index build after the scan threshold passed");
+    }
+
+    /**
+     * Test that writers keep inserting during builds and the index catches up on them
+     */
+    public void testConcurrentInserts() throws InterruptedException {
+        System.out.println("Testing builds concurrent with inserts...");
+
+        int half = testReviews.size() / 2;
+        try (AdaptiveIndexStore store = new AdaptiveIndexStore(half, 20, 1000)) {
+            store.addReviews(testReviews.subList(0, half));
+            Thread writer = new Thread(() -> {
+                for (ReviewRecord review : testReviews.subList(half, testReviews.size())) {
+                    store.addReview(review);
+                }
+            });
+            writer.start();
+
+            int queries = 0;
+            while (writer.isAlive() || queries < 10) {
+                int seen = store.size();
+                List<ReviewRecord> result = store.find(Map.of(Attribute.COUNTRY, "USA", Attribute.CABIN, "First"));
+                // Everything the query was guaranteed to see must be in the answer
+                int prefix = expected(Map.of(Attribute.COUNTRY, "USA", Attribute.CABIN, "First"), seen).size();
+                assertTrue(result.size() >= prefix, "Concurrent answer covers the reviews present before it");
+                queries++;
+            }
+            writer.join();
+            assertEqual(testReviews.size(), store.size(), "Every insert landed");
+
+            // A hit with a long tail schedules a catch-up; after it the index covers everything
+            store.awaitBuilds();
+            assertAnswers(store, Map.of(Attribute.COUNTRY, "USA"), "Country after inserts");
+            store.awaitBuilds();
+            assertEqual(IndexState.READY, store.getIndexState(Attribute.COUNTRY), "Country indexed");
+            int upTo = (Integer) attributeMetrics(store, "country").get("indexedUpTo");
+            assertTrue(upTo > half && store.size() - upTo < AdaptiveIndexStore.CATCH_UP_ROWS, "Caught up on inserts");
+            assertAnswers(store, Map.of(Attribute.COUNTRY, "USA", Attribute.CABIN, "First"), "Both indexed after inserts");
+            assertAnswers(store, Map.of(Attribute.AIRCRAFT, "A350"), "Aircraft family by scan");
+        }
+
+        System.out.println("✓ Builds concurrent with inserts passed");
+    }
+
+    /**
+     * Test that an index unused for coldWindows windows is dropped while the hot one stays
+     */
+    public void testColdIndexDropped() throws InterruptedException {
+        System.out.println("Testing cold index drop...");
+
+        int n = testReviews.size();
+        try (AdaptiveIndexStore store = new AdaptiveIndexStore(n, 10, 2)) {
+            store.addReviews(testReviews);
+            store.find(Attribute.CABIN, "Business");
+            store.awaitBuilds();
+            assertEqual(IndexState.READY, store.getIndexState(Attribute.CABIN), "Cabin built");
+
+            // The workload moves to aircraft: cabin serves nothing for two whole windows
+            for (int i = 0; i < 40; i++) {
+                assertAnswers(store, Map.of(Attribute.AIRCRAFT, i % 2 == 0 ? "A350" : "Boeing 787"), "Aircraft query " + i);
+                store.awaitBuilds();
+            }
+            assertEqual(IndexState.NONE, store.getIndexState(Attribute.CABIN), "Cold cabin index dropped");
+            assertEqual(IndexState.READY, store.getIndexState(Attribute.AIRCRAFT), "Hot aircraft index kept");
+            assertEqual(1L, attributeMetrics(store, "cabin").get("drops"), "Drop counted");
+            assertEqual(0L, attributeMetrics(store, "cabin").get("memoryBytes"), "Dropped index frees its memory");
+
+            assertAnswers(store, Map.of(Attribute.CABIN, "Business"), "Cabin answered by scan again");
+            assertEqual(42L, store.getMetrics().get("queries"), "Query count");
+        }
+
+        System.out.println("✓ Cold index drop passed");
+    }
+
+    private void assertAnswers(AdaptiveIndexStore store, Map<Attribute, String> predicates, String message) {
+        List<ReviewRecord> actual = store.find(predicates);
+        List<ReviewRecord> expected = expected(predicates, store.size());
+        assertEqual(expected.size(), actual.size(), message + " size");
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(expected.get(i) == actual.get(i), message + " review " + i);
+        }
+    }
+
+    // The oracle's answer restricted to the first limit reviews
+    private List<ReviewRecord> expected(Map<Attribute, String> predicates, int limit) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        for (Map.Entry<Attribute, String> predicate : new EnumMap<>(predicates).entrySet()) {
+            bitmaps.add(oracle.lookup(predicate.getKey(), predicate.getValue()));
+        }
+        bitmaps.add(RoaringBitmap.range(0, limit));
+        return oracle.getReviews(RoaringBitmap.andAll(bitmaps.toArray(new RoaringBitmap[0])));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> attributeMetrics(AdaptiveIndexStore store, String attribute) {
+        return (Map<String, Object>) store.getMetrics().get(attribute);
+    }
+
+    private void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("Assertion failed: " + message);
+        }
+    }
+
+    private void assertEqual(Object expected, Object actual, String message) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError("Assertion failed: " + message + " - Expected: " + expected + ", Actual: " + actual);
+        }
+    }
+
+    public void runAllTests() throws IOException, InterruptedException {
+        System.out.println("=== Running Adaptive Index Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testBuildAfterThreshold();
+            testConcurrentInserts();
+            testColdIndexDropped();
+
+            System.out.println();
+            System.out.println("🎉 All adaptive index tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        AdaptiveIndexTest test = new AdaptiveIndexTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,106 @@
+package com.reviews.experiments.autocomplete;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.NameTrie;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewNameIndex;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Autocomplete latency and memory of NameTrie for airline, airport and lounge names,
+ * against a linear scan over the distinct names (startsWith, then sort by review count).
+ * Prefixes are random 1-6 character prefixes of existing names.
+ */
+public class AutocompleteBenchmark {
+
+    private static final int QUERIES = 20_000;
+
+    private static void benchmark(String label, NameTrie trie) {
+        List<String> names = new ArrayList<>();
+        for (int s = 0; s < trie.size(); s++) {
+            names.add(trie.nameOf(s));
+        }
+        Random random = new Random(42);
+        String[] prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String name = names.get(random.nextInt(names.size())).toLowerCase(Locale.ROOT);
+            prefixes[i] = name.substring(0, Math.min(name.length(), 1 + random.nextInt(6)));
+        }
+
+        long sink = 0;
+        for (int round = 0; round < 3; round++) {
+            for (String prefix : prefixes) {
+                sink += trie.complete(prefix, 5).size() + scanComplete(trie, names, prefix, 5).size();
+            }
+        }
+
+        long startTime = System.nanoTime();
+        for (String prefix : prefixes) {
+            sink += scanComplete(trie, names, prefix, 5).size();
+        }
+        double scanUs = (System.nanoTime() - startTime) / 1e3 / QUERIES;
+
+        startTime = System.nanoTime();
+        for (String prefix : prefixes) {
+            sink += trie.complete(prefix, 5).size();
+        }
+        double top5Us = (System.nanoTime() - startTime) / 1e3 / QUERIES;
+
+        startTime = System.nanoTime();
+        for (String prefix : prefixes) {
+            sink += trie.countPrefixMatches(prefix);
+        }
+        double countUs = (System.nanoTime() - startTime) / 1e3 / QUERIES;
+
+        System.out.printf("%-10s %-7d %-7d %-12.1f %-12.3f %-12.3f %-12.3f %-8s%n", label, trie.size(),
+                          trie.getNodeCount(), trie.getBytesPerKey(), scanUs, top5Us, countUs,
+                          String.format("%.0fx", scanUs / top5Us));
+        if (sink == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    private static List<String> scanComplete(NameTrie trie, List<String> names, String prefix, int n) {
+        List<Integer> matches = new ArrayList<>();
+        for (int s = 0; s < names.size(); s++) {
+            if (names.get(s).toLowerCase(Locale.ROOT).startsWith(prefix)) {
+                matches.add(s);
+            }
+        }
+        matches.sort(Comparator.comparingLong((Integer s) -> -trie.weightOf(s)));
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < n && i < matches.size(); i++) {
+            result.add(names.get(matches.get(i)));
+        }
+        return result;
+    }
+
+    public static void runComprehensiveBenchmark() throws IOException {
+        System.out.println("=== Name Autocomplete: Compact Trie vs Linear Scan ===");
+        System.out.println();
+
+        List<ReviewRecord> reviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        reviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        reviews.addAll(AVLPerformanceBenchmark.generateTestData(5000));
+        ReviewNameIndex index = new ReviewNameIndex(reviews);
+
+        System.out.printf("%-10s %-7s %-7s %-12s %-12s %-12s %-12s %-8s%n", "Names", "Keys", "Nodes", "Bytes/key",
+                          "Scan (us)", "Top-5 (us)", "Count (us)", "Speedup");
+        System.out.println("------------------------------------------------------------------------------------");
+        benchmark("Airlines", index.getAirlines());
+        benchmark("Airports", index.getAirports());
+        benchmark("Lounges", index.getLounges());
+    }
+
+    public static void main(String[] args) throws IOException {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,201 @@
+package com.reviews.experiments.autocomplete;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.NameTrie;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewNameIndex;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Test suite for NameTrie and ReviewNameIndex.
+ * Prefix matches and top-N completions must equal a brute-force scan over the names, for
+ * every prefix of every name in the lounge, seat and generated datasets.
+ */
+public class NameTrieTest {
+
+    private List<ReviewRecord> testReviews;
+    private ReviewNameIndex names;
+
+    public void setUp() throws IOException {
+        testReviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        testReviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        testReviews.addAll(AVLPerformanceBenchmark.generateTestData(2000));
+        names = new ReviewNameIndex(testReviews);
+    }
+
+    // Airline review counts folded by lower-cased name, keyed by the most-reviewed spelling
+    // ("Emirates" in the generated data and "emirates" in the CSVs are one airline)
+    private static Map<String, Long> airlineCounts(List<ReviewRecord> reviews) {
+        Map<String, Long> bySpelling = new HashMap<>();
+        for (ReviewRecord review : reviews) {
+            bySpelling.merge(review.getName(), 1L, Long::sum);
+        }
+        Map<String, String> display = new HashMap<>();
+        Map<String, Long> byKey = new HashMap<>();
+        for (Map.Entry<String, Long> entry : bySpelling.entrySet()) {
+            String key = entry.getKey().toLowerCase(Locale.ROOT);
+            byKey.merge(key, entry.getValue(), Long::sum);
+            String current = display.get(key);
+            if (current == null || entry.getValue() > bySpelling.get(current)
+                || (entry.getValue().equals(bySpelling.get(current)) && entry.getKey().compareTo(current) < 0)) {
+                display.put(key, entry.getKey());
+            }
+        }
+        Map<String, Long> counts = new HashMap<>();
+        for (Map.Entry<String, String> entry : display.entrySet()) {
+            counts.put(entry.getValue(), byKey.get(entry.getKey()));
+        }
+        return counts;
+    }
+
+    private static List<String> bruteMatches(Map<String, Long> counts, String prefix) {
+        List<String> keys = new ArrayList<>();
+        for (String name : counts.keySet()) {
+            if (name.toLowerCase(Locale.ROOT).startsWith(prefix.toLowerCase(Locale.ROOT))) {
+                keys.add(name);
+            }
+        }
+        keys.sort((a, b) -> a.toLowerCase(Locale.ROOT).compareTo(b.toLowerCase(Locale.ROOT)));
+        return keys;
+    }
+
+    private static List<String> bruteTop(Map<String, Long> counts, String prefix, int n) {
+        List<String> matches = bruteMatches(counts, prefix);
+        // Stable sort keeps alphabetical order among equal counts
+        matches.sort((a, b) -> Long.compare(counts.get(b), counts.get(a)));
+        return matches.subList(0, Math.min(n, matches.size()));
+    }
+
+    public void testPrefixAndCompletion() {
+        System.out.println("Testing prefix matches and completions against brute force...");
+
+        Map<String, Long> counts = airlineCounts(testReviews);
+        NameTrie trie = names.getAirlines();
+        if (trie.size() != counts.size()) {
+            throw new AssertionError("Expected " + counts.size() + " airlines, got " + trie.size());
+        }
+        int checked = 0;
+        for (String name : counts.keySet()) {
+            for (int end = 0; end <= name.length(); end++) {
+                String prefix = name.substring(0, end);
+                List<String> expected = bruteMatches(counts, prefix);
+                if (!trie.prefixMatches(prefix).equals(expected) || trie.countPrefixMatches(prefix) != expected.size()) {
+                    throw new AssertionError("Prefix matches differ for '" + prefix + "'");
+                }
+                for (int n : new int[] {1, 5, NameTrie.TOP_COMPLETIONS, 20}) {
+                    if (!trie.complete(prefix, n).equals(bruteTop(counts, prefix, n))) {
+                        throw new AssertionError("Top-" + n + " differs for '" + prefix + "': " + trie.complete(prefix, n)
+                                                 + " vs " + bruteTop(counts, prefix, n));
+                    }
+                }
+                checked++;
+            }
+            int symbol = trie.symbolOf(name);
+            if (symbol < 0 || !trie.nameOf(symbol).equals(name) || trie.weightOf(symbol) != counts.get(name)) {
+                throw new AssertionError("Symbol round trip failed for " + name);
+            }
+        }
+        for (String missing : new String[] {"zz", "adria-airwaysx", "singapore airlines!", "xq"}) {
+            if (trie.symbolOf(missing) != -1 || !trie.prefixMatches(missing).isEmpty()
+                || trie.complete(missing, 5).size() != 0) {
+                throw new AssertionError("Unknown name '" + missing + "' matched");
+            }
+        }
+        if (trie.symbolOf("adria") != -1) {
+            throw new AssertionError("A strict prefix of a name must not resolve to a symbol");
+        }
+
+        System.out.println("✓ Prefix and completion test passed (" + checked + " prefixes)");
+    }
+
+    public void testCaseFoldingAndSymbols() {
+        System.out.println("Testing case folding and symbol ids...");
+
+        Map<String, Long> counts = new HashMap<>();
+        counts.put("Aer Lingus", 5L);
+        counts.put("aer lingus", 2L);
+        counts.put("Aegean Airlines", 7L);
+        counts.put("Aeroflot", 1L);
+        counts.put("Ae", 1L);
+        counts.put("  ", 3L);
+        NameTrie trie = new NameTrie(counts);
+        if (trie.size() != 4) {
+            throw new AssertionError("Expected 4 symbols after folding, got " + trie.size());
+        }
+        int lingus = trie.symbolOf("AER LINGUS");
+        if (lingus < 0 || !trie.nameOf(lingus).equals("Aer Lingus") || trie.weightOf(lingus) != 7L) {
+            throw new AssertionError("Case variants should fold into the most-reviewed spelling");
+        }
+        if (!trie.complete("ae", 3).equals(List.of("Aegean Airlines", "Aer Lingus", "Ae"))) {
+            throw new AssertionError("Unexpected completions " + trie.complete("ae", 3));
+        }
+        // Symbol ids follow key order
+        List<String> ordered = new ArrayList<>();
+        for (int s = 0; s < trie.size(); s++) {
+            ordered.add(trie.nameOf(s).toLowerCase(Locale.ROOT));
+        }
+        List<String> sorted = new ArrayList<>(ordered);
+        Collections.sort(sorted);
+        if (!ordered.equals(sorted)) {
+            throw new AssertionError("Symbol ids are not in key order: " + ordered);
+        }
+        NameTrie empty = new NameTrie(new HashMap<>());
+        if (empty.size() != 0 || empty.symbolOf("a") != -1 || !empty.complete("", 5).isEmpty()) {
+            throw new AssertionError("Empty trie should match nothing");
+        }
+
+        System.out.println("✓ Case folding test passed");
+    }
+
+    public void testAirportsAndLounges() {
+        System.out.println("Testing airport and lounge name spaces...");
+
+        NameTrie airports = names.getAirports();
+        NameTrie lounges = names.getLounges();
+        if (airports.size() == 0 || lounges.size() == 0) {
+            throw new AssertionError("Lounge reviews should contribute airports and lounges");
+        }
+        String top = lounges.complete("", 1).get(0);
+        if (lounges.symbolOf(top) < 0 || lounges.complete(top.substring(0, 3), 1).isEmpty()) {
+            throw new AssertionError("Lounge completion failed for " + top);
+        }
+        if (airports.countPrefixMatches("") != airports.size()) {
+            throw new AssertionError("Empty prefix should match every airport");
+        }
+
+        System.out.println("✓ Airport and lounge test passed");
+    }
+
+    public void runAllTests() throws IOException {
+        System.out.println("=== Running NameTrie Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testPrefixAndCompletion();
+            testCaseFoldingAndSymbols();
+            testAirportsAndLounges();
+
+            System.out.println();
+            System.out.println("🎉 All name trie tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        NameTrieTest test = new NameTrieTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,216 @@
+package com.reviews.experiments.batch;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.datastructures.RBTReviewStore;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.ReviewFields;
+import com.reviews.datastructures.SharedScanBatch;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test suite for SharedScanBatch.
+ * Every query answered by the shared scan must equal the same query run on its own, on the
+ * linear list and on the RBT traversal, and the scan must visit each review exactly once.
+ */
+public class SharedScanBatchTest {
+
+    private List<ReviewRecord> testReviews;
+    private LinearListReviewStore list;
+
+    public void setUp() {
+        testReviews = AVLPerformanceBenchmark.generateTestData(5000);
+        list = new LinearListReviewStore();
+        list.addReviews(testReviews);
+    }
+
+    private static int countInRange(List<ReviewRecord> reviews, String airline, LocalDate start, LocalDate end) {
+        int count = 0;
+        for (ReviewRecord review : reviews) {
+            LocalDate date = ReviewDates.parseDate(review.getDate());
+            if ((airline == null || review.getName().equals(airline)) && !date.isBefore(start) && !date.isAfter(end)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static double subRatingAverage(List<ReviewRecord> reviews, String airline, int slot) {
+        double sum = 0;
+        int count = 0;
+        for (ReviewRecord review : reviews) {
+            double[] ratings = ReviewFields.subRatings(review);
+            if ((airline == null || review.getName().equals(airline)) && slot < ratings.length && ratings[slot] != 0.0) {
+                sum += ratings[slot];
+                count++;
+            }
+        }
+        return count > 0 ? sum / count : 0.0;
+    }
+
+    public void testMatchesSeparateQueries() {
+        System.out.println("Testing batch answers against separate queries...");
+
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.minusDays(400);
+        LocalDate end = today.minusDays(30);
+        SharedScanBatch batch = new SharedScanBatch();
+        Map<String, SharedScanBatch.Result<Double>> rbar = new HashMap<>();
+        Map<String, SharedScanBatch.Result<List<ReviewRecord>>> top = new HashMap<>();
+        Map<String, SharedScanBatch.Result<Integer>> counts = new HashMap<>();
+        Map<String, SharedScanBatch.Result<Double>> seat = new HashMap<>();
+        for (String airline : list.getAllAirlines()) {
+            rbar.put(airline, batch.rbar(airline));
+            top.put(airline, batch.topK(airline, 10));
+            counts.put(airline, batch.countInDateRange(airline, start, end));
+            seat.put(airline, batch.subRatingAverage(airline, 0));
+        }
+        SharedScanBatch.Result<Integer> allCount = batch.countInDateRange(null, start, end);
+        SharedScanBatch.Result<Double> allSeat = batch.subRatingAverage(null, 6);
+        SharedScanBatch.Result<Integer> emptyRange = batch.countInDateRange(null, end, start);
+        list.executeBatch(batch);
+
+        if (batch.getRowsScanned() != testReviews.size()) {
+            throw new AssertionError("Expected one pass of " + testReviews.size() + " rows, got " + batch.getRowsScanned());
+        }
+        for (String airline : list.getAllAirlines()) {
+            if (Math.abs(rbar.get(airline).get() - list.calculateRecencyBiasedAverageRating(airline)) > 1e-9) {
+                throw new AssertionError("RBAR differs for " + airline);
+            }
+            if (!top.get(airline).get().equals(list.getTopKRecentReviews(airline, 10))) {
+                throw new AssertionError("Top-k differs for " + airline);
+            }
+            if (counts.get(airline).get() != countInRange(testReviews, airline, start, end)) {
+                throw new AssertionError("Date count differs for " + airline);
+            }
+            if (Math.abs(seat.get(airline).get() - subRatingAverage(testReviews, airline, 0)) > 1e-9) {
+                throw new AssertionError("Sub-rating average differs for " + airline);
+            }
+        }
+        if (allCount.get() != list.getReviewsInDateRange(start, end).size()) {
+            throw new AssertionError("All-airline count " + allCount.get() + " != "
+                                     + list.getReviewsInDateRange(start, end).size());
+        }
+        if (Math.abs(allSeat.get() - subRatingAverage(testReviews, null, 6)) > 1e-9) {
+            throw new AssertionError("All-airline sub-rating average differs");
+        }
+        if (emptyRange.get() != 0) {
+            throw new AssertionError("Inverted range should count nothing");
+        }
+
+        System.out.println("✓ Batch answers match separate queries");
+    }
+
+    public void testSharedAccumulators() {
+        System.out.println("Testing repeated and overlapping queries...");
+
+        String airline = list.getAllAirlines().iterator().next();
+        SharedScanBatch batch = new SharedScanBatch();
+        SharedScanBatch.Result<List<ReviewRecord>> top3 = batch.topK(airline, 3);
+        SharedScanBatch.Result<List<ReviewRecord>> top25 = batch.topK(airline, 25);
+        SharedScanBatch.Result<List<ReviewRecord>> top0 = batch.topK(airline, 0);
+        SharedScanBatch.Result<Double> first = batch.rbar(airline);
+        SharedScanBatch.Result<Double> second = batch.rbar(airline);
+        SharedScanBatch.Result<Double> missing = batch.rbar("Nobody Air");
+        try {
+            first.get();
+            throw new AssertionError("Result must not be readable before execute()");
+        } catch (IllegalStateException expected) {
+            // not executed yet
+        }
+        list.executeBatch(batch);
+
+        if (!top3.get().equals(top25.get().subList(0, 3)) || top25.get().size() != 25 || !top0.get().isEmpty()) {
+            throw new AssertionError("Top-k queries of one airline must share one ranking");
+        }
+        if (!first.get().equals(second.get()) || missing.get() != 0.0) {
+            throw new AssertionError("Repeated RBAR differs or unknown airline not 0");
+        }
+        if (batch.getQueryCount() != 6) {
+            throw new AssertionError("Expected 6 queries, got " + batch.getQueryCount());
+        }
+        try {
+            list.executeBatch(batch);
+            throw new AssertionError("A batch must only execute once");
+        } catch (IllegalStateException expected) {
+            // already executed
+        }
+
+        System.out.println("✓ Shared accumulator test passed");
+    }
+
+    public void testRBTTraversal() {
+        System.out.println("Testing batch over the RBT traversal...");
+
+        RBTReviewStore rbt = new RBTReviewStore();
+        rbt.addReviews(testReviews.subList(0, 2000));
+        // Reverse in-order is newest first, so top-k and counts can be checked against it
+        List<ReviewRecord> held = rbt.getAllReviewsSortedByDate();
+
+        LocalDate start = LocalDate.now().minusYears(2);
+        LocalDate end = LocalDate.now();
+        SharedScanBatch batch = new SharedScanBatch();
+        SharedScanBatch.Result<Integer> count = batch.countInDateRange(null, start, end);
+        Map<String, SharedScanBatch.Result<List<ReviewRecord>>> top = new HashMap<>();
+        Map<String, SharedScanBatch.Result<Double>> rbar = new HashMap<>();
+        for (String airline : list.getAllAirlines()) {
+            top.put(airline, batch.topK(airline, 5));
+            rbar.put(airline, batch.rbar(airline));
+        }
+        rbt.executeBatch(batch);
+
+        if (batch.getRowsScanned() != held.size()) {
+            throw new AssertionError("Expected " + held.size() + " rows, got " + batch.getRowsScanned());
+        }
+        if (count.get() != countInRange(held, null, start, end)) {
+            throw new AssertionError("RBT date count differs");
+        }
+        for (String airline : list.getAllAirlines()) {
+            List<ReviewRecord> expected = new ArrayList<>();
+            for (ReviewRecord review : held) {
+                if (review.getName().equals(airline) && expected.size() < 5) {
+                    expected.add(review);
+                }
+            }
+            if (!top.get(airline).get().equals(expected)) {
+                throw new AssertionError("RBT top-k differs for " + airline);
+            }
+            // The RBT store's exponential weights, not the linear ones of the list
+            if (Math.abs(rbar.get(airline).get() - rbt.calculateRecencyBiasedAverageRating(airline)) > 1e-9) {
+                throw new AssertionError("RBT RBAR differs for " + airline);
+            }
+        }
+
+        System.out.println("✓ RBT traversal test passed");
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running SharedScanBatch Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testMatchesSeparateQueries();
+            testSharedAccumulators();
+            testRBTTraversal();
+
+            System.out.println();
+            System.out.println("🎉 All shared-scan batch tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) {
+        SharedScanBatchTest test = new SharedScanBatchTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,96 @@
+package com.reviews.experiments.batch;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.datastructures.SharedScanBatch;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Batch report cost on the LinearListReviewStore: Q queries run one by one (one pass each)
+ * versus the same Q queries compiled into a SharedScanBatch (one pass in total).
+ */
+public class SharedScanBenchmark {
+
+    private static final int REVIEWS = 50_000;
+    private static final int[] QUERY_COUNTS = {4, 20, 100, 400};
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== Shared-Scan Batch vs One Pass per Query (LinearList) ===");
+        System.out.println(REVIEWS + " reviews; queries cycle through RBAR, top-10 and date-range counts");
+        System.out.println();
+
+        List<ReviewRecord> reviews = AVLPerformanceBenchmark.generateTestData(REVIEWS);
+        LinearListReviewStore store = new LinearListReviewStore();
+        store.addReviews(reviews);
+        String[] airlines = store.getAllAirlines().toArray(new String[0]);
+        LocalDate today = LocalDate.now();
+
+        // Warm-up: JIT both paths before timing
+        for (int round = 0; round < 3; round++) {
+            SharedScanBatch warmUp = new SharedScanBatch(today);
+            for (String airline : airlines) {
+                warmUp.rbar(airline);
+                warmUp.topK(airline, 10);
+                warmUp.countInDateRange(null, today.minusDays(30), today);
+                store.calculateRecencyBiasedAverageRating(airline);
+            }
+            store.executeBatch(warmUp);
+        }
+
+        System.out.printf("%-10s %-18s %-18s %-10s%n", "Queries", "Separate (ms)", "Batch (ms)", "Speedup");
+        System.out.println("------------------------------------------------------------");
+        for (int queries : QUERY_COUNTS) {
+            double sink = 0;
+            long startTime = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                String airline = airlines[q % airlines.length];
+                switch (q % 3) {
+                    case 0:
+                        sink += store.calculateRecencyBiasedAverageRating(airline);
+                        break;
+                    case 1:
+                        sink += store.getTopKRecentReviews(airline, 10).size();
+                        break;
+                    default:
+                        sink += store.getReviewsInDateRange(today.minusDays(q + 30), today.minusDays(q)).size();
+                }
+            }
+            double separateMs = (System.nanoTime() - startTime) / 1e6;
+
+            startTime = System.nanoTime();
+            SharedScanBatch batch = new SharedScanBatch(today);
+            SharedScanBatch.Result<?>[] results = new SharedScanBatch.Result<?>[queries];
+            for (int q = 0; q < queries; q++) {
+                String airline = airlines[q % airlines.length];
+                switch (q % 3) {
+                    case 0:
+                        results[q] = batch.rbar(airline);
+                        break;
+                    case 1:
+                        results[q] = batch.topK(airline, 10);
+                        break;
+                    default:
+                        results[q] = batch.countInDateRange(null, today.minusDays(q + 30), today.minusDays(q));
+                }
+            }
+            store.executeBatch(batch);
+            for (SharedScanBatch.Result<?> result : results) {
+                sink += result.get().hashCode();
+            }
+            double batchMs = (System.nanoTime() - startTime) / 1e6;
+
+            System.out.printf("%-10d %-18.2f %-18.2f %-10s%n", queries, separateMs, batchMs,
+                              String.format("%.1fx", separateMs / batchMs));
+            if (sink == Double.MIN_VALUE) {
+                System.out.println();
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,123 @@
+package com.reviews.experiments.bitmap;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ReviewBitmapIndex;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.ReviewFields;
+import com.reviews.datastructures.RoaringBitmap;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Multi-attribute filters as bitmap intersections versus a full scan over the reviews.
+ * Filter: "Business cabin, Leisure, A350, last 90 days" (the generated data's traveller
+ * types are Business / Leisure), plus a two-attribute filter and a country OR.
+ */
+public class BitmapFilterBenchmark {
+
+    private static final int ITERATIONS = 200;
+
+    private static int scanExample(List<ReviewRecord> reviews, long start, long end) {
+        int count = 0;
+        for (ReviewRecord review : reviews) {
+            String cabin = ReviewFields.cabinFlown(review);
+            String traveller = ReviewFields.typeTraveller(review);
+            String aircraft = ReviewFields.aircraft(review);
+            if (cabin != null && cabin.equalsIgnoreCase("Business") && traveller != null
+                && traveller.equalsIgnoreCase("Leisure") && aircraft != null && aircraft.contains("A350")) {
+                int day = ReviewDates.toEpochDay(review.getDate());
+                if (day >= start && day <= end) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int scanTwo(List<ReviewRecord> reviews) {
+        int count = 0;
+        for (ReviewRecord review : reviews) {
+            String cabin = ReviewFields.cabinFlown(review);
+            if (cabin != null && cabin.equalsIgnoreCase("First") && "Japan".equalsIgnoreCase(review.getCountry())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int scanOr(List<ReviewRecord> reviews) {
+        int count = 0;
+        for (ReviewRecord review : reviews) {
+            if ("Japan".equalsIgnoreCase(review.getCountry()) || "France".equalsIgnoreCase(review.getCountry())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static double time(Runnable query) {
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            query.run();
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - startTime) / 1e3 / ITERATIONS;
+    }
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== Bitmap Secondary Indexes vs Full Scan ===");
+        System.out.println();
+
+        int[] sizes = {10000, 50000, 200000};
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.minusDays(90);
+        long[] sink = new long[1];
+
+        System.out.printf("%-8s %-12s %-8s %-12s %-12s %-14s %-8s%n", "Size", "Filter", "Hits", "Scan (us)",
+                          "Bitmap (us)", "Day col (us)", "Speedup");
+        System.out.println("------------------------------------------------------------------------------");
+        for (int size : sizes) {
+            List<ReviewRecord> reviews = AVLPerformanceBenchmark.generateTestData(size);
+            ReviewBitmapIndex index = new ReviewBitmapIndex();
+            index.addReviews(reviews);
+
+            // The attribute bitmaps are looked up per query: lookup() copies, like a real query would
+            int hits = RoaringBitmap.andAll(index.cabin("Business"), index.travellerType("Leisure"),
+                                            index.aircraft("A350"), index.dateRange(start, today)).cardinality();
+            double scan = time(() -> sink[0] += scanExample(reviews, start.toEpochDay(), today.toEpochDay()));
+            double bitmap = time(() -> sink[0] += RoaringBitmap.andAll(
+                index.cabin("Business"), index.travellerType("Leisure"), index.aircraft("A350"),
+                index.dateRange(start, today)).cardinality());
+            double dayColumn = time(() -> sink[0] += index.filterByDate(RoaringBitmap.andAll(
+                index.cabin("Business"), index.travellerType("Leisure"), index.aircraft("A350")), start, today).cardinality());
+            System.out.printf("%-8d %-12s %-8d %-12.1f %-12.1f %-14.1f %-8s%n", size, "4-way", hits, scan, bitmap,
+                              dayColumn, String.format("%.0fx", scan / Math.min(bitmap, dayColumn)));
+
+            hits = RoaringBitmap.and(index.cabin("First"), index.country("Japan")).cardinality();
+            scan = time(() -> sink[0] += scanTwo(reviews));
+            bitmap = time(() -> sink[0] += RoaringBitmap.and(index.cabin("First"), index.country("Japan")).cardinality());
+            System.out.printf("%-8d %-12s %-8d %-12.1f %-12.1f %-14s %-8s%n", size, "cabin&ctry", hits, scan, bitmap,
+                              "-", String.format("%.0fx", scan / bitmap));
+
+            hits = RoaringBitmap.or(index.country("Japan"), index.country("France")).cardinality();
+            scan = time(() -> sink[0] += scanOr(reviews));
+            bitmap = time(() -> sink[0] += RoaringBitmap.or(index.country("Japan"), index.country("France")).cardinality());
+            System.out.printf("%-8d %-12s %-8d %-12.1f %-12.1f %-14s %-8s%n", size, "ctry|ctry", hits, scan, bitmap,
+                              "-", String.format("%.0fx", scan / bitmap));
+
+            System.out.printf("         index size: %.1f KB (%.1f bytes/review)%n%n",
+                              index.getIndexSizeBytes() / 1024.0, (double) index.getIndexSizeBytes() / size);
+        }
+        if (sink[0] == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
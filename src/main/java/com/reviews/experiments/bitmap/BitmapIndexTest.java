@@ -0,0 +1,254 @@
+package com.reviews.experiments.bitmap;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ReviewBitmapIndex;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.ReviewFields;
+import com.reviews.datastructures.RoaringBitmap;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Test suite for RoaringBitmap and ReviewBitmapIndex.
+ * Set operations are checked against java.util.BitSet on sparse, dense and mixed sets that
+ * span several chunks; index lookups and filters against full scans over the reviews.
+ */
+public class BitmapIndexTest {
+
+    private List<ReviewRecord> testReviews;
+    private ReviewBitmapIndex index;
+
+    public void setUp() throws IOException {
+        testReviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        testReviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        testReviews.addAll(AVLPerformanceBenchmark.generateTestData(20000));
+        index = new ReviewBitmapIndex();
+        index.addReviews(testReviews);
+    }
+
+    /**
+     * Test add, contains and set operations against BitSet
+     */
+    public void testSetOperations() {
+        System.out.println("Testing bitmap set operations...");
+
+        Random random = new Random(42);
+        // densities per chunk: empty, sparse arrays, near the array limit, dense bitmaps
+        double[] densities = {0.0, 0.001, 0.06, 0.5};
+        for (int trial = 0; trial < 40; trial++) {
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            RoaringBitmap a = new RoaringBitmap();
+            RoaringBitmap b = new RoaringBitmap();
+            fill(a, expectedA, densities, random);
+            fill(b, expectedB, densities, random);
+            assertEqual(expectedA.cardinality(), a.cardinality(), "Cardinality after add");
+            for (int probe = 0; probe < 2000; probe++) {
+                int value = random.nextInt(6 << 16);
+                assertEqual(expectedA.get(value), a.contains(value), "contains(" + value + ")");
+            }
+
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+            BitSet andNot = (BitSet) expectedA.clone();
+            andNot.andNot(expectedB);
+            assertSame(and, RoaringBitmap.and(a, b), "and");
+            assertSame(or, RoaringBitmap.or(a, b), "or");
+            assertSame(andNot, RoaringBitmap.andNot(a, b), "andNot");
+            assertSame(or, RoaringBitmap.orAll(List.of(a, b, RoaringBitmap.and(a, b))), "orAll");
+            assertSame(and, RoaringBitmap.andAll(a, b, a), "andAll");
+            assertSame(expectedA, a, "Inputs unchanged");
+        }
+
+        RoaringBitmap range = RoaringBitmap.range(65530, 3 * 65536 + 7);
+        assertEqual(3 * 65536 + 7 - 65530, range.cardinality(), "Range cardinality");
+        assertTrue(range.contains(65530) && range.contains(3 * 65536 + 6) && !range.contains(3 * 65536 + 7),
+                   "Range bounds");
+        assertEqual(RoaringBitmap.of(5, 1, 5, 70000), RoaringBitmap.of(1, 5, 70000), "of() sorts and dedups");
+
+        RoaringBitmap copy = range.copy();
+        copy.add(0);
+        assertTrue(!range.contains(0), "Copy is independent");
+
+        try {
+            new RoaringBitmap().add(-1);
+            throw new AssertionError("Negative value should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        System.out.println("✓ Bitmap set operation tests passed");
+    }
+
+    private static void fill(RoaringBitmap bitmap, BitSet expected, double[] densities, Random random) {
+        for (int chunk = 0; chunk < 6; chunk++) {
+            double density = densities[random.nextInt(densities.length)];
+            int count = (int) (density * 65536);
+            for (int i = 0; i < count; i++) {
+                int value = (chunk << 16) | random.nextInt(65536);
+                bitmap.add(value);
+                expected.set(value);
+            }
+        }
+    }
+
+    /**
+     * Test attribute lookups against full scans
+     */
+    public void testAttributeLookups() {
+        System.out.println("Testing attribute lookups...");
+
+        assertEqual(testReviews.size(), index.size(), "Every review indexed");
+        assertMatches(index.country("United Kingdom"), r -> "united kingdom".equalsIgnoreCase(trim(r.getCountry())),
+                      "country");
+        assertMatches(index.country("united-kingdom"), r -> "united kingdom".equalsIgnoreCase(trim(r.getCountry())),
+                      "country, slug spelling");
+        assertMatches(index.cabin("Premium Economy"), r -> "premium economy".equalsIgnoreCase(trim(ReviewFields.cabinFlown(r))),
+                      "cabin");
+        assertMatches(index.travellerType("Family Leisure"),
+                      r -> "familyleisure".equalsIgnoreCase(trim(ReviewFields.typeTraveller(r)).replace(" ", "")),
+                      "traveller type, spacing ignored");
+        assertMatches(index.airline("emirates"), r -> "emirates".equalsIgnoreCase(r.getName()), "airline");
+
+        // Aircraft family: manufacturer dropped, variants included, longer model numbers not
+        assertMatches(index.aircraft("747"), r -> isFamily(ReviewFields.aircraft(r), "747"), "aircraft 747");
+        assertMatches(index.aircraft("Boeing 747-400"), r -> isFamily(ReviewFields.aircraft(r), "747-400"),
+                      "aircraft 747-400");
+        assertMatches(index.aircraft("A350"), r -> isFamily(ReviewFields.aircraft(r), "a350"), "aircraft A350");
+        assertTrue(index.aircraft("A350").cardinality() > 0, "A350 reviews exist");
+        assertEqual(0, index.aircraft("A3").cardinality(), "Prefix of a model number is not a family");
+        assertEqual(0, index.cabin("").cardinality(), "Empty values are not indexed");
+        assertEqual(0, index.country("Atlantis").cardinality(), "Unknown value");
+
+        int total = index.getValueCounts(ReviewBitmapIndex.Attribute.CABIN).values().stream().mapToInt(Integer::intValue).sum();
+        long withCabin = testReviews.stream().filter(r -> !trim(ReviewFields.cabinFlown(r)).isEmpty()).count();
+        assertEqual(withCabin, (long) total, "Value counts cover every review with a cabin");
+
+        System.out.println("✓ Attribute lookup tests passed");
+    }
+
+    /**
+     * Test combined filters, including the date range
+     */
+    public void testCombinedFilters() {
+        System.out.println("Testing combined filters...");
+
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.minusDays(90);
+        RoaringBitmap recent = index.dateRange(start, today);
+        assertMatches(recent, r -> inRange(r, start, today), "date range");
+
+        // "Business cabin, Solo Leisure, A350, last 90 days" - the generated data has
+        // "Leisure" rather than "Solo Leisure", so the example uses that traveller type
+        RoaringBitmap filter = RoaringBitmap.andAll(index.cabin("Business"), index.travellerType("Leisure"),
+                                                    index.aircraft("A350"), recent);
+        Predicate<ReviewRecord> expected = r -> "business".equalsIgnoreCase(trim(ReviewFields.cabinFlown(r)))
+            && "leisure".equalsIgnoreCase(trim(ReviewFields.typeTraveller(r)))
+            && isFamily(ReviewFields.aircraft(r), "a350") && inRange(r, start, today);
+        assertMatches(filter, expected, "cabin AND traveller AND aircraft AND date");
+        assertTrue(filter.cardinality() > 0, "Example filter matches reviews");
+
+        RoaringBitmap attributes = RoaringBitmap.and(index.cabin("Business"), index.aircraft("A350"));
+        assertEqual(RoaringBitmap.and(attributes, recent), index.filterByDate(attributes, start, today),
+                    "filterByDate equals and with the date range");
+
+        RoaringBitmap orFilter = RoaringBitmap.or(index.country("Canada"), index.country("Australia"));
+        assertMatches(orFilter, r -> trim(r.getCountry()).equalsIgnoreCase("canada")
+                                     || trim(r.getCountry()).equalsIgnoreCase("australia"), "country OR");
+        RoaringBitmap notEconomy = RoaringBitmap.andNot(index.all(), index.cabin("Economy"));
+        assertMatches(notEconomy, r -> !"economy".equalsIgnoreCase(trim(ReviewFields.cabinFlown(r))), "all ANDNOT cabin");
+
+        List<ReviewRecord> materialized = index.getReviews(filter);
+        assertEqual(filter.cardinality(), materialized.size(), "Materialized size");
+        for (ReviewRecord review : materialized) {
+            assertTrue(expected.test(review), "Materialized review matches");
+        }
+
+        System.out.println("✓ Combined filter tests passed");
+    }
+
+    private void assertMatches(RoaringBitmap actual, Predicate<ReviewRecord> predicate, String message) {
+        RoaringBitmap expected = new RoaringBitmap();
+        for (int id = 0; id < testReviews.size(); id++) {
+            if (predicate.test(testReviews.get(id))) {
+                expected.add(id);
+            }
+        }
+        assertEqual(expected.cardinality(), actual.cardinality(), message + " cardinality");
+        assertEqual(expected, actual, message);
+    }
+
+    private static boolean inRange(ReviewRecord review, LocalDate start, LocalDate end) {
+        int day = ReviewDates.toEpochDay(review.getDate());
+        return day >= start.toEpochDay() && day <= end.toEpochDay();
+    }
+
+    // Aircraft in the family of model (lower-case, manufacturer-free), by plain string checks
+    private static boolean isFamily(String aircraft, String model) {
+        String text = trim(aircraft).toLowerCase().replaceFirst("^(airbus|boeing|embraer|bombardier)", "").trim();
+        if (text.matches("b[0-9].*")) {
+            text = text.substring(1);
+        }
+        text = text.replaceAll("[^a-z0-9-]", "").replaceFirst("^-+", "");
+        return text.startsWith(model) && (text.length() == model.length()
+                                          || !Character.isLetterOrDigit(text.charAt(model.length())));
+    }
+
+    private static String trim(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    private void assertSame(BitSet expected, RoaringBitmap actual, String message) {
+        assertEqual(expected.cardinality(), actual.cardinality(), message + " cardinality");
+        int[] values = actual.toArray();
+        int[] expectedValues = expected.stream().toArray();
+        assertTrue(java.util.Arrays.equals(expectedValues, values), message + " values");
+    }
+
+    private void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("Assertion failed: " + message);
+        }
+    }
+
+    private void assertEqual(Object expected, Object actual, String message) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError("Assertion failed: " + message + " - Expected: " + expected + ", Actual: " + actual);
+        }
+    }
+
+    public void runAllTests() throws IOException {
+        System.out.println("=== Running Bitmap Index Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testSetOperations();
+            testAttributeLookups();
+            testCombinedFilters();
+
+            System.out.println();
+            System.out.println("🎉 All bitmap index tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        BitmapIndexTest test = new BitmapIndexTest();
+        test.runAllTests();
+    }
+}
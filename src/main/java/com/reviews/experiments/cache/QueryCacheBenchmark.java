@@ -0,0 +1,83 @@
+package com.reviews.experiments.cache;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.CachedReviewQueries;
+import com.reviews.datastructures.QueryResultCache;
+import com.reviews.datastructures.ReviewQueryService;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Dashboard workload against the AVL store with and without the QueryResultCache:
+ * random top-k and RBAR lookups, with one insert every N queries.
+ */
+public class QueryCacheBenchmark {
+
+    private static final int REVIEWS = 20_000;
+    private static final int QUERIES = 4_000;
+    private static final int[] QUERIES_PER_INSERT = {0, 1000, 100, 10};
+
+    private static double run(ReviewQueryService.Backend queries, Consumer<ReviewRecord> insert,
+                              String[] airlines, List<ReviewRecord> extra, int queriesPerInsert) {
+        Random random = new Random(7);
+        int inserted = 0;
+        double sink = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            if (queriesPerInsert > 0 && i % queriesPerInsert == queriesPerInsert - 1) {
+                insert.accept(extra.get(inserted++ % extra.size()));
+            }
+            String airline = airlines[random.nextInt(airlines.length)];
+            if (random.nextBoolean()) {
+                sink += queries.topK(airline, 10).size();
+            } else {
+                sink += queries.rbar(airline);
+            }
+        }
+        double micros = (System.nanoTime() - startTime) / 1e3 / QUERIES;
+        return sink == Double.MIN_VALUE ? -1 : micros;
+    }
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== Query Result Cache: dashboard workload on the AVL store ===");
+        System.out.println(REVIEWS + " reviews, " + QUERIES + " queries per run (top-k and RBAR, random airline)");
+        System.out.println();
+
+        List<ReviewRecord> reviews = AVLPerformanceBenchmark.generateTestData(REVIEWS + 5000);
+        List<ReviewRecord> extra = reviews.subList(REVIEWS, reviews.size());
+
+        System.out.printf("%-18s %-16s %-16s %-10s %-10s%n",
+                          "Queries/insert", "Uncached (us)", "Cached (us)", "Speedup", "Hit ratio");
+        System.out.println("----------------------------------------------------------------------");
+        for (int queriesPerInsert : QUERIES_PER_INSERT) {
+            AVLReviewStore plain = new AVLReviewStore();
+            plain.addReviews(reviews.subList(0, REVIEWS));
+            String[] airlines = plain.getAllAirlines().toArray(new String[0]);
+            ReviewQueryService.Backend uncached = ReviewQueryService.backend(plain::getTopKRecentReviews,
+                                                                             plain::calculateRecencyBiasedAverageRating,
+                                                                             plain::scoreAllAirlines, plain::size);
+            double uncachedMicros = run(uncached, plain::addReview, airlines, extra, queriesPerInsert);
+
+            AVLReviewStore store = new AVLReviewStore();
+            store.addReviews(reviews.subList(0, REVIEWS));
+            CachedReviewQueries cached = new CachedReviewQueries(
+                ReviewQueryService.backend(store::getTopKRecentReviews, store::calculateRecencyBiasedAverageRating,
+                                           store::scoreAllAirlines, store::size),
+                store::addReview, new QueryResultCache(10_000));
+            double cachedMicros = run(cached, cached::addReview, airlines, extra, queriesPerInsert);
+
+            System.out.printf("%-18s %-16.2f %-16.2f %-10s %-10.3f%n",
+                              queriesPerInsert == 0 ? "no inserts" : String.valueOf(queriesPerInsert),
+                              uncachedMicros, cachedMicros, String.format("%.1fx", uncachedMicros / cachedMicros),
+                              cached.getCache().getHitRatio());
+        }
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
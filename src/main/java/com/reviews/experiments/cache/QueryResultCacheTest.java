@@ -0,0 +1,202 @@
+package com.reviews.experiments.cache;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.CachedReviewQueries;
+import com.reviews.datastructures.QueryResultCache;
+import com.reviews.datastructures.ReviewQueryService;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test suite for the QueryResultCache and CachedReviewQueries.
+ * Cached answers must equal the store's, an insert must invalidate only its own airline
+ * (and the leaderboard), a new day must drop everything, and the size bound must hold.
+ */
+public class QueryResultCacheTest {
+
+    private List<ReviewRecord> testReviews;
+
+    public void setUp() {
+        testReviews = AVLPerformanceBenchmark.generateTestData(3000);
+    }
+
+    private static ReviewRecord review(String airline, LocalDate date, double rating) {
+        return new AirlineReview(airline, "link", "Title", "Author", "France", date.toString(), "content",
+                                 "A320", "Solo Leisure", "Economy Class", "Route", rating,
+                                 rating, rating, rating, rating, rating, rating, rating, rating >= 4 ? 1 : 0);
+    }
+
+    private static CachedReviewQueries cached(AVLReviewStore store, QueryResultCache cache) {
+        return new CachedReviewQueries(ReviewQueryService.backend(store::getTopKRecentReviews,
+                                                                  store::calculateRecencyBiasedAverageRating,
+                                                                  store::scoreAllAirlines,
+                                                                  store::size),
+                                       store::addReview, cache);
+    }
+
+    public void testHitsMatchStore() {
+        System.out.println("Testing cached answers and hits...");
+
+        AVLReviewStore store = new AVLReviewStore();
+        store.addReviews(testReviews);
+        QueryResultCache cache = new QueryResultCache(1000);
+        CachedReviewQueries queries = cached(store, cache);
+
+        for (int round = 0; round < 3; round++) {
+            for (String airline : store.getAllAirlines()) {
+                if (!queries.topK(airline, 5).equals(store.getTopKRecentReviews(airline, 5))) {
+                    throw new AssertionError("Cached top-k differs for " + airline);
+                }
+                if (queries.rbar(airline) != store.calculateRecencyBiasedAverageRating(airline)) {
+                    throw new AssertionError("Cached RBAR differs for " + airline);
+                }
+            }
+        }
+        int airlines = store.getAllAirlines().size();
+        if ((Long) cache.getMetrics().get("misses") != 2L * airlines
+                || (Long) cache.getMetrics().get("hits") != 4L * airlines) {
+            throw new AssertionError("Expected " + 2 * airlines + " misses, got " + cache.getMetrics());
+        }
+        if (Math.abs(cache.getHitRatio() - 2.0 / 3.0) > 1e-9) {
+            throw new AssertionError("Expected hit ratio 2/3, got " + cache.getHitRatio());
+        }
+        // Different parameters are different entries
+        String airline = store.getAllAirlines().iterator().next();
+        if (queries.topK(airline, 3).size() != 3 || queries.topK(airline, 5).size() != 5) {
+            throw new AssertionError("k must be part of the cache key");
+        }
+        try {
+            queries.topK(airline, 5).clear();
+            throw new AssertionError("Cached lists must be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // shared result cannot be modified by a caller
+        }
+
+        System.out.println("✓ Cached answer test passed");
+    }
+
+    public void testPerAirlineInvalidation() {
+        System.out.println("Testing per-airline invalidation...");
+
+        AVLReviewStore store = new AVLReviewStore();
+        store.addReviews(testReviews);
+        QueryResultCache cache = new QueryResultCache(1000);
+        CachedReviewQueries queries = cached(store, cache);
+
+        Iterator<String> names = store.getAllAirlines().iterator();
+        String changed = names.next();
+        String untouched = names.next();
+        queries.topK(changed, 5);
+        queries.topK(untouched, 5);
+        double before = queries.leaderboard().getScore(changed);
+
+        ReviewRecord inserted = review(changed, LocalDate.now(), 1.0);
+        queries.addReview(inserted);
+        long hitsBefore = (Long) cache.getMetrics().get("hits");
+        List<ReviewRecord> top = queries.topK(changed, 5);
+        if (!top.contains(inserted) || !top.equals(store.getTopKRecentReviews(changed, 5))) {
+            throw new AssertionError("Insert did not invalidate " + changed + "'s top-k");
+        }
+        queries.topK(untouched, 5);
+        if ((Long) cache.getMetrics().get("hits") != hitsBefore + 1) {
+            throw new AssertionError("Insert into " + changed + " must not invalidate " + untouched);
+        }
+        double after = queries.leaderboard().getScore(changed);
+        if (after >= before || after != store.calculateRecencyBiasedAverageRating(changed)) {
+            throw new AssertionError("Leaderboard not refreshed after insert: " + before + " -> " + after);
+        }
+        if (cache.getVersion(changed) != 1 || cache.getVersion(untouched) != 0) {
+            throw new AssertionError("Unexpected versions " + cache.getVersion(changed) + "/" + cache.getVersion(untouched));
+        }
+
+        // A result computed while an insert lands must not be served afterwards
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(untouched, "racy", null, () -> {
+            loads.incrementAndGet();
+            cache.invalidate(untouched);
+            return 1;
+        });
+        cache.get(untouched, "racy", null, () -> loads.incrementAndGet());
+        if (loads.get() != 2) {
+            throw new AssertionError("Result computed before an insert was served after it");
+        }
+
+        System.out.println("✓ Per-airline invalidation test passed");
+    }
+
+    public void testDailyRollover() {
+        System.out.println("Testing daily rollover...");
+
+        AtomicReference<LocalDate> today = new AtomicReference<>(LocalDate.of(2024, 5, 1));
+        QueryResultCache cache = new QueryResultCache(100, today::get);
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            cache.get("Air X", "rbar", null, loads::incrementAndGet);
+        }
+        if (loads.get() != 1) {
+            throw new AssertionError("Expected one load within a day, got " + loads.get());
+        }
+        today.set(LocalDate.of(2024, 5, 2));
+        cache.get("Air X", "rbar", null, loads::incrementAndGet);
+        if (loads.get() != 2 || (Long) cache.getMetrics().get("rollovers") != 1L || cache.size() != 1) {
+            throw new AssertionError("New day must drop cached results: " + cache.getMetrics());
+        }
+
+        System.out.println("✓ Daily rollover test passed");
+    }
+
+    public void testEviction() {
+        System.out.println("Testing size-bounded eviction...");
+
+        QueryResultCache cache = new QueryResultCache(10);
+        for (int i = 0; i < 10; i++) {
+            cache.get("Air X", "topk", i, () -> "value");
+        }
+        // Touch entry 0 so entry 1 is the least recently used
+        cache.get("Air X", "topk", 0, () -> "reloaded");
+        cache.get("Air X", "topk", 10, () -> "value");
+        if (cache.size() != 10 || (Long) cache.getMetrics().get("evictions") != 1L) {
+            throw new AssertionError("Expected 10 entries and 1 eviction, got " + cache.getMetrics());
+        }
+        if (!cache.get("Air X", "topk", 0, () -> "reloaded").equals("value")) {
+            throw new AssertionError("Recently used entry was evicted");
+        }
+        if (!cache.get("Air X", "topk", 1, () -> "reloaded").equals("reloaded")) {
+            throw new AssertionError("Least recently used entry was not evicted");
+        }
+
+        System.out.println("✓ Eviction test passed");
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running QueryResultCache Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testHitsMatchStore();
+            testPerAirlineInvalidation();
+            testDailyRollover();
+            testEviction();
+
+            System.out.println();
+            System.out.println("🎉 All query cache tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) {
+        QueryResultCacheTest test = new QueryResultCacheTest();
+        test.runAllTests();
+    }
+}
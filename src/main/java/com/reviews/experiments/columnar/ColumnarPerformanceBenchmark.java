@@ -0,0 +1,107 @@
+package com.reviews.experiments.columnar;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ColumnarReviewStore;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Performance comparison of the columnar engine against the linear list baseline.
+ * Both stores scan every review per query, so the difference is purely the layout:
+ * primitive columns versus ReviewRecord objects with string dates.
+ */
+public class ColumnarPerformanceBenchmark {
+
+    /**
+     * Average milliseconds per RBAR call over random airlines.
+     */
+    private static double timeRBAR(ColumnarReviewStore store, String[] airlines, int iterations) {
+        Random random = new Random(456);
+        long totalTime = 0;
+        for (int i = 0; i < iterations; i++) {
+            String airline = airlines[random.nextInt(airlines.length)];
+            long startTime = System.nanoTime();
+            store.calculateRecencyBiasedAverageRating(airline);
+            totalTime += System.nanoTime() - startTime;
+        }
+        return totalTime / (double) iterations / 1_000_000.0;
+    }
+
+    private static double timeRBAR(LinearListReviewStore store, String[] airlines, int iterations) {
+        Random random = new Random(456);
+        long totalTime = 0;
+        for (int i = 0; i < iterations; i++) {
+            String airline = airlines[random.nextInt(airlines.length)];
+            long startTime = System.nanoTime();
+            store.calculateRecencyBiasedAverageRating(airline);
+            totalTime += System.nanoTime() - startTime;
+        }
+        return totalTime / (double) iterations / 1_000_000.0;
+    }
+
+    /**
+     * Run the comparison for increasing data sizes.
+     */
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== ColumnarReviewStore vs LinearListReviewStore ===");
+        System.out.println();
+
+        int[] sizes = {1000, 10000, 50000, 200000};
+        System.out.printf("%-10s %-14s %-14s %-14s %-14s %-14s %-12s %-10s%n",
+                          "Size", "List RBAR", "Column RBAR", "List Top-10", "Column Top-10",
+                          "Column Count", "Scan GB/s", "Bytes/row");
+        System.out.println("-------------------------------------------------------------------------------------------------------");
+
+        for (int size : sizes) {
+            List<ReviewRecord> data = AVLPerformanceBenchmark.generateTestData(size);
+            LinearListReviewStore list = new LinearListReviewStore();
+            list.addReviews(data);
+            ColumnarReviewStore columns = new ColumnarReviewStore();
+            columns.addReviews(data);
+            String[] airlines = columns.getAllAirlines().toArray(new String[0]);
+
+            // Warm up both paths before measuring
+            timeRBAR(list, airlines, 20);
+            timeRBAR(columns, airlines, 200);
+
+            int iterations = size >= 50000 ? 20 : 100;
+            double listRbar = timeRBAR(list, airlines, iterations);
+            double columnRbar = timeRBAR(columns, airlines, iterations * 10);
+
+            long startTime = System.nanoTime();
+            list.getTopKRecentReviews(airlines[0], 10);
+            double listTopK = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            startTime = System.nanoTime();
+            columns.getTopKRecentReviews(airlines[0], 10);
+            double columnTopK = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            LocalDate now = LocalDate.now();
+            for (int i = 0; i < 200; i++) {
+                columns.countReviewsInDateRange(now.minusDays(365), now);
+            }
+            startTime = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                columns.countReviewsInDateRange(now.minusDays(365), now);
+            }
+            double countMs = (System.nanoTime() - startTime) / (double) iterations / 1_000_000.0;
+            // The date count touches only the 4-byte epoch-day column
+            double gbPerSecond = (size * (double) Integer.BYTES) / (countMs / 1000.0) / 1e9;
+
+            System.out.printf("%-10d %-14.3f %-14.4f %-14.3f %-14.4f %-14.4f %-12.2f %-10d%n",
+                              size, listRbar, columnRbar, listTopK, columnTopK, countMs, gbPerSecond,
+                              columns.getColumnBytes() / size);
+        }
+        System.out.println();
+        System.out.println("Bytes/row is the columnar store's whole per-review footprint: the primitive columns plus");
+        System.out.println("the content side table. It keeps no ReviewRecord objects; results are rebuilt on demand.");
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,184 @@
+package com.reviews.experiments.columnar;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ColumnarReviewStore;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.datastructures.OffHeapReviewStore;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test suite for the ColumnarReviewStore implementation.
+ * The columnar engine must answer every query exactly like the linear list baseline.
+ * Results are rebuilt from the columns, so they are compared field by field.
+ */
+public class ColumnarReviewStoreTest {
+
+    private ColumnarReviewStore store;
+    private LinearListReviewStore baseline;
+    private List<ReviewRecord> testReviews;
+
+    public void setUp() {
+        testReviews = AVLPerformanceBenchmark.generateTestData(3000);
+        store = new ColumnarReviewStore();
+        store.addReviews(testReviews);
+        baseline = new LinearListReviewStore();
+        baseline.addReviews(testReviews);
+    }
+
+    private static String key(ReviewRecord review) {
+        return review.getName() + "|" + review.getDate() + "|" + (float) review.getOverallRating()
+               + "|" + review.getCountry() + "|" + review.getContent();
+    }
+
+    private static List<String> keys(List<ReviewRecord> reviews) {
+        List<String> result = new ArrayList<>();
+        for (ReviewRecord review : reviews) {
+            result.add(key(review));
+        }
+        return result;
+    }
+
+    public void testBasicOperations() {
+        System.out.println("Testing basic columnar store operations...");
+
+        if (store.size() != 3000) {
+            throw new AssertionError("Expected size 3000, got " + store.size());
+        }
+
+        store.clear();
+        if (store.size() != 0 || !store.getAllAirlines().isEmpty()) {
+            throw new AssertionError("Expected empty store after clear");
+        }
+
+        store.addReview(testReviews.get(0));
+        if (store.size() != 1) {
+            throw new AssertionError("Expected size 1 after adding one review, got " + store.size());
+        }
+
+        // Restore all test data for subsequent tests
+        store.clear();
+        store.addReviews(testReviews);
+
+        System.out.println("✓ Basic operations test passed");
+    }
+
+    public void testMatchesBaseline() {
+        System.out.println("Testing query results against the linear list...");
+
+        if (!store.getAllAirlines().equals(baseline.getAllAirlines())) {
+            throw new AssertionError("Airline sets differ");
+        }
+
+        for (String airline : baseline.getAllAirlines()) {
+            if (!keys(store.getReviewsByAirline(airline)).equals(keys(baseline.getReviewsByAirline(airline)))) {
+                throw new AssertionError("Reviews by airline differ for " + airline);
+            }
+            for (int k : new int[] {1, 5, 50, 10_000}) {
+                if (!keys(store.getTopKRecentReviews(airline, k)).equals(keys(baseline.getTopKRecentReviews(airline, k)))) {
+                    throw new AssertionError("Top-" + k + " differs for " + airline);
+                }
+            }
+            double expected = baseline.calculateRecencyBiasedAverageRating(airline);
+            double actual = store.calculateRecencyBiasedAverageRating(airline);
+            if (Math.abs(expected - actual) > 1e-6) {
+                throw new AssertionError("RBAR differs for " + airline + ": " + actual + " vs " + expected);
+            }
+        }
+
+        LocalDate now = LocalDate.now();
+        List<ReviewRecord> range = store.getReviewsInDateRange(now.minusDays(400), now.minusDays(100));
+        if (!keys(range).equals(keys(baseline.getReviewsInDateRange(now.minusDays(400), now.minusDays(100))))) {
+            throw new AssertionError("Date range results differ");
+        }
+        if (store.countReviewsInDateRange(now.minusDays(400), now.minusDays(100)) != range.size()) {
+            throw new AssertionError("Date range count differs from materialized range");
+        }
+        if (!keys(store.getAllReviewsSortedByDate()).equals(keys(baseline.getAllReviewsSortedByDate()))) {
+            throw new AssertionError("Sorted-by-date order differs");
+        }
+
+        System.out.println("✓ Baseline comparison test passed");
+    }
+
+    public void testNonExistentAirline() {
+        System.out.println("Testing queries for a non-existent airline...");
+
+        if (!store.getTopKRecentReviews("NonExistent", 5).isEmpty()
+                || !store.getReviewsByAirline("NonExistent").isEmpty()
+                || store.calculateRecencyBiasedAverageRating("NonExistent") != 0.0
+                || store.getAirlineId("NonExistent") != -1) {
+            throw new AssertionError("Expected empty results for non-existent airline");
+        }
+
+        System.out.println("✓ Non-existent airline test passed");
+    }
+
+    public void testSubRatingsAndFlags() {
+        System.out.println("Testing sub-rating and recommended columns...");
+
+        ColumnarReviewStore small = new ColumnarReviewStore();
+        LocalDate now = LocalDate.now();
+        small.addReview(new AirlineReview("Delta", "l1", "t", "a", "USA", now.toString(), "c", "Boeing 737",
+                                          "Solo Leisure", "Economy", "LAX-JFK", 8.0, 4.0, 5.0, 0.0, 3.0, 2.0, 1.0, 4.0, 1));
+        small.addReview(new AirlineReview("Delta", "l2", "t", "a", "USA", now.toString(), "c", "Boeing 737",
+                                          "Business", "Business Class", "LAX-JFK", 6.0, 2.0, 3.0, 4.0, 3.0, 2.0, 1.0, 4.0, 0));
+
+        if (Math.abs(small.getAverageSubRating("Delta", 0) - 3.0) > 1e-9) {
+            throw new AssertionError("Seat comfort average should be 3.0");
+        }
+        if (Math.abs(small.getAverageSubRating("Delta", 2) - 4.0) > 1e-9) {
+            throw new AssertionError("Unrated food score should be ignored, expected 4.0");
+        }
+        if (Math.abs(small.getRecommendationRate("Delta") - 0.5) > 1e-9) {
+            throw new AssertionError("Expected recommendation rate 0.5");
+        }
+
+        OffHeapReviewStore.StoredReview review = (OffHeapReviewStore.StoredReview) small.getReviewsByAirline("Delta").get(0);
+        if (!review.getContent().equals("c") || !review.getDate().equals(now.toString())
+                || review.getOverallRating() != 8.0 || !review.getCountry().equals("USA")
+                || review.getSubRating(1) != 5.0 || review.getRecommended() != 1
+                || !"Economy".equals(review.getCabinFlown()) || !"Solo Leisure".equals(review.getTypeTraveller())) {
+            throw new AssertionError("Fields did not round trip through the columns");
+        }
+
+        Map<String, Object> stats = small.getStatistics();
+        if (!stats.get("totalReviews").equals(2) || !now.equals(stats.get("newestReview"))) {
+            throw new AssertionError("Unexpected statistics: " + stats);
+        }
+
+        System.out.println("✓ Sub-rating and flag test passed");
+        System.out.println("  Column bytes for " + store.size() + " reviews: " + store.getColumnBytes());
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running ColumnarReviewStore Tests ===");
+        System.out.println();
+
+        setUp();
+
+        try {
+            testBasicOperations();
+            testMatchesBaseline();
+            testNonExistentAirline();
+            testSubRatingsAndFlags();
+
+            System.out.println();
+            System.out.println("🎉 All columnar store tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) {
+        ColumnarReviewStoreTest test = new ColumnarReviewStoreTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,190 @@
+package com.reviews.experiments.concurrent;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ConcurrentReviewStore;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test suite for the ConcurrentReviewStore implementation.
+ * Single-threaded results must match the linear list; concurrent writers must not lose
+ * reviews, and readers running alongside them must never fail or see torn state.
+ */
+public class ConcurrentReviewStoreTest {
+
+    private ConcurrentReviewStore store;
+    private LinearListReviewStore baseline;
+    private List<ReviewRecord> testReviews;
+
+    public void setUp() {
+        testReviews = AVLPerformanceBenchmark.generateTestData(3000);
+        store = new ConcurrentReviewStore();
+        store.addReviews(testReviews);
+        baseline = new LinearListReviewStore();
+        baseline.addReviews(testReviews);
+    }
+
+    public void testMatchesBaseline() {
+        System.out.println("Testing single-threaded results against the linear list...");
+
+        if (store.size() != baseline.size()) {
+            throw new AssertionError("Expected size " + baseline.size() + ", got " + store.size());
+        }
+        if (!store.getAllAirlines().equals(baseline.getAllAirlines())) {
+            throw new AssertionError("Airline sets differ");
+        }
+        for (String airline : baseline.getAllAirlines()) {
+            if (!store.getTopKRecentReviews(airline, 25).equals(baseline.getTopKRecentReviews(airline, 25))) {
+                throw new AssertionError("Top-k differs for " + airline);
+            }
+            double expected = baseline.calculateRecencyBiasedAverageRating(airline);
+            if (Math.abs(expected - store.calculateRecencyBiasedAverageRating(airline)) > 1e-9) {
+                throw new AssertionError("RBAR differs for " + airline);
+            }
+            if (!store.getReviewsByAirline(airline).equals(baseline.getReviewsByAirline(airline))) {
+                throw new AssertionError("Airline reviews differ for " + airline);
+            }
+        }
+        if (!store.getAllReviewsSortedByDate().equals(baseline.getAllReviewsSortedByDate())) {
+            throw new AssertionError("Global date order differs");
+        }
+        LocalDate now = LocalDate.now();
+        Set<ReviewRecord> expectedRange = new HashSet<>(baseline.getReviewsInDateRange(now.minusDays(200), now));
+        if (!new HashSet<>(store.getReviewsInDateRange(now.minusDays(200), now)).equals(expectedRange)) {
+            throw new AssertionError("Date range differs");
+        }
+
+        store.clear();
+        if (store.size() != 0 || !store.getAllAirlines().isEmpty()) {
+            throw new AssertionError("Expected empty store after clear");
+        }
+
+        System.out.println("✓ Baseline comparison test passed");
+    }
+
+    public void testConcurrentWriters() throws InterruptedException {
+        System.out.println("Testing concurrent writers...");
+
+        ConcurrentReviewStore concurrent = new ConcurrentReviewStore();
+        int threads = 8;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            workers.add(new Thread(() -> {
+                for (int i = offset; i < testReviews.size(); i += threads) {
+                    concurrent.addReview(testReviews.get(i));
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        if (concurrent.size() != testReviews.size()) {
+            throw new AssertionError("Lost reviews: expected " + testReviews.size() + ", got " + concurrent.size());
+        }
+        for (String airline : baseline.getAllAirlines()) {
+            if (concurrent.getReviewsByAirline(airline).size() != baseline.getReviewsByAirline(airline).size()) {
+                throw new AssertionError("Partition size differs for " + airline);
+            }
+            double expected = baseline.calculateRecencyBiasedAverageRating(airline);
+            if (Math.abs(expected - concurrent.calculateRecencyBiasedAverageRating(airline)) > 1e-6) {
+                throw new AssertionError("RBAR differs after concurrent ingest for " + airline);
+            }
+        }
+
+        System.out.println("✓ Concurrent writer test passed");
+    }
+
+    public void testReadersDuringWrites() throws InterruptedException {
+        System.out.println("Testing readers running alongside writers...");
+
+        ConcurrentReviewStore concurrent = new ConcurrentReviewStore();
+        List<String> airlines = new ArrayList<>(baseline.getAllAirlines());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> concurrent.addReviews(testReviews));
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            readers.add(new Thread(() -> {
+                try {
+                    int lastSize = 0;
+                    while (writer.isAlive()) {
+                        for (String airline : airlines) {
+                            double rating = concurrent.calculateRecencyBiasedAverageRating(airline);
+                            if (rating < 0.0 || rating > 10.0) {
+                                throw new AssertionError("RBAR out of range: " + rating);
+                            }
+                            for (ReviewRecord review : concurrent.getTopKRecentReviews(airline, 5)) {
+                                if (review == null || !review.getName().equals(airline)) {
+                                    throw new AssertionError("Torn top-k result for " + airline);
+                                }
+                            }
+                        }
+                        int size = concurrent.getAllReviewsSortedByDate().size();
+                        if (size < lastSize) {
+                            throw new AssertionError("Store shrank from " + lastSize + " to " + size);
+                        }
+                        lastSize = size;
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        writer.start();
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError("Reader failed: " + failure.get());
+        }
+        if (concurrent.size() != testReviews.size()) {
+            throw new AssertionError("Expected size " + testReviews.size() + ", got " + concurrent.size());
+        }
+
+        System.out.println("✓ Readers during writes test passed");
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running ConcurrentReviewStore Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testMatchesBaseline();
+            setUp();
+            testConcurrentWriters();
+            testReadersDuringWrites();
+
+            System.out.println();
+            System.out.println("🎉 All concurrent store tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted", e);
+        }
+    }
+
+    public static void main(String[] args) {
+        ConcurrentReviewStoreTest test = new ConcurrentReviewStoreTest();
+        test.runAllTests();
+    }
+}
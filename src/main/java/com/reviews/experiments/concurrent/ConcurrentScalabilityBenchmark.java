@@ -0,0 +1,138 @@
+package com.reviews.experiments.concurrent;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.ConcurrentReviewStore;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Scalability of the lock-striped ConcurrentReviewStore versus an AVLReviewStore behind a
+ * single global lock (what callers had to do before), from 1 to 64 threads.
+ * Every thread runs the same mixed workload: 20% inserts, 80% RBAR / top-k reads, spread
+ * over all airlines. The total number of operations is fixed and split across the threads,
+ * so throughput (operations per second across all threads) is directly comparable per row.
+ */
+public class ConcurrentScalabilityBenchmark {
+
+    private static final int TOTAL_OPS = 64_000;
+    private static final int WRITE_PERCENT = 20;
+
+    private interface Workload {
+        void insert(ReviewRecord review);
+
+        double read(String airline, boolean topK);
+    }
+
+    /**
+     * The pre-existing pattern: one AVL store, every call under the same monitor.
+     */
+    private static final class GlobalLockAVL implements Workload {
+        private final AVLReviewStore store = new AVLReviewStore();
+
+        public synchronized void insert(ReviewRecord review) {
+            store.addReview(review);
+        }
+
+        public synchronized double read(String airline, boolean topK) {
+            return topK ? store.getTopKRecentReviews(airline, 10).size()
+                        : store.calculateRecencyBiasedAverageRating(airline);
+        }
+    }
+
+    private static final class Striped implements Workload {
+        private final ConcurrentReviewStore store = new ConcurrentReviewStore();
+
+        public void insert(ReviewRecord review) {
+            store.addReview(review);
+        }
+
+        public double read(String airline, boolean topK) {
+            return topK ? store.getTopKRecentReviews(airline, 10).size()
+                        : store.calculateRecencyBiasedAverageRating(airline);
+        }
+    }
+
+    /**
+     * Run the mixed workload on the given number of threads and return operations per second.
+     */
+    private static double run(Workload workload, int threads, List<ReviewRecord> seed,
+                              List<ReviewRecord> inserts, String[] airlines) throws InterruptedException {
+        for (ReviewRecord review : seed) {
+            workload.insert(review);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        double[] sinks = new double[threads];
+        int opsPerThread = TOTAL_OPS / threads;
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                double sink = 0;
+                try {
+                    start.await();
+                    for (int i = 0; i < opsPerThread; i++) {
+                        int dice = random.nextInt(100);
+                        if (dice < WRITE_PERCENT) {
+                            workload.insert(inserts.get(random.nextInt(inserts.size())));
+                        } else {
+                            sink += workload.read(airlines[random.nextInt(airlines.length)], dice < 30);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sinks[id] = sink;
+                done.countDown();
+            });
+            worker.start();
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        return threads * (double) opsPerThread / seconds;
+    }
+
+    public static void runComprehensiveBenchmark() throws InterruptedException {
+        System.out.println("=== ConcurrentReviewStore vs global-lock AVLReviewStore ===");
+        System.out.println("Mixed workload: " + WRITE_PERCENT + "% inserts, "
+                           + (100 - WRITE_PERCENT) + "% RBAR/top-k reads, "
+                           + TOTAL_OPS + " ops split across the threads");
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println();
+        System.out.printf("%-8s %-18s %-18s %-10s%n", "Threads", "Global lock ops/s", "Striped ops/s", "Speedup");
+        System.out.println("------------------------------------------------------------");
+
+        List<ReviewRecord> seed = AVLPerformanceBenchmark.generateTestData(5000);
+        List<ReviewRecord> inserts = AVLPerformanceBenchmark.generateTestData(5000);
+        Set<String> names = new HashSet<>();
+        for (ReviewRecord review : seed) {
+            names.add(review.getName());
+        }
+        String[] airlines = new ArrayList<>(names).toArray(new String[0]);
+
+        // Warm up both implementations so the first row is not dominated by JIT compilation
+        run(new GlobalLockAVL(), 4, seed, inserts, airlines);
+        run(new Striped(), 4, seed, inserts, airlines);
+
+        for (int threads : new int[] {1, 2, 4, 8, 16, 32, 64}) {
+            double global = run(new GlobalLockAVL(), threads, seed, inserts, airlines);
+            double striped = run(new Striped(), threads, seed, inserts, airlines);
+            System.out.printf("%-8d %-18.0f %-18.0f %-10.2f%n", threads, global, striped, striped / global);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,94 @@
+package com.reviews.experiments.cursor;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.ColumnarReviewStore;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.datastructures.RBTReviewStore;
+import com.reviews.datastructures.ReviewPage;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Cost of serving one page of the newest-first listing: sorting everything and slicing
+ * (getAllReviewsSortedByDate) versus resuming from a page token. Page 50 is fetched with the
+ * token of page 49, so only the seek and the page itself are timed.
+ */
+public class CursorPagingBenchmark {
+
+    private static final int REVIEWS = 20_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int TARGET_PAGE = 50;
+    private static final int REPEATS = 50;
+
+    private static void benchmarkStore(String name, Supplier<List<ReviewRecord>> sortAll,
+                                       BiFunction<String, Integer, ReviewPage> page) {
+        // Token of page TARGET_PAGE - 1, and one untimed build of any lazy date index
+        String token = null;
+        for (int p = 1; p < TARGET_PAGE; p++) {
+            token = page.apply(token, PAGE_SIZE).getNextPageToken();
+        }
+        long sink = 0;
+        for (int i = 0; i < 5; i++) {
+            sink += sortAll.get().size() + page.apply(token, PAGE_SIZE).getReviews().size();
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < REPEATS; i++) {
+            List<ReviewRecord> all = sortAll.get();
+            int from = (TARGET_PAGE - 1) * PAGE_SIZE;
+            sink += all.subList(from, Math.min(all.size(), from + PAGE_SIZE)).size();
+        }
+        double sortMs = (System.nanoTime() - startTime) / 1e6 / REPEATS;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < REPEATS; i++) {
+            sink += page.apply(null, PAGE_SIZE).getReviews().size();
+        }
+        double firstPageMs = (System.nanoTime() - startTime) / 1e6 / REPEATS;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < REPEATS; i++) {
+            sink += page.apply(token, PAGE_SIZE).getReviews().size();
+        }
+        double resumeMs = (System.nanoTime() - startTime) / 1e6 / REPEATS;
+
+        System.out.printf("%-12s %-18.3f %-18.4f %-18.4f %-10s%n", name, sortMs, firstPageMs, resumeMs,
+                          String.format("%.0fx", sortMs / resumeMs));
+        if (sink == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== Newest-First Paging: Sort-and-Slice vs Page Token ===");
+        System.out.println(REVIEWS + " reviews, pages of " + PAGE_SIZE + ", page " + TARGET_PAGE
+                           + " resumed from its token");
+        System.out.println();
+
+        List<ReviewRecord> reviews = AVLPerformanceBenchmark.generateTestData(REVIEWS);
+        LinearListReviewStore list = new LinearListReviewStore();
+        list.addReviews(reviews);
+        AVLReviewStore avl = new AVLReviewStore();
+        avl.addReviews(reviews);
+        RBTReviewStore rbt = new RBTReviewStore();
+        rbt.addReviews(reviews);
+        ColumnarReviewStore columnar = new ColumnarReviewStore();
+        columnar.addReviews(reviews);
+
+        System.out.printf("%-12s %-18s %-18s %-18s %-10s%n", "Store", "Sort+slice (ms)", "First page (ms)",
+                          "Page " + TARGET_PAGE + " (ms)", "Speedup");
+        System.out.println("------------------------------------------------------------------------------");
+        benchmarkStore("LinearList", list::getAllReviewsSortedByDate, list::getReviewsNewestFirst);
+        benchmarkStore("AVL", avl::getAllReviewsSortedByDate, avl::getReviewsNewestFirst);
+        benchmarkStore("RBT", rbt::getAllReviewsSortedByDate, rbt::getReviewsNewestFirst);
+        benchmarkStore("Columnar", columnar::getAllReviewsSortedByDate, columnar::getReviewsNewestFirst);
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,320 @@
+package com.reviews.experiments.cursor;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.ColumnarReviewStore;
+import com.reviews.datastructures.ConcurrentReviewStore;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.datastructures.OffHeapReviewStore;
+import com.reviews.datastructures.PersistentAVLReviewStore;
+import com.reviews.datastructures.RBTReviewStore;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.ReviewPage;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Test suite for the newest-first cursor API.
+ * On every store, paging with any page size must concatenate to the full newest-first
+ * listing, the lazy iterator must yield the same sequence, tokens must keep working across
+ * inserts, and tokens must be rejected after clear() or when malformed.
+ */
+public class NewestFirstCursorTest {
+
+    private static final int[] PAGE_SIZES = {1, 7, 50};
+
+    private List<ReviewRecord> testReviews;
+
+    /**
+     * The cursor surface shared by every store.
+     */
+    private interface CursorStore {
+        ReviewPage page(String token, int pageSize);
+
+        Iterator<ReviewRecord> iterator();
+
+        List<ReviewRecord> sorted();
+
+        void add(ReviewRecord review);
+
+        void clear();
+    }
+
+    private static CursorStore cursorStore(Consumer<ReviewRecord> add, Supplier<List<ReviewRecord>> sorted,
+                                           Supplier<Iterator<ReviewRecord>> iterator,
+                                           java.util.function.BiFunction<String, Integer, ReviewPage> page,
+                                           Runnable clear) {
+        return new CursorStore() {
+            public ReviewPage page(String token, int pageSize) {
+                return page.apply(token, pageSize);
+            }
+
+            public Iterator<ReviewRecord> iterator() {
+                return iterator.get();
+            }
+
+            public List<ReviewRecord> sorted() {
+                return sorted.get();
+            }
+
+            public void add(ReviewRecord review) {
+                add.accept(review);
+            }
+
+            public void clear() {
+                clear.run();
+            }
+        };
+    }
+
+    // A fresh, empty instance of every store
+    private static Map<String, CursorStore> freshStores() {
+        Map<String, CursorStore> stores = new LinkedHashMap<>();
+        LinearListReviewStore list = new LinearListReviewStore();
+        stores.put("LinearList", cursorStore(list::addReview, list::getAllReviewsSortedByDate,
+                                             list::iterateNewestFirst, list::getReviewsNewestFirst, list::clear));
+        AVLReviewStore avl = new AVLReviewStore();
+        stores.put("AVL", cursorStore(avl::addReview, avl::getAllReviewsSortedByDate,
+                                      avl::iterateNewestFirst, avl::getReviewsNewestFirst, avl::clear));
+        RBTReviewStore rbt = new RBTReviewStore();
+        stores.put("RBT", cursorStore(rbt::addReview, rbt::getAllReviewsSortedByDate,
+                                      rbt::iterateNewestFirst, rbt::getReviewsNewestFirst, rbt::clear));
+        ColumnarReviewStore columnar = new ColumnarReviewStore();
+        stores.put("Columnar", cursorStore(columnar::addReview, columnar::getAllReviewsSortedByDate,
+                                           columnar::iterateNewestFirst, columnar::getReviewsNewestFirst,
+                                           columnar::clear));
+        OffHeapReviewStore offHeap = new OffHeapReviewStore();
+        stores.put("OffHeap", cursorStore(offHeap::addReview, offHeap::getAllReviewsSortedByDate,
+                                          offHeap::iterateNewestFirst, offHeap::getReviewsNewestFirst,
+                                          offHeap::clear));
+        ConcurrentReviewStore concurrent = new ConcurrentReviewStore();
+        stores.put("Concurrent", cursorStore(concurrent::addReview, concurrent::getAllReviewsSortedByDate,
+                                             concurrent::iterateNewestFirst, concurrent::getReviewsNewestFirst,
+                                             concurrent::clear));
+        PersistentAVLReviewStore persistent = new PersistentAVLReviewStore();
+        stores.put("PersistentAVL", cursorStore(persistent::addReview, persistent::getAllReviewsSortedByDate,
+                                                persistent::iterateNewestFirst, persistent::getReviewsNewestFirst,
+                                                persistent::clear));
+        return stores;
+    }
+
+    public void setUp() {
+        testReviews = AVLPerformanceBenchmark.generateTestData(3000);
+    }
+
+    // Off-heap stores hand out fresh views, so reviews are compared by content
+    private static String signature(ReviewRecord review) {
+        return review.getName() + "|" + review.getDate() + "|" + review.getCountry() + "|" + review.getOverallRating() + "|" + review.getContent();
+    }
+
+    private static List<String> signatures(List<ReviewRecord> reviews) {
+        List<String> result = new ArrayList<>(reviews.size());
+        for (ReviewRecord review : reviews) {
+            result.add(signature(review));
+        }
+        return result;
+    }
+
+    private static List<ReviewRecord> drain(Iterator<ReviewRecord> iterator) {
+        List<ReviewRecord> result = new ArrayList<>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    private static List<ReviewRecord> pageThrough(CursorStore store, int pageSize) {
+        List<ReviewRecord> result = new ArrayList<>();
+        String token = null;
+        do {
+            ReviewPage page = store.page(token, pageSize);
+            if (page.getReviews().size() > pageSize || (page.hasMore() && page.getReviews().size() != pageSize)) {
+                throw new AssertionError("Page of " + page.getReviews().size() + " for page size " + pageSize);
+            }
+            result.addAll(page.getReviews());
+            token = page.getNextPageToken();
+            if (result.size() > store.sorted().size()) {
+                throw new AssertionError("Paging with size " + pageSize + " does not terminate");
+            }
+        } while (token != null);
+        return result;
+    }
+
+    private static Map<String, Integer> counts(List<String> signatures) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String signature : signatures) {
+            counts.merge(signature, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    public void testPagesMatchFullListing() {
+        System.out.println("Testing paged listings against getAllReviewsSortedByDate...");
+
+        for (Map.Entry<String, CursorStore> entry : freshStores().entrySet()) {
+            CursorStore store = entry.getValue();
+            for (ReviewRecord review : testReviews) {
+                store.add(review);
+            }
+            List<String> full = signatures(store.sorted());
+            List<String> iterated = signatures(drain(store.iterator()));
+            for (int i = 1; i < iterated.size(); i++) {
+                if (ReviewDates.toEpochDay(iterated.get(i).split("\\|")[1])
+                    > ReviewDates.toEpochDay(iterated.get(i - 1).split("\\|")[1])) {
+                    throw new AssertionError(entry.getKey() + " cursor is not newest first at " + i);
+                }
+            }
+            if (!counts(iterated).equals(counts(full))) {
+                throw new AssertionError(entry.getKey() + " cursor does not hold the same reviews as the listing");
+            }
+            boolean sameTieOrder = entry.getKey().equals("LinearList") || entry.getKey().equals("AVL")
+                                   || entry.getKey().equals("RBT");
+            if (sameTieOrder && !iterated.equals(full)) {
+                throw new AssertionError(entry.getKey() + " cursor order differs from getAllReviewsSortedByDate");
+            }
+            for (int pageSize : PAGE_SIZES) {
+                List<ReviewRecord> paged;
+                try {
+                    paged = pageThrough(store, pageSize);
+                } catch (AssertionError e) {
+                    throw new AssertionError(entry.getKey() + ": " + e.getMessage());
+                }
+                if (!signatures(paged).equals(iterated)) {
+                    throw new AssertionError(entry.getKey() + " pages of " + pageSize + " differ from the cursor");
+                }
+            }
+        }
+
+        System.out.println("✓ Paged listings match on every store");
+    }
+
+    public void testTokenSurvivesInserts() {
+        System.out.println("Testing tokens across inserts...");
+
+        for (Map.Entry<String, CursorStore> entry : freshStores().entrySet()) {
+            CursorStore store = entry.getValue();
+            for (ReviewRecord review : testReviews.subList(0, 2000)) {
+                store.add(review);
+            }
+            ReviewPage first = store.page(null, 100);
+            List<String> before = signatures(drain(store.iterator()));
+            // Insert the rest; the old token must still resume right after the first page
+            for (ReviewRecord review : testReviews.subList(2000, testReviews.size())) {
+                store.add(review);
+            }
+            List<String> seen = signatures(first.getReviews());
+            List<String> rest = signatures(pageThrough(store, first.getNextPageToken()));
+            if (!before.subList(0, 100).equals(seen)) {
+                throw new AssertionError(entry.getKey() + " first page differs from the cursor");
+            }
+            int lastDay = ReviewDates.toEpochDay(first.getReviews().get(99).getDate());
+            for (String signature : rest) {
+                if (ReviewDates.toEpochDay(signature.split("\\|")[1]) > lastDay) {
+                    throw new AssertionError(entry.getKey() + " resumed page went back in time");
+                }
+            }
+            if (seen.size() + rest.size() < before.size()) {
+                throw new AssertionError(entry.getKey() + " lost reviews across inserts");
+            }
+        }
+
+        System.out.println("✓ Tokens resume after inserts");
+    }
+
+    private static List<ReviewRecord> pageThrough(CursorStore store, String token) {
+        List<ReviewRecord> result = new ArrayList<>();
+        while (token != null) {
+            ReviewPage page = store.page(token, 64);
+            result.addAll(page.getReviews());
+            token = page.getNextPageToken();
+        }
+        return result;
+    }
+
+    public void testRejectedTokens() {
+        System.out.println("Testing stale and malformed tokens...");
+
+        for (Map.Entry<String, CursorStore> entry : freshStores().entrySet()) {
+            CursorStore store = entry.getValue();
+            for (ReviewRecord review : testReviews.subList(0, 200)) {
+                store.add(review);
+            }
+            String token = store.page(null, 10).getNextPageToken();
+            for (String bad : new String[] {"", "not a token", "AAAA", token.substring(1)}) {
+                try {
+                    store.page(bad, 10);
+                    throw new AssertionError(entry.getKey() + " accepted malformed token '" + bad + "'");
+                } catch (IllegalArgumentException expected) {
+                    // rejected
+                }
+            }
+            try {
+                store.page(null, 0);
+                throw new AssertionError(entry.getKey() + " accepted page size 0");
+            } catch (IllegalArgumentException expected) {
+                // rejected
+            }
+            store.clear();
+            for (ReviewRecord review : testReviews.subList(0, 200)) {
+                store.add(review);
+            }
+            try {
+                store.page(token, 10);
+                throw new AssertionError(entry.getKey() + " accepted a token from before clear()");
+            } catch (IllegalArgumentException expected) {
+                // rejected
+            }
+            if (store.page(null, 500).getReviews().size() != store.sorted().size()) {
+                throw new AssertionError(entry.getKey() + " cursor out of sync after clear()");
+            }
+        }
+
+        System.out.println("✓ Stale and malformed tokens rejected");
+    }
+
+    public void testEmptyStore() {
+        System.out.println("Testing empty stores...");
+
+        for (Map.Entry<String, CursorStore> entry : freshStores().entrySet()) {
+            ReviewPage page = entry.getValue().page(null, 10);
+            if (!page.getReviews().isEmpty() || page.hasMore() || entry.getValue().iterator().hasNext()) {
+                throw new AssertionError(entry.getKey() + " empty store returned reviews");
+            }
+        }
+
+        System.out.println("✓ Empty store test passed");
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running Newest-First Cursor Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testPagesMatchFullListing();
+            testTokenSurvivesInserts();
+            testRejectedTokens();
+            testEmptyStore();
+
+            System.out.println();
+            System.out.println("🎉 All newest-first cursor tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) {
+        NewestFirstCursorTest test = new NewestFirstCursorTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,135 @@
+package com.reviews.experiments.dedup;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.MinHash;
+import com.reviews.datastructures.NearDuplicateDetector;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.TextTokenizer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * NearDuplicateDetector throughput on lounge.csv and seat.csv, and on larger synthetic
+ * streams built from the CSV vocabulary with 5% lightly edited re-posts. The baseline
+ * compares each review's signature with every earlier one (the quadratic pairwise scan
+ * LSH banding avoids); it runs only where it finishes in reasonable time.
+ */
+public class NearDuplicateBenchmark {
+
+    private static List<ReviewRecord> synthetic(int n, List<String> vocabulary, Random random, int[] reposts) {
+        List<ReviewRecord> reviews = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String content;
+            if (i > 0 && random.nextDouble() < 0.05) {
+                // Re-post of an earlier review with one word changed
+                String[] words = reviews.get(random.nextInt(reviews.size())).getContent().split(" ");
+                words[random.nextInt(words.length)] = vocabulary.get(random.nextInt(vocabulary.size()));
+                content = String.join(" ", words);
+                reposts[0]++;
+            } else {
+                StringBuilder text = new StringBuilder();
+                for (int w = 60 + random.nextInt(120); w > 0; w--) {
+                    text.append(vocabulary.get(random.nextInt(vocabulary.size()))).append(' ');
+                }
+                content = text.toString().trim();
+            }
+            reviews.add(new AirlineReview("airline-" + random.nextInt(200), "link", "title", "Author " + i, "UK",
+                                          "2015-01-01", content, "", "", "", "", 7, 4, 4, 4, 4, 4, 4, 4, 1));
+        }
+        return reviews;
+    }
+
+    // Quadratic baseline over the same signatures: compare with every earlier unique review
+    private static int pairwise(List<int[]> signatures, double threshold) {
+        List<int[]> unique = new ArrayList<>();
+        int duplicates = 0;
+        for (int[] signature : signatures) {
+            boolean duplicate = false;
+            for (int[] earlier : unique) {
+                if (MinHash.similarity(signature, earlier) >= threshold) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (duplicate) {
+                duplicates++;
+            } else {
+                unique.add(signature);
+            }
+        }
+        return duplicates;
+    }
+
+    private static void run(String label, List<ReviewRecord> reviews, boolean withPairwise, long[] sink) {
+        // Warm-up on the start of the stream
+        new NearDuplicateDetector(review -> sink[0]++).addReviews(reviews.subList(0, Math.min(2000, reviews.size())));
+
+        long startTime = System.nanoTime();
+        NearDuplicateDetector detector = new NearDuplicateDetector(review -> sink[0]++);
+        detector.addReviews(reviews);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        String pairwiseColumn = "-";
+        if (withPairwise) {
+            MinHash minHash = new MinHash(NearDuplicateDetector.DEFAULT_BANDS * NearDuplicateDetector.DEFAULT_ROWS, 0x5eed);
+            List<int[]> signatures = new ArrayList<>();
+            for (ReviewRecord review : reviews) {
+                long[] shingles = MinHash.shingles(review.getContent(), NearDuplicateDetector.SHINGLE_SIZE);
+                if (shingles.length > 0) {
+                    signatures.add(minHash.signature(shingles));
+                }
+            }
+            startTime = System.nanoTime();
+            int duplicates = pairwise(signatures, NearDuplicateDetector.DEFAULT_THRESHOLD);
+            double pairwiseMs = (System.nanoTime() - startTime) / 1e6;
+            pairwiseColumn = String.format("%.0f ms (%d)", pairwiseMs, duplicates);
+        }
+        System.out.printf("%-12s %-9d %-12.0f %-11.1f %-11d %-12s %-22s%n", label, reviews.size(),
+                          reviews.size() / seconds, 1e6 * seconds / reviews.size(), detector.getDuplicateCount(),
+                          detector.getMetrics().get("candidatesChecked"), pairwiseColumn);
+    }
+
+    public static void runComprehensiveBenchmark() throws IOException {
+        System.out.println("=== MinHash / LSH Near-Duplicate Detection ===");
+        System.out.println();
+
+        List<ReviewRecord> lounge = ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv"));
+        List<ReviewRecord> seat = ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv"));
+        List<ReviewRecord> both = new ArrayList<>(lounge);
+        both.addAll(seat);
+
+        long[] sink = new long[1];
+        System.out.printf("%-12s %-9s %-12s %-11s %-11s %-12s %-22s%n", "Input", "Reviews", "Reviews/s",
+                          "us/review", "Duplicates", "Candidates", "Pairwise (dups)");
+        System.out.println("------------------------------------------------------------------------------------------");
+        run("lounge.csv", lounge, true, sink);
+        run("seat.csv", seat, true, sink);
+        run("both", both, true, sink);
+
+        Set<String> words = new LinkedHashSet<>();
+        for (ReviewRecord review : both) {
+            words.addAll(TextTokenizer.tokenize(review.getContent()));
+        }
+        List<String> vocabulary = new ArrayList<>(words);
+        for (int size : new int[] {20000, 100000}) {
+            int[] reposts = new int[1];
+            List<ReviewRecord> reviews = synthetic(size, vocabulary, new Random(42), reposts);
+            run("synthetic", reviews, size <= 20000, sink);
+            System.out.printf("             (%d re-posts generated)%n", reposts[0]);
+        }
+        System.out.println();
+        System.out.println("Synthetic streams re-post 5% of reviews with one word changed; Candidates counts");
+        System.out.println("signature comparisons made by the detector, Pairwise compares each review with every");
+        System.out.println("earlier unique one.");
+        if (sink[0] == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        runComprehensiveBenchmark();
+    }
+}
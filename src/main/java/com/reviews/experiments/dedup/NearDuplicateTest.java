@@ -0,0 +1,237 @@
+package com.reviews.experiments.dedup;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.MinHash;
+import com.reviews.datastructures.NearDuplicateDetector;
+import com.reviews.datastructures.NearDuplicateDetector.Match;
+import com.reviews.datastructures.NearDuplicateDetector.Policy;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.RingBufferIngestor;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test suite for MinHash and NearDuplicateDetector.
+ * Signature estimates are checked against exact shingle Jaccard similarities, and the
+ * detector against an exhaustive pairwise scan of lounge.csv and seat.csv, which contain
+ * reviews re-posted verbatim, under other airlines, and lightly edited.
+ */
+public class NearDuplicateTest {
+
+    private List<ReviewRecord> testReviews;
+
+    public void setUp() throws IOException {
+        testReviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        testReviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+    }
+
+    /**
+     * Test shingling and signature similarity estimates
+     */
+    public void testMinHash() {
+        System.out.println("Testing MinHash signatures...");
+
+        assertEqual(0, MinHash.shingles("", 3).length, "No words, no shingles");
+        assertEqual(1, MinHash.shingles("Great lounge", 3).length, "Short text is one shingle");
+        assertEqual(3, MinHash.shingles("the seat was very good", 3).length, "Five words, three shingles");
+        assertTrue(!Arrays.equals(MinHash.shingles("seat was good", 3), MinHash.shingles("good was seat", 3)),
+                   "Shingles depend on word order");
+        assertTrue(Arrays.equals(MinHash.shingles("Seat, was GOOD!", 3), MinHash.shingles("seat was good", 3)),
+                   "Shingles follow the tokenizer");
+
+        MinHash minHash = new MinHash(200, 1);
+        Random random = new Random(5);
+        double worst = 0;
+        for (int trial = 0; trial < 100; trial++) {
+            // Two texts sharing a random share of their words
+            int shared = random.nextInt(100);
+            StringBuilder a = new StringBuilder();
+            StringBuilder b = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                String word = "w" + random.nextInt(1000000);
+                a.append(word).append(' ');
+                b.append(i < shared ? word : "x" + random.nextInt(1000000)).append(' ');
+            }
+            double exact = jaccard(MinHash.shingles(a.toString(), 3), MinHash.shingles(b.toString(), 3));
+            double estimate = MinHash.similarity(minHash.signature(a.toString(), 3), minHash.signature(b.toString(), 3));
+            worst = Math.max(worst, Math.abs(exact - estimate));
+        }
+        // Standard error is at most 0.5 / sqrt(200) = 0.035
+        assertTrue(worst < 0.13, "Estimates within 3.5 standard errors: " + worst);
+        String text = testReviews.get(0).getContent();
+        assertEqual(1.0, MinHash.similarity(minHash.signature(text, 3), minHash.signature(text, 3)), "Identical texts");
+
+        System.out.println("✓ MinHash signatures passed");
+    }
+
+    /**
+     * Test the detector against every pair in the CSVs
+     */
+    public void testCsvDuplicates() {
+        System.out.println("Testing duplicates in the CSVs...");
+
+        List<Set<Long>> shingleSets = new ArrayList<>();
+        for (ReviewRecord review : testReviews) {
+            Set<Long> shingles = new HashSet<>();
+            for (long shingle : MinHash.shingles(review.getContent(), NearDuplicateDetector.SHINGLE_SIZE)) {
+                shingles.add(shingle);
+            }
+            shingleSets.add(shingles);
+        }
+        // Exhaustive scan: later review -> its most similar earlier review, for J >= 0.9
+        Map<ReviewRecord, Double> exactDuplicates = new IdentityHashMap<>();
+        for (int i = 0; i < testReviews.size(); i++) {
+            for (int j = 0; j < i; j++) {
+                Set<Long> a = shingleSets.get(i);
+                Set<Long> b = shingleSets.get(j);
+                if (a.isEmpty() || b.isEmpty() || Math.min(a.size(), b.size()) < 0.9 * Math.max(a.size(), b.size())) {
+                    continue;
+                }
+                double similarity = jaccard(a, b);
+                if (similarity >= 0.9) {
+                    exactDuplicates.merge(testReviews.get(i), similarity, Math::max);
+                }
+            }
+        }
+        assertTrue(exactDuplicates.size() >= 15, "The CSVs contain re-posts: " + exactDuplicates.size());
+
+        List<ReviewRecord> passedOn = new ArrayList<>();
+        NearDuplicateDetector detector = new NearDuplicateDetector(passedOn::add, Policy.FLAG,
+                                                                   NearDuplicateDetector.DEFAULT_THRESHOLD,
+                                                                   NearDuplicateDetector.DEFAULT_BANDS,
+                                                                   NearDuplicateDetector.DEFAULT_ROWS);
+        detector.addReviews(testReviews);
+        assertEqual(testReviews.size(), passedOn.size(), "FLAG passes every review on");
+
+        Map<ReviewRecord, Match> found = new IdentityHashMap<>();
+        for (Match match : detector.getMatches()) {
+            found.put(match.review, match);
+            int review = indexOf(match.review);
+            int original = indexOf(match.original);
+            assertTrue(original < review, "Originals come first: " + match);
+            double exact = jaccard(shingleSets.get(review), shingleSets.get(original));
+            assertTrue(exact >= 0.6, "No false duplicates: " + match + " exact " + exact);
+        }
+        for (ReviewRecord duplicate : exactDuplicates.keySet()) {
+            assertTrue(found.containsKey(duplicate), "Re-post found: " + duplicate.getName() + " " + duplicate.getDate());
+        }
+        long candidates = (Long) detector.getMetrics().get("candidatesChecked");
+        assertTrue(candidates < 10L * testReviews.size(), "Sub-quadratic candidate checks: " + candidates);
+
+        System.out.println("✓ CSV duplicates passed (" + exactDuplicates.size() + " re-posts, "
+                           + detector.getDuplicateCount() + " flagged)");
+    }
+
+    /**
+     * Test merging: edited re-posts are held back and attached to their original
+     */
+    public void testMerge() throws InterruptedException {
+        System.out.println("Testing merge policy...");
+
+        ReviewRecord original = testReviews.stream()
+                                           .filter(r -> r.getContent().split(" ").length > 80)
+                                           .findFirst().get();
+        String[] words = original.getContent().split(" ");
+        words[words.length / 2] = "fantastic";
+        ReviewRecord edited = new AirlineReview(original.getName(), "link", "title", "author", "UK",
+                                                "2015-08-01", String.join(" ", words), "", "", "", "",
+                                                5, 0, 0, 0, 0, 0, 0, 0, 0);
+        ReviewRecord unrelated = new AirlineReview(original.getName(), "link", "title", "author", "UK",
+                                                   "2015-08-01", "Lovely crew and a smooth flight home",
+                                                   "", "", "", "", 9, 0, 0, 0, 0, 0, 0, 0, 1);
+
+        List<ReviewRecord> passedOn = new ArrayList<>();
+        NearDuplicateDetector detector = new NearDuplicateDetector(passedOn::add);
+        detector.accept(original);
+        detector.accept(edited);
+        detector.accept(unrelated);
+        assertEqual(Arrays.asList(original, unrelated), passedOn, "Edited re-post held back");
+        assertEqual(Collections.singletonList(edited), detector.getMerged(original), "Merged into the original");
+        assertTrue(detector.getMerged(unrelated).isEmpty(), "Nothing merged into an unrelated review");
+        assertTrue(detector.candidateProbability(0.8) > 0.999, "Similar reviews become candidates");
+        assertTrue(detector.candidateProbability(0.1) < 0.001, "Dissimilar reviews rarely do");
+
+        // In front of the ring buffer: the store only ever sees unique reviews
+        List<ReviewRecord> stored = new ArrayList<>();
+        NearDuplicateDetector ingestDetector = new NearDuplicateDetector(stored::add);
+        try (RingBufferIngestor ingestor = new RingBufferIngestor(ingestDetector)) {
+            long version = ingestor.publishAll(testReviews);
+            assertTrue(ingestor.awaitVersion(version, 10, TimeUnit.SECONDS), "Ingested");
+        }
+        assertEqual(testReviews.size() - ingestDetector.getDuplicateCount(), stored.size(), "Duplicates never stored");
+        assertTrue(ingestDetector.getDuplicateCount() > 0, "Duplicates merged at ingest");
+
+        System.out.println("✓ Merge policy passed");
+    }
+
+    private int indexOf(ReviewRecord review) {
+        for (int i = 0; i < testReviews.size(); i++) {
+            if (testReviews.get(i) == review) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double jaccard(long[] a, long[] b) {
+        Set<Long> setA = new HashSet<>();
+        Set<Long> setB = new HashSet<>();
+        for (long shingle : a) {
+            setA.add(shingle);
+        }
+        for (long shingle : b) {
+            setB.add(shingle);
+        }
+        return jaccard(setA, setB);
+    }
+
+    private static double jaccard(Set<Long> a, Set<Long> b) {
+        int intersection = 0;
+        for (long shingle : a) {
+            if (b.contains(shingle)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    private void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("Assertion failed: " + message);
+        }
+    }
+
+    private void assertEqual(Object expected, Object actual, String message) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError("Assertion failed: " + message + " - Expected: " + expected + ", Actual: " + actual);
+        }
+    }
+
+    public void runAllTests() throws IOException, InterruptedException {
+        System.out.println("=== Running Near-Duplicate Detection Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testMinHash();
+            testCsvDuplicates();
+            testMerge();
+
+            System.out.println();
+            System.out.println("🎉 All near-duplicate detection tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        NearDuplicateTest test = new NearDuplicateTest();
+        test.runAllTests();
+    }
+}
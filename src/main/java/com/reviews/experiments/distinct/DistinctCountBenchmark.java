@@ -0,0 +1,123 @@
+package com.reviews.experiments.distinct;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.DistinctReviewCounter;
+import com.reviews.datastructures.DistinctReviewCounter.Dimension;
+import com.reviews.datastructures.ReviewFields;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * DistinctReviewCounter versus exact per-airline, per-month HashSets of authors: memory,
+ * ingest cost, per-airline accuracy, and the cost of an "every airline, last 12 months"
+ * union. Airlines get Zipf-skewed review volumes and authors review several times.
+ */
+public class DistinctCountBenchmark {
+
+    private static List<ReviewRecord> generate(int n, int airlines, Random random) {
+        double[] cumulative = new double[airlines];
+        double sum = 0;
+        for (int i = 0; i < airlines; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        List<ReviewRecord> reviews = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int airline = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            airline = airline < 0 ? -airline - 1 : airline;
+            String author = "Author " + random.nextInt(n / 3); // each author writes ~3 reviews
+            reviews.add(new AirlineReview("airline-" + airline, "link", "title", author, "UK",
+                                          start.plusDays(random.nextInt(4 * 365)).toString(), "content",
+                                          "Boeing 787", "Leisure", "Economy", "Route " + random.nextInt(20000),
+                                          8, 4, 4, 4, 4, 4, 4, 4, 1));
+        }
+        return reviews;
+    }
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== HyperLogLog vs Exact Distinct Counts ===");
+        System.out.println();
+
+        int[] sizes = {100000, 1000000};
+        Runtime runtime = Runtime.getRuntime();
+        long[] sink = new long[1];
+        System.out.printf("%-8s %-9s %-11s %-11s %-11s %-11s %-10s %-10s %-12s %-12s%n", "Reviews", "Airlines",
+                          "Exact (MB)", "HLL (MB)", "Exact (ns)", "HLL (ns)", "Mean err", "Max err", "Exact 12m",
+                          "HLL 12m (us)");
+        System.out.println("-----------------------------------------------------------------------------------------------------------------");
+        for (int size : sizes) {
+            List<ReviewRecord> reviews = generate(size, 300, new Random(42));
+
+            System.gc();
+            long before = runtime.totalMemory() - runtime.freeMemory();
+            long startTime = System.nanoTime();
+            Map<String, TreeMap<YearMonth, Set<String>>> exact = new HashMap<>();
+            for (ReviewRecord review : reviews) {
+                YearMonth month = YearMonth.parse(review.getDate().substring(0, 7));
+                exact.computeIfAbsent(review.getName(), a -> new TreeMap<>())
+                     .computeIfAbsent(month, m -> new HashSet<>())
+                     .add(DistinctReviewCounter.itemKey(Dimension.AUTHOR, ReviewFields.author(review)));
+            }
+            double exactNs = (double) (System.nanoTime() - startTime) / size;
+            System.gc();
+            long exactBytes = runtime.totalMemory() - runtime.freeMemory() - before;
+
+            startTime = System.nanoTime();
+            DistinctReviewCounter counter = new DistinctReviewCounter();
+            counter.addReviews(reviews);
+            double sketchNs = (double) (System.nanoTime() - startTime) / size;
+
+            // Per-airline all-time accuracy
+            double errorSum = 0;
+            double maxError = 0;
+            for (Map.Entry<String, TreeMap<YearMonth, Set<String>>> entry : exact.entrySet()) {
+                Set<String> authors = new HashSet<>();
+                entry.getValue().values().forEach(authors::addAll);
+                double error = Math.abs(counter.distinct(Dimension.AUTHOR, entry.getKey()) - authors.size())
+                               / (double) authors.size();
+                errorSum += error;
+                maxError = Math.max(maxError, error);
+            }
+
+            // Every airline over the last 12 months
+            YearMonth to = YearMonth.of(2023, 12);
+            YearMonth from = to.minusMonths(11);
+            startTime = System.nanoTime();
+            Set<String> union = new HashSet<>();
+            for (TreeMap<YearMonth, Set<String>> months : exact.values()) {
+                months.subMap(from, true, to, true).values().forEach(union::addAll);
+            }
+            double exactUnionUs = (System.nanoTime() - startTime) / 1e3;
+            long estimate = 0;
+            for (int i = 0; i < 20; i++) {
+                estimate = counter.distinctAll(Dimension.AUTHOR, from, to); // warm-up
+            }
+            startTime = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                sink[0] += counter.distinctAll(Dimension.AUTHOR, from, to);
+            }
+            double sketchUnionUs = (System.nanoTime() - startTime) / 1e3 / 100;
+
+            System.out.printf("%-8d %-9d %-11.1f %-11.1f %-11.0f %-11.0f %-10s %-10s %-12s %-12s%n", size,
+                              exact.size(), exactBytes / 1048576.0, counter.getSizeInBytes() / 1048576.0, exactNs,
+                              sketchNs, String.format("%.2f%%", 100 * errorSum / exact.size()),
+                              String.format("%.2f%%", 100 * maxError), String.format("%.0f us", exactUnionUs),
+                              String.format("%.0f", sketchUnionUs));
+            System.out.printf("         12-month union: exact %d, estimate %d (%.2f%%)%n%n", union.size(), estimate,
+                              100.0 * Math.abs(estimate - union.size()) / union.size());
+        }
+        System.out.println("Exact memory is measured from the heap; HLL memory is estimated.");
+        System.out.println("The HLL counter also tracks routes, which the exact sets do not.");
+        if (sink[0] == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,289 @@
+package com.reviews.experiments.distinct;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.DistinctReviewCounter;
+import com.reviews.datastructures.DistinctReviewCounter.Dimension;
+import com.reviews.datastructures.HyperLogLog;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.ReviewFields;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Test suite for HyperLogLog and DistinctReviewCounter.
+ * Estimates are checked against exact HashSet counts from one item to a million, through
+ * the sparse-to-dense switch, after merges, and per airline and month on lounge.csv and
+ * seat.csv.
+ */
+public class HyperLogLogTest {
+
+    private List<ReviewRecord> testReviews;
+
+    public void setUp() throws IOException {
+        testReviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        testReviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+    }
+
+    /**
+     * Test estimates within four standard errors from 1 to 1M distinct items
+     */
+    public void testAccuracy() {
+        System.out.println("Testing HyperLogLog accuracy...");
+
+        for (int precision : new int[] {10, 12, 14}) {
+            HyperLogLog sketch = new HyperLogLog(precision);
+            double tolerance = 4 * sketch.getRelativeStandardError();
+            assertEqual(0L, sketch.estimate(), "Empty sketch");
+            int added = 0;
+            for (int target : new int[] {1, 10, 100, 1000, 10000, 100000, 1000000}) {
+                while (added < target) {
+                    sketch.add("author-" + precision + "-" + added++);
+                }
+                long estimate = sketch.estimate();
+                assertTrue(Math.abs(estimate - target) <= Math.max(1, tolerance * target),
+                           "p=" + precision + ", n=" + target + ": estimate " + estimate);
+            }
+        }
+
+        // Duplicates change nothing
+        HyperLogLog sketch = new HyperLogLog();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 5000; i++) {
+                sketch.add("route-" + i);
+            }
+        }
+        HyperLogLog once = new HyperLogLog();
+        for (int i = 0; i < 5000; i++) {
+            once.add("route-" + i);
+        }
+        assertEqual(once, sketch, "Adding an item again is a no-op");
+        sketch.add(null);
+        assertEqual(once, sketch, "Null ignored");
+
+        System.out.println("✓ HyperLogLog accuracy passed");
+    }
+
+    /**
+     * Test that small sketches are sparse and small, and estimates stay smooth when they densify
+     */
+    public void testSparseToDense() {
+        System.out.println("Testing sparse to dense switch...");
+
+        HyperLogLog sketch = new HyperLogLog(12);
+        HyperLogLog small = new HyperLogLog(12);
+        for (int i = 0; i < 20; i++) {
+            small.add("author-" + i);
+        }
+        assertTrue(small.isSparse(), "Few items: sparse");
+        assertTrue(small.getSizeInBytes() < 200, "Sparse sketch is small: " + small.getSizeInBytes());
+
+        boolean densified = false;
+        for (int i = 1; i <= 3000; i++) {
+            sketch.add("author-" + i);
+            densified |= !sketch.isSparse();
+            long estimate = sketch.estimate();
+            assertTrue(Math.abs(estimate - i) <= Math.max(2, 0.065 * i), "n=" + i + ": estimate " + estimate);
+        }
+        assertTrue(densified && !sketch.isSparse(), "Large sketch is dense");
+
+        // A sparse sketch merged into a dense one equals the sketch of both streams
+        HyperLogLog both = new HyperLogLog(12);
+        for (int i = 1; i <= 3000; i++) {
+            both.add("author-" + i);
+        }
+        for (int i = 0; i < 20; i++) {
+            both.add("author-" + i);
+        }
+        HyperLogLog merged = sketch.copy();
+        merged.merge(small);
+        assertEqual(both, merged, "Sparse into dense");
+        HyperLogLog reversed = small.copy();
+        reversed.merge(sketch);
+        assertEqual(both, reversed, "Dense into sparse");
+
+        System.out.println("✓ Sparse to dense switch passed");
+    }
+
+    /**
+     * Test that merges are exactly the sketch of the combined stream
+     */
+    public void testMerge() {
+        System.out.println("Testing merges...");
+
+        Random random = new Random(42);
+        List<HyperLogLog> parts = new ArrayList<>();
+        HyperLogLog whole = new HyperLogLog();
+        Set<String> exact = new HashSet<>();
+        for (int part = 0; part < 6; part++) {
+            HyperLogLog sketch = new HyperLogLog();
+            int size = part * part * 2000;
+            for (int i = 0; i < size; i++) {
+                String item = "author-" + random.nextInt(60000); // parts overlap
+                sketch.add(item);
+                whole.add(item);
+                exact.add(item);
+            }
+            parts.add(sketch);
+        }
+        HyperLogLog union = HyperLogLog.union(parts, HyperLogLog.DEFAULT_PRECISION);
+        assertEqual(whole, union, "Union = sketch of the combined stream");
+        assertTrue(Math.abs(union.estimate() - exact.size()) <= 4 * union.getRelativeStandardError() * exact.size(),
+                   "Union estimate " + union.estimate() + " vs " + exact.size());
+        long sumOfParts = 0;
+        for (HyperLogLog part : parts) {
+            sumOfParts += part.estimate();
+        }
+        assertTrue(sumOfParts > 1.5 * union.estimate(), "Overlap not double counted");
+
+        boolean rejected = false;
+        try {
+            union.merge(new HyperLogLog(10));
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assertTrue(rejected, "Different precisions rejected");
+
+        System.out.println("✓ Merges passed");
+    }
+
+    /**
+     * Test unique reviewers per airline, month range and airline group against exact sets
+     */
+    public void testDatasetCounts() {
+        System.out.println("Testing distinct authors on the datasets...");
+
+        DistinctReviewCounter counter = new DistinctReviewCounter();
+        counter.addReviews(testReviews);
+        double tolerance = 4 * counter.getRelativeStandardError();
+
+        Map<String, Set<String>> exactByAirline = new HashMap<>();
+        Set<String> everyone = new HashSet<>();
+        for (ReviewRecord review : testReviews) {
+            String author = DistinctReviewCounter.itemKey(Dimension.AUTHOR, ReviewFields.author(review));
+            if (!author.isEmpty()) {
+                exactByAirline.computeIfAbsent(review.getName(), a -> new HashSet<>()).add(author);
+                everyone.add(author);
+            }
+        }
+        for (Map.Entry<String, Set<String>> entry : exactByAirline.entrySet()) {
+            long estimate = counter.distinct(Dimension.AUTHOR, entry.getKey());
+            int actual = entry.getValue().size();
+            assertTrue(Math.abs(estimate - actual) <= Math.max(1, tolerance * actual),
+                       entry.getKey() + ": " + estimate + " vs " + actual);
+        }
+        long all = counter.distinctAll(Dimension.AUTHOR);
+        assertTrue(Math.abs(all - everyone.size()) <= tolerance * everyone.size(),
+                   "Global distinct authors " + all + " vs " + everyone.size());
+
+        // The three busiest airlines over 2014-2015: one union, each author once
+        List<String> busiest = new ArrayList<>(exactByAirline.keySet());
+        busiest.sort((a, b) -> exactByAirline.get(b).size() - exactByAirline.get(a).size());
+        busiest = busiest.subList(0, 3);
+        YearMonth from = YearMonth.of(2014, 1);
+        YearMonth to = YearMonth.of(2015, 12);
+        Set<String> exact = new HashSet<>();
+        for (ReviewRecord review : testReviews) {
+            LocalDate date = ReviewDates.parseDate(review.getDate());
+            YearMonth month = YearMonth.from(date);
+            String author = DistinctReviewCounter.itemKey(Dimension.AUTHOR, ReviewFields.author(review));
+            if (busiest.contains(review.getName()) && !month.isBefore(from) && !month.isAfter(to) && !author.isEmpty()) {
+                exact.add(author);
+            }
+        }
+        long estimate = counter.distinct(Dimension.AUTHOR, busiest, from, to);
+        assertTrue(exact.size() > 0 && Math.abs(estimate - exact.size()) <= Math.max(1, tolerance * exact.size()),
+                   "Busiest airlines 2014-2015: " + estimate + " vs " + exact.size());
+        assertEqual(0L, counter.distinct(Dimension.AUTHOR, busiest, to, from), "Empty month range");
+        assertEqual(counter.distinct(Dimension.AUTHOR, busiest.get(0)),
+                    counter.distinct(Dimension.AUTHOR, busiest.get(0), YearMonth.of(1900, 1), YearMonth.of(2100, 1)),
+                    "All months = all time");
+        long monthlySum = 0;
+        for (long month : counter.monthlySeries(Dimension.AUTHOR, busiest.get(0)).values()) {
+            monthlySum += month;
+        }
+        assertTrue(monthlySum >= counter.distinct(Dimension.AUTHOR, busiest.get(0)) * (1 - tolerance),
+                   "Monthly counts cover the all-time count");
+        assertEqual(0L, counter.distinctAll(Dimension.ROUTE), "Lounge and seat reviews carry no route");
+
+        System.out.println("✓ Distinct authors on the datasets passed");
+    }
+
+    /**
+     * Test unique routes per airline and the union of two periods
+     */
+    public void testRoutes() {
+        System.out.println("Testing distinct routes...");
+
+        DistinctReviewCounter counter = new DistinctReviewCounter();
+        Random random = new Random(7);
+        Set<String> first = new HashSet<>();
+        Set<String> second = new HashSet<>();
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        for (int i = 0; i < 50000; i++) {
+            LocalDate date = start.plusDays(random.nextInt(730));
+            String route = "Route " + random.nextInt(date.getYear() == 2023 ? 8000 : 12000);
+            counter.accept(new AirlineReview("Emirates", "link", "title", "author " + random.nextInt(20000), "UK",
+                                             date.toString(), "content", "Boeing 777", "Leisure", "Economy",
+                                             route, 8, 4, 4, 4, 4, 4, 4, 4, 1));
+            (date.getYear() == 2023 ? first : second).add(route.toLowerCase());
+        }
+        Set<String> both = new HashSet<>(first);
+        both.addAll(second);
+        double tolerance = 4 * counter.getRelativeStandardError();
+        long estimate = counter.distinct(Dimension.ROUTE, "Emirates", YearMonth.of(2023, 1), YearMonth.of(2023, 12));
+        assertTrue(Math.abs(estimate - first.size()) <= tolerance * first.size(), "2023 routes " + estimate);
+        estimate = counter.distinct(Dimension.ROUTE, "Emirates", YearMonth.of(2023, 1), YearMonth.of(2024, 12));
+        assertTrue(Math.abs(estimate - both.size()) <= tolerance * both.size(),
+                   "Cross-period union " + estimate + " vs " + both.size());
+        assertEqual(counter.distinct(Dimension.ROUTE, "Emirates"), counter.distinctAll(Dimension.ROUTE),
+                    "One airline: its total is the global total");
+        assertTrue(counter.getSizeInBytes() < (2 * 2 * 24 + 4) * 4200L,
+                   "At most one dense sketch per dimension, month and airline or global, plus totals");
+
+        System.out.println("✓ Distinct routes passed");
+    }
+
+    private void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("Assertion failed: " + message);
+        }
+    }
+
+    private void assertEqual(Object expected, Object actual, String message) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError("Assertion failed: " + message + " - Expected: " + expected + ", Actual: " + actual);
+        }
+    }
+
+    public void runAllTests() throws IOException {
+        System.out.println("=== Running HyperLogLog Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testAccuracy();
+            testSparseToDense();
+            testMerge();
+            testDatasetCounts();
+            testRoutes();
+
+            System.out.println();
+            System.out.println("🎉 All HyperLogLog tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        HyperLogLogTest test = new HyperLogLogTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,237 @@
+package com.reviews.experiments.fuzzy;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AirlineNameResolver;
+import com.reviews.datastructures.ConcurrentReviewStore;
+import com.reviews.datastructures.ResolvedReviewQueries;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewQueryService;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test suite for AirlineNameResolver and ResolvedReviewQueries.
+ * Display names and CSV slugs must resolve to the same airline, and every fuzzy lookup must
+ * agree with a brute-force scan computing the full edit distance to every airline.
+ */
+public class AirlineNameResolverTest {
+
+    private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyz- ".toCharArray();
+
+    private List<ReviewRecord> testReviews;
+    private AirlineNameResolver resolver;
+
+    public void setUp() throws IOException {
+        testReviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        testReviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        testReviews.addAll(AVLPerformanceBenchmark.generateTestData(2000));
+        resolver = AirlineNameResolver.fromReviews(testReviews);
+    }
+
+    /**
+     * Test slug normalization
+     */
+    public void testSlugs() {
+        System.out.println("Testing slug normalization...");
+
+        String expected = "singapore-airlines";
+        String[] spellings = {"Singapore Airlines", "singapore-airlines", "  SINGAPORE   airlines! ",
+                              "Singapore_Airlines", "singapore--airlines-"};
+        for (String spelling : spellings) {
+            assertEqual(expected, AirlineNameResolver.slug(spelling), "Slug of '" + spelling + "'");
+        }
+        assertEqual("aerolineas-argentinas", AirlineNameResolver.slug("Aerolíneas Argentinas"), "Accents stripped");
+        assertEqual("", AirlineNameResolver.slug(" -- "), "Separators only");
+        assertEqual("", AirlineNameResolver.slug(null), "Null name");
+
+        System.out.println("✓ Slug normalization tests passed");
+    }
+
+    /**
+     * Test that display names and slugs map to one canonical airline
+     */
+    public void testExactResolution() {
+        System.out.println("Testing exact resolution...");
+
+        int id = resolver.resolve("Singapore Airlines");
+        assertTrue(id >= 0, "Display name should resolve");
+        assertEqual(id, resolver.resolve("singapore-airlines"), "Slug and display name share an id");
+        assertEqual("singapore-airlines", resolver.getSlug(id), "Canonical slug");
+        List<String> spellings = resolver.getSpellings(id);
+        assertTrue(spellings.contains("Singapore Airlines") && spellings.contains("singapore-airlines"),
+                   "Both spellings recorded: " + spellings);
+        long reviews = testReviews.stream().filter(r -> spellings.contains(r.getName())).count();
+        assertEqual(reviews, resolver.getReviewCount(id), "Review count summed over spellings");
+        assertEqual(resolver.getSpellings(id).get(0), resolver.getPrimaryName(id), "Primary is most-reviewed");
+
+        for (int i = 0; i < resolver.size(); i++) {
+            assertEqual(i, resolver.resolve(resolver.getSlug(i)), "Every slug resolves to itself");
+            for (String spelling : resolver.getSpellings(i)) {
+                assertEqual(i, resolver.resolve(spelling), "Every spelling resolves: " + spelling);
+            }
+        }
+        assertEqual(-1, resolver.resolve(""), "Empty name");
+        assertEqual(-1, resolver.resolve("zzzzzzzzzz"), "Unknown name");
+        assertTrue(resolver.resolve("ANA") >= 0, "Short names match exactly");
+        assertEqual(-1, resolver.resolve("anx"), "No edits allowed up to three characters");
+
+        System.out.println("✓ Exact resolution tests passed");
+    }
+
+    /**
+     * Test fuzzy lookups against brute force over every airline
+     */
+    public void testFuzzyAgainstBruteForce() {
+        System.out.println("Testing fuzzy resolution against brute force...");
+
+        Random random = new Random(42);
+        int queries = 0;
+        int resolved = 0;
+        for (int i = 0; i < resolver.size(); i++) {
+            String slug = resolver.getSlug(i);
+            for (int trial = 0; trial < 25; trial++) {
+                String typo = mutate(slug, 1 + random.nextInt(4), random);
+                String query = AirlineNameResolver.slug(typo);
+                int k = AirlineNameResolver.maxEdits(query.length());
+                int expected = bruteForce(query, k);
+                int actual = resolver.resolve(typo);
+                assertEqual(expected, actual, "Resolution of '" + typo + "' (k=" + k + ")");
+                for (int bound = 0; bound <= AirlineNameResolver.MAX_EDITS; bound++) {
+                    assertEqual(bruteForce(query, bound), resolver.resolve(typo, bound),
+                                "Resolution of '" + typo + "' within " + bound);
+                }
+                queries++;
+                if (actual >= 0) {
+                    resolved++;
+                }
+            }
+        }
+        assertEqual(resolver.resolve("singapore-airlines"), resolver.resolve("Singpore Airlnes"), "Two typos");
+        assertEqual(resolver.resolve("lufthansa"), resolver.resolve("Lufthnasa"), "Transposition");
+        assertEqual(resolver.resolve("emirates"), resolver.resolve("emirats"), "Deletion");
+
+        System.out.printf("✓ Fuzzy resolution tests passed (%d queries, %d resolved)%n", queries, resolved);
+    }
+
+    /**
+     * Test the resolving backend in front of a store
+     */
+    public void testResolvedQueries() {
+        System.out.println("Testing resolved store queries...");
+
+        ConcurrentReviewStore store = new ConcurrentReviewStore();
+        store.addReviews(testReviews);
+        ReviewQueryService.Backend raw = ReviewQueryService.backend(store::getTopKRecentReviews,
+                                                                   store::calculateRecencyBiasedAverageRating,
+                                                                   store::scoreAllAirlines, store::size);
+        ResolvedReviewQueries queries = new ResolvedReviewQueries(raw, resolver);
+
+        String primary = resolver.resolveName("british-airways");
+        List<ReviewRecord> expected = store.getTopKRecentReviews(primary, 10);
+        assertTrue(!expected.isEmpty(), "Primary spelling has reviews");
+        for (String spelling : new String[] {"British Airways", "british-airways", "Britsh Airways", "BRITISH AIRWAYZ"}) {
+            assertEqual(expected, queries.topK(spelling, 10), "topK of '" + spelling + "'");
+            assertEqual(store.calculateRecencyBiasedAverageRating(primary), queries.rbar(spelling),
+                        "rbar of '" + spelling + "'");
+        }
+        assertEqual(store.getTopKRecentReviews("qqqqqqqq", 10), queries.topK("qqqqqqqq", 10), "Unknown passes through");
+        assertEqual(store.size(), queries.size(), "Size");
+
+        System.out.println("✓ Resolved store query tests passed");
+    }
+
+    // Closest airline within k edits by full dynamic programming, ties to the most reviews
+    private int bruteForce(String query, int k) {
+        if (query.isEmpty()) {
+            return -1;
+        }
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < resolver.size(); i++) {
+            int distance = levenshtein(query, resolver.getSlug(i));
+            if (distance > k) {
+                continue;
+            }
+            if (distance < bestDistance || (distance == bestDistance
+                                            && resolver.getReviewCount(i) > resolver.getReviewCount(best))) {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static String mutate(String s, int edits, Random random) {
+        StringBuilder builder = new StringBuilder(s);
+        for (int e = 0; e < edits; e++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || builder.length() < 2) {
+                builder.insert(random.nextInt(builder.length() + 1), ALPHABET[random.nextInt(ALPHABET.length)]);
+            } else if (operation == 1) {
+                builder.deleteCharAt(random.nextInt(builder.length()));
+            } else {
+                builder.setCharAt(random.nextInt(builder.length()), ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+        }
+        return builder.toString();
+    }
+
+    private void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("Assertion failed: " + message);
+        }
+    }
+
+    private void assertEqual(Object expected, Object actual, String message) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError("Assertion failed: " + message + " - Expected: " + expected + ", Actual: " + actual);
+        }
+    }
+
+    public void runAllTests() throws IOException {
+        System.out.println("=== Running AirlineNameResolver Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testSlugs();
+            testExactResolution();
+            testFuzzyAgainstBruteForce();
+            testResolvedQueries();
+
+            System.out.println();
+            System.out.println("🎉 All airline name resolver tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        AirlineNameResolverTest test = new AirlineNameResolverTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,126 @@
+package com.reviews.experiments.fuzzy;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AirlineNameResolver;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Airline name resolution latency: exact spellings, display names and typos resolved by
+ * AirlineNameResolver (trigram candidates + bounded edit distance) against a scan that
+ * computes the full edit distance to every airline slug.
+ */
+public class NameResolutionBenchmark {
+
+    private static final int QUERIES = 20_000;
+
+    private static String[] typos(AirlineNameResolver resolver, int edits, Random random) {
+        String[] queries = new String[QUERIES];
+        String alphabet = "abcdefghijklmnopqrstuvwxyz";
+        for (int i = 0; i < QUERIES; i++) {
+            StringBuilder name = new StringBuilder(resolver.getSlug(random.nextInt(resolver.size())));
+            for (int e = 0; e < edits; e++) {
+                int at = random.nextInt(name.length());
+                name.setCharAt(at, alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            queries[i] = name.toString();
+        }
+        return queries;
+    }
+
+    private static int scan(AirlineNameResolver resolver, String name) {
+        String query = AirlineNameResolver.slug(name);
+        int k = AirlineNameResolver.maxEdits(query.length());
+        int best = -1;
+        int bestDistance = k + 1;
+        for (int i = 0; i < resolver.size(); i++) {
+            String slug = resolver.getSlug(i);
+            int[] previous = new int[slug.length() + 1];
+            int[] current = new int[slug.length() + 1];
+            for (int j = 0; j <= slug.length(); j++) {
+                previous[j] = j;
+            }
+            for (int a = 1; a <= query.length(); a++) {
+                current[0] = a;
+                for (int b = 1; b <= slug.length(); b++) {
+                    int cost = query.charAt(a - 1) == slug.charAt(b - 1) ? 0 : 1;
+                    current[b] = Math.min(previous[b - 1] + cost, Math.min(previous[b], current[b - 1]) + 1);
+                }
+                int[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            if (previous[slug.length()] < bestDistance) {
+                best = i;
+                bestDistance = previous[slug.length()];
+            }
+        }
+        return best;
+    }
+
+    private static void benchmark(String label, AirlineNameResolver resolver, String[] queries) {
+        long sink = 0;
+        for (int round = 0; round < 3; round++) {
+            for (String query : queries) {
+                sink += resolver.resolve(query) + scan(resolver, query);
+            }
+        }
+        long startTime = System.nanoTime();
+        int resolved = 0;
+        for (String query : queries) {
+            int id = resolver.resolve(query);
+            sink += id;
+            if (id >= 0) {
+                resolved++;
+            }
+        }
+        double indexUs = (System.nanoTime() - startTime) / 1e3 / queries.length;
+
+        startTime = System.nanoTime();
+        for (String query : queries) {
+            sink += scan(resolver, query);
+        }
+        double scanUs = (System.nanoTime() - startTime) / 1e3 / queries.length;
+
+        System.out.printf("%-22s %-10.1f %-14.3f %-14.3f %-8s%n", label, 100.0 * resolved / queries.length,
+                          scanUs, indexUs, String.format("%.0fx", scanUs / indexUs));
+        if (sink == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    public static void runComprehensiveBenchmark() throws IOException {
+        System.out.println("=== Airline Name Resolution: Trigram Index vs Full Scan ===");
+        System.out.println();
+
+        List<ReviewRecord> reviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        reviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        reviews.addAll(AVLPerformanceBenchmark.generateTestData(5000));
+        AirlineNameResolver resolver = AirlineNameResolver.fromReviews(reviews);
+        System.out.printf("Airlines: %d, distinct trigrams: %d%n%n", resolver.size(), resolver.getTrigramCount());
+
+        Random random = new Random(42);
+        String[] exact = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            List<String> spellings = resolver.getSpellings(random.nextInt(resolver.size()));
+            exact[i] = spellings.get(random.nextInt(spellings.size())).toUpperCase();
+        }
+
+        System.out.printf("%-22s %-10s %-14s %-14s %-8s%n", "Queries", "Found %", "Scan (us)", "Index (us)", "Speedup");
+        System.out.println("----------------------------------------------------------------------");
+        benchmark("Exact spellings", resolver, exact);
+        benchmark("1 substitution", resolver, typos(resolver, 1, random));
+        benchmark("2 substitutions", resolver, typos(resolver, 2, random));
+        benchmark("4 substitutions", resolver, typos(resolver, 4, random));
+    }
+
+    public static void main(String[] args) throws IOException {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,99 @@
+package com.reviews.experiments.ingest;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.RingBufferIngestor;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Many producers feeding one store: every producer calling a synchronized addReview directly
+ * versus producers publishing into a RingBufferIngestor whose single applier owns the store.
+ * Time is measured until every review is in the store.
+ * AVLReviewStore is the target: the RBT's recursive insert can overflow the stack on the
+ * long date-sorted runs a batch produces.
+ */
+public class IngestionPipelineBenchmark {
+
+    private static final int REVIEWS_PER_RUN = 200_000;
+
+    private static double directSynchronized(int producers, List<ReviewRecord> data) throws InterruptedException {
+        AVLReviewStore store = new AVLReviewStore();
+        Object lock = new Object();
+        long startTime = System.nanoTime();
+        runProducers(producers, data, review -> {
+            synchronized (lock) {
+                store.addReview(review);
+            }
+        });
+        return REVIEWS_PER_RUN / ((System.nanoTime() - startTime) / 1e9);
+    }
+
+    private static double ringBuffer(int producers, List<ReviewRecord> data,
+                                     AtomicReference<Map<String, Object>> metrics)
+            throws InterruptedException {
+        AVLReviewStore store = new AVLReviewStore();
+        RingBufferIngestor ingestor = new RingBufferIngestor(store::addReview);
+        long startTime = System.nanoTime();
+        runProducers(producers, data, ingestor::publish);
+        ingestor.flush();
+        double throughput = REVIEWS_PER_RUN / ((System.nanoTime() - startTime) / 1e9);
+        metrics.set(ingestor.getMetrics());
+        ingestor.close();
+        return throughput;
+    }
+
+    private interface Producer {
+        void accept(ReviewRecord review);
+    }
+
+    private static void runProducers(int producers, List<ReviewRecord> data, Producer target)
+            throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < producers; t++) {
+            final int offset = t;
+            threads.add(new Thread(() -> {
+                for (int i = offset; i < REVIEWS_PER_RUN; i += producers) {
+                    target.accept(data.get(i % data.size()));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    public static void runComprehensiveBenchmark() throws InterruptedException {
+        System.out.println("=== Ring-buffer ingestion vs synchronized direct inserts (AVLReviewStore) ===");
+        System.out.println(REVIEWS_PER_RUN + " reviews per run; Available processors: "
+                           + Runtime.getRuntime().availableProcessors());
+        System.out.println();
+        System.out.printf("%-10s %-18s %-18s %-14s %-14s%n",
+                          "Producers", "Direct reviews/s", "Ring reviews/s", "Avg batch", "Max depth");
+        System.out.println("--------------------------------------------------------------------------");
+
+        List<ReviewRecord> data = AVLPerformanceBenchmark.generateTestData(50_000);
+        AtomicReference<Map<String, Object>> metrics = new AtomicReference<>();
+
+        directSynchronized(2, data);
+        ringBuffer(2, data, metrics);
+
+        for (int producers : new int[] {1, 2, 4, 8, 16}) {
+            double direct = directSynchronized(producers, data);
+            double ring = ringBuffer(producers, data, metrics);
+            System.out.printf("%-10d %-18.0f %-18.0f %-14.1f %-14d%n", producers, direct, ring,
+                              (double) metrics.get().get("avgBatchSize"), (long) metrics.get().get("maxQueueDepth"));
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,241 @@
+package com.reviews.experiments.ingest;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.datastructures.RingBufferIngestor;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test suite for the RingBufferIngestor.
+ * Every published review must reach the store exactly once, batches must arrive sorted by
+ * airline and date, versions must be awaitable, and a tiny ring must survive wrap-around
+ * and back-pressure from many producers.
+ */
+public class RingBufferIngestorTest {
+
+    private List<ReviewRecord> testReviews;
+
+    public void setUp() {
+        testReviews = AVLPerformanceBenchmark.generateTestData(5000);
+    }
+
+    public void testSingleProducer() throws InterruptedException {
+        System.out.println("Testing single producer ingestion...");
+
+        LinearListReviewStore store = new LinearListReviewStore();
+        try (RingBufferIngestor ingestor = new RingBufferIngestor(store::addReview, 64, 16)) {
+            long version = ingestor.publishAll(testReviews);
+            if (version != testReviews.size()) {
+                throw new AssertionError("Expected final version " + testReviews.size() + ", got " + version);
+            }
+            if (!ingestor.awaitVersion(version, 10, TimeUnit.SECONDS)) {
+                throw new AssertionError("Version " + version + " was never published");
+            }
+            if (store.size() != testReviews.size()) {
+                throw new AssertionError("Expected " + testReviews.size() + " reviews, got " + store.size());
+            }
+        }
+
+        LinearListReviewStore baseline = new LinearListReviewStore();
+        baseline.addReviews(testReviews);
+        for (String airline : baseline.getAllAirlines()) {
+            double expected = baseline.calculateRecencyBiasedAverageRating(airline);
+            if (Math.abs(expected - store.calculateRecencyBiasedAverageRating(airline)) > 1e-9) {
+                throw new AssertionError("RBAR differs for " + airline);
+            }
+        }
+
+        System.out.println("✓ Single producer test passed");
+    }
+
+    public void testBatchesAreSorted() throws InterruptedException {
+        System.out.println("Testing batch sort order...");
+
+        List<ReviewRecord> applied = new ArrayList<>();
+        List<Long> versionsAtApply = new ArrayList<>();
+        RingBufferIngestor[] holder = new RingBufferIngestor[1];
+        RingBufferIngestor ingestor = new RingBufferIngestor(review -> {
+            applied.add(review);
+            versionsAtApply.add(holder[0] == null ? 0 : holder[0].getVersion());
+        }, 1024, 1024);
+        holder[0] = ingestor;
+
+        ingestor.publishAll(testReviews.subList(0, 1000));
+        ingestor.close();
+
+        // Within one batch (same version when applied) the order is airline, then date
+        for (int i = 1; i < applied.size(); i++) {
+            if (!versionsAtApply.get(i).equals(versionsAtApply.get(i - 1))) {
+                continue;
+            }
+            ReviewRecord previous = applied.get(i - 1);
+            ReviewRecord current = applied.get(i);
+            int comparison = previous.getName().compareTo(current.getName());
+            if (comparison > 0 || (comparison == 0 && previous.getDate().compareTo(current.getDate()) > 0)) {
+                throw new AssertionError("Batch not sorted at position " + i);
+            }
+        }
+        if (!new HashSet<>(applied).equals(new HashSet<>(testReviews.subList(0, 1000)))) {
+            throw new AssertionError("Applied reviews differ from published reviews");
+        }
+
+        System.out.println("✓ Batch sort order test passed");
+    }
+
+    public void testManyProducersSmallRing() throws InterruptedException {
+        System.out.println("Testing many producers on a small ring...");
+
+        LinearListReviewStore store = new LinearListReviewStore();
+        RingBufferIngestor ingestor = new RingBufferIngestor(store::addReview, 8, 4);
+        int producers = 6;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < producers; t++) {
+            final int offset = t;
+            threads.add(new Thread(() -> {
+                for (int i = offset; i < testReviews.size(); i += producers) {
+                    ingestor.publish(testReviews.get(i));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        ingestor.flush();
+
+        if (store.size() != testReviews.size() || ingestor.getVersion() != testReviews.size()) {
+            throw new AssertionError("Expected " + testReviews.size() + " applied reviews, got " + store.size());
+        }
+        if (!new HashSet<>(store.getAllReviewsSortedByDate()).equals(new HashSet<>(testReviews))) {
+            throw new AssertionError("Store contents differ from published reviews");
+        }
+
+        Map<String, Object> metrics = ingestor.getMetrics();
+        if ((int) metrics.get("maxBatchSize") > 4 || (long) metrics.get("maxQueueDepth") > 8 + producers) {
+            throw new AssertionError("Batch or depth limits exceeded: " + metrics);
+        }
+        if ((long) metrics.get("queueDepth") != 0) {
+            throw new AssertionError("Queue not drained: " + metrics);
+        }
+        ingestor.close();
+
+        try {
+            ingestor.publish(testReviews.get(0));
+            throw new AssertionError("Expected publish after close to fail");
+        } catch (IllegalStateException expected) {
+            // closed ingestors reject new reviews
+        }
+
+        System.out.println("  " + metrics);
+        System.out.println("✓ Many producers test passed");
+    }
+
+    public void testFailingSinkDoesNotStall() throws InterruptedException {
+        System.out.println("Testing that a failing sink does not stall the applier...");
+
+        int[] accepted = new int[1];
+        RingBufferIngestor ingestor = new RingBufferIngestor(review -> {
+            if (review.getName().equals("Delta")) {
+                throw new IllegalArgumentException("rejected");
+            }
+            accepted[0]++;
+        }, 16, 8);
+        long version = ingestor.publishAll(testReviews.subList(0, 500));
+        if (!ingestor.awaitVersion(version, 10, TimeUnit.SECONDS)) {
+            throw new AssertionError("Applier stalled after sink failures");
+        }
+        long failures = (long) ingestor.getMetrics().get("failedReviews");
+        ingestor.close();
+        if (failures == 0 || accepted[0] + failures != 500) {
+            throw new AssertionError("Expected failures to be counted, got " + failures);
+        }
+
+        System.out.println("✓ Failing sink test passed");
+    }
+
+    public void testBadReviewsDoNotStall() throws InterruptedException {
+        System.out.println("Testing that bad reviews do not stall the applier...");
+
+        List<ReviewRecord> applied = new ArrayList<>();
+        RingBufferIngestor ingestor = new RingBufferIngestor(applied::add, 4, 4);
+        try {
+            ingestor.publish(null);
+            throw new AssertionError("Null review was accepted");
+        } catch (NullPointerException expected) {
+            // rejected before it reaches the ring
+        }
+        ReviewRecord good = testReviews.get(0);
+        ReviewRecord noName = new AirlineReview(null, "l", "t", "a", "UK", "2024-01-01", "content", "", "", "", "",
+                                                5, 0, 0, 0, 0, 0, 0, 0, 0);
+        ReviewRecord unreadable = new AirlineReview("Delta", "l", "t", "a", "UK", "2024-01-01", "content", "", "", "",
+                                                    "", 5, 0, 0, 0, 0, 0, 0, 0, 0) {
+            @Override
+            public String getDate() {
+                throw new IllegalStateException("unreadable");
+            }
+        };
+        ingestor.publish(noName);
+        ingestor.publish(unreadable);
+        ingestor.publish(good);
+
+        Thread flusher = new Thread(() -> {
+            try {
+                ingestor.flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        flusher.start();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+            throw new AssertionError("flush() did not return after bad reviews");
+        }
+        long failures = (long) ingestor.getMetrics().get("failedReviews");
+        ingestor.close();
+        if (!applied.contains(good) || !applied.contains(noName) || applied.contains(unreadable) || failures != 1) {
+            throw new AssertionError("Expected the good and unnamed reviews applied and one failure, got "
+                                     + applied.size() + " applied, " + failures + " failed");
+        }
+
+        System.out.println("✓ Bad review test passed");
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running RingBufferIngestor Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testSingleProducer();
+            testBatchesAreSorted();
+            testManyProducersSmallRing();
+            testFailingSinkDoesNotStall();
+            testBadReviewsDoNotStall();
+
+            System.out.println();
+            System.out.println("🎉 All ingestor tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted", e);
+        }
+    }
+
+    public static void main(String[] args) {
+        RingBufferIngestorTest test = new RingBufferIngestorTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,79 @@
+package com.reviews.experiments.kernels;
+
+import com.reviews.datastructures.RatingKernels;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Scalar versus blocked kernel timings over raw primitive columns, 1k to 10M rows.
+ * Columns are generated directly so that the 10M case does not need 10M ReviewRecords.
+ * Each measurement is preceded by a warm-up so both paths are JIT-compiled.
+ */
+public class RatingKernelsBenchmark {
+
+    private interface Kernel {
+        void run();
+    }
+
+    private static double nsPerRow(Kernel kernel, int rows) {
+        // Warm up, then repeat until at least ~200 ms of work has been measured
+        for (int i = 0; i < 20; i++) {
+            kernel.run();
+        }
+        int repetitions = Math.max(5, 50_000_000 / Math.max(rows, 1));
+        long startTime = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            kernel.run();
+        }
+        return (System.nanoTime() - startTime) / (double) repetitions / rows;
+    }
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== RatingKernels: scalar vs blocked (ns per row) ===");
+        System.out.println();
+        System.out.printf("%-10s %-12s %-12s %-12s %-12s %-12s %-12s%n",
+                          "Rows", "RBAR scalar", "RBAR block", "Sub scalar", "Sub block", "Cnt scalar", "Cnt block");
+        System.out.println("------------------------------------------------------------------------------");
+
+        LocalDate now = LocalDate.now();
+        long thirtyDaysAgo = now.minusDays(30).toEpochDay();
+        long threeYearsAgo = now.minusYears(3).toEpochDay();
+        int today = (int) now.toEpochDay();
+        double[] out = new double[2];
+        int[] sink = new int[1];
+
+        for (int rows : new int[] {1_000, 10_000, 100_000, 1_000_000, 10_000_000}) {
+            Random random = new Random(42);
+            int[] ids = new int[rows];
+            int[] days = new int[rows];
+            float[] ratings = new float[rows];
+            byte[] tenths = new byte[rows];
+            for (int i = 0; i < rows; i++) {
+                ids[i] = random.nextInt(20);
+                days[i] = today - random.nextInt(3650);
+                ratings[i] = 1 + random.nextInt(40) / 10f;
+                tenths[i] = (byte) (random.nextInt(5) == 0 ? 0 : 10 + random.nextInt(41));
+            }
+            int start = today - 365;
+
+            double rbarScalar = nsPerRow(() -> RatingKernels.recencyWeightedSumsScalar(
+                    ids, days, ratings, rows, 7, start, today, thirtyDaysAgo, threeYearsAgo, out), rows);
+            double rbarBlocked = nsPerRow(() -> RatingKernels.recencyWeightedSumsBlocked(
+                    ids, days, ratings, rows, 7, start, today, thirtyDaysAgo, threeYearsAgo, out), rows);
+            double subScalar = nsPerRow(() -> RatingKernels.subRatingSumsScalar(ids, tenths, rows, 7, out), rows);
+            double subBlocked = nsPerRow(() -> RatingKernels.subRatingSumsBlocked(ids, tenths, rows, 7, out), rows);
+            double countScalar = nsPerRow(() -> sink[0] += RatingKernels.countInDateRangeScalar(days, rows, start, today), rows);
+            double countBlocked = nsPerRow(() -> sink[0] += RatingKernels.countInDateRangeBlocked(days, rows, start, today), rows);
+
+            System.out.printf("%-10d %-12.3f %-12.3f %-12.3f %-12.3f %-12.3f %-12.3f%n",
+                              rows, rbarScalar, rbarBlocked, subScalar, subBlocked, countScalar, countBlocked);
+        }
+        System.out.println();
+        System.out.println("(checksum " + sink[0] + ", " + out[0] + ")");
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
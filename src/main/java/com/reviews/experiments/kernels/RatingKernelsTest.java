@@ -0,0 +1,152 @@
+package com.reviews.experiments.kernels;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ColumnarReviewStore;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.datastructures.RatingKernels;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test suite for RatingKernels.
+ * The blocked kernels must agree with the scalar reference on every row count
+ * (including the tail that does not fill a whole block) and filter combination.
+ */
+public class RatingKernelsTest {
+
+    private static int[] ids;
+    private static int[] days;
+    private static float[] ratings;
+    private static byte[] tenths;
+
+    private static void fill(int n, Random random) {
+        ids = new int[n];
+        days = new int[n];
+        ratings = new float[n];
+        tenths = new byte[n];
+        int today = (int) LocalDate.now().toEpochDay();
+        for (int i = 0; i < n; i++) {
+            ids[i] = random.nextInt(5);
+            days[i] = today - random.nextInt(3650);
+            ratings[i] = 1 + random.nextInt(90) / 10f;
+            tenths[i] = (byte) (random.nextInt(4) == 0 ? 0 : 10 + random.nextInt(41));
+        }
+    }
+
+    public void testKernelsAgree() {
+        System.out.println("Testing blocked kernels against scalar reference...");
+
+        Random random = new Random(7);
+        LocalDate now = LocalDate.now();
+        long thirtyDaysAgo = now.minusDays(30).toEpochDay();
+        long threeYearsAgo = now.minusYears(3).toEpochDay();
+        int today = (int) now.toEpochDay();
+
+        for (int n : new int[] {0, 1, 3, 4, 5, 17, 1000, 4099}) {
+            fill(n, random);
+            for (int target : new int[] {RatingKernels.ANY_AIRLINE, 0, 3, 9}) {
+                int[][] ranges = {{Integer.MIN_VALUE, Integer.MAX_VALUE}, {today - 400, today - 20}, {today, today - 1}};
+                for (int[] range : ranges) {
+                    double[] scalar = new double[2];
+                    double[] blocked = new double[2];
+                    RatingKernels.recencyWeightedSumsScalar(ids, days, ratings, n, target, range[0], range[1],
+                                                            thirtyDaysAgo, threeYearsAgo, scalar);
+                    RatingKernels.recencyWeightedSumsBlocked(ids, days, ratings, n, target, range[0], range[1],
+                                                             thirtyDaysAgo, threeYearsAgo, blocked);
+                    if (Math.abs(scalar[0] - blocked[0]) > 1e-6 || Math.abs(scalar[1] - blocked[1]) > 1e-6) {
+                        throw new AssertionError("RBAR kernels disagree for n=" + n + " target=" + target);
+                    }
+                }
+
+                double[] scalar = new double[2];
+                double[] blocked = new double[2];
+                RatingKernels.subRatingSumsScalar(ids, tenths, n, target, scalar);
+                RatingKernels.subRatingSumsBlocked(ids, tenths, n, target, blocked);
+                if (scalar[0] != blocked[0] || scalar[1] != blocked[1]) {
+                    throw new AssertionError("Sub-rating kernels disagree for n=" + n + " target=" + target);
+                }
+            }
+
+            // Wide ranges whose width overflows an int must still count every row
+            int[][] countRanges = {{today - 365, today}, {today - 10, today - 20}, {today - 5000, today + 5},
+                                   {Integer.MIN_VALUE, Integer.MAX_VALUE}, {Integer.MIN_VALUE, today},
+                                   {-today, Integer.MAX_VALUE}};
+            for (int[] range : countRanges) {
+                if (RatingKernels.countInDateRangeScalar(days, n, range[0], range[1])
+                        != RatingKernels.countInDateRangeBlocked(days, n, range[0], range[1])) {
+                    throw new AssertionError("Count kernels disagree for n=" + n + " range " + Arrays.toString(range));
+                }
+            }
+            if (RatingKernels.countInDateRangeBlocked(days, n, Integer.MIN_VALUE, Integer.MAX_VALUE) != n) {
+                throw new AssertionError("Full range must count all " + n + " rows");
+            }
+        }
+
+        System.out.println("✓ Kernel agreement test passed");
+    }
+
+    public void testColumnarStoreUsesKernels() {
+        System.out.println("Testing kernel-backed columnar queries against the linear list...");
+
+        List<ReviewRecord> reviews = AVLPerformanceBenchmark.generateTestData(2001);
+        ColumnarReviewStore columns = new ColumnarReviewStore();
+        columns.addReviews(reviews);
+        LinearListReviewStore list = new LinearListReviewStore();
+        list.addReviews(reviews);
+
+        LocalDate now = LocalDate.now();
+        for (String airline : list.getAllAirlines()) {
+            double expected = list.calculateRecencyBiasedAverageRating(airline);
+            if (Math.abs(expected - columns.calculateRecencyBiasedAverageRating(airline)) > 1e-6) {
+                throw new AssertionError("RBAR differs for " + airline);
+            }
+
+            LocalDate start = now.minusYears(2);
+            LocalDate end = now.minusDays(10);
+            LinearListReviewStore filtered = new LinearListReviewStore();
+            for (ReviewRecord review : list.getReviewsByAirline(airline)) {
+                LocalDate date = LocalDate.parse(review.getDate());
+                if (!date.isBefore(start) && !date.isAfter(end)) {
+                    filtered.addReview(review);
+                }
+            }
+            expected = filtered.calculateRecencyBiasedAverageRating(airline);
+            if (Math.abs(expected - columns.calculateRecencyBiasedAverageRating(airline, start, end)) > 1e-6) {
+                throw new AssertionError("Date-filtered RBAR differs for " + airline);
+            }
+        }
+
+        if (columns.countReviewsInDateRange(now.minusDays(90), now)
+                != list.getReviewsInDateRange(now.minusDays(90), now).size()) {
+            throw new AssertionError("Date range count differs");
+        }
+
+        System.out.println("✓ Columnar kernel test passed (blocked path: " + RatingKernels.useBlocked() + ")");
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running RatingKernels Tests ===");
+        System.out.println();
+
+        try {
+            testKernelsAgree();
+            testColumnarStoreUsesKernels();
+
+            System.out.println();
+            System.out.println("🎉 All kernel tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) {
+        RatingKernelsTest test = new RatingKernelsTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,98 @@
+package com.reviews.experiments.leaderboard;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.ColumnarReviewStore;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Whole-leaderboard cost: the old per-airline loop (one RBAR call per airline) versus
+ * scoreAllAirlines() on fork-join pools of 1 to 8 threads.
+ * Speedup beyond one thread needs that many cores; the header prints what is available.
+ */
+public class LeaderboardScalingBenchmark {
+
+    private static final int REVIEWS = 100_000;
+
+    private interface Task {
+        double run();
+    }
+
+    private static double millis(Task task, int repetitions) {
+        double sink = 0;
+        for (int i = 0; i < 2; i++) {
+            sink += task.run();
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            sink += task.run();
+        }
+        double result = (System.nanoTime() - startTime) / 1e6 / repetitions;
+        return sink == Double.MIN_VALUE ? -1 : result;
+    }
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== Leaderboard: per-airline loop vs scoreAllAirlines() ===");
+        System.out.println(REVIEWS + " reviews; Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println();
+
+        List<ReviewRecord> reviews = AVLPerformanceBenchmark.generateTestData(REVIEWS);
+        LinearListReviewStore list = new LinearListReviewStore();
+        list.addReviews(reviews);
+        AVLReviewStore avl = new AVLReviewStore();
+        avl.addReviews(reviews);
+        ColumnarReviewStore columnar = new ColumnarReviewStore();
+        columnar.addReviews(reviews);
+
+        System.out.printf("%-12s %-14s %-12s %-12s %-12s %-12s%n",
+                          "Store", "Loop (ms)", "FJ x1", "FJ x2", "FJ x4", "FJ x8");
+        System.out.println("--------------------------------------------------------------------------");
+
+        double listLoop = millis(() -> {
+            double sum = 0;
+            for (String airline : list.getAllAirlines()) {
+                sum += list.calculateRecencyBiasedAverageRating(airline);
+            }
+            return sum;
+        }, 2);
+        double avlLoop = millis(() -> {
+            double sum = 0;
+            for (String airline : avl.getAllAirlines()) {
+                sum += avl.calculateRecencyBiasedAverageRating(airline);
+            }
+            return sum;
+        }, 5);
+        double columnarLoop = millis(() -> {
+            double sum = 0;
+            for (String airline : columnar.getAllAirlines()) {
+                sum += columnar.calculateRecencyBiasedAverageRating(airline);
+            }
+            return sum;
+        }, 20);
+
+        double[][] parallel = new double[3][4];
+        int[] threads = {1, 2, 4, 8};
+        for (int t = 0; t < threads.length; t++) {
+            ForkJoinPool pool = new ForkJoinPool(threads[t]);
+            parallel[0][t] = millis(() -> list.scoreAllAirlines(pool).getScore(0), 5);
+            parallel[1][t] = millis(() -> avl.scoreAllAirlines(pool).getScore(0), 5);
+            parallel[2][t] = millis(() -> columnar.scoreAllAirlines(pool).getScore(0), 20);
+            pool.shutdown();
+        }
+
+        String[] labels = {"LinearList", "AVL", "Columnar"};
+        double[] loops = {listLoop, avlLoop, columnarLoop};
+        for (int s = 0; s < labels.length; s++) {
+            System.out.printf("%-12s %-14.2f %-12.2f %-12.2f %-12.2f %-12.2f%n", labels[s], loops[s],
+                              parallel[s][0], parallel[s][1], parallel[s][2], parallel[s][3]);
+        }
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,161 @@
+package com.reviews.experiments.leaderboard;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.AirlineScores;
+import com.reviews.datastructures.ColumnarReviewStore;
+import com.reviews.datastructures.ConcurrentReviewStore;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.datastructures.OffHeapReviewStore;
+import com.reviews.datastructures.PersistentAVLReviewStore;
+import com.reviews.datastructures.RBTReviewStore;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test suite for scoreAllAirlines() on every store.
+ * Each parallel leaderboard must equal the per-airline calculateRecencyBiasedAverageRating
+ * loop it replaces, on a pool of one thread and on a pool of several.
+ */
+public class ScoreAllAirlinesTest {
+
+    private List<ReviewRecord> testReviews;
+    private LinearListReviewStore baseline;
+    private Map<String, Double> expected;
+
+    public void setUp() {
+        // Large enough that the range-splitting stores create many leaves
+        testReviews = AVLPerformanceBenchmark.generateTestData(20000);
+        baseline = new LinearListReviewStore();
+        baseline.addReviews(testReviews);
+        expected = new TreeMap<>();
+        for (String airline : baseline.getAllAirlines()) {
+            expected.put(airline, baseline.calculateRecencyBiasedAverageRating(airline));
+        }
+    }
+
+    private interface Scorer {
+        AirlineScores score(ForkJoinPool pool);
+    }
+
+    private void check(String label, Scorer scorer, Map<String, Double> want) {
+        for (int parallelism : new int[] {1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                AirlineScores scores = scorer.score(pool);
+                if (!scores.toMap().keySet().equals(want.keySet())) {
+                    throw new AssertionError(label + ": airline sets differ " + scores.toMap().keySet());
+                }
+                for (Map.Entry<String, Double> entry : want.entrySet()) {
+                    int id = scores.getId(entry.getKey());
+                    if (id < 0 || !scores.getAirline(id).equals(entry.getKey())
+                            || Math.abs(scores.getScores()[id] - entry.getValue()) > 1e-6) {
+                        throw new AssertionError(label + ": score differs for " + entry.getKey()
+                                                 + " (" + scores.getScore(entry.getKey()) + " vs " + entry.getValue() + ")");
+                    }
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    public void testAllStoresMatchPerAirlineLoop() {
+        System.out.println("Testing scoreAllAirlines on every store...");
+
+        check("LinearList", baseline::scoreAllAirlines, expected);
+
+        AVLReviewStore avl = new AVLReviewStore();
+        avl.addReviews(testReviews);
+        check("AVL", avl::scoreAllAirlines, expected);
+
+        ColumnarReviewStore columnar = new ColumnarReviewStore();
+        columnar.addReviews(testReviews);
+        check("Columnar", columnar::scoreAllAirlines, expected);
+
+        OffHeapReviewStore offHeap = new OffHeapReviewStore(10, 1 << 20);
+        offHeap.addReviews(testReviews);
+        check("OffHeap", offHeap::scoreAllAirlines, expected);
+
+        ConcurrentReviewStore concurrent = new ConcurrentReviewStore();
+        concurrent.addReviews(testReviews);
+        check("Concurrent", concurrent::scoreAllAirlines, expected);
+
+        PersistentAVLReviewStore persistent = new PersistentAVLReviewStore();
+        persistent.addReviews(testReviews);
+        check("PersistentAVL", persistent::scoreAllAirlines, expected);
+
+        System.out.println("✓ All stores match the per-airline loop");
+    }
+
+    public void testRBTUsesItsOwnWeights() {
+        System.out.println("Testing scoreAllAirlines on the RBT (exponential weights)...");
+
+        List<ReviewRecord> subset = testReviews.subList(0, 3000);
+        RBTReviewStore rbt = new RBTReviewStore();
+        rbt.addReviews(subset);
+
+        Map<String, Double> want = new TreeMap<>();
+        for (String airline : rbt.getAllAirlines()) {
+            want.put(airline, rbt.calculateRecencyBiasedAverageRating(airline));
+        }
+        check("RBT", rbt::scoreAllAirlines, want);
+
+        System.out.println("✓ RBT leaderboard test passed");
+    }
+
+    public void testRankingAndEmptyStores() {
+        System.out.println("Testing ranking order and empty stores...");
+
+        AirlineScores scores = baseline.scoreAllAirlines();
+        int[] ranking = scores.getRanking();
+        for (int i = 1; i < ranking.length; i++) {
+            if (scores.getScore(ranking[i - 1]) < scores.getScore(ranking[i])) {
+                throw new AssertionError("Ranking not sorted by score");
+            }
+        }
+        if (scores.getId("Unknown Airline") != -1 || scores.getScore("Unknown Airline") != 0.0) {
+            throw new AssertionError("Unknown airline should have no id and score 0");
+        }
+
+        if (new LinearListReviewStore().scoreAllAirlines().size() != 0
+                || new AVLReviewStore().scoreAllAirlines().size() != 0
+                || new RBTReviewStore().scoreAllAirlines().size() != 0
+                || new ColumnarReviewStore().scoreAllAirlines().size() != 0
+                || new OffHeapReviewStore(10, 1 << 20).scoreAllAirlines().size() != 0
+                || new ConcurrentReviewStore().scoreAllAirlines().size() != 0
+                || new PersistentAVLReviewStore().scoreAllAirlines().size() != 0) {
+            throw new AssertionError("Empty stores must produce empty leaderboards");
+        }
+
+        System.out.println("✓ Ranking and empty store test passed");
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running scoreAllAirlines Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testAllStoresMatchPerAirlineLoop();
+            testRBTUsesItsOwnWeights();
+            testRankingAndEmptyStores();
+
+            System.out.println();
+            System.out.println("🎉 All leaderboard tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) {
+        ScoreAllAirlinesTest test = new ScoreAllAirlinesTest();
+        test.runAllTests();
+    }
+}
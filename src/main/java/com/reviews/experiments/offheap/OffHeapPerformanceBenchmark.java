@@ -0,0 +1,111 @@
+package com.reviews.experiments.offheap;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.OffHeapReviewStore;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Sustained-ingest benchmark for the off-heap store versus the AVL store.
+ * Reviews are generated one at a time and dropped after insertion, so the heap that
+ * remains reachable (and the GC work) is whatever the store itself retains.
+ */
+public class OffHeapPerformanceBenchmark {
+
+    private static final String[] AIRLINE_NAMES = {
+        "Delta", "United", "American", "Southwest", "JetBlue",
+        "Alaska", "Spirit", "Frontier", "Hawaiian", "Virgin America",
+        "Lufthansa", "British Airways", "Air France", "KLM", "Emirates",
+        "Singapore Airlines", "Cathay Pacific", "Qantas", "Turkish Airlines", "ANA"
+    };
+
+    private interface Sink {
+        void add(AirlineReview review);
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTimeMs() {
+        long time = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, bean.getCollectionTime());
+        }
+        return time;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Stream n generated reviews into the sink and report time, GC activity and retained heap.
+     */
+    private static void ingest(String label, int n, Sink sink) {
+        Random random = new Random(42);
+        LocalDate now = LocalDate.now();
+        long heapBefore = usedHeapAfterGc();
+        long gcBefore = gcCount();
+        long gcTimeBefore = gcTimeMs();
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < n; i++) {
+            double rating = Math.round((random.nextGaussian() + 3.5) * 10.0) / 10.0;
+            sink.add(new AirlineReview(AIRLINE_NAMES[random.nextInt(AIRLINE_NAMES.length)], "link", "title",
+                                       "author", "USA", now.minusDays(random.nextInt(3650)).toString(),
+                                       "Review content for test " + i, "Boeing 737", "Business", "Economy",
+                                       "Route", rating, 3.0, 3.0, 3.0, 3.0, 3.0, 3.0, 3.0, 1));
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        long gcs = gcCount() - gcBefore;
+        long gcTime = gcTimeMs() - gcTimeBefore;
+        long retained = usedHeapAfterGc() - heapBefore;
+        System.out.printf("%-10s %-10d %-14.0f %-8d %-10d %-16.1f%n",
+                          label, n, n / seconds, gcs, gcTime, retained / (double) n);
+    }
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== OffHeapReviewStore vs AVLReviewStore: sustained ingest ===");
+        System.out.println();
+        System.out.printf("%-10s %-10s %-14s %-8s %-10s %-16s%n",
+                          "Store", "Reviews", "Inserts/s", "GCs", "GC ms", "Heap bytes/review");
+        System.out.println("----------------------------------------------------------------------");
+
+        int[] sizes = {100_000, 1_000_000};
+        for (int n : sizes) {
+            AVLReviewStore avl = new AVLReviewStore();
+            ingest("AVL", n, avl::addReview);
+            avl = null;
+
+            OffHeapReviewStore offHeap = new OffHeapReviewStore();
+            ingest("OffHeap", n, offHeap::addReview);
+
+            // Queries on the off-heap store allocate nothing per review
+            long gcBefore = gcCount();
+            long startTime = System.nanoTime();
+            double checksum = 0;
+            for (int i = 0; i < 100; i++) {
+                checksum += offHeap.calculateRecencyBiasedAverageRating(AIRLINE_NAMES[i % AIRLINE_NAMES.length]);
+            }
+            System.out.printf("  OffHeap RBAR: %.3f ms/op, GCs during queries: %d (checksum %.2f)%n",
+                              (System.nanoTime() - startTime) / 100 / 1e6, gcCount() - gcBefore, checksum);
+            System.out.println("  " + offHeap.getStatistics());
+        }
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
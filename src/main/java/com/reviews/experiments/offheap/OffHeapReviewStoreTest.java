@@ -0,0 +1,195 @@
+package com.reviews.experiments.offheap;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.OffHeapReviewStore;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test suite for the OffHeapReviewStore implementation.
+ * Results are rebuilt from off-heap slots, so they are compared with the AVL store
+ * field by field rather than by object identity.
+ */
+public class OffHeapReviewStoreTest {
+
+    private OffHeapReviewStore store;
+    private AVLReviewStore baseline;
+    private List<ReviewRecord> testReviews;
+
+    public void setUp() {
+        testReviews = AVLPerformanceBenchmark.generateTestData(3000);
+        // Small segments so the test crosses several slot and body segment boundaries
+        store = new OffHeapReviewStore(8, 4096);
+        store.addReviews(testReviews);
+        baseline = new AVLReviewStore();
+        baseline.addReviews(testReviews);
+    }
+
+    private static String key(ReviewRecord review) {
+        return review.getName() + "|" + review.getDate() + "|" + (float) review.getOverallRating()
+               + "|" + review.getCountry() + "|" + review.getContent();
+    }
+
+    private static List<String> keys(List<ReviewRecord> reviews) {
+        List<String> result = new ArrayList<>();
+        for (ReviewRecord review : reviews) {
+            result.add(key(review));
+        }
+        return result;
+    }
+
+    public void testBasicOperations() {
+        System.out.println("Testing basic off-heap store operations...");
+
+        if (store.size() != 3000) {
+            throw new AssertionError("Expected size 3000, got " + store.size());
+        }
+
+        long reserved = store.getReservedOffHeapBytes();
+        store.clear();
+        if (store.size() != 0 || !store.getAllAirlines().isEmpty()) {
+            throw new AssertionError("Expected empty store after clear");
+        }
+        store.addReviews(testReviews);
+        if (store.getReservedOffHeapBytes() != reserved) {
+            throw new AssertionError("Segments should be reused after clear");
+        }
+
+        System.out.println("✓ Basic operations test passed");
+    }
+
+    public void testMatchesBaseline() {
+        System.out.println("Testing query results against the AVL store...");
+
+        if (!store.getAllAirlines().equals(baseline.getAllAirlines())) {
+            throw new AssertionError("Airline sets differ");
+        }
+
+        for (String airline : baseline.getAllAirlines()) {
+            if (!keys(store.getReviewsByAirline(airline)).equals(keys(baseline.getReviewsByAirline(airline)))) {
+                throw new AssertionError("Reviews by airline differ for " + airline);
+            }
+            for (int k : new int[] {1, 10, 100}) {
+                if (!keys(store.getTopKRecentReviews(airline, k)).equals(keys(baseline.getTopKRecentReviews(airline, k)))) {
+                    throw new AssertionError("Top-" + k + " differs for " + airline);
+                }
+            }
+            double expected = baseline.calculateRecencyBiasedAverageRating(airline);
+            double actual = store.calculateRecencyBiasedAverageRating(airline);
+            if (Math.abs(expected - actual) > 1e-6) {
+                throw new AssertionError("RBAR differs for " + airline + ": " + actual + " vs " + expected);
+            }
+        }
+
+        LocalDate now = LocalDate.now();
+        List<ReviewRecord> range = store.getReviewsInDateRange(now.minusDays(400), now.minusDays(100));
+        if (!new HashSet<>(keys(range)).equals(new HashSet<>(keys(baseline.getReviewsInDateRange(now.minusDays(400), now.minusDays(100)))))
+                || store.countReviewsInDateRange(now.minusDays(400), now.minusDays(100)) != range.size()) {
+            throw new AssertionError("Date range results differ");
+        }
+
+        List<ReviewRecord> sorted = store.getAllReviewsSortedByDate();
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i - 1).getDate().compareTo(sorted.get(i).getDate()) < 0) {
+                throw new AssertionError("Reviews not sorted newest first at " + i);
+            }
+        }
+
+        System.out.println("✓ Baseline comparison test passed");
+    }
+
+    public void testRoundTrip() {
+        System.out.println("Testing slot round trip...");
+
+        OffHeapReviewStore small = new OffHeapReviewStore();
+        String content = "Crew was lovely — café au lait served at 35,000 ft ✈";
+        small.addReview(new AirlineReview("Delta", "l1", "t", "a", "USA", "2024-03-05", content, "Boeing 737",
+                                          "Solo Leisure", "Economy", "LAX-JFK", 8.0, 4.0, 5.0, 0.0, 3.0, 2.0, 1.0, 4.0, 1));
+
+        OffHeapReviewStore.StoredReview review = (OffHeapReviewStore.StoredReview) small.getReviewsByAirline("Delta").get(0);
+        if (!review.getContent().equals(content) || !review.getDate().equals("2024-03-05")
+                || review.getOverallRating() != 8.0 || !review.getCountry().equals("USA")) {
+            throw new AssertionError("Core fields did not round trip");
+        }
+        if (review.getSubRating(1) != 5.0 || review.getSubRating(2) != 0.0 || review.getRecommended() != 1
+                || !"Economy".equals(review.getCabinFlown()) || !"Solo Leisure".equals(review.getTypeTraveller())) {
+            throw new AssertionError("Extended fields did not round trip");
+        }
+
+        Map<String, Object> stats = small.getStatistics();
+        if (!stats.get("offHeapSlotBytes").equals((long) OffHeapReviewStore.SLOT_BYTES)) {
+            throw new AssertionError("Unexpected slot bytes: " + stats);
+        }
+
+        System.out.println("✓ Round trip test passed");
+    }
+
+    public void testBodySegmentBoundary() {
+        System.out.println("Testing body segment boundaries...");
+
+        OffHeapReviewStore tiny = new OffHeapReviewStore(4, 100);
+        String[] contents = {
+            "x".repeat(100),        // fills the first segment exactly
+            "second",               // starts the next segment
+            "y".repeat(60),
+            "z".repeat(50),         // does not fit behind the 66 bytes used: skips the tail
+            "",
+            "a" + "é".repeat(60)    // 121 bytes; cut before the é split at byte 100
+        };
+        for (int i = 0; i < contents.length; i++) {
+            tiny.addReview(new AirlineReview("Delta", "l" + i, "t", "a", "USA", "2024-03-0" + (i + 1), contents[i],
+                                             "Boeing 737", "Solo Leisure", "Economy", "LAX-JFK",
+                                             8.0, 4.0, 5.0, 0.0, 3.0, 2.0, 1.0, 4.0, 1));
+        }
+        if (tiny.size() != contents.length) {
+            throw new AssertionError("Expected " + contents.length + " reviews, got " + tiny.size());
+        }
+        List<ReviewRecord> stored = tiny.getReviewsByAirline("Delta");
+        Set<String> bodies = new HashSet<>();
+        for (ReviewRecord review : stored) {
+            bodies.add(review.getContent());
+        }
+        Set<String> expected = new HashSet<>(Arrays.asList(contents).subList(0, contents.length - 1));
+        expected.add("a" + "é".repeat(49));
+        if (!bodies.equals(expected)) {
+            throw new AssertionError("Bodies did not round trip across segments: " + bodies);
+        }
+
+        System.out.println("✓ Body segment boundary test passed");
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running OffHeapReviewStore Tests ===");
+        System.out.println();
+
+        setUp();
+
+        try {
+            testBasicOperations();
+            testMatchesBaseline();
+            testRoundTrip();
+            testBodySegmentBoundary();
+
+            System.out.println();
+            System.out.println("🎉 All off-heap store tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) {
+        OffHeapReviewStoreTest test = new OffHeapReviewStoreTest();
+        test.runAllTests();
+    }
+}
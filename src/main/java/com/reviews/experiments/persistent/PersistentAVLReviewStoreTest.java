@@ -0,0 +1,231 @@
+package com.reviews.experiments.persistent;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.datastructures.PersistentAVLNode;
+import com.reviews.datastructures.PersistentAVLReviewStore;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test suite for the PersistentAVLReviewStore implementation.
+ * Query results must match the linear list / mutable AVL, old snapshots must never change,
+ * and new versions must share untouched subtrees with the previous one.
+ */
+public class PersistentAVLReviewStoreTest {
+
+    private PersistentAVLReviewStore store;
+    private LinearListReviewStore baseline;
+    private List<ReviewRecord> testReviews;
+
+    public void setUp() {
+        testReviews = AVLPerformanceBenchmark.generateTestData(3000);
+        store = new PersistentAVLReviewStore();
+        store.addReviews(testReviews);
+        baseline = new LinearListReviewStore();
+        baseline.addReviews(testReviews);
+    }
+
+    public void testMatchesBaseline() {
+        System.out.println("Testing query results against the linear list...");
+
+        AVLReviewStore avl = new AVLReviewStore();
+        avl.addReviews(testReviews);
+
+        if (store.size() != baseline.size()) {
+            throw new AssertionError("Expected size " + baseline.size() + ", got " + store.size());
+        }
+        if (!store.getAllAirlines().equals(baseline.getAllAirlines())) {
+            throw new AssertionError("Airline sets differ");
+        }
+        for (String airline : baseline.getAllAirlines()) {
+            if (!store.getTopKRecentReviews(airline, 20).equals(baseline.getTopKRecentReviews(airline, 20))) {
+                throw new AssertionError("Top-k differs for " + airline);
+            }
+            double expected = baseline.calculateRecencyBiasedAverageRating(airline);
+            if (Math.abs(expected - store.calculateRecencyBiasedAverageRating(airline)) > 1e-9) {
+                throw new AssertionError("RBAR differs for " + airline);
+            }
+            if (!store.getReviewsByAirline(airline).equals(avl.getReviewsByAirline(airline))) {
+                throw new AssertionError("Airline reviews differ for " + airline);
+            }
+        }
+        if (!store.getAllReviewsSortedByDate().equals(baseline.getAllReviewsSortedByDate())) {
+            throw new AssertionError("Global date order differs");
+        }
+        LocalDate now = LocalDate.now();
+        if (!new HashSet<>(store.getReviewsInDateRange(now.minusDays(100), now))
+                .equals(new HashSet<>(baseline.getReviewsInDateRange(now.minusDays(100), now)))) {
+            throw new AssertionError("Date range differs");
+        }
+        for (String airline : baseline.getAllAirlines()) {
+            // Each airline's matches keep insertion order
+            List<ReviewRecord> expected = new ArrayList<>();
+            for (ReviewRecord review : avl.getReviewsByAirline(airline)) {
+                LocalDate date = LocalDate.parse(review.getDate());
+                if (!date.isBefore(now.minusYears(1)) && !date.isAfter(now)) {
+                    expected.add(review);
+                }
+            }
+            List<ReviewRecord> actual = new ArrayList<>();
+            for (ReviewRecord review : store.getReviewsInDateRange(now.minusYears(1), now)) {
+                if (review.getName().equals(airline)) {
+                    actual.add(review);
+                }
+            }
+            if (!actual.equals(expected)) {
+                throw new AssertionError("Date range order differs for " + airline);
+            }
+        }
+        Map<String, Object> stats = store.getStatistics();
+        Map<String, Object> baselineStats = baseline.getStatistics();
+        if (!stats.get("oldestReview").equals(baselineStats.get("oldestReview"))
+                || !stats.get("newestReview").equals(baselineStats.get("newestReview"))) {
+            throw new AssertionError("Oldest/newest dates differ: " + stats + " vs " + baselineStats);
+        }
+        if (new PersistentAVLReviewStore().getStatistics().containsKey("oldestReview")) {
+            throw new AssertionError("Empty store has no oldest review");
+        }
+        if (store.snapshot().getTreeHeight() != avl.getTreeHeight() || !store.snapshot().isBalanced()) {
+            throw new AssertionError("Tree shape differs from the mutable AVL");
+        }
+
+        System.out.println("✓ Baseline comparison test passed");
+    }
+
+    public void testSnapshotIsolation() {
+        System.out.println("Testing snapshot isolation...");
+
+        PersistentAVLReviewStore.Snapshot before = store.snapshot();
+        Map<String, Double> leaderboard = before.getRecencyBiasedLeaderboard();
+        int sizeBefore = before.size();
+
+        store.addReviews(AVLPerformanceBenchmark.generateTestData(500));
+        store.clear();
+        store.addReview(testReviews.get(0));
+
+        if (before.size() != sizeBefore || !before.getRecencyBiasedLeaderboard().equals(leaderboard)) {
+            throw new AssertionError("Old snapshot changed after later writes");
+        }
+        if (store.size() != 1 || store.snapshot().getVersion() <= before.getVersion()) {
+            throw new AssertionError("Expected a newer version with one review");
+        }
+
+        System.out.println("✓ Snapshot isolation test passed");
+    }
+
+    public void testStructuralSharing() {
+        System.out.println("Testing structural sharing between versions...");
+
+        PersistentAVLReviewStore.Snapshot before = store.snapshot();
+        PersistentAVLNode oldRoot = before.getRoot();
+        // Insert into the airline at the root: only the root node may be copied
+        ReviewRecord review = baseline.getReviewsByAirline(oldRoot.airlineName).get(0);
+        store.addReview(review);
+        PersistentAVLNode newRoot = store.snapshot().getRoot();
+
+        if (newRoot == oldRoot) {
+            throw new AssertionError("Insert must not modify the old root in place");
+        }
+        if (newRoot.left != oldRoot.left || newRoot.right != oldRoot.right) {
+            throw new AssertionError("Untouched subtrees must be shared");
+        }
+        if (newRoot.reviews.next != oldRoot.reviews || newRoot.reviewCount != oldRoot.reviewCount + 1) {
+            throw new AssertionError("Review list tail must be shared");
+        }
+
+        System.out.println("✓ Structural sharing test passed");
+    }
+
+    public void testConcurrentReadersAndWriters() throws InterruptedException {
+        System.out.println("Testing lock-free readers against concurrent writers...");
+
+        PersistentAVLReviewStore concurrent = new PersistentAVLReviewStore();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            final int offset = t;
+            writers[t] = new Thread(() -> {
+                for (int i = offset; i < testReviews.size(); i += writers.length) {
+                    concurrent.addReview(testReviews.get(i));
+                }
+            });
+        }
+        Thread reader = new Thread(() -> {
+            try {
+                long lastVersion = -1;
+                for (int round = 0; round < 200; round++) {
+                    PersistentAVLReviewStore.Snapshot snapshot = concurrent.snapshot();
+                    if (snapshot.getVersion() < lastVersion) {
+                        throw new AssertionError("Version went backwards");
+                    }
+                    lastVersion = snapshot.getVersion();
+                    int total = 0;
+                    for (String airline : snapshot.getAllAirlines()) {
+                        total += snapshot.getReviewsByAirline(airline).size();
+                    }
+                    if (total != snapshot.size()) {
+                        throw new AssertionError("Snapshot inconsistent: " + total + " vs " + snapshot.size());
+                    }
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+
+        reader.start();
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        reader.join();
+
+        if (failure.get() != null) {
+            throw new AssertionError("Reader failed: " + failure.get());
+        }
+        if (concurrent.size() != testReviews.size() || !concurrent.snapshot().isBalanced()) {
+            throw new AssertionError("Lost reviews or unbalanced tree after concurrent inserts");
+        }
+
+        System.out.println("✓ Concurrent readers and writers test passed");
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running PersistentAVLReviewStore Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testMatchesBaseline();
+            testSnapshotIsolation();
+            setUp();
+            testStructuralSharing();
+            setUp();
+            testConcurrentReadersAndWriters();
+
+            System.out.println();
+            System.out.println("🎉 All persistent AVL tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted", e);
+        }
+    }
+
+    public static void main(String[] args) {
+        PersistentAVLReviewStoreTest test = new PersistentAVLReviewStoreTest();
+        test.runAllTests();
+    }
+}
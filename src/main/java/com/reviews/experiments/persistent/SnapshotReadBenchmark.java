@@ -0,0 +1,166 @@
+package com.reviews.experiments.persistent;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.AVLReviewStore;
+import com.reviews.datastructures.PersistentAVLReviewStore;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Leaderboard reads under increasing writer rates: snapshots of the persistent AVL versus
+ * the mutable AVLReviewStore behind a read-write lock (a consistent leaderboard needs the
+ * read lock for the whole computation, which stalls the writer and vice versa).
+ * For each target write rate, one writer thread paces inserts while two readers compute
+ * the full RBAR leaderboard for a fixed interval.
+ */
+public class SnapshotReadBenchmark {
+
+    private static final long RUN_MILLIS = 1000;
+
+    private interface Workload {
+        void insert(ReviewRecord review);
+
+        double leaderboard(String[] airlines);
+    }
+
+    private static final class LockedAVL implements Workload {
+        private final AVLReviewStore store = new AVLReviewStore();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        public void insert(ReviewRecord review) {
+            lock.writeLock().lock();
+            try {
+                store.addReview(review);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        public double leaderboard(String[] airlines) {
+            lock.readLock().lock();
+            try {
+                double sum = 0;
+                for (String airline : airlines) {
+                    sum += store.calculateRecencyBiasedAverageRating(airline);
+                }
+                return sum;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private static final class Persistent implements Workload {
+        private final PersistentAVLReviewStore store = new PersistentAVLReviewStore();
+
+        public void insert(ReviewRecord review) {
+            store.addReview(review);
+        }
+
+        public double leaderboard(String[] airlines) {
+            PersistentAVLReviewStore.Snapshot snapshot = store.snapshot();
+            double sum = 0;
+            for (String airline : airlines) {
+                sum += snapshot.calculateRecencyBiasedAverageRating(airline);
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Returns {achieved writes per second, leaderboards per second}.
+     * A target rate of 0 means no writer; a negative rate means an unthrottled writer.
+     */
+    private static double[] run(Workload workload, int writesPerSecond, List<ReviewRecord> seed,
+                                List<ReviewRecord> inserts, String[] airlines) throws InterruptedException {
+        for (ReviewRecord review : seed) {
+            workload.insert(review);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder writes = new LongAdder();
+        LongAdder reads = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        if (writesPerSecond != 0) {
+            threads.add(new Thread(() -> {
+                long startTime = System.nanoTime();
+                int i = 0;
+                while (running.get()) {
+                    if (writesPerSecond > 0) {
+                        long due = startTime + (long) (i * 1e9 / writesPerSecond);
+                        while (System.nanoTime() < due && running.get()) {
+                            Thread.yield();
+                        }
+                    }
+                    workload.insert(inserts.get(i % inserts.size()));
+                    writes.increment();
+                    i++;
+                }
+            }));
+        }
+        for (int t = 0; t < 2; t++) {
+            threads.add(new Thread(() -> {
+                double sink = 0;
+                while (running.get()) {
+                    sink += workload.leaderboard(airlines);
+                    reads.increment();
+                }
+                if (sink < 0) {
+                    System.out.println(sink);
+                }
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        return new double[] {writes.sum() / seconds, reads.sum() / seconds};
+    }
+
+    public static void runComprehensiveBenchmark() throws InterruptedException {
+        System.out.println("=== Persistent AVL snapshots vs read-write-locked AVL ===");
+        System.out.println("Two leaderboard readers, one paced writer; "
+                           + "Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println();
+        System.out.printf("%-14s %-16s %-16s %-16s %-16s%n",
+                          "Target w/s", "Locked w/s", "Locked boards/s", "Persist w/s", "Persist boards/s");
+        System.out.println("--------------------------------------------------------------------------------");
+
+        List<ReviewRecord> seed = AVLPerformanceBenchmark.generateTestData(10000);
+        List<ReviewRecord> inserts = AVLPerformanceBenchmark.generateTestData(20000);
+        Set<String> names = new TreeSet<>();
+        for (ReviewRecord review : seed) {
+            names.add(review.getName());
+        }
+        String[] airlines = names.toArray(new String[0]);
+
+        run(new LockedAVL(), 1000, seed, inserts, airlines);
+        run(new Persistent(), 1000, seed, inserts, airlines);
+
+        for (int rate : new int[] {0, 100, 1000, 10000, -1}) {
+            double[] locked = run(new LockedAVL(), rate, seed, inserts, airlines);
+            double[] persistent = run(new Persistent(), rate, seed, inserts, airlines);
+            System.out.printf("%-14s %-16.0f %-16.1f %-16.0f %-16.1f%n",
+                              rate < 0 ? "unthrottled" : String.valueOf(rate),
+                              locked[0], locked[1], persistent[0], persistent[1]);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,98 @@
+package com.reviews.experiments.planner;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ReviewBitmapIndex.Attribute;
+import com.reviews.datastructures.ReviewQuery;
+import com.reviews.datastructures.ReviewQueryPlanner;
+import com.reviews.datastructures.TextQuery;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measured latency of every strategy per query versus the strategy the planner picks,
+ * on generated reviews. A good cost model picks the fastest strategy or one close to it.
+ */
+public class QueryPlannerBenchmark {
+
+    private static final int ITERATIONS = 50;
+
+    private static double time(ReviewQueryPlanner planner, ReviewQuery query, ReviewQueryPlanner.Strategy strategy) {
+        long sink = 0;
+        for (int i = 0; i < ITERATIONS / 5; i++) {
+            sink += planner.execute(query, strategy).getReviews().size();
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += planner.execute(query, strategy).getReviews().size();
+        }
+        double us = (System.nanoTime() - startTime) / 1e3 / ITERATIONS;
+        return sink == Long.MIN_VALUE ? -1 : us;
+    }
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== Cost-Based Query Planner: Chosen vs Measured Best Strategy ===");
+        System.out.println();
+
+        int size = 200000;
+        List<ReviewRecord> reviews = AVLPerformanceBenchmark.generateTestData(size);
+        ReviewQueryPlanner planner = new ReviewQueryPlanner();
+        planner.addReviews(reviews);
+        LocalDate today = LocalDate.now();
+
+        Map<String, ReviewQuery> queries = new LinkedHashMap<>();
+        queries.put("4-way, 90 days, top 10", ReviewQuery.all().where(Attribute.CABIN, "Business")
+            .where(Attribute.TRAVELLER_TYPE, "Leisure").where(Attribute.AIRCRAFT, "A350").lastDays(today, 90)
+            .orderBy(ReviewQuery.Order.NEWEST_FIRST).limit(10));
+        queries.put("cabin, newest 10", ReviewQuery.all().where(Attribute.CABIN, "Economy")
+            .orderBy(ReviewQuery.Order.NEWEST_FIRST).limit(10));
+        queries.put("airline+country+cabin", ReviewQuery.all().airline("Emirates").where(Attribute.COUNTRY, "Japan")
+            .where(Attribute.CABIN, "First"));
+        queries.put("airline, 3 years", ReviewQuery.all().airline("Emirates").lastDays(today, 3 * 365));
+        queries.put("text term, 30 days", ReviewQuery.all().text(TextQuery.term("199999")).lastDays(today, 30));
+        queries.put("first 20, any", ReviewQuery.all().limit(20));
+        queries.put("cabin, best rated 10", ReviewQuery.all().where(Attribute.CABIN, "First")
+            .orderBy(ReviewQuery.Order.RATING_DESC).limit(10));
+
+        System.out.printf("Reviews: %d%n%n", size);
+        System.out.printf("%-24s %-10s %-11s %-11s %-11s %-10s %-8s%n", "Query", "Rows", "SCAN (us)", "INDEX (us)",
+                          "WALK (us)", "Chosen", "Best?");
+        System.out.println("--------------------------------------------------------------------------------------");
+        String lastExplain = null;
+        for (Map.Entry<String, ReviewQuery> entry : queries.entrySet()) {
+            ReviewQuery query = entry.getValue();
+            Map<ReviewQueryPlanner.Strategy, Double> measured = new LinkedHashMap<>();
+            for (ReviewQueryPlanner.Strategy strategy : ReviewQueryPlanner.Strategy.values()) {
+                try {
+                    measured.put(strategy, time(planner, query, strategy));
+                } catch (IllegalArgumentException e) {
+                    // not applicable
+                }
+            }
+            ReviewQueryPlanner.Result result = planner.execute(query);
+            ReviewQueryPlanner.Strategy chosen = result.getPlan().getStrategy();
+            double best = measured.values().stream().mapToDouble(Double::doubleValue).min().orElse(0);
+            System.out.printf("%-24s %-10d %-11s %-11s %-11s %-10s %-8s%n", entry.getKey(), result.getReviews().size(),
+                              format(measured.get(ReviewQueryPlanner.Strategy.SCAN)),
+                              format(measured.get(ReviewQueryPlanner.Strategy.INDEX)),
+                              format(measured.get(ReviewQueryPlanner.Strategy.DATE_WALK)), chosen,
+                              measured.get(chosen) <= best * 1.5 ? "yes" : String.format("%.1fx", measured.get(chosen) / best));
+            if (lastExplain == null) {
+                lastExplain = result.getPlan().explain();
+            }
+        }
+        System.out.println();
+        System.out.println(lastExplain);
+    }
+
+    private static String format(Double us) {
+        return us == null ? "-" : String.format("%.1f", us);
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,327 @@
+package com.reviews.experiments.planner;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ReviewBitmapIndex.Attribute;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.ReviewFields;
+import com.reviews.datastructures.ReviewQuery;
+import com.reviews.datastructures.ReviewQueryPlanner;
+import com.reviews.datastructures.TextQuery;
+import com.reviews.datastructures.TextTokenizer;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Test suite for ReviewQuery and ReviewQueryPlanner.
+ * Every strategy must return exactly what a brute-force filter, sort and limit over the
+ * reviews returns; the planner must pick the expected strategy for clear-cut queries, and
+ * explain() must report estimated and actual rows.
+ */
+public class QueryPlannerTest {
+
+    private static final String[] CABINS = {"Economy", "Business", "First", "Premium Economy"};
+    private static final String[] TRAVELLERS = {"Business", "Leisure", "Solo Leisure"};
+    private static final String[] AIRCRAFT = {"Airbus A350", "Boeing 777", "Boeing 747-400", "Airbus A320"};
+    private static final String[] COUNTRIES = {"UK", "Japan", "Australia", "United Kingdom"};
+    private static final String[] AIRLINES = {"Emirates", "qatar-airways", "Singapore Airlines", "lufthansa"};
+    private static final String[] TERMS = {"lounge", "delayed", "food", "seat", "business class", "test"};
+
+    private List<ReviewRecord> testReviews;
+    private List<List<String>> tokens;
+    private ReviewQueryPlanner planner;
+    private LocalDate today;
+
+    public void setUp() throws IOException {
+        testReviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        testReviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        testReviews.addAll(AVLPerformanceBenchmark.generateTestData(20000));
+        tokens = new ArrayList<>();
+        for (ReviewRecord review : testReviews) {
+            tokens.add(TextTokenizer.tokenize(review.getContent()));
+        }
+        planner = new ReviewQueryPlanner();
+        planner.addReviews(testReviews);
+        today = LocalDate.now();
+    }
+
+    /**
+     * Test every strategy against brute force on random compound queries
+     */
+    public void testStrategiesAgainstBruteForce() {
+        System.out.println("Testing strategies against brute force...");
+
+        Random random = new Random(42);
+        int compared = 0;
+        for (int trial = 0; trial < 300; trial++) {
+            ReviewQuery query = ReviewQuery.all();
+            List<Predicate<Integer>> filters = new ArrayList<>();
+            if (random.nextInt(3) == 0) {
+                String airline = AIRLINES[random.nextInt(AIRLINES.length)];
+                query = query.airline(airline);
+                String slug = airline.toLowerCase().replace(' ', '-');
+                filters.add(id -> testReviews.get(id).getName().toLowerCase().replace(' ', '-').equals(slug));
+            }
+            if (random.nextBoolean()) {
+                String cabin = CABINS[random.nextInt(CABINS.length)];
+                query = query.where(Attribute.CABIN, cabin);
+                filters.add(id -> cabin.equalsIgnoreCase(trim(ReviewFields.cabinFlown(testReviews.get(id)))));
+            }
+            if (random.nextInt(3) == 0) {
+                String traveller = TRAVELLERS[random.nextInt(TRAVELLERS.length)];
+                query = query.where(Attribute.TRAVELLER_TYPE, traveller);
+                filters.add(id -> traveller.equalsIgnoreCase(trim(ReviewFields.typeTraveller(testReviews.get(id)))));
+            }
+            if (random.nextInt(3) == 0) {
+                String aircraft = AIRCRAFT[random.nextInt(AIRCRAFT.length)];
+                query = query.where(Attribute.AIRCRAFT, aircraft);
+                filters.add(id -> isFamily(ReviewFields.aircraft(testReviews.get(id)), aircraft));
+            }
+            if (random.nextInt(3) == 0) {
+                String country = COUNTRIES[random.nextInt(COUNTRIES.length)];
+                query = query.where(Attribute.COUNTRY, country);
+                filters.add(id -> country.equalsIgnoreCase(trim(testReviews.get(id).getCountry())));
+            }
+            if (random.nextBoolean()) {
+                LocalDate end = random.nextBoolean() ? today : LocalDate.of(2008 + random.nextInt(8), 1 + random.nextInt(12), 1);
+                LocalDate start = end.minusDays(random.nextInt(3) == 0 ? 3000 : 1 + random.nextInt(400));
+                query = query.between(start, end);
+                filters.add(id -> {
+                    int day = ReviewDates.toEpochDay(testReviews.get(id).getDate());
+                    return day >= start.toEpochDay() && day <= end.toEpochDay();
+                });
+            }
+            if (random.nextInt(3) == 0) {
+                String term = TERMS[random.nextInt(TERMS.length)];
+                query = query.text(TextQuery.phrase(term));
+                List<String> phrase = TextTokenizer.tokenize(term);
+                filters.add(id -> Collections.indexOfSubList(tokens.get(id), phrase) >= 0);
+            }
+            ReviewQuery.Order order = ReviewQuery.Order.values()[random.nextInt(ReviewQuery.Order.values().length)];
+            query = query.orderBy(order);
+            if (random.nextInt(4) != 0) {
+                query = query.limit(random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(50));
+            }
+
+            List<ReviewRecord> expected = bruteForce(filters, order, query.getLimit());
+            for (ReviewQueryPlanner.Strategy strategy : ReviewQueryPlanner.Strategy.values()) {
+                ReviewQueryPlanner.Result result;
+                try {
+                    result = planner.execute(query, strategy);
+                } catch (IllegalArgumentException e) {
+                    continue; // strategy not applicable
+                }
+                assertSameReviews(expected, result.getReviews(), strategy + " on " + query);
+                compared++;
+            }
+            assertSameReviews(expected, planner.execute(query).getReviews(), "Chosen plan on " + query);
+        }
+
+        System.out.printf("✓ Strategy tests passed (%d strategy runs)%n", compared);
+    }
+
+    private List<ReviewRecord> bruteForce(List<Predicate<Integer>> filters, ReviewQuery.Order order, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < testReviews.size(); id++) {
+            final int candidate = id;
+            if (filters.stream().allMatch(filter -> filter.test(candidate))) {
+                ids.add(id);
+            }
+        }
+        Comparator<Integer> byDay = Comparator.comparingInt(id -> ReviewDates.toEpochDay(testReviews.get(id).getDate()));
+        switch (order) {
+            case NEWEST_FIRST:
+                ids.sort(byDay.thenComparingInt(id -> id).reversed());
+                break;
+            case OLDEST_FIRST:
+                ids.sort(byDay.thenComparingInt(id -> id));
+                break;
+            case RATING_DESC:
+                ids.sort(Comparator.comparingDouble((Integer id) -> -testReviews.get(id).getOverallRating())
+                             .thenComparingInt(id -> id));
+                break;
+            default:
+                break;
+        }
+        List<ReviewRecord> result = new ArrayList<>();
+        for (int id : ids) {
+            if (limit >= 0 && result.size() == limit) {
+                break;
+            }
+            result.add(testReviews.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Test the strategy the planner picks for clear-cut queries
+     */
+    public void testPlanChoice() {
+        System.out.println("Testing plan choice...");
+
+        assertEqual(ReviewQueryPlanner.Strategy.SCAN, planner.plan(ReviewQuery.all()).getStrategy(),
+                    "No predicates: scan");
+        assertEqual(ReviewQueryPlanner.Strategy.SCAN, planner.plan(ReviewQuery.all().limit(10)).getStrategy(),
+                    "Unordered limit: scan stops early");
+
+        ReviewQuery selective = ReviewQuery.all().where(Attribute.CABIN, "First").where(Attribute.COUNTRY, "Japan")
+            .where(Attribute.AIRCRAFT, "A350");
+        assertEqual(ReviewQueryPlanner.Strategy.INDEX, planner.plan(selective).getStrategy(), "Selective: index");
+
+        ReviewQuery latest = ReviewQuery.all().where(Attribute.CABIN, "Economy").orderBy(ReviewQuery.Order.NEWEST_FIRST)
+            .limit(10);
+        assertEqual(ReviewQueryPlanner.Strategy.DATE_WALK, planner.plan(latest).getStrategy(),
+                    "Unselective newest-first top 10: date walk");
+
+        ReviewQuery rareText = ReviewQuery.all().text(TextQuery.term("delayed")).where(Attribute.CABIN, "Economy")
+            .orderBy(ReviewQuery.Order.NEWEST_FIRST).limit(10);
+        assertEqual(ReviewQueryPlanner.Strategy.INDEX, planner.plan(rareText).getStrategy(),
+                    "Rare term: index from postings");
+        ReviewQueryPlanner.Plan plan = planner.plan(rareText);
+        assertTrue(plan.getSteps().get(0).getDescription().startsWith("Postings"), "Rare term drives: " + plan.explain());
+
+        for (ReviewQuery query : new ReviewQuery[] {selective, latest, rareText}) {
+            plan = planner.plan(query);
+            for (double cost : plan.getAlternatives().values()) {
+                assertTrue(plan.getEstimatedCost() <= cost, "Chosen plan is the cheapest");
+            }
+        }
+
+        System.out.println("✓ Plan choice tests passed");
+    }
+
+    /**
+     * Test statistics and explain output
+     */
+    public void testExplainAndStatistics() {
+        System.out.println("Testing explain and statistics...");
+
+        ReviewQuery query = ReviewQuery.all().where(Attribute.CABIN, "Business").where(Attribute.TRAVELLER_TYPE, "Leisure")
+            .where(Attribute.AIRCRAFT, "A350").lastDays(today, 90).orderBy(ReviewQuery.Order.NEWEST_FIRST).limit(10);
+        ReviewQueryPlanner.Plan before = planner.plan(query);
+        for (ReviewQueryPlanner.Step step : before.getSteps()) {
+            assertEqual(-1L, step.getActualRows(), "No actual rows before execution");
+        }
+        assertTrue(before.explain().contains(" - ") || before.explain().contains("-\n")
+                   || before.explain().contains("-" + System.lineSeparator()), "Unexecuted plan shows '-'");
+
+        ReviewQueryPlanner.Result result = planner.execute(query);
+        for (ReviewQueryPlanner.Step step : result.getPlan().getSteps()) {
+            assertTrue(step.getActualRows() >= 0, "Actual rows filled in: " + step.getDescription());
+        }
+        String explain = result.getPlan().explain();
+        assertTrue(explain.startsWith("Plan: "), "Explain header");
+        assertTrue(explain.contains("Est rows") && explain.contains("Actual rows"), "Explain columns");
+        assertTrue(explain.contains("Alternatives: "), "Explain alternatives");
+        assertEqual(explain, planner.explain(query), "explain() runs the query");
+
+        // Attribute statistics are exact: a lone attribute predicate estimates its count
+        ReviewQueryPlanner.Result single = planner.execute(ReviewQuery.all().where(Attribute.CABIN, "First"),
+                                                          ReviewQueryPlanner.Strategy.INDEX);
+        ReviewQueryPlanner.Step driver = single.getPlan().getSteps().get(0);
+        assertEqual((long) driver.getEstimatedRows(), driver.getActualRows(), "Exact attribute estimate");
+
+        // Month histogram: the estimate of a range is close to its true count
+        for (int days : new int[] {30, 90, 365, 2000}) {
+            LocalDate start = today.minusDays(days);
+            long actual = testReviews.stream().filter(r -> {
+                int day = ReviewDates.toEpochDay(r.getDate());
+                return day >= start.toEpochDay() && day <= today.toEpochDay();
+            }).count();
+            double estimate = planner.estimateDateRange(start, today);
+            assertTrue(Math.abs(estimate - actual) <= 0.2 * actual + 20,
+                       "Date estimate for " + days + " days: " + estimate + " vs " + actual);
+        }
+
+        try {
+            ReviewQuery.all().between(today, today.minusDays(1));
+            throw new AssertionError("Inverted range should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            planner.plan(ReviewQuery.all().orderBy(ReviewQuery.Order.NEWEST_FIRST), ReviewQueryPlanner.Strategy.DATE_WALK);
+            throw new AssertionError("Date walk without a limit should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        System.out.println("✓ Explain and statistics tests passed");
+        System.out.println();
+        System.out.println(explain);
+    }
+
+    // Aircraft in the family of the queried model: manufacturer dropped, variants included
+    private static boolean isFamily(String aircraft, String query) {
+        String model = normalizeAircraft(query);
+        String text = normalizeAircraft(aircraft);
+        return text.startsWith(model) && (text.length() == model.length()
+                                          || !Character.isLetterOrDigit(text.charAt(model.length())));
+    }
+
+    private static String normalizeAircraft(String aircraft) {
+        String text = trim(aircraft).toLowerCase().replaceFirst("^(airbus|boeing|embraer|bombardier)", "").trim();
+        if (text.matches("b[0-9].*")) {
+            text = text.substring(1);
+        }
+        return text.replaceAll("[^a-z0-9-]", "").replaceFirst("^-+", "");
+    }
+
+    private void assertSameReviews(List<ReviewRecord> expected, List<ReviewRecord> actual, String message) {
+        assertEqual(expected.size(), actual.size(), message + " size");
+        for (int i = 0; i < expected.size(); i++) {
+            if (expected.get(i) != actual.get(i)) {
+                throw new AssertionError("Assertion failed: " + message + " differs at position " + i);
+            }
+        }
+    }
+
+    private static String trim(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    private void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("Assertion failed: " + message);
+        }
+    }
+
+    private void assertEqual(Object expected, Object actual, String message) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError("Assertion failed: " + message + " - Expected: " + expected + ", Actual: " + actual);
+        }
+    }
+
+    public void runAllTests() throws IOException {
+        System.out.println("=== Running Query Planner Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testStrategiesAgainstBruteForce();
+            testPlanChoice();
+            testExplainAndStatistics();
+
+            System.out.println();
+            System.out.println("🎉 All query planner tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        QueryPlannerTest test = new QueryPlannerTest();
+        test.runAllTests();
+    }
+}
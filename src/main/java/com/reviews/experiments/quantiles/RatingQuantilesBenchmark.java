@@ -0,0 +1,134 @@
+package com.reviews.experiments.quantiles;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.RatingQuantileIndex;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * RatingQuantileIndex versus collecting and sorting the matching reviews' ratings per
+ * query: the p10 / median / p90 overall rating of one airline over the last 12 months.
+ * Whole-number ratings exercise the exact histograms, ratings in tenths the t-digests.
+ * Airlines get Zipf-skewed review volumes over four years.
+ */
+public class RatingQuantilesBenchmark {
+
+    private static final double[] QUANTILES = {0.1, 0.5, 0.9};
+
+    private static List<ReviewRecord> generate(int n, int airlines, boolean wholeRatings, Random random) {
+        double[] cumulative = new double[airlines];
+        double sum = 0;
+        for (int i = 0; i < airlines; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        List<ReviewRecord> reviews = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int airline = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            airline = airline < 0 ? -airline - 1 : airline;
+            double overall = Math.min(10, Math.max(1, 7 + 2 * random.nextGaussian()));
+            overall = wholeRatings ? Math.rint(overall) : Math.rint(overall * 10) / 10;
+            reviews.add(new AirlineReview("airline-" + airline, "link", "title", "Author " + i, "UK",
+                                          start.plusDays(random.nextInt(4 * 365)).toString(), "content",
+                                          "Boeing 787", "Leisure", "Economy", "Route " + i, overall,
+                                          1 + random.nextInt(5), 1 + random.nextInt(5), 1 + random.nextInt(5),
+                                          0, 0, 0, 0, 1));
+        }
+        return reviews;
+    }
+
+    private static double[] sortOnQuery(Map<String, List<ReviewRecord>> byAirline, String airline, YearMonth from,
+                                        YearMonth to) {
+        String first = from.atDay(1).toString();
+        String last = to.atEndOfMonth().toString();
+        List<Double> ratings = new ArrayList<>();
+        for (ReviewRecord review : byAirline.getOrDefault(airline, Collections.emptyList())) {
+            if (review.getDate().compareTo(first) >= 0 && review.getDate().compareTo(last) <= 0) {
+                ratings.add(review.getOverallRating());
+            }
+        }
+        Collections.sort(ratings);
+        double[] values = new double[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; i++) {
+            values[i] = ratings.get((int) Math.max(1, Math.ceil(QUANTILES[i] * ratings.size())) - 1);
+        }
+        return values;
+    }
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== Rating Quantile Index vs Sort on Query ===");
+        System.out.println();
+
+        int[] sizes = {100000, 1000000};
+        int airlineCount = 200;
+        int queries = 200;
+        long[] sink = new long[1];
+        System.out.printf("%-8s %-7s %-12s %-12s %-11s %-11s %-11s %-10s%n", "Reviews", "Ratings", "Ingest (ns)",
+                          "Index (MB)", "Sort (us)", "Index (us)", "Speedup", "Max diff");
+        System.out.println("--------------------------------------------------------------------------------------");
+        for (int size : sizes) {
+            for (boolean wholeRatings : new boolean[] {true, false}) {
+                List<ReviewRecord> reviews = generate(size, airlineCount, wholeRatings, new Random(42));
+                Map<String, List<ReviewRecord>> byAirline = new HashMap<>();
+                for (ReviewRecord review : reviews) {
+                    byAirline.computeIfAbsent(review.getName(), a -> new ArrayList<>()).add(review);
+                }
+
+                long startTime = System.nanoTime();
+                RatingQuantileIndex index = new RatingQuantileIndex();
+                index.addReviews(reviews);
+                double ingestNs = (double) (System.nanoTime() - startTime) / size;
+
+                // Queries favour the busy airlines, like the reviews themselves
+                Random random = new Random(7);
+                String[] airlines = new String[queries];
+                for (int i = 0; i < queries; i++) {
+                    airlines[i] = reviews.get(random.nextInt(size)).getName();
+                }
+                YearMonth to = YearMonth.of(2023, 12);
+                YearMonth from = to.minusMonths(11);
+
+                for (int i = 0; i < queries; i++) { // warm-up
+                    sink[0] += (long) sortOnQuery(byAirline, airlines[i], from, to)[1];
+                    sink[0] += (long) index.quantiles(AirlineReview.class, airlines[i], RatingQuantileIndex.OVERALL, from, to, QUANTILES)[1];
+                }
+                startTime = System.nanoTime();
+                double[][] expected = new double[queries][];
+                for (int i = 0; i < queries; i++) {
+                    expected[i] = sortOnQuery(byAirline, airlines[i], from, to);
+                }
+                double sortUs = (System.nanoTime() - startTime) / 1e3 / queries;
+                startTime = System.nanoTime();
+                double[][] actual = new double[queries][];
+                for (int i = 0; i < queries; i++) {
+                    actual[i] = index.quantiles(AirlineReview.class, airlines[i], RatingQuantileIndex.OVERALL, from, to, QUANTILES);
+                }
+                double indexUs = (System.nanoTime() - startTime) / 1e3 / queries;
+
+                double maxDiff = 0;
+                for (int i = 0; i < queries; i++) {
+                    for (int q = 0; q < QUANTILES.length; q++) {
+                        maxDiff = Math.max(maxDiff, Math.abs(expected[i][q] - actual[i][q]));
+                    }
+                }
+                System.out.printf("%-8d %-7s %-12.0f %-12.1f %-11.1f %-11.1f %-11s %-10.2f%n", size,
+                                  wholeRatings ? "whole" : "tenths", ingestNs, index.getSizeInBytes() / 1048576.0,
+                                  sortUs, indexUs, String.format("%.0fx", sortUs / indexUs), maxDiff);
+            }
+        }
+        System.out.println();
+        System.out.println("Max diff is the largest |sorted - index| rating over all queries and quantiles;");
+        System.out.println("whole-number ratings are answered exactly, tenths by t-digest. Index memory is estimated.");
+        if (sink[0] == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
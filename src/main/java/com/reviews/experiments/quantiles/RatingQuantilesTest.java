@@ -0,0 +1,335 @@
+package com.reviews.experiments.quantiles;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.AirportLoungeReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.Models.SeatReview;
+import com.reviews.datastructures.RatingDistribution;
+import com.reviews.datastructures.RatingQuantileIndex;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.ReviewFields;
+import com.reviews.datastructures.TDigest;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Test suite for TDigest, RatingDistribution and RatingQuantileIndex.
+ * Whole-number ratings from lounge.csv and seat.csv must give exactly the nearest-rank
+ * quantiles of the sorted ratings, per review type and airline, per metric and per month
+ * range, with airlines reviewed in both files keeping their sub-ratings apart; t-digest
+ * estimates are checked in rank terms against sorted continuous samples.
+ */
+public class RatingQuantilesTest {
+
+    private static final double[] QUANTILES = {0.1, 0.5, 0.9};
+
+    private List<ReviewRecord> testReviews;
+    private RatingQuantileIndex index;
+
+    public void setUp() throws IOException {
+        testReviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        testReviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        index = new RatingQuantileIndex();
+        index.addReviews(testReviews);
+    }
+
+    /**
+     * Test exact p10 / median / p90 per airline for the overall rating and every sub-rating
+     */
+    public void testExactQuantiles() {
+        System.out.println("Testing exact histogram quantiles...");
+
+        int checked = 0;
+        assertEqual(new HashSet<>(Arrays.asList(AirportLoungeReview.class, SeatReview.class)), index.getReviewTypes(),
+                    "One set of distributions per review type");
+        for (Class<? extends ReviewRecord> type : index.getReviewTypes()) {
+            for (String airline : index.getAirlines(type)) {
+                for (int metric = 0; metric < RatingQuantileIndex.METRICS; metric++) {
+                    double[] ratings = ratings(review -> review.getClass() == type && review.getName().equals(airline),
+                                               metric);
+                    RatingDistribution distribution = index.distribution(type, airline, metric);
+                    String label = type.getSimpleName() + " " + airline + " metric " + metric;
+                    assertEqual((long) ratings.length, distribution.getCount(), label + " count");
+                    if (ratings.length == 0) {
+                        assertTrue(Double.isNaN(index.quantile(type, airline, metric, 0.5)), "Unrated metric has no median");
+                        continue;
+                    }
+                    assertTrue(distribution.isExact(), "Whole-number ratings stay exact");
+                    for (double q : QUANTILES) {
+                        assertEqual(nearestRank(ratings, q), index.quantile(type, airline, metric, q), label + " q=" + q);
+                    }
+                    checked++;
+                }
+            }
+        }
+        assertTrue(checked > 100, "Enough airline metrics checked: " + checked);
+
+        boolean rejected = false;
+        try {
+            index.quantile(SeatReview.class, "british-airways", RatingQuantileIndex.METRICS, 0.5);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assertTrue(rejected, "Unknown metric rejected");
+        assertTrue(Double.isNaN(index.quantile(SeatReview.class, "no-such-airline", RatingQuantileIndex.OVERALL, 0.5)),
+                   "Unknown airline");
+        assertTrue(Double.isNaN(index.quantile(AirlineReview.class, "british-airways", RatingQuantileIndex.OVERALL, 0.5)),
+                   "No reviews of the type");
+
+        System.out.println("✓ Exact histogram quantiles passed");
+    }
+
+    /**
+     * Test that an airline with seat and lounge reviews keeps their sub-ratings apart
+     */
+    public void testMixedReviewTypes() {
+        System.out.println("Testing airlines with several review types...");
+
+        Set<String> mixed = new TreeSet<>(index.getAirlines(SeatReview.class));
+        mixed.retainAll(index.getAirlines(AirportLoungeReview.class));
+        assertTrue(mixed.size() > 50, "Seat and lounge reviews share airlines: " + mixed.size());
+
+        int differing = 0;
+        for (String airline : mixed) {
+            // Slot 1 is legroom for seat reviews and comfort for lounge reviews
+            double[] legroom = ratings(review -> review instanceof SeatReview && review.getName().equals(airline), 1);
+            double[] comfort = ratings(review -> review instanceof AirportLoungeReview && review.getName().equals(airline), 1);
+            assertEqual((long) legroom.length, index.distribution(SeatReview.class, airline, 1).getCount(),
+                        airline + " legroom count");
+            assertEqual((long) comfort.length, index.distribution(AirportLoungeReview.class, airline, 1).getCount(),
+                        airline + " lounge comfort count");
+            if (legroom.length > 0 && comfort.length > 0) {
+                assertEqual(nearestRank(legroom, 0.5), index.quantile(SeatReview.class, airline, 1, 0.5),
+                            airline + " legroom median");
+                assertEqual(nearestRank(comfort, 0.5), index.quantile(AirportLoungeReview.class, airline, 1, 0.5),
+                            airline + " lounge comfort median");
+                if (nearestRank(legroom, 0.5) != nearestRank(comfort, 0.5)) {
+                    differing++;
+                }
+            }
+        }
+        assertTrue(differing > 0, "Legroom and lounge comfort medians differ somewhere");
+
+        System.out.println("✓ Mixed review types passed (" + mixed.size() + " airlines)");
+    }
+
+    /**
+     * Test that merged month buckets give the quantiles of the reviews in the range
+     */
+    public void testMonthRanges() {
+        System.out.println("Testing month range merges...");
+
+        Class<SeatReview> type = SeatReview.class;
+        String busiest = null;
+        for (String airline : index.getAirlines(type)) {
+            if (busiest == null
+                    || index.distribution(type, airline, 0).getCount() > index.distribution(type, busiest, 0).getCount()) {
+                busiest = airline;
+            }
+        }
+        String airline = busiest;
+        Predicate<ReviewRecord> ofAirline = review -> review instanceof SeatReview && review.getName().equals(airline);
+        YearMonth[][] ranges = {
+            {YearMonth.of(2014, 1), YearMonth.of(2014, 12)},
+            {YearMonth.of(2013, 6), YearMonth.of(2015, 5)},
+            {YearMonth.of(2015, 3), YearMonth.of(2015, 3)},
+            {YearMonth.of(1990, 1), YearMonth.of(2030, 1)}};
+        for (YearMonth[] range : ranges) {
+            for (int metric : new int[] {RatingQuantileIndex.OVERALL, 1}) {
+                double[] ratings = ratings(ofAirline.and(review -> inRange(review, range)), metric);
+                double[] actual = index.quantiles(type, airline, metric, range[0], range[1], QUANTILES);
+                for (int i = 0; i < QUANTILES.length; i++) {
+                    double expected = ratings.length == 0 ? Double.NaN : nearestRank(ratings, QUANTILES[i]);
+                    assertEqual(expected, actual[i], airline + " " + range[0] + ".." + range[1] + " q=" + QUANTILES[i]);
+                }
+            }
+        }
+        assertEqual(index.distribution(type, airline, 0).getCount(),
+                    index.distribution(type, airline, 0, YearMonth.of(1900, 1), YearMonth.of(2100, 1)).getCount(),
+                    "All months = all time");
+        assertEqual(0L, index.distribution(type, airline, 0, YearMonth.of(2015, 1), YearMonth.of(2014, 1)).getCount(),
+                    "Empty range");
+
+        for (Map.Entry<YearMonth, Double> month : index.monthlySeries(type, airline, 0, 0.5).entrySet()) {
+            YearMonth[] range = {month.getKey(), month.getKey()};
+            double[] ratings = ratings(ofAirline.and(review -> inRange(review, range)), 0);
+            double expected = ratings.length == 0 ? Double.NaN : nearestRank(ratings, 0.5);
+            assertEqual(expected, month.getValue(), "Monthly median " + month.getKey());
+        }
+
+        System.out.println("✓ Month range merges passed");
+    }
+
+    /**
+     * Test t-digest rank error on continuous data, alone and merged from parts
+     */
+    public void testTDigestAccuracy() {
+        System.out.println("Testing t-digest accuracy...");
+
+        Random random = new Random(42);
+        int n = 100000;
+        double[] values = new double[n];
+        TDigest digest = new TDigest();
+        List<TDigest> parts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            parts.add(new TDigest());
+        }
+        for (int i = 0; i < n; i++) {
+            // A skewed mixture: most ratings high, a long tail of low ones
+            values[i] = random.nextDouble() < 0.8 ? 7 + random.nextGaussian() : Math.exp(random.nextGaussian());
+            digest.add(values[i]);
+            parts.get(i % 10).add(values[i]);
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        TDigest merged = new TDigest();
+        for (TDigest part : parts) {
+            merged.merge(part);
+        }
+
+        double[] qs = {0.001, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999};
+        for (TDigest sketch : Arrays.asList(digest, merged)) {
+            for (double q : qs) {
+                double rank = rank(sorted, sketch.quantile(q));
+                double tolerance = Math.max(0.0005, 0.02 * Math.sqrt(q * (1 - q)));
+                assertTrue(Math.abs(rank - q) <= tolerance,
+                           "q=" + q + ": estimate at rank " + rank + (sketch == merged ? " (merged)" : ""));
+            }
+            assertEqual(sorted[0], sketch.quantile(0), "Exact min");
+            assertEqual(sorted[n - 1], sketch.quantile(1), "Exact max");
+            assertEqual((double) n, sketch.getTotalWeight(), "Weight");
+            assertTrue(sketch.getCentroidCount() <= 2 * TDigest.DEFAULT_COMPRESSION,
+                       "Bounded centroids: " + sketch.getCentroidCount());
+        }
+        assertTrue(Double.isNaN(new TDigest().quantile(0.5)), "Empty digest");
+
+        System.out.println("✓ T-digest accuracy passed");
+    }
+
+    /**
+     * Test the switch from exact histogram to digest and quantiles of fractional ratings
+     */
+    public void testContinuousRatings() {
+        System.out.println("Testing continuous ratings...");
+
+        RatingDistribution distribution = new RatingDistribution();
+        for (int rating = 1; rating <= 10; rating++) {
+            distribution.add(rating);
+        }
+        distribution.add(0); // not rated
+        RatingDistribution exact = distribution.copy();
+        assertTrue(distribution.isExact(), "Whole numbers: exact");
+        assertEqual(5.0, distribution.median(), "Exact median of 1..10");
+        distribution.add(3.5);
+        assertTrue(!distribution.isExact() && distribution.getHistogram() == null, "Fraction converts to a digest");
+        assertEqual(11L, distribution.getCount(), "Count kept through conversion");
+        assertEqual(1.0, distribution.quantile(0), "Min kept through conversion");
+        exact.merge(distribution);
+        assertTrue(!exact.isExact() && exact.getCount() == 21, "Exact merged with a digest");
+
+        // The generated reviews rate 1-5 in tenths: digests, checked against the sorted ratings
+        List<ReviewRecord> generated = AVLPerformanceBenchmark.generateTestData(50000);
+        RatingQuantileIndex continuous = new RatingQuantileIndex();
+        continuous.addReviews(generated);
+        for (String airline : continuous.getAirlines(AirlineReview.class)) {
+            double[] ratings = ratings(generated, review -> review.getName().equals(airline), 0);
+            for (double q : QUANTILES) {
+                double estimate = continuous.quantile(AirlineReview.class, airline, RatingQuantileIndex.OVERALL, q);
+                assertTrue(Math.abs(estimate - nearestRank(ratings, q)) <= 0.1,
+                           airline + " q=" + q + ": " + estimate + " vs " + nearestRank(ratings, q));
+            }
+        }
+
+        System.out.println("✓ Continuous ratings passed");
+    }
+
+    private boolean inRange(ReviewRecord review, YearMonth[] range) {
+        YearMonth month = YearMonth.from(ReviewDates.parseDate(review.getDate()));
+        return !month.isBefore(range[0]) && !month.isAfter(range[1]);
+    }
+
+    private double[] ratings(Predicate<ReviewRecord> filter, int metric) {
+        return ratings(testReviews, filter, metric);
+    }
+
+    // Sorted positive ratings of the metric among the matching reviews
+    private static double[] ratings(List<ReviewRecord> reviews, Predicate<ReviewRecord> filter, int metric) {
+        List<Double> ratings = new ArrayList<>();
+        for (ReviewRecord review : reviews) {
+            if (!filter.test(review)) {
+                continue;
+            }
+            double[] subRatings = ReviewFields.subRatings(review);
+            double rating = metric == RatingQuantileIndex.OVERALL ? review.getOverallRating()
+                : metric <= subRatings.length ? subRatings[metric - 1] : 0;
+            if (rating > 0) {
+                ratings.add(rating);
+            }
+        }
+        double[] sorted = ratings.stream().mapToDouble(Double::doubleValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static double nearestRank(double[] sorted, double q) {
+        return sorted[(int) Math.max(1, Math.ceil(q * sorted.length)) - 1];
+    }
+
+    // Fraction of the sorted values below the estimate (midpoint for ties)
+    private static double rank(double[] sorted, double value) {
+        int below = 0;
+        int equal = 0;
+        for (double v : sorted) {
+            if (v < value) {
+                below++;
+            } else if (v == value) {
+                equal++;
+            }
+        }
+        return (below + equal / 2.0) / sorted.length;
+    }
+
+    private void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("Assertion failed: " + message);
+        }
+    }
+
+    private void assertEqual(Object expected, Object actual, String message) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError("Assertion failed: " + message + " - Expected: " + expected + ", Actual: " + actual);
+        }
+    }
+
+    public void runAllTests() throws IOException {
+        System.out.println("=== Running Rating Quantiles Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testExactQuantiles();
+            testMixedReviewTypes();
+            testMonthRanges();
+            testTDigestAccuracy();
+            testContinuousRatings();
+
+            System.out.println();
+            System.out.println("🎉 All rating quantiles tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        RatingQuantilesTest test = new RatingQuantilesTest();
+        test.runAllTests();
+    }
+}
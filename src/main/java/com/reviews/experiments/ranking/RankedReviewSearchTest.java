@@ -0,0 +1,199 @@
+package com.reviews.experiments.ranking;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.RankedReviewSearch;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.ReviewTextIndex;
+import com.reviews.datastructures.TextTokenizer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Test suite for RankedReviewSearch.
+ * WAND and the impact-ordered threshold algorithm must return exactly the hits of exhaustive
+ * scoring (same reviews, same scores, same order) while scoring fewer reviews, and the scores must be BM25 times the recency boost.
+ */
+public class RankedReviewSearchTest {
+
+    private static final String[] QUERIES = {
+        "legroom", "delayed flight", "clean quiet lounge", "comfortable seat with good legroom",
+        "the food and the staff", "lost baggage", "wifi", "zzzunknown legroom", "zzzunknown"
+    };
+
+    private List<ReviewRecord> testReviews;
+    private ReviewTextIndex index;
+    private LocalDate today;
+
+    public void setUp() throws IOException {
+        testReviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        testReviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        index = new ReviewTextIndex();
+        index.addReviews(testReviews);
+        // The datasets end in 2015; measure recency from just after their newest review
+        int newest = Integer.MIN_VALUE;
+        for (ReviewRecord review : testReviews) {
+            newest = Math.max(newest, ReviewDates.toEpochDay(review.getDate()));
+        }
+        today = LocalDate.ofEpochDay(newest + 1);
+    }
+
+    private static void assertSameHits(String label, RankedReviewSearch.Result expected, RankedReviewSearch.Result actual) {
+        if (expected.getHits().size() != actual.getHits().size()) {
+            throw new AssertionError(label + ": " + actual.getHits().size() + " hits, expected "
+                                     + expected.getHits().size());
+        }
+        for (int i = 0; i < expected.getHits().size(); i++) {
+            RankedReviewSearch.Hit want = expected.getHits().get(i);
+            RankedReviewSearch.Hit got = actual.getHits().get(i);
+            if (want.getReview() != got.getReview() || want.getScore() != got.getScore()) {
+                throw new AssertionError(label + ": hit " + i + " differs (" + got.getScore() + " vs "
+                                         + want.getScore() + ")");
+            }
+        }
+    }
+
+    public void testWandMatchesExhaustive() {
+        System.out.println("Testing WAND and impact-ordered top-k against exhaustive scoring...");
+
+        RankedReviewSearch search = new RankedReviewSearch(index, today, 1.2, 0.75, 0.5);
+        String someAirline = testReviews.get(100).getName();
+        long scoredByWand = 0;
+        long scoredByImpact = 0;
+        long scoredExhaustively = 0;
+        for (String query : QUERIES) {
+            for (int k : new int[] {0, 1, 10, 100}) {
+                for (String airline : new String[] {null, someAirline, "nobody-air"}) {
+                    String label = query + " k=" + k + " airline=" + airline;
+                    RankedReviewSearch.Result exhaustive = search.topKExhaustive(query, airline, k);
+                    RankedReviewSearch.Result wand = search.topKWand(query, airline, k);
+                    RankedReviewSearch.Result byImpact = search.topKByImpact(query, airline, k);
+                    assertSameHits("WAND " + label, exhaustive, wand);
+                    assertSameHits("impact-ordered " + label, exhaustive, byImpact);
+                    assertSameHits("topK " + label, exhaustive, search.topK(query, airline, k));
+                    if (k > 0 && wand.getDocumentsScored() > exhaustive.getDocumentsScored()) {
+                        throw new AssertionError("WAND scored more reviews than exhaustive for " + query);
+                    }
+                    if (k == 10 && airline == null) {
+                        scoredByWand += wand.getDocumentsScored();
+                        scoredByImpact += byImpact.getDocumentsScored();
+                        scoredExhaustively += exhaustive.getDocumentsScored();
+                    }
+                }
+            }
+        }
+        if (scoredByWand * 2 > scoredExhaustively || scoredByImpact * 2 > scoredExhaustively) {
+            throw new AssertionError("Pruning should skip most matches for top 10: scored " + scoredByWand + " (WAND) and "
+                                     + scoredByImpact + " (impact-ordered) of " + scoredExhaustively);
+        }
+
+        System.out.println("✓ Pruned top-k matches exhaustive (scored " + scoredByWand + " with WAND, " + scoredByImpact
+                           + " by impact, of " + scoredExhaustively + ")");
+    }
+
+    public void testBm25Score() {
+        System.out.println("Testing BM25 score of a single review...");
+
+        double k1 = 1.2;
+        double b = 0.75;
+        RankedReviewSearch plain = new RankedReviewSearch(index, today, k1, b, 0.0);
+        RankedReviewSearch.Hit top = plain.topK("legroom", 1).getHits().get(0);
+        List<String> words = TextTokenizer.tokenize(top.getReview().getContent());
+        int tf = Collections.frequency(words, "legroom");
+        int df = index.getDocumentFrequency("legroom");
+        int n = index.getDocumentCount();
+        double averageLength = (double) index.getTotalTokens() / n;
+        double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+        double expected = idf * tf * (k1 + 1) / (tf + k1 * (1 - b + b * words.size() / averageLength));
+        if (Math.abs(top.getScore() - expected) > 1e-9) {
+            throw new AssertionError("BM25 score " + top.getScore() + " != " + expected);
+        }
+
+        // Full recency boost: the score is BM25 times the review's recency weight
+        RankedReviewSearch boosted = new RankedReviewSearch(index, today, k1, b, 1.0);
+        for (RankedReviewSearch.Hit hit : boosted.topKExhaustive("legroom", null, 50).getHits()) {
+            List<String> hitWords = TextTokenizer.tokenize(hit.getReview().getContent());
+            int hitTf = Collections.frequency(hitWords, "legroom");
+            double bm25 = idf * hitTf * (k1 + 1) / (hitTf + k1 * (1 - b + b * hitWords.size() / averageLength));
+            double weight = ReviewDates.recencyWeight(ReviewDates.parseDate(hit.getReview().getDate()),
+                                                      ReviewDates.thirtyDaysBefore(today),
+                                                      ReviewDates.threeYearsBefore(today));
+            if (Math.abs(hit.getScore() - bm25 * weight) > 1e-9) {
+                throw new AssertionError("Boosted score " + hit.getScore() + " != " + bm25 * weight);
+            }
+        }
+
+        System.out.println("✓ BM25 score test passed");
+    }
+
+    public void testRecencyBoostReorders() {
+        System.out.println("Testing that the recency boost favours recent reviews...");
+
+        RankedReviewSearch plain = new RankedReviewSearch(index, today, 1.2, 0.75, 0.0);
+        RankedReviewSearch boosted = new RankedReviewSearch(index, today, 1.2, 0.75, 1.0);
+        double plainAge = averageAge(plain.topK("seat", 20).getReviews());
+        double boostedAge = averageAge(boosted.topK("seat", 20).getReviews());
+        if (boostedAge >= plainAge) {
+            throw new AssertionError("Boosted top 20 should be newer: " + boostedAge + " vs " + plainAge + " days");
+        }
+
+        System.out.println("✓ Recency boost test passed");
+    }
+
+    private double averageAge(List<ReviewRecord> reviews) {
+        double total = 0;
+        for (ReviewRecord review : reviews) {
+            total += today.toEpochDay() - ReviewDates.toEpochDay(review.getDate());
+        }
+        return total / reviews.size();
+    }
+
+    public void testIndexGrowth() {
+        System.out.println("Testing impact cache after the index grows...");
+
+        ReviewTextIndex growing = new ReviewTextIndex();
+        growing.addReviews(testReviews.subList(0, 1000));
+        RankedReviewSearch search = new RankedReviewSearch(growing, today, 1.2, 0.75, 0.5);
+        search.topK("legroom seat", 10);
+        growing.addReviews(testReviews.subList(1000, testReviews.size()));
+        assertSameHits("after growth", new RankedReviewSearch(index, today, 1.2, 0.75, 0.5).topK("legroom seat", 10),
+                       search.topK("legroom seat", 10));
+        if (!new LinkedHashSet<>(search.topK("legroom", 5).getReviews()).equals(
+                new LinkedHashSet<>(search.topKExhaustive("legroom", null, 5).getReviews()))) {
+            throw new AssertionError("Stale impacts after growth");
+        }
+
+        System.out.println("✓ Index growth test passed");
+    }
+
+    public void runAllTests() throws IOException {
+        System.out.println("=== Running RankedReviewSearch Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testWandMatchesExhaustive();
+            testBm25Score();
+            testRecencyBoostReorders();
+            testIndexGrowth();
+
+            System.out.println();
+            System.out.println("🎉 All ranked search tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        RankedReviewSearchTest test = new RankedReviewSearchTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,90 @@
+package com.reviews.experiments.ranking;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.RankedReviewSearch;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.ReviewTextIndex;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Top-10 ranked search latency: exhaustive BM25 + recency scoring versus block-max WAND
+ * and the impact-ordered threshold algorithm, on the lounge and seat reviews repeated to
+ * larger corpus sizes. "Scored" counts the reviews each method scored completely.
+ */
+public class RankedSearchBenchmark {
+
+    private static final int[] COPIES = {1, 4, 16};
+    private static final int WARM_UP = 300;
+    private static final int REPEATS = 300;
+    private static final String[] QUERIES = {
+        "legroom", "comfortable seat", "clean quiet lounge", "the food and the staff were great"
+    };
+
+    private interface Method {
+        RankedReviewSearch.Result run(String query);
+    }
+
+    private static double timeMicros(Method method, String query) {
+        long startTime = System.nanoTime();
+        long sink = 0;
+        for (int i = 0; i < REPEATS; i++) {
+            sink += method.run(query).getDocumentsScored();
+        }
+        double micros = (System.nanoTime() - startTime) / 1e3 / REPEATS;
+        if (sink == Long.MIN_VALUE) {
+            System.out.println();
+        }
+        return micros;
+    }
+
+    public static void runComprehensiveBenchmark() throws IOException {
+        System.out.println("=== Ranked Top-10: Exhaustive vs Block-Max WAND vs Impact-Ordered ===");
+        System.out.println();
+
+        List<ReviewRecord> base = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        base.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        int newest = Integer.MIN_VALUE;
+        for (ReviewRecord review : base) {
+            newest = Math.max(newest, ReviewDates.toEpochDay(review.getDate()));
+        }
+        LocalDate today = LocalDate.ofEpochDay(newest + 1);
+
+        System.out.printf("%-7s %-34s %-8s %-16s %-16s %-16s%n", "Docs", "Query", "Matches",
+                          "Exhaustive (us)", "WAND (us/scored)", "Impact (us/scored)");
+        System.out.println("--------------------------------------------------------------------------------------------------");
+        for (int copies : COPIES) {
+            ReviewTextIndex index = new ReviewTextIndex();
+            for (int c = 0; c < copies; c++) {
+                index.addReviews(base);
+            }
+            RankedReviewSearch search = new RankedReviewSearch(index, today, 1.2, 0.75, 0.5);
+            Method exhaustive = query -> search.topKExhaustive(query, null, 10);
+            Method wand = query -> search.topKWand(query, null, 10);
+            Method byImpact = query -> search.topKByImpact(query, null, 10);
+            for (String query : QUERIES) {
+                for (int i = 0; i < WARM_UP; i++) {
+                    exhaustive.run(query);
+                    wand.run(query);
+                    byImpact.run(query);
+                }
+                double exhaustiveUs = timeMicros(exhaustive, query);
+                double wandUs = timeMicros(wand, query);
+                double impactUs = timeMicros(byImpact, query);
+                System.out.printf("%-7d %-34s %-8d %-16.1f %-16s %-16s%n", index.getDocumentCount(), query,
+                                  exhaustive.run(query).getDocumentsScored(), exhaustiveUs,
+                                  String.format("%.1f / %d", wandUs, wand.run(query).getDocumentsScored()),
+                                  String.format("%.1f / %d", impactUs, byImpact.run(query).getDocumentsScored()));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        runComprehensiveBenchmark();
+    }
+}
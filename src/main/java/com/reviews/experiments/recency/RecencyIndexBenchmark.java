@@ -0,0 +1,132 @@
+package com.reviews.experiments.recency;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.RBTReviewStore;
+import com.reviews.datastructures.RecencySkipListIndex;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ingest-while-reading benchmark: the lock-free skip list index versus an RBTReviewStore
+ * behind a single monitor (the RBT splays on every insert, so even its readers must be
+ * excluded while a writer runs).
+ * Writer threads insert reviews and reader threads repeatedly compute the 30-day recent
+ * average (a newest-first range scan) for a fixed wall-clock interval per configuration.
+ */
+public class RecencyIndexBenchmark {
+
+    private static final long RUN_MILLIS = 1000;
+
+    private interface Workload {
+        void insert(ReviewRecord review);
+
+        double scanRecent();
+    }
+
+    private static final class SynchronizedRBT implements Workload {
+        private final RBTReviewStore store = new RBTReviewStore();
+
+        public synchronized void insert(ReviewRecord review) {
+            store.addReview(review);
+        }
+
+        public synchronized double scanRecent() {
+            return store.getRecentAverageRating(30);
+        }
+    }
+
+    private static final class SkipList implements Workload {
+        private final RecencySkipListIndex index = new RecencySkipListIndex();
+
+        public void insert(ReviewRecord review) {
+            index.addReview(review);
+        }
+
+        public double scanRecent() {
+            return index.getRecentAverageRating(30);
+        }
+    }
+
+    /**
+     * Run writers and readers concurrently; returns {inserts per second, scans per second}.
+     */
+    private static double[] run(Workload workload, int writers, int readers,
+                                List<ReviewRecord> seed, List<ReviewRecord> inserts) throws InterruptedException {
+        for (ReviewRecord review : seed) {
+            workload.insert(review);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder insertCount = new LongAdder();
+        LongAdder scanCount = new LongAdder();
+        CountDownLatch done = new CountDownLatch(writers + readers);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < writers; t++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    workload.insert(inserts.get(random.nextInt(inserts.size())));
+                    insertCount.increment();
+                }
+                done.countDown();
+            }));
+        }
+        for (int t = 0; t < readers; t++) {
+            threads.add(new Thread(() -> {
+                double sink = 0;
+                while (running.get()) {
+                    sink += workload.scanRecent();
+                    scanCount.increment();
+                }
+                if (sink < 0) {
+                    System.out.println(sink);
+                }
+                done.countDown();
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        done.await();
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        return new double[] {insertCount.sum() / seconds, scanCount.sum() / seconds};
+    }
+
+    public static void runComprehensiveBenchmark() throws InterruptedException {
+        System.out.println("=== RecencySkipListIndex vs synchronized RBTReviewStore ===");
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println();
+        System.out.printf("%-8s %-8s %-16s %-16s %-16s %-16s%n",
+                          "Writers", "Readers", "RBT inserts/s", "RBT scans/s", "Skip inserts/s", "Skip scans/s");
+        System.out.println("------------------------------------------------------------------------------------");
+
+        List<ReviewRecord> seed = AVLPerformanceBenchmark.generateTestData(10000);
+        List<ReviewRecord> inserts = AVLPerformanceBenchmark.generateTestData(10000);
+
+        // Warm up both implementations
+        run(new SynchronizedRBT(), 2, 2, seed, inserts);
+        run(new SkipList(), 2, 2, seed, inserts);
+
+        int[][] configurations = {{1, 1}, {2, 2}, {4, 4}, {8, 8}, {4, 16}};
+        for (int[] configuration : configurations) {
+            double[] rbt = run(new SynchronizedRBT(), configuration[0], configuration[1], seed, inserts);
+            double[] skip = run(new SkipList(), configuration[0], configuration[1], seed, inserts);
+            System.out.printf("%-8d %-8d %-16.0f %-16.0f %-16.0f %-16.0f%n",
+                              configuration[0], configuration[1], rbt[0], rbt[1], skip[0], skip[1]);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        runComprehensiveBenchmark();
+    }
+}
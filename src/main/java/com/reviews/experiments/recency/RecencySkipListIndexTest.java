@@ -0,0 +1,202 @@
+package com.reviews.experiments.recency;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.datastructures.RecencySkipListIndex;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test suite for the RecencySkipListIndex implementation.
+ * Orderings must match the stable sorts of the linear list, and readers scanning newest
+ * first while several threads insert must always observe a correctly ordered sequence.
+ */
+public class RecencySkipListIndexTest {
+
+    private RecencySkipListIndex index;
+    private LinearListReviewStore baseline;
+    private List<ReviewRecord> testReviews;
+
+    public void setUp() {
+        testReviews = AVLPerformanceBenchmark.generateTestData(3000);
+        index = new RecencySkipListIndex();
+        index.addReviews(testReviews);
+        baseline = new LinearListReviewStore();
+        baseline.addReviews(testReviews);
+    }
+
+    public void testMatchesBaseline() {
+        System.out.println("Testing orderings against the linear list...");
+
+        if (index.size() != baseline.size()) {
+            throw new AssertionError("Expected size " + baseline.size() + ", got " + index.size());
+        }
+        if (!index.getAllReviewsSortedByDate().equals(baseline.getAllReviewsSortedByDate())) {
+            throw new AssertionError("Newest-first order differs");
+        }
+        for (String airline : baseline.getAllAirlines()) {
+            for (int k : new int[] {1, 10, 1000}) {
+                if (!index.getTopKRecentReviews(airline, k).equals(baseline.getTopKRecentReviews(airline, k))) {
+                    throw new AssertionError("Top-" + k + " differs for " + airline);
+                }
+            }
+            double expected = baseline.calculateRecencyBiasedAverageRating(airline);
+            if (Math.abs(expected - index.calculateRecencyBiasedAverageRating(airline)) > 1e-9) {
+                throw new AssertionError("RBAR differs for " + airline);
+            }
+        }
+        if (!index.getTopKRecentReviews("Unknown Airline", 5).isEmpty()) {
+            throw new AssertionError("Expected no reviews for an unknown airline");
+        }
+
+        System.out.println("✓ Baseline comparison test passed");
+    }
+
+    public void testRangeScans() {
+        System.out.println("Testing date range scans...");
+
+        LocalDate now = LocalDate.now();
+        LocalDate start = now.minusDays(400);
+        LocalDate end = now.minusDays(100);
+        List<ReviewRecord> expected = new ArrayList<>();
+        for (ReviewRecord review : baseline.getAllReviewsSortedByDate()) {
+            LocalDate date = ReviewDates.parseDate(review.getDate());
+            if (!date.isBefore(start) && !date.isAfter(end)) {
+                expected.add(review);
+            }
+        }
+        if (!index.getReviewsInDateRange(start, end).equals(expected)) {
+            throw new AssertionError("Range scan differs");
+        }
+
+        String airline = baseline.getAllAirlines().iterator().next();
+        List<ReviewRecord> expectedAirline = new ArrayList<>();
+        for (ReviewRecord review : expected) {
+            if (review.getName().equals(airline)) {
+                expectedAirline.add(review);
+            }
+        }
+        if (!index.getReviewsInDateRange(airline, start, end).equals(expectedAirline)) {
+            throw new AssertionError("Per-airline range scan differs");
+        }
+
+        if (!index.getReviewsInDateRange(end, start).isEmpty()) {
+            throw new AssertionError("Expected empty result for an inverted range");
+        }
+
+        double sum = 0.0;
+        int count = 0;
+        for (ReviewRecord review : testReviews) {
+            if (ReviewDates.parseDate(review.getDate()).isAfter(now.minusDays(30))) {
+                sum += review.getOverallRating();
+                count++;
+            }
+        }
+        double expectedRecent = count > 0 ? sum / count : 0.0;
+        if (Math.abs(expectedRecent - index.getRecentAverageRating(30)) > 1e-9) {
+            throw new AssertionError("Recent average differs");
+        }
+
+        System.out.println("✓ Range scan test passed");
+    }
+
+    public void testConcurrentInsertAndScan() throws InterruptedException {
+        System.out.println("Testing concurrent inserts with newest-first readers...");
+
+        RecencySkipListIndex concurrent = new RecencySkipListIndex();
+        int writers = 4;
+        List<Thread> writerThreads = new ArrayList<>();
+        for (int t = 0; t < writers; t++) {
+            final int offset = t;
+            writerThreads.add(new Thread(() -> {
+                for (int i = offset; i < testReviews.size(); i += writers) {
+                    concurrent.addReview(testReviews.get(i));
+                }
+            }));
+        }
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            readers.add(new Thread(() -> {
+                try {
+                    while (writerThreads.stream().anyMatch(Thread::isAlive)) {
+                        int previousDay = Integer.MAX_VALUE;
+                        for (ReviewRecord review : concurrent.newestFirst()) {
+                            int day = ReviewDates.toEpochDay(review.getDate());
+                            if (day > previousDay) {
+                                throw new AssertionError("Scan went from day " + previousDay + " to " + day);
+                            }
+                            previousDay = day;
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        for (Thread writer : writerThreads) {
+            writer.start();
+        }
+        for (Thread writer : writerThreads) {
+            writer.join();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError("Reader failed: " + failure.get());
+        }
+        if (concurrent.size() != testReviews.size()) {
+            throw new AssertionError("Expected size " + testReviews.size() + ", got " + concurrent.size());
+        }
+        for (String airline : baseline.getAllAirlines()) {
+            List<ReviewRecord> top = concurrent.getTopKRecentReviews(airline, 50);
+            List<ReviewRecord> expected = baseline.getTopKRecentReviews(airline, 50);
+            for (int i = 0; i < expected.size(); i++) {
+                if (!top.get(i).getDate().equals(expected.get(i).getDate())) {
+                    throw new AssertionError("Concurrent top-k dates differ for " + airline);
+                }
+            }
+        }
+
+        System.out.println("✓ Concurrent insert and scan test passed");
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running RecencySkipListIndex Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testMatchesBaseline();
+            testRangeScans();
+            testConcurrentInsertAndScan();
+
+            System.out.println();
+            System.out.println("🎉 All recency index tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted", e);
+        }
+    }
+
+    public static void main(String[] args) {
+        RecencySkipListIndexTest test = new RecencySkipListIndexTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,200 @@
+package com.reviews.experiments.rollups;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.LinearListReviewStore;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.RollupCell;
+import com.reviews.datastructures.TimeBucketRollupIndex;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Test suite for the TimeBucketRollupIndex.
+ * Every rollup answer is checked against a brute-force scan of the same reviews.
+ */
+public class TimeBucketRollupIndexTest {
+
+    private TimeBucketRollupIndex index;
+    private LinearListReviewStore baseline;
+    private List<ReviewRecord> testReviews;
+
+    public void setUp() {
+        testReviews = AVLPerformanceBenchmark.generateTestData(5000);
+        index = new TimeBucketRollupIndex();
+        index.addReviews(testReviews);
+        baseline = new LinearListReviewStore();
+        baseline.addReviews(testReviews);
+    }
+
+    public void testBasicOperations() {
+        System.out.println("Testing basic rollup operations...");
+
+        if (index.size() != testReviews.size()) {
+            throw new AssertionError("Expected size " + testReviews.size() + ", got " + index.size());
+        }
+        if (!index.getAllAirlines().equals(baseline.getAllAirlines())) {
+            throw new AssertionError("Airline sets differ from baseline");
+        }
+        if (!index.getAggregate("NonExistent").isEmpty()) {
+            throw new AssertionError("Expected empty aggregate for non-existent airline");
+        }
+
+        System.out.println("✓ Basic operations test passed");
+    }
+
+    public void testAggregateMatchesScan() {
+        System.out.println("Testing period aggregates against a full scan...");
+
+        LocalDate now = LocalDate.now();
+        LocalDate[][] ranges = {
+            {now.minusYears(10), now},
+            {now.minusDays(45), now.minusDays(3)},
+            {LocalDate.of(now.getYear() - 4, 1, 1), LocalDate.of(now.getYear() - 2, 12, 31)},
+            {LocalDate.of(now.getYear() - 3, 2, 17), LocalDate.of(now.getYear() - 1, 7, 4)},
+            {now, now.minusDays(1)}
+        };
+
+        for (String airline : baseline.getAllAirlines()) {
+            for (LocalDate[] range : ranges) {
+                RollupCell cell = index.getAggregate(airline, range[0], range[1]);
+                int count = 0;
+                double sum = 0.0;
+                for (ReviewRecord review : baseline.getReviewsByAirline(airline)) {
+                    LocalDate date = LocalDate.parse(review.getDate());
+                    if (!date.isBefore(range[0]) && !date.isAfter(range[1])) {
+                        count++;
+                        sum += review.getOverallRating();
+                    }
+                }
+                if (cell.getCount() != count || Math.abs(cell.getRatingSum() - sum) > 1e-6) {
+                    throw new AssertionError("Aggregate mismatch for " + airline + " " + range[0] + ".." + range[1]
+                                           + ": " + cell.getCount() + " vs " + count);
+                }
+            }
+        }
+
+        System.out.println("✓ Aggregate test passed");
+    }
+
+    public void testRecencyBiasedAverageRating() {
+        System.out.println("Testing rollup RBAR against the linear list...");
+
+        for (String airline : baseline.getAllAirlines()) {
+            double expected = baseline.calculateRecencyBiasedAverageRating(airline);
+            double actual = index.calculateRecencyBiasedAverageRating(airline);
+            if (Math.abs(expected - actual) > 1e-9) {
+                throw new AssertionError("RBAR mismatch for " + airline + ": " + actual + " vs " + expected);
+            }
+        }
+
+        // Period RBAR against a direct weighted sum over the same period
+        LocalDate now = LocalDate.now();
+        LocalDate start = now.minusYears(5).withDayOfMonth(11);
+        LocalDate end = now.minusMonths(2);
+        for (String airline : baseline.getAllAirlines()) {
+            double weightedSum = 0.0;
+            double totalWeight = 0.0;
+            for (ReviewRecord review : baseline.getReviewsByAirline(airline)) {
+                LocalDate date = LocalDate.parse(review.getDate());
+                if (date.isBefore(start) || date.isAfter(end)) {
+                    continue;
+                }
+                double weight = ReviewDates.recencyWeight(date, now.minusDays(30), now.minusYears(3));
+                weightedSum += review.getOverallRating() * weight;
+                totalWeight += weight;
+            }
+            double expected = totalWeight > 0 ? weightedSum / totalWeight : 0.0;
+            double actual = index.calculateRecencyBiasedAverageRating(airline, start, end);
+            if (Math.abs(expected - actual) > 1e-9) {
+                throw new AssertionError("Period RBAR mismatch for " + airline + ": " + actual + " vs " + expected);
+            }
+        }
+
+        System.out.println("✓ Recency-biased average rating test passed");
+    }
+
+    public void testLateData() {
+        System.out.println("Testing late (back-dated) inserts...");
+
+        LocalDate oldDay = LocalDate.now().minusYears(7).withDayOfMonth(3);
+        int before = index.getAggregate("Delta", oldDay, oldDay).getCount();
+        index.addReview(new AirlineReview("Delta", "late", "Late review", "Late Author", "USA",
+                                          oldDay.toString(), "Arrived late", "Boeing 737", "Business",
+                                          "Economy", "LAX-JFK", 3.0, 3.0, 3.0, 3.0, 3.0, 3.0, 0.0, 3.0, 0));
+
+        if (index.getAggregate("Delta", oldDay, oldDay).getCount() != before + 1) {
+            throw new AssertionError("Late review not reflected in its day bucket");
+        }
+        SortedMap<LocalDate, RollupCell> years = index.getSeries("Delta", TimeBucketRollupIndex.Granularity.YEAR,
+                                                                 oldDay, oldDay);
+        if (years.isEmpty() || years.get(LocalDate.of(oldDay.getYear(), 1, 1)).getCount() < 1) {
+            throw new AssertionError("Late review not reflected in its year bucket");
+        }
+        if (index.getAggregate("Delta").getSubRatingCount(5) >= index.getAggregate("Delta").getCount()) {
+            throw new AssertionError("Unrated (0.0) sub-rating should not be counted");
+        }
+
+        // Restore the shared fixture
+        setUp();
+        System.out.println("✓ Late data test passed");
+    }
+
+    public void testMonthlySeries() {
+        System.out.println("Testing monthly series...");
+
+        YearMonth to = YearMonth.now();
+        YearMonth from = to.minusYears(5);
+        for (String airline : baseline.getAllAirlines()) {
+            SortedMap<LocalDate, RollupCell> months = index.getSeries(airline, TimeBucketRollupIndex.Granularity.MONTH,
+                                                                      from.atDay(1), to.atEndOfMonth());
+            RollupCell total = index.getAggregate(airline, from.atDay(1), to.atEndOfMonth());
+            int sum = 0;
+            for (RollupCell cell : months.values()) {
+                sum += cell.getCount();
+            }
+            if (sum != total.getCount()) {
+                throw new AssertionError("Monthly counts do not add up for " + airline);
+            }
+
+            SortedMap<YearMonth, Double> rbar = index.getMonthlyRecencyBiasedAverageRatings(airline, from, to);
+            if (rbar.size() != months.size()) {
+                throw new AssertionError("Expected one RBAR value per non-empty month for " + airline);
+            }
+        }
+
+        System.out.println("✓ Monthly series test passed");
+        System.out.println("  Stats: " + index.getStatistics());
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running TimeBucketRollupIndex Tests ===");
+        System.out.println();
+
+        setUp();
+
+        try {
+            testBasicOperations();
+            testAggregateMatchesScan();
+            testRecencyBiasedAverageRating();
+            testLateData();
+            testMonthlySeries();
+
+            System.out.println();
+            System.out.println("🎉 All rollup tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) {
+        TimeBucketRollupIndexTest test = new TimeBucketRollupIndexTest();
+        test.runAllTests();
+    }
+}
@@ -0,0 +1,127 @@
+package com.reviews.experiments.sampling;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ParallelRbar;
+import com.reviews.datastructures.RecencyReviewSampler;
+import com.reviews.datastructures.ReviewDates;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * RecencyReviewSampler versus sampling at preview time: keeping each airline's reviews and
+ * drawing a recency-weighted sample of 20 over the whole history (one key per review, top
+ * 20 kept in a heap) whenever a preview is requested. Reports ingest cost, preview latency
+ * and the reservoir replacements that A-ExpJ actually performed. Airlines get Zipf-skewed
+ * review volumes spread over six years.
+ */
+public class ReservoirSamplingBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 1);
+    private static final int CAPACITY = 20;
+
+    private static List<ReviewRecord> generate(int n, int airlines, Random random) {
+        double[] cumulative = new double[airlines];
+        double sum = 0;
+        for (int i = 0; i < airlines; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        List<ReviewRecord> reviews = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int airline = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            airline = airline < 0 ? -airline - 1 : airline;
+            reviews.add(new AirlineReview("airline-" + airline, "link", "title", "Author " + i, "UK",
+                                          TODAY.minusDays(random.nextInt(6 * 365)).toString(), "content",
+                                          "Boeing 787", "Leisure", "Economy", "Route " + i,
+                                          1 + random.nextInt(10), 4, 4, 4, 4, 4, 4, 4, 1));
+        }
+        return reviews;
+    }
+
+    // Efraimidis-Spirakis over the full history: key u^(1/w) per review, keep the top CAPACITY
+    private static List<ReviewRecord> sampleHistory(List<ReviewRecord> history, ParallelRbar.Cutoffs cutoffs,
+                                                    Random random) {
+        PriorityQueue<Object[]> top = new PriorityQueue<>(Comparator.comparingDouble(entry -> (Double) entry[0]));
+        for (ReviewRecord review : history) {
+            double weight = cutoffs.weight(ReviewDates.toEpochDay(review.getDate()));
+            double key = Math.log(1 - random.nextDouble()) / weight;
+            if (top.size() < CAPACITY) {
+                top.add(new Object[] {key, review});
+            } else if (key > (Double) top.peek()[0]) {
+                top.poll();
+                top.add(new Object[] {key, review});
+            }
+        }
+        List<ReviewRecord> sample = new ArrayList<>();
+        for (Object[] entry : top) {
+            sample.add((ReviewRecord) entry[1]);
+        }
+        return sample;
+    }
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== Recency Reservoirs vs Sampling the History per Preview ===");
+        System.out.println();
+
+        int[] sizes = {100000, 1000000};
+        int airlineCount = 200;
+        int previews = 1000;
+        long[] sink = new long[1];
+        ParallelRbar.Cutoffs cutoffs = new ParallelRbar.Cutoffs(TODAY);
+        System.out.printf("%-8s %-13s %-13s %-14s %-15s %-10s %-14s%n", "Reviews", "Store (ns)", "Sampler (ns)",
+                          "History (us)", "Reservoir (us)", "Speedup", "Replacements");
+        System.out.println("-------------------------------------------------------------------------------------------");
+        for (int size : sizes) {
+            List<ReviewRecord> reviews = generate(size, airlineCount, new Random(42));
+
+            long startTime = System.nanoTime();
+            Map<String, List<ReviewRecord>> history = new HashMap<>();
+            for (ReviewRecord review : reviews) {
+                history.computeIfAbsent(review.getName(), a -> new ArrayList<>()).add(review);
+            }
+            double storeNs = (double) (System.nanoTime() - startTime) / size;
+
+            startTime = System.nanoTime();
+            RecencyReviewSampler sampler = new RecencyReviewSampler(CAPACITY, TODAY, new Random(42));
+            sampler.addReviews(reviews);
+            double samplerNs = (double) (System.nanoTime() - startTime) / size;
+
+            // Previews follow review volume: busy airlines are looked at most
+            Random random = new Random(7);
+            String[] airlines = new String[previews];
+            for (int i = 0; i < previews; i++) {
+                airlines[i] = reviews.get(random.nextInt(size)).getName();
+            }
+            for (int i = 0; i < previews; i++) { // warm-up
+                sink[0] += sampleHistory(history.get(airlines[i]), cutoffs, random).size();
+                sink[0] += sampler.preview(airlines[i], CAPACITY).size();
+            }
+            startTime = System.nanoTime();
+            for (int i = 0; i < previews; i++) {
+                sink[0] += sampleHistory(history.get(airlines[i]), cutoffs, random).size();
+            }
+            double historyUs = (System.nanoTime() - startTime) / 1e3 / previews;
+            startTime = System.nanoTime();
+            for (int i = 0; i < previews; i++) {
+                sink[0] += sampler.preview(airlines[i], CAPACITY).size();
+            }
+            double reservoirUs = (System.nanoTime() - startTime) / 1e3 / previews;
+
+            System.out.printf("%-8d %-13.0f %-13.0f %-14.1f %-15.2f %-10s %-14s%n", size, storeNs, samplerNs,
+                              historyUs, reservoirUs, String.format("%.0fx", historyUs / reservoirUs),
+                              sampler.getMetrics().get("replacements"));
+        }
+        System.out.println();
+        System.out.println("Store is the cost of keeping the history the per-preview sampler needs; the reservoirs");
+        System.out.println("hold " + CAPACITY + " reviews per airline regardless of volume.");
+        if (sink[0] == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}
@@ -0,0 +1,288 @@
+package com.reviews.experiments.sampling;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.RecencyReviewSampler;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.WeightedReservoir;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Test suite for WeightedReservoir and RecencyReviewSampler.
+ * Inclusion frequencies are compared with drawing without replacement proportional to
+ * weight; the review sampler is checked on lounge.csv and seat.csv for per-airline
+ * membership, preview prefixes and a bias toward recent reviews.
+ */
+public class ReservoirSamplingTest {
+
+    // Day after the newest review in the CSVs, so recent reviews get the full weight
+    private static final LocalDate TODAY = LocalDate.of(2015, 8, 3);
+
+    private List<ReviewRecord> testReviews;
+    private RecencyReviewSampler sampler;
+
+    public void setUp() throws IOException {
+        testReviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        testReviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        sampler = new RecencyReviewSampler(10, TODAY, new Random(42));
+        sampler.addReviews(testReviews);
+    }
+
+    /**
+     * Test inclusion frequencies against sequential weighted draws without replacement
+     */
+    public void testInclusionProbabilities() {
+        System.out.println("Testing inclusion probabilities...");
+
+        double[] weights = {0.05, 0.1, 0.3, 0.5, 1.0, 1.0, 0.2, 0.05};
+        int trials = 40000;
+        Random random = new Random(7);
+        for (int capacity : new int[] {1, 3}) {
+            double[] sampled = new double[weights.length];
+            double[] expected = new double[weights.length];
+            for (int trial = 0; trial < trials; trial++) {
+                WeightedReservoir<Integer> reservoir = new WeightedReservoir<>(capacity, random);
+                for (int i = 0; i < weights.length; i++) {
+                    reservoir.offer(i, weights[i]);
+                }
+                for (int item : reservoir.sample()) {
+                    sampled[item]++;
+                }
+                for (int item : drawWithoutReplacement(weights, capacity, random)) {
+                    expected[item]++;
+                }
+            }
+            for (int i = 0; i < weights.length; i++) {
+                double difference = Math.abs(sampled[i] - expected[i]) / trials;
+                assertTrue(difference < 0.015, "k=" + capacity + " item " + i + ": " + sampled[i] / trials
+                                               + " vs " + expected[i] / trials);
+            }
+        }
+        double total = Arrays.stream(weights).sum();
+        int hits = 0;
+        for (int trial = 0; trial < trials; trial++) {
+            WeightedReservoir<Integer> single = new WeightedReservoir<>(1, random);
+            for (int i = 0; i < weights.length; i++) {
+                single.offer(i, weights[i]);
+            }
+            hits += single.sample().get(0) == 4 ? 1 : 0;
+        }
+        assertTrue(Math.abs((double) hits / trials - weights[4] / total) < 0.01, "k=1 picks in proportion to weight");
+
+        System.out.println("✓ Inclusion probabilities passed");
+    }
+
+    /**
+     * Test the jump schedule on long streams: replacements grow with log(n / k), not n
+     */
+    public void testExponentialJumps() {
+        System.out.println("Testing exponential jumps...");
+
+        Random random = new Random(11);
+        int n = 1000000;
+        int capacity = 20;
+        WeightedReservoir<Integer> uniform = new WeightedReservoir<>(capacity, random);
+        WeightedReservoir<Integer> growing = new WeightedReservoir<>(capacity, random);
+        for (int i = 0; i < n; i++) {
+            uniform.offer(i, 1.0);
+            growing.offer(i, 0.05 + 0.95 * i / n); // later items heavier, like newer reviews
+        }
+        assertEqual((long) n, uniform.getSeen(), "Seen");
+        assertEqual(capacity, uniform.size(), "Full reservoir");
+        // Expected replacements for equal weights: about k * ln(n / k) = 216
+        assertTrue(uniform.getReplacements() < 500, "Few replacements: " + uniform.getReplacements());
+        assertTrue(growing.getReplacements() < 1000, "Few replacements: " + growing.getReplacements());
+
+        // With equal weights every item is equally likely: the sample's mean position is ~n / 2
+        double meanPosition = uniform.sample().stream().mapToInt(Integer::intValue).average().orElse(0);
+        assertTrue(Math.abs(meanPosition - n / 2.0) < n / 4.0, "Uniform sample spread: " + meanPosition);
+
+        boolean rejected = false;
+        try {
+            uniform.offer(0, 0);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assertTrue(rejected, "Zero weight rejected");
+
+        WeightedReservoir<Integer> small = new WeightedReservoir<>(5, random);
+        small.offer(1, 1.0);
+        small.offer(2, 0.5);
+        assertEqual(2, small.sample().size(), "Under capacity keeps everything");
+
+        System.out.println("✓ Exponential jumps passed");
+    }
+
+    /**
+     * Test per-airline samples and previews on the CSV reviews
+     */
+    public void testAirlineSamples() {
+        System.out.println("Testing airline samples...");
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (ReviewRecord review : testReviews) {
+            counts.merge(review.getName(), 1, Integer::sum);
+        }
+        assertEqual(counts.keySet(), sampler.getAirlines(), "One sample per airline");
+        assertEqual(testReviews.size(), sampler.getTotalReviews(), "Reviews seen");
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            List<ReviewRecord> sample = sampler.sample(entry.getKey());
+            assertEqual(Math.min(10, entry.getValue()), sample.size(), entry.getKey() + " sample size");
+            assertEqual(sample.size(), new HashSet<>(sample).size(), "No review sampled twice");
+            for (ReviewRecord review : sample) {
+                assertEqual(entry.getKey(), review.getName(), "Sample holds the airline's reviews");
+            }
+            List<ReviewRecord> preview = sampler.preview(entry.getKey(), 3);
+            assertEqual(sample.subList(0, Math.min(3, sample.size())), preview, "Preview is a prefix of the sample");
+        }
+        assertTrue(sampler.preview("no-such-airline", 5).isEmpty(), "Unknown airline");
+        assertEqual(1.0, sampler.weight(testReviews.stream()
+                                                   .filter(r -> r.getDate().startsWith("2015-08"))
+                                                   .findFirst().get()), "Last month weighs 1.0");
+
+        System.out.println("✓ Airline samples passed");
+    }
+
+    /**
+     * Test that samples lean toward recent reviews, matching the RBAR weights
+     */
+    public void testRecencyBias() {
+        System.out.println("Testing recency bias...");
+
+        // Average over many samplers: the share of sampled reviews from the last three years
+        // should match the weighted share, and exceed the plain share of all reviews
+        String airline = "british-airways";
+        List<ReviewRecord> reviews = new ArrayList<>();
+        for (ReviewRecord review : testReviews) {
+            if (review.getName().equals(airline)) {
+                reviews.add(review);
+            }
+        }
+        LocalDate threeYearsAgo = ReviewDates.threeYearsBefore(TODAY);
+        double recentWeight = 0;
+        double totalWeight = 0;
+        int recentCount = 0;
+        for (ReviewRecord review : reviews) {
+            double weight = sampler.weight(review);
+            totalWeight += weight;
+            if (ReviewDates.parseDate(review.getDate()).isAfter(threeYearsAgo)) {
+                recentWeight += weight;
+                recentCount++;
+            }
+        }
+        int trials = 300;
+        double recentSampled = 0;
+        Random random = new Random(3);
+        for (int trial = 0; trial < trials; trial++) {
+            RecencyReviewSampler single = new RecencyReviewSampler(1, TODAY, random);
+            single.addReviews(reviews);
+            recentSampled += ReviewDates.parseDate(single.sample(airline).get(0).getDate()).isAfter(threeYearsAgo) ? 1 : 0;
+        }
+        double sampledShare = recentSampled / trials;
+        double weightedShare = recentWeight / totalWeight;
+        double plainShare = (double) recentCount / reviews.size();
+        assertTrue(Math.abs(sampledShare - weightedShare) < 0.08,
+                   "Sampled recent share " + sampledShare + " vs weighted " + weightedShare);
+        assertTrue(weightedShare > plainShare, "Weights favour recent reviews");
+
+        // Within the three years too: weights never rise with age, and last week's review
+        // is picked over one from two years ago most of the time
+        double previous = Double.MAX_VALUE;
+        for (int days = 0; days <= 5 * 365; days += 5) {
+            double weight = sampler.weight(review("Weighed Air", TODAY.minusDays(days)));
+            assertTrue(weight <= previous, "Weight rises at " + days + " days: " + weight);
+            previous = weight;
+        }
+        ReviewRecord lastWeek = review("Two Review Air", TODAY.minusDays(7));
+        ReviewRecord twoYearsAgo = review("Two Review Air", TODAY.minusYears(2));
+        assertTrue(sampler.weight(lastWeek) > 2 * sampler.weight(twoYearsAgo),
+                   "Week-old review outweighs a two-year-old one: " + sampler.weight(lastWeek) + " vs "
+                   + sampler.weight(twoYearsAgo));
+        int lastWeekPicked = 0;
+        for (int trial = 0; trial < trials; trial++) {
+            RecencyReviewSampler single = new RecencyReviewSampler(1, TODAY, random);
+            single.addReviews(Arrays.asList(twoYearsAgo, lastWeek));
+            lastWeekPicked += single.sample("Two Review Air").get(0) == lastWeek ? 1 : 0;
+        }
+        assertTrue(lastWeekPicked > trials * 0.6, "Last week's review picked " + lastWeekPicked + " of " + trials);
+
+        Map<String, Object> metrics = sampler.getMetrics();
+        assertEqual(testReviews.size(), metrics.get("reviews"), "Metrics reviews");
+        assertEqual(sampler.getAirlines().size(), metrics.get("airlines"), "Metrics airlines");
+
+        System.out.println("✓ Recency bias passed");
+    }
+
+    private static ReviewRecord review(String airline, LocalDate date) {
+        return new AirlineReview(airline, "link", "title", "author", "UK", date.toString(), "content", "", "", "", "",
+                                 7, 0, 0, 0, 0, 0, 0, 0, 1);
+    }
+
+    // Reference sampler: draw one at a time in proportion to weight among those left
+    private static List<Integer> drawWithoutReplacement(double[] weights, int k, Random random) {
+        List<Integer> drawn = new ArrayList<>();
+        boolean[] taken = new boolean[weights.length];
+        for (int draw = 0; draw < k; draw++) {
+            double remaining = 0;
+            for (int i = 0; i < weights.length; i++) {
+                remaining += taken[i] ? 0 : weights[i];
+            }
+            double target = random.nextDouble() * remaining;
+            int pick = -1;
+            for (int i = 0; i < weights.length; i++) {
+                if (!taken[i]) {
+                    pick = i;
+                    target -= weights[i];
+                    if (target < 0) {
+                        break;
+                    }
+                }
+            }
+            taken[pick] = true;
+            drawn.add(pick);
+        }
+        return drawn;
+    }
+
+    private void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("Assertion failed: " + message);
+        }
+    }
+
+    private void assertEqual(Object expected, Object actual, String message) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError("Assertion failed: " + message + " - Expected: " + expected + ", Actual: " + actual);
+        }
+    }
+
+    public void runAllTests() throws IOException {
+        System.out.println("=== Running Reservoir Sampling Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testInclusionProbabilities();
+            testExponentialJumps();
+            testAirlineSamples();
+            testRecencyBias();
+
+            System.out.println();
+            System.out.println("🎉 All reservoir sampling tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        ReservoirSamplingTest test = new ReservoirSamplingTest();
+        test.runAllTests();
+    }
+}
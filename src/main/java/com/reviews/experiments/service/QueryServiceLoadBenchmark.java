@@ -0,0 +1,109 @@
+package com.reviews.experiments.service;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ConcurrentReviewStore;
+import com.reviews.datastructures.QueryLoadClient;
+import com.reviews.datastructures.ReviewQueryService;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Localhost load test of the ReviewQueryService: p50/p99 latency and throughput of a
+ * closed-loop client at 10 to 10,000 concurrent connections, over a mix of /topk, /rbar and
+ * /leaderboard requests against a ConcurrentReviewStore.
+ *
+ * Client and server share one JVM by default, so every connection costs two file descriptors
+ * in this process; with a descriptor limit near 20,000 the 10k level can run out. To test
+ * them apart, start "server PORT" in one JVM and "client PORT" in another.
+ */
+public class QueryServiceLoadBenchmark {
+
+    private static final int REVIEWS = 100_000;
+    private static final int[] CONCURRENCY_LEVELS = {10, 100, 1000, 10_000};
+
+    private static ConcurrentReviewStore loadStore() {
+        List<ReviewRecord> reviews = AVLPerformanceBenchmark.generateTestData(REVIEWS);
+        ConcurrentReviewStore store = new ConcurrentReviewStore();
+        store.addReviews(reviews);
+        return store;
+    }
+
+    private static ReviewQueryService startService(ConcurrentReviewStore store, int port) throws IOException {
+        return new ReviewQueryService(ReviewQueryService.backend(store::getTopKRecentReviews,
+                                                                 store::calculateRecencyBiasedAverageRating,
+                                                                 store::scoreAllAirlines,
+                                                                 store::size), port, 16_384);
+    }
+
+    private static List<String> requestMix(Iterable<String> airlines) {
+        List<String> paths = new ArrayList<>();
+        for (String airline : airlines) {
+            String encoded = URLEncoder.encode(airline, StandardCharsets.UTF_8);
+            for (int i = 0; i < 5; i++) {
+                paths.add("/topk?airline=" + encoded + "&k=10");
+            }
+            for (int i = 0; i < 4; i++) {
+                paths.add("/rbar?airline=" + encoded);
+            }
+        }
+        paths.add("/leaderboard?limit=10");
+        return paths;
+    }
+
+    private static void runClient(URI base, List<String> paths) throws InterruptedException {
+        QueryLoadClient client = new QueryLoadClient(base, Duration.ofSeconds(60));
+        // Warm-up: JIT the handler, store queries and client
+        client.run(paths, 16, 5000);
+
+        System.out.printf("%-12s %-10s %-10s %-12s %-12s %-12s%n",
+                          "Connections", "OK", "Failed", "Req/s", "p50 (ms)", "p99 (ms)");
+        System.out.println("----------------------------------------------------------------------");
+        for (int concurrency : CONCURRENCY_LEVELS) {
+            QueryLoadClient.Result result = client.run(paths, concurrency, Math.max(20_000, 3 * concurrency));
+            System.out.printf("%-12d %-10d %-10d %-12.0f %-12.2f %-12.2f%n",
+                              concurrency, result.getSuccesses(), result.getFailures(),
+                              result.getRequestsPerSecond(), result.percentileMillis(50), result.percentileMillis(99));
+        }
+    }
+
+    public static void runComprehensiveBenchmark() throws IOException, InterruptedException {
+        System.out.println("=== Query Service Load Test (localhost) ===");
+        System.out.println(REVIEWS + " reviews; Available processors: " + Runtime.getRuntime().availableProcessors());
+
+        ConcurrentReviewStore store = loadStore();
+        try (ReviewQueryService service = startService(store, 0)) {
+            System.out.println("Request executor: " + service.getExecutorKind());
+            System.out.println();
+            runClient(URI.create("http://127.0.0.1:" + service.getPort()), requestMix(store.getAllAirlines()));
+            System.out.println();
+            System.out.println("Server metrics: " + service.getMetrics());
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 2 && args[0].equals("server")) {
+            ConcurrentReviewStore store = loadStore();
+            ReviewQueryService service = startService(store, Integer.parseInt(args[1]));
+            System.out.println("Serving " + store.size() + " reviews on port " + service.getPort()
+                               + " (" + service.getExecutorKind() + ")");
+            Thread.currentThread().join();
+        } else if (args.length == 2 && args[0].equals("client")) {
+            List<String> airlines = new ArrayList<>();
+            for (ReviewRecord review : AVLPerformanceBenchmark.generateTestData(1000)) {
+                if (!airlines.contains(review.getName())) {
+                    airlines.add(review.getName());
+                }
+            }
+            runClient(URI.create("http://127.0.0.1:" + args[1]), requestMix(airlines));
+        } else {
+            runComprehensiveBenchmark();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.reviews.experiments.service;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ConcurrentReviewStore;
+import com.reviews.datastructures.QueryLoadClient;
+import com.reviews.datastructures.ReviewQueryService;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test suite for the ReviewQueryService.
+ * Every endpoint must return the backing store's answer as JSON, bad requests must get
+ * JSON errors with the right status, and the load client must see every request succeed.
+ */
+public class ReviewQueryServiceTest {
+
+    private ConcurrentReviewStore store;
+    private ReviewQueryService service;
+    private HttpClient client;
+    private String base;
+
+    public void setUp() throws IOException {
+        List<ReviewRecord> testReviews = AVLPerformanceBenchmark.generateTestData(3000);
+        store = new ConcurrentReviewStore();
+        store.addReviews(testReviews);
+        // A name that needs both URL and JSON escaping
+        store.addReview(new AirlineReview("Quote \"Air\" & Co", "link", "Title", "Author", "France",
+                                          LocalDate.now().toString(), "content", "A320", "Solo Leisure",
+                                          "Economy Class", "Route", 4.0, 4.0, 4.0, 4.0, 4.0, 4.0, 4.0, 4.0, 1));
+        service = new ReviewQueryService(ReviewQueryService.backend(store::getTopKRecentReviews,
+                                                                    store::calculateRecencyBiasedAverageRating,
+                                                                    store::scoreAllAirlines,
+                                                                    store::size));
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        base = "http://127.0.0.1:" + service.getPort();
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(base + path)).GET().build());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void expectStatus(HttpResponse<String> response, int status) {
+        if (response.statusCode() != status) {
+            throw new AssertionError("Expected HTTP " + status + " for " + response.uri() + ", got "
+                                     + response.statusCode() + ": " + response.body());
+        }
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        if (!contentType.startsWith("application/json")) {
+            throw new AssertionError("Expected a JSON response, got " + contentType);
+        }
+    }
+
+    public void testTopK() throws IOException, InterruptedException {
+        System.out.println("Testing /topk...");
+
+        String airline = store.getAllAirlines().iterator().next();
+        HttpResponse<String> response = get("/topk?airline=" + encode(airline) + "&k=5");
+        expectStatus(response, 200);
+        List<ReviewRecord> expected = store.getTopKRecentReviews(airline, 5);
+        String body = response.body();
+        int from = 0;
+        for (ReviewRecord review : expected) {
+            int at = body.indexOf("\"date\":\"" + review.getDate() + "\",\"rating\":" + review.getOverallRating(), from);
+            if (at < 0) {
+                throw new AssertionError("Review " + review.getDate() + " missing or out of order in " + body);
+            }
+            from = at;
+        }
+        if (!body.startsWith("{\"airline\":\"" + airline + "\",\"k\":5,\"reviews\":[")) {
+            throw new AssertionError("Unexpected /topk shape: " + body);
+        }
+
+        System.out.println("✓ /topk test passed");
+    }
+
+    public void testRbarAndEscaping() throws IOException, InterruptedException {
+        System.out.println("Testing /rbar and JSON escaping...");
+
+        String airline = store.getAllAirlines().iterator().next();
+        HttpResponse<String> response = get("/rbar?airline=" + encode(airline));
+        expectStatus(response, 200);
+        String expected = "{\"airline\":\"" + airline + "\",\"rbar\":"
+                          + store.calculateRecencyBiasedAverageRating(airline) + "}";
+        if (!response.body().equals(expected)) {
+            throw new AssertionError("Expected " + expected + ", got " + response.body());
+        }
+
+        response = get("/rbar?airline=" + encode("Quote \"Air\" & Co"));
+        expectStatus(response, 200);
+        if (!response.body().equals("{\"airline\":\"Quote \\\"Air\\\" & Co\",\"rbar\":4.0}")) {
+            throw new AssertionError("Bad escaping: " + response.body());
+        }
+
+        System.out.println("✓ /rbar test passed");
+    }
+
+    public void testLeaderboardAndStats() throws IOException, InterruptedException {
+        System.out.println("Testing /leaderboard and /stats...");
+
+        HttpResponse<String> response = get("/leaderboard?limit=3");
+        expectStatus(response, 200);
+        int[] ranking = store.scoreAllAirlines().getRanking();
+        String first = store.scoreAllAirlines().getAirline(ranking[0]);
+        if (!response.body().startsWith("{\"airlines\":[{\"rank\":1,\"airline\":\"" + first.replace("\"", "\\\"") + "\"")
+                || !response.body().contains("\"rank\":3") || response.body().contains("\"rank\":4")) {
+            throw new AssertionError("Unexpected leaderboard: " + response.body());
+        }
+
+        response = get("/stats");
+        expectStatus(response, 200);
+        if (!response.body().startsWith("{\"size\":" + store.size() + ",")
+                || !response.body().contains("\"executor\":\"" + service.getExecutorKind() + "\"")) {
+            throw new AssertionError("Unexpected stats: " + response.body());
+        }
+
+        System.out.println("✓ /leaderboard and /stats test passed");
+    }
+
+    public void testErrors() throws IOException, InterruptedException {
+        System.out.println("Testing error responses...");
+
+        expectStatus(get("/topk"), 400);
+        expectStatus(get("/topk?airline=X&k=abc"), 400);
+        expectStatus(get("/topk?airline=X&k=0"), 400);
+        expectStatus(get("/leaderboard?limit=-1"), 400);
+        expectStatus(get("/nothing"), 404);
+        expectStatus(send(HttpRequest.newBuilder(URI.create(base + "/stats"))
+                                     .POST(HttpRequest.BodyPublishers.ofString("x")).build()), 405);
+
+        HttpResponse<String> response = get("/topk");
+        if (!response.body().equals("{\"error\":\"missing parameter airline\"}")) {
+            throw new AssertionError("Unexpected error body: " + response.body());
+        }
+        // An unknown airline is not an error, just empty
+        response = get("/topk?airline=Nobody");
+        expectStatus(response, 200);
+        if (!response.body().endsWith("\"reviews\":[]}")) {
+            throw new AssertionError("Unknown airline should have no reviews: " + response.body());
+        }
+
+        System.out.println("✓ Error response test passed");
+    }
+
+    public void testLoadClient() throws InterruptedException {
+        System.out.println("Testing the load client...");
+
+        List<String> paths = new ArrayList<>();
+        for (String airline : store.getAllAirlines()) {
+            paths.add("/topk?airline=" + encode(airline) + "&k=10");
+            paths.add("/rbar?airline=" + encode(airline));
+        }
+        paths.add("/leaderboard?limit=10");
+        QueryLoadClient loadClient = new QueryLoadClient(URI.create(base), Duration.ofSeconds(30));
+        QueryLoadClient.Result result = loadClient.run(paths, 50, 2000);
+        if (result.getSuccesses() != 2000 || result.getFailures() != 0) {
+            throw new AssertionError("Expected 2000 successful requests, got " + result);
+        }
+        if (!(result.percentileMillis(50) <= result.percentileMillis(99))) {
+            throw new AssertionError("Percentiles out of order: " + result);
+        }
+        long served = (Long) service.getMetrics().get("requests");
+        if (served < 2000) {
+            throw new AssertionError("Service counted only " + served + " requests");
+        }
+
+        System.out.println("✓ Load client test passed (" + result + ")");
+    }
+
+    public void runAllTests() {
+        System.out.println("=== Running ReviewQueryService Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            System.out.println("Request executor: " + service.getExecutorKind());
+            testTopK();
+            testRbarAndEscaping();
+            testLeaderboardAndStats();
+            testErrors();
+            testLoadClient();
+
+            System.out.println();
+            System.out.println("🎉 All query service tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        } catch (IOException e) {
+            throw new AssertionError("I/O failure: " + e, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted", e);
+        } finally {
+            if (service != null) {
+                service.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        ReviewQueryServiceTest test = new ReviewQueryServiceTest();
+        test.runAllTests();
+    }
+}
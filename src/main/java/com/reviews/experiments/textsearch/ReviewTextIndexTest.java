@@ -0,0 +1,232 @@
+package com.reviews.experiments.textsearch;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewDates;
+import com.reviews.datastructures.ReviewTextIndex;
+import com.reviews.datastructures.TextQuery;
+import com.reviews.datastructures.TextTokenizer;
+import com.reviews.experiments.experiment2.AVLPerformanceBenchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Test suite for ReviewTextIndex.
+ * Every query over the lounge and seat reviews must return exactly the reviews a linear
+ * scan over the tokenized content finds, in insertion order, with and without airline and
+ * date filters.
+ */
+public class ReviewTextIndexTest {
+
+    private List<ReviewRecord> testReviews;
+    private List<List<String>> tokens;
+    private ReviewTextIndex index;
+
+    public void setUp() throws IOException {
+        testReviews = new ArrayList<>(ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv")));
+        testReviews.addAll(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+        tokens = new ArrayList<>();
+        for (ReviewRecord review : testReviews) {
+            tokens.add(TextTokenizer.tokenize(review.getContent()));
+        }
+        index = new ReviewTextIndex();
+        index.addReviews(testReviews);
+    }
+
+    private static boolean containsPhrase(List<String> words, List<String> phrase) {
+        return Collections.indexOfSubList(words, phrase) >= 0;
+    }
+
+    private List<ReviewRecord> scan(Predicate<List<String>> matches, String airline, LocalDate start, LocalDate end) {
+        List<ReviewRecord> result = new ArrayList<>();
+        for (int i = 0; i < testReviews.size(); i++) {
+            ReviewRecord review = testReviews.get(i);
+            LocalDate date = ReviewDates.parseDate(review.getDate());
+            if ((airline == null || review.getName().equals(airline))
+                && (start == null || !date.isBefore(start)) && (end == null || !date.isAfter(end))
+                && matches.test(tokens.get(i))) {
+                result.add(review);
+            }
+        }
+        return result;
+    }
+
+    private void check(String label, TextQuery query, Predicate<List<String>> matches,
+                       String airline, LocalDate start, LocalDate end) {
+        List<ReviewRecord> expected = scan(matches, airline, start, end);
+        List<ReviewRecord> actual = index.search(query, airline, start, end);
+        if (!actual.equals(expected)) {
+            throw new AssertionError(label + " " + query + ": expected " + expected.size() + " reviews, got "
+                                     + actual.size());
+        }
+        if (index.count(query, airline, start, end) != expected.size()) {
+            throw new AssertionError(label + " count differs for " + query);
+        }
+    }
+
+    public void testCsvLoader() throws IOException {
+        System.out.println("Testing CSV loading...");
+
+        if (testReviews.size() != 2264 + 1258) {
+            throw new AssertionError("Expected 3522 reviews from lounge.csv and seat.csv, got " + testReviews.size());
+        }
+        List<String[]> records = ReviewCsvLoader.parse(new StringReader(
+            "a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\n,,\n"));
+        if (records.size() != 3 || !Arrays.equals(records.get(1), new String[] {"x, y", "say \"hi\"", "two\nlines"})
+            || !Arrays.equals(records.get(2), new String[] {"", "", ""})) {
+            throw new AssertionError("Quoted fields were not parsed correctly");
+        }
+
+        System.out.println("✓ CSV loader test passed");
+    }
+
+    public void testTermQueries() {
+        System.out.println("Testing term queries...");
+
+        for (String word : new String[] {"delayed", "legroom", "clean", "the", "Wi-Fi", "didn't", "zzzunknown"}) {
+            List<String> words = TextTokenizer.tokenize(word);
+            check("term", TextQuery.term(word), content -> Collections.indexOfSubList(content, words) >= 0,
+                  null, null, null);
+        }
+        int frequency = index.getDocumentFrequency("legroom");
+        if (frequency != scan(content -> content.contains("legroom"), null, null, null).size() || frequency == 0) {
+            throw new AssertionError("Document frequency of legroom is wrong: " + frequency);
+        }
+
+        System.out.println("✓ Term query test passed");
+    }
+
+    public void testPhraseQueries() {
+        System.out.println("Testing phrase queries...");
+
+        for (String text : new String[] {"lost baggage", "business class lounge", "the seat was", "leg room",
+                                         "very very", "baggage lost"}) {
+            List<String> phrase = TextTokenizer.tokenize(text);
+            check("phrase", TextQuery.phrase(text), content -> containsPhrase(content, phrase), null, null, null);
+        }
+
+        System.out.println("✓ Phrase query test passed");
+    }
+
+    public void testBooleanQueries() {
+        System.out.println("Testing boolean queries...");
+
+        check("and", TextQuery.and(TextQuery.term("seat"), TextQuery.term("comfortable"), TextQuery.term("food")),
+              content -> content.contains("seat") && content.contains("comfortable") && content.contains("food"),
+              null, null, null);
+        check("or", TextQuery.or(TextQuery.term("wifi"), TextQuery.phrase("wi fi"), TextQuery.term("internet")),
+              content -> content.contains("wifi") || containsPhrase(content, Arrays.asList("wi", "fi"))
+                         || content.contains("internet"), null, null, null);
+        check("andNot", TextQuery.andNot(TextQuery.term("staff"), TextQuery.term("friendly")),
+              content -> content.contains("staff") && !content.contains("friendly"), null, null, null);
+        check("nested", TextQuery.and(TextQuery.or(TextQuery.term("dirty"), TextQuery.term("crowded")),
+                                      TextQuery.andNot(TextQuery.term("lounge"), TextQuery.phrase("never again"))),
+              content -> (content.contains("dirty") || content.contains("crowded")) && content.contains("lounge")
+                         && !containsPhrase(content, Arrays.asList("never", "again")), null, null, null);
+        check("missing term in and", TextQuery.and(TextQuery.term("seat"), TextQuery.term("zzzunknown")),
+              content -> false, null, null, null);
+
+        System.out.println("✓ Boolean query test passed");
+    }
+
+    public void testFilters() {
+        System.out.println("Testing airline and date filters...");
+
+        Set<String> airlines = new HashSet<>();
+        for (ReviewRecord review : testReviews) {
+            airlines.add(review.getName());
+        }
+        LocalDate start = LocalDate.of(2013, 1, 1);
+        LocalDate end = LocalDate.of(2014, 6, 30);
+        TextQuery query = TextQuery.or(TextQuery.term("delayed"), TextQuery.term("seat"), TextQuery.term("staff"));
+        Predicate<List<String>> matches = content -> content.contains("delayed") || content.contains("seat")
+                                                     || content.contains("staff");
+        for (String airline : airlines) {
+            check("airline", query, matches, airline, null, null);
+            check("airline+dates", query, matches, airline, start, end);
+        }
+        check("dates", TextQuery.phrase("business class"),
+              content -> containsPhrase(content, Arrays.asList("business", "class")), null, start, end);
+        check("open start", TextQuery.term("clean"), content -> content.contains("clean"), null, null, end);
+        check("unknown airline", query, content -> false, "nobody-air", null, null);
+
+        System.out.println("✓ Filter test passed");
+    }
+
+    public void testCompressionAndLargeGaps() {
+        System.out.println("Testing postings compression and skips over large gaps...");
+
+        if (index.getPostingsBytes() * 2 > index.getUncompressedPostingsBytes()) {
+            throw new AssertionError("Postings should compress at least 2x: " + index.getPostingsBytes() + " vs "
+                                     + index.getUncompressedPostingsBytes());
+        }
+        // Generated reviews are many and similar, so rare words sit thousands of ids apart
+        // (multi-byte deltas) while common words have long lists with many skip blocks.
+        ReviewTextIndex large = new ReviewTextIndex();
+        List<ReviewRecord> generated = AVLPerformanceBenchmark.generateTestData(20000);
+        List<ReviewRecord> all = new ArrayList<>(generated);
+        all.addAll(10000, testReviews.subList(0, 50));
+        large.addReviews(all);
+        List<ReviewRecord> expected = new ArrayList<>();
+        for (ReviewRecord review : all) {
+            List<String> words = TextTokenizer.tokenize(review.getContent());
+            if (words.contains("lounge")) {
+                expected.add(review);
+            }
+        }
+        String commonWord = TextTokenizer.tokenize(generated.get(0).getContent()).get(0);
+        TextQuery common = TextQuery.term(commonWord);
+        if (!large.search(TextQuery.term("lounge")).equals(expected)) {
+            throw new AssertionError("Term across large gaps differs");
+        }
+        int both = large.count(TextQuery.and(common, TextQuery.term("lounge")), null, null, null);
+        int scanned = 0;
+        for (ReviewRecord review : expected) {
+            if (TextTokenizer.tokenize(review.getContent()).contains(commonWord)) {
+                scanned++;
+            }
+        }
+        if (both != scanned) {
+            throw new AssertionError("Intersection with a long list differs: " + both + " vs " + scanned);
+        }
+
+        System.out.println("✓ Compression test passed");
+    }
+
+    public void runAllTests() throws IOException {
+        System.out.println("=== Running ReviewTextIndex Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testCsvLoader();
+            testTermQueries();
+            testPhraseQueries();
+            testBooleanQueries();
+            testFilters();
+            testCompressionAndLargeGaps();
+
+            System.out.println();
+            System.out.println("🎉 All text index tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        ReviewTextIndexTest test = new ReviewTextIndexTest();
+        test.runAllTests();
+    }
+}
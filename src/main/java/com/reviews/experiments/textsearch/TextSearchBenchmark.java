@@ -0,0 +1,117 @@
+package com.reviews.experiments.textsearch;
+
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewTextIndex;
+import com.reviews.datastructures.TextQuery;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Index size and query latency of ReviewTextIndex on the lounge and seat datasets, against
+ * today's option: a linear scan lower-casing every getContent() string and searching it.
+ */
+public class TextSearchBenchmark {
+
+    private static final int REPEATS = 200;
+
+    private interface Scan {
+        boolean matches(String lowerContent);
+    }
+
+    private static void benchmarkDataset(String name, List<ReviewRecord> reviews) {
+        long startTime = System.nanoTime();
+        ReviewTextIndex index = new ReviewTextIndex();
+        index.addReviews(reviews);
+        double buildMs = (System.nanoTime() - startTime) / 1e6;
+
+        long contentBytes = 0;
+        for (ReviewRecord review : reviews) {
+            contentBytes += review.getContent().length();
+        }
+        System.out.println("--- " + name + ": " + reviews.size() + " reviews, " + index.getTotalTokens() + " tokens, "
+                           + index.getTermCount() + " terms ---");
+        System.out.printf("Build: %.1f ms | content %d KB | postings %d KB compressed vs %d KB as ints (%.1fx)"
+                          + " | index total ~%d KB%n",
+                          buildMs, contentBytes / 1024, index.getPostingsBytes() / 1024,
+                          index.getUncompressedPostingsBytes() / 1024,
+                          (double) index.getUncompressedPostingsBytes() / index.getPostingsBytes(),
+                          index.getIndexSizeBytes() / 1024);
+
+        String airline = reviews.get(reviews.size() / 2).getName();
+        Object[][] queries = {
+            {"term delayed", TextQuery.term("delayed"), (Scan) c -> c.contains("delayed"), null},
+            {"phrase lost baggage", TextQuery.phrase("lost baggage"), (Scan) c -> c.contains("lost baggage"), null},
+            {"clean AND quiet", TextQuery.and(TextQuery.term("clean"), TextQuery.term("quiet")),
+                (Scan) c -> c.contains("clean") && c.contains("quiet"), null},
+            {"staff NOT friendly", TextQuery.andNot(TextQuery.term("staff"), TextQuery.term("friendly")),
+                (Scan) c -> c.contains("staff") && !c.contains("friendly"), null},
+            {"seat @ " + airline, TextQuery.term("seat"), (Scan) c -> c.contains("seat"), airline},
+        };
+
+        System.out.printf("%-28s %-10s %-16s %-16s %-10s%n", "Query", "Matches", "Scan (us)", "Index (us)", "Speedup");
+        System.out.println("--------------------------------------------------------------------------------");
+        for (Object[] query : queries) {
+            TextQuery textQuery = (TextQuery) query[1];
+            Scan scan = (Scan) query[2];
+            String filter = (String) query[3];
+            long sink = 0;
+            for (int i = 0; i < 20; i++) {
+                sink += scanCount(reviews, scan, filter) + index.count(textQuery, filter, null, null);
+            }
+
+            startTime = System.nanoTime();
+            for (int i = 0; i < REPEATS; i++) {
+                sink += scanCount(reviews, scan, filter);
+            }
+            double scanUs = (System.nanoTime() - startTime) / 1e3 / REPEATS;
+
+            startTime = System.nanoTime();
+            int matches = 0;
+            for (int i = 0; i < REPEATS; i++) {
+                matches = index.search(textQuery, filter, null, null).size();
+            }
+            double indexUs = (System.nanoTime() - startTime) / 1e3 / REPEATS;
+
+            System.out.printf("%-28s %-10d %-16.1f %-16.1f %-10s%n", query[0], matches, scanUs, indexUs,
+                              String.format("%.0fx", scanUs / indexUs));
+            if (sink == Long.MIN_VALUE) {
+                System.out.println();
+            }
+        }
+        System.out.println();
+    }
+
+    // Substring scan: also matches inside longer words, so its counts can be a little higher
+    private static int scanCount(List<ReviewRecord> reviews, Scan scan, String airline) {
+        int count = 0;
+        for (ReviewRecord review : reviews) {
+            if ((airline == null || review.getName().equals(airline))
+                && scan.matches(review.getContent().toLowerCase(Locale.ROOT))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static void runComprehensiveBenchmark() throws IOException {
+        System.out.println("=== Inverted Text Index vs Linear Content Scan ===");
+        System.out.println();
+
+        List<ReviewRecord> lounge = ReviewCsvLoader.loadLoungeReviews(Paths.get("data", "lounge.csv"));
+        List<ReviewRecord> seat = ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv"));
+        List<ReviewRecord> both = new ArrayList<>(lounge);
+        both.addAll(seat);
+        benchmarkDataset("lounge.csv", lounge);
+        benchmarkDataset("seat.csv", seat);
+        benchmarkDataset("lounge.csv + seat.csv", both);
+    }
+
+    public static void main(String[] args) throws IOException {
+        runComprehensiveBenchmark();
+    }
+}
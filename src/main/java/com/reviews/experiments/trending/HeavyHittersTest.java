@@ -0,0 +1,348 @@
+package com.reviews.experiments.trending;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.CountMinSketch;
+import com.reviews.datastructures.ReviewCsvLoader;
+import com.reviews.datastructures.ReviewFields;
+import com.reviews.datastructures.SpaceSaving;
+import com.reviews.datastructures.TrendingTracker;
+import com.reviews.datastructures.TrendingTracker.Dimension;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Test suite for CountMinSketch, SpaceSaving and TrendingTracker.
+ * Every documented error bound is checked against exact HashMap counts: on Zipf-distributed
+ * streams, on the aircraft of seat.csv, and on synthetic routes for the sliding window.
+ */
+public class HeavyHittersTest {
+
+    private List<String> stream;
+    private Map<String, Long> exact;
+    private List<ReviewRecord> seatReviews;
+
+    public void setUp() throws IOException {
+        stream = zipfStream(200000, 50000, 1.1, new Random(42));
+        exact = countAll(stream);
+        seatReviews = new ArrayList<>(ReviewCsvLoader.loadSeatReviews(Paths.get("data", "seat.csv")));
+    }
+
+    /**
+     * Draw n items from "item-0" .. "item-(distinct-1)" with P(rank r) proportional to 1 / r^s.
+     */
+    static List<String> zipfStream(int n, int distinct, double s, Random random) {
+        double[] cumulative = new double[distinct];
+        double sum = 0;
+        for (int rank = 0; rank < distinct; rank++) {
+            sum += 1 / Math.pow(rank + 1, s);
+            cumulative[rank] = sum;
+        }
+        List<String> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            items.add("item-" + (rank < 0 ? -rank - 1 : rank));
+        }
+        return items;
+    }
+
+    private static Map<String, Long> countAll(List<String> items) {
+        Map<String, Long> counts = new HashMap<>();
+        for (String item : items) {
+            counts.merge(item, 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Test that Count-Min never underestimates and rarely exceeds epsilon * N, and merges exactly
+     */
+    public void testCountMinBounds() {
+        System.out.println("Testing Count-Min error bounds...");
+
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.01);
+        for (String item : stream) {
+            sketch.add(item);
+        }
+        assertEqual((long) stream.size(), sketch.getTotal(), "Total");
+        int violations = 0;
+        for (Map.Entry<String, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertTrue(estimate >= entry.getValue(), "Never underestimates " + entry.getKey());
+            if (estimate > entry.getValue() + sketch.getErrorBound()) {
+                violations++;
+            }
+        }
+        assertTrue(violations <= sketch.getDelta() * exact.size(),
+                   "At most delta of the items exceed epsilon * N: " + violations + " of " + exact.size());
+        assertEqual(0L, new CountMinSketch(0.001, 0.01).estimate("item-0"), "Empty sketch");
+
+        // Two halves merged = one sketch of the whole stream
+        CountMinSketch first = new CountMinSketch(0.001, 0.01);
+        CountMinSketch second = new CountMinSketch(0.001, 0.01);
+        for (int i = 0; i < stream.size(); i++) {
+            (i % 2 == 0 ? first : second).add(stream.get(i));
+        }
+        long unionEstimate = CountMinSketch.estimate(List.of(first, second), "item-3");
+        first.merge(second);
+        for (String item : exact.keySet()) {
+            assertEqual(sketch.estimate(item), first.estimate(item), "Merged estimate of " + item);
+        }
+        assertEqual(sketch.estimate("item-3"), unionEstimate, "Union estimate without merging");
+
+        boolean rejected = false;
+        try {
+            first.merge(new CountMinSketch(0.01, 0.01));
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assertTrue(rejected, "Different dimensions rejected");
+
+        System.out.println("✓ Count-Min error bounds passed");
+    }
+
+    /**
+     * Test the Space-Saving guarantees, before and after merging
+     */
+    public void testSpaceSavingBounds() {
+        System.out.println("Testing Space-Saving guarantees...");
+
+        int k = 1000;
+        SpaceSaving summary = new SpaceSaving(k);
+        for (String item : stream) {
+            summary.add(item);
+        }
+        assertSpaceSavingBounds(summary, exact, stream.size(), "Single summary");
+
+        // The exact top 10 are the reported top 10
+        List<String> exactTop = exactTop(exact, 10);
+        List<String> reportedTop = new ArrayList<>();
+        for (SpaceSaving.Counter counter : summary.top(10)) {
+            reportedTop.add(counter.getItem());
+        }
+        assertEqual(exactTop, reportedTop, "Top 10");
+
+        // Three summaries of interleaved parts, merged
+        List<SpaceSaving> parts = List.of(new SpaceSaving(k), new SpaceSaving(k), new SpaceSaving(k));
+        for (int i = 0; i < stream.size(); i++) {
+            parts.get(i % 3).add(stream.get(i));
+        }
+        SpaceSaving merged = SpaceSaving.mergeAll(parts, k);
+        assertEqual((long) stream.size(), merged.getTotal(), "Merged total");
+        assertSpaceSavingBounds(merged, exact, stream.size(), "Merged summary");
+        assertSpaceSavingBounds(parts.get(0).merge(parts.get(1)),
+                                countAll(everyThird(stream, 0, 1)), 2 * stream.size() / 3, "Pairwise merge");
+
+        SpaceSaving small = new SpaceSaving(2);
+        small.add("a", 5);
+        small.add("b", 1);
+        small.add("c");
+        assertEqual(2L, small.estimate("c"), "Newcomer inherits the smallest count");
+        assertEqual(1L, small.guaranteedCount("c"), "Guaranteed count excludes the error");
+        assertEqual(2L, small.estimate("b"), "Evicted item bounded by the smallest counter");
+
+        System.out.println("✓ Space-Saving guarantees passed");
+    }
+
+    private static List<String> everyThird(List<String> items, int... residues) {
+        List<String> selected = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            for (int residue : residues) {
+                if (i % 3 == residue) {
+                    selected.add(items.get(i));
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Test the tracker on the aircraft of seat.csv, globally and per airline
+     */
+    public void testDatasetCounts() {
+        System.out.println("Testing heavy hitters on seat.csv aircraft...");
+
+        // Small summaries so that the dataset actually overflows them
+        TrendingTracker tracker = new TrendingTracker(16, 4, 0.01, 0.01, 7);
+        tracker.addReviews(seatReviews);
+        Map<String, Long> counts = new HashMap<>();
+        Map<String, Map<String, Long>> byAirline = new HashMap<>();
+        for (ReviewRecord review : seatReviews) {
+            String item = TrendingTracker.itemKey(Dimension.AIRCRAFT, ReviewFields.aircraft(review));
+            if (!item.isEmpty()) {
+                counts.merge(item, 1L, Long::sum);
+                byAirline.computeIfAbsent(review.getName(), a -> new HashMap<>()).merge(item, 1L, Long::sum);
+            }
+        }
+        long mentions = counts.values().stream().mapToLong(Long::longValue).sum();
+        assertTrue(counts.size() > 16, "Dataset has more aircraft than counters");
+
+        SpaceSaving.Counter first = tracker.top(Dimension.AIRCRAFT, 1).get(0);
+        assertEqual(exactTop(counts, 1).get(0), first.getItem(), "Most reviewed aircraft");
+        for (SpaceSaving.Counter counter : tracker.top(Dimension.AIRCRAFT, 16)) {
+            long actual = counts.get(counter.getItem());
+            assertTrue(counter.getGuaranteedCount() <= actual && actual <= counter.getCount(),
+                       "Counter brackets the exact count: " + counter + " vs " + actual);
+        }
+        Set<String> monitored = new HashSet<>();
+        for (SpaceSaving.Counter counter : tracker.top(Dimension.AIRCRAFT, 16)) {
+            monitored.add(counter.getItem());
+        }
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            if (entry.getValue() > mentions / 16) {
+                assertTrue(monitored.contains(entry.getKey()), "Heavy aircraft kept: " + entry.getKey());
+            }
+            long estimate = tracker.estimate(Dimension.AIRCRAFT, entry.getKey());
+            assertTrue(estimate >= entry.getValue(), "Sketch never underestimates " + entry.getKey());
+        }
+        assertEqual(tracker.estimate(Dimension.AIRCRAFT, "a320"), tracker.estimate(Dimension.AIRCRAFT, "AIRBUS A320"),
+                    "Lookups normalize the spelling");
+
+        String busiest = null;
+        for (Map.Entry<String, Map<String, Long>> entry : byAirline.entrySet()) {
+            if (busiest == null || entry.getValue().size() > byAirline.get(busiest).size()) {
+                busiest = entry.getKey();
+            }
+        }
+        Map<String, Long> airlineCounts = byAirline.get(busiest);
+        for (SpaceSaving.Counter counter : tracker.top(Dimension.AIRCRAFT, busiest, 4)) {
+            long actual = airlineCounts.get(counter.getItem());
+            assertTrue(counter.getGuaranteedCount() <= actual && actual <= counter.getCount(),
+                       busiest + " counter brackets the exact count: " + counter + " vs " + actual);
+        }
+        for (Map.Entry<String, Long> entry : airlineCounts.entrySet()) {
+            long estimate = tracker.estimate(Dimension.AIRCRAFT, busiest, entry.getKey());
+            assertTrue(estimate >= entry.getValue(), "Per-airline sketch never underestimates");
+            assertTrue(estimate <= entry.getValue() + tracker.getErrorBound(Dimension.AIRCRAFT),
+                       "Per-airline estimate within epsilon * N");
+        }
+        assertTrue(tracker.top(Dimension.ROUTE, 5).isEmpty(), "Seat reviews carry no route");
+
+        System.out.println("✓ Heavy hitters on seat.csv aircraft passed");
+    }
+
+    /**
+     * Test that the window ranks the last windowDays days only and ignores late reviews
+     */
+    public void testSlidingWindow() {
+        System.out.println("Testing sliding window...");
+
+        TrendingTracker tracker = new TrendingTracker(64, 8, 0.001, 0.01, 7);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        Random random = new Random(7);
+        Map<String, Long> windowCounts = new HashMap<>();
+        List<String> background = zipfStream(30 * 200, 500, 1.0, random);
+        for (int day = 0; day < 30; day++) {
+            for (int i = 0; i < 200; i++) {
+                String route = i < 40 ? (day < 23 ? "LHR to JFK" : "SIN  to SYD") : background.get(day * 200 + i);
+                tracker.accept(review(i % 2 == 0 ? "Qantas Airways" : "British Airways", start.plusDays(day), route));
+                if (day >= 23) {
+                    windowCounts.merge(TrendingTracker.itemKey(Dimension.ROUTE, route), 1L, Long::sum);
+                }
+            }
+        }
+
+        assertEqual("lhr to jfk", tracker.top(Dimension.ROUTE, 1).get(0).getItem(), "All-time leader");
+        SpaceSaving.Counter leader = tracker.trending(Dimension.ROUTE, 1).get(0);
+        assertEqual("sin to syd", leader.getItem(), "Trending leader");
+        assertEqual(280L, leader.getCount(), "Trending leader count");
+        assertEqual("sin to syd", tracker.trending(Dimension.ROUTE, "Qantas Airways", 1).get(0).getItem(),
+                    "Per-airline trending leader");
+        assertEqual(0L, tracker.estimateTrending(Dimension.ROUTE, "lhr to jfk"), "Old route left the window");
+
+        // Window sketches count every route twice: under its own key and its airline's
+        double windowErrorBound = 0.001 * 2 * 7 * 200;
+        int violations = 0;
+        for (SpaceSaving.Counter counter : tracker.trending(Dimension.ROUTE, 20)) {
+            long actual = windowCounts.get(counter.getItem());
+            assertTrue(counter.getGuaranteedCount() <= actual && actual <= counter.getCount(),
+                       "Window counter brackets the exact count: " + counter);
+        }
+        for (Map.Entry<String, Long> entry : windowCounts.entrySet()) {
+            long estimate = tracker.estimateTrending(Dimension.ROUTE, entry.getKey());
+            assertTrue(estimate >= entry.getValue(), "Window sketch never underestimates");
+            if (estimate > entry.getValue() + windowErrorBound) {
+                violations++;
+            }
+        }
+        assertTrue(violations <= 0.01 * windowCounts.size(), "At most delta of the window estimates exceed epsilon * N");
+
+        // A late review for a day before the window counts all-time only
+        tracker.accept(review("Qantas Airways", start, "MEL to PER"));
+        assertEqual(0L, tracker.estimateTrending(Dimension.ROUTE, "MEL to PER"), "Late review not in the window");
+        assertEqual(1L, tracker.estimate(Dimension.ROUTE, "mel to per"), "Late review counted all-time");
+
+        System.out.println("✓ Sliding window passed");
+    }
+
+    private static ReviewRecord review(String airline, LocalDate date, String route) {
+        return new AirlineReview(airline, "link", "title", "author", "UK", date.toString(), "content",
+                                 "Boeing 787", "Leisure", "Economy", route, 8, 4, 4, 4, 4, 4, 4, 4, 1);
+    }
+
+    private void assertSpaceSavingBounds(SpaceSaving summary, Map<String, Long> counts, long total, String message) {
+        assertTrue(summary.getMaxError() <= total / summary.getCapacity(), message + ": error <= N / k");
+        Set<String> monitored = new HashSet<>();
+        for (SpaceSaving.Counter counter : summary.top(summary.getCapacity())) {
+            monitored.add(counter.getItem());
+            long actual = counts.getOrDefault(counter.getItem(), 0L);
+            assertTrue(counter.getGuaranteedCount() <= actual && actual <= counter.getCount(),
+                       message + ": counter brackets the exact count: " + counter + " vs " + actual);
+        }
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            if (entry.getValue() > total / summary.getCapacity()) {
+                assertTrue(monitored.contains(entry.getKey()), message + ": heavy item kept: " + entry.getKey());
+            }
+        }
+    }
+
+    private static List<String> exactTop(Map<String, Long> counts, int n) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        List<String> top = new ArrayList<>();
+        for (int i = 0; i < Math.min(n, entries.size()); i++) {
+            top.add(entries.get(i).getKey());
+        }
+        return top;
+    }
+
+    private void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("Assertion failed: " + message);
+        }
+    }
+
+    private void assertEqual(Object expected, Object actual, String message) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError("Assertion failed: " + message + " - Expected: " + expected + ", Actual: " + actual);
+        }
+    }
+
+    public void runAllTests() throws IOException {
+        System.out.println("=== Running Heavy Hitters Tests ===");
+        System.out.println();
+
+        try {
+            setUp();
+            testCountMinBounds();
+            testSpaceSavingBounds();
+            testDatasetCounts();
+            testSlidingWindow();
+
+            System.out.println();
+            System.out.println("🎉 All heavy hitters tests passed successfully!");
+
+        } catch (AssertionError e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        HeavyHittersTest test = new HeavyHittersTest();
+        test.runAllTests();
+    }
+}
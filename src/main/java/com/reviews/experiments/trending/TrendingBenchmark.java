@@ -0,0 +1,110 @@
+package com.reviews.experiments.trending;
+
+import com.reviews.Models.AirlineReview;
+import com.reviews.Models.ReviewRecord;
+import com.reviews.datastructures.ReviewFields;
+import com.reviews.datastructures.SpaceSaving;
+import com.reviews.datastructures.TrendingTracker;
+import com.reviews.datastructures.TrendingTracker.Dimension;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * TrendingTracker versus exact HashMap counting of routes (global and per airline) on a
+ * Zipf-distributed stream of high-cardinality routes: ingest cost, memory, and how many of
+ * the exact top 20 the sketches report, all-time and for the last 7 days.
+ */
+public class TrendingBenchmark {
+
+    private static final String[] AIRLINES = {"Qantas Airways", "British Airways", "Emirates", "Delta Air Lines",
+                                              "Singapore Airlines", "Lufthansa", "Air France", "ANA"};
+
+    private static List<ReviewRecord> generate(int n, int routes, Random random) {
+        List<String> names = HeavyHittersTest.zipfStream(n, routes, 1.05, random);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        List<ReviewRecord> reviews = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String route = "Route " + names.get(i).substring("item-".length());
+            reviews.add(new AirlineReview(AIRLINES[random.nextInt(AIRLINES.length)], "link", "title", "author", "UK",
+                                          start.plusDays(i * 365L / n).toString(), "content", "Boeing 787",
+                                          "Leisure", "Economy", route, 8, 4, 4, 4, 4, 4, 4, 4, 1));
+        }
+        return reviews;
+    }
+
+    private static int overlap(List<SpaceSaving.Counter> reported, List<String> exact) {
+        int hits = 0;
+        for (SpaceSaving.Counter counter : reported) {
+            if (exact.contains(counter.getItem())) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static List<String> exactTop(Map<String, Long> counts, int n) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        List<String> top = new ArrayList<>();
+        for (int i = 0; i < Math.min(n, entries.size()); i++) {
+            top.add(entries.get(i).getKey());
+        }
+        return top;
+    }
+
+    public static void runComprehensiveBenchmark() {
+        System.out.println("=== Heavy-Hitter Sketches vs Exact Counts ===");
+        System.out.println();
+
+        int[] sizes = {100000, 500000};
+        System.out.printf("%-8s %-9s %-12s %-12s %-12s %-12s %-10s %-10s%n", "Reviews", "Routes", "Exact (ns)",
+                          "Sketch (ns)", "Exact (MB)", "Sketch (MB)", "Top20 all", "Top20 7d");
+        System.out.println("---------------------------------------------------------------------------------------------");
+        for (int size : sizes) {
+            List<ReviewRecord> reviews = generate(size, size / 2, new Random(42));
+            LocalDate last = LocalDate.parse(reviews.get(size - 1).getDate());
+
+            // Exact: global and per-airline maps, plus one map per day for the window
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            long before = runtime.totalMemory() - runtime.freeMemory();
+            long startTime = System.nanoTime();
+            Map<String, Long> exact = new HashMap<>();
+            Map<String, Map<String, Long>> exactByAirline = new HashMap<>();
+            Map<String, Map<String, Long>> exactByDay = new HashMap<>();
+            for (ReviewRecord review : reviews) {
+                String route = TrendingTracker.itemKey(Dimension.ROUTE, ReviewFields.route(review));
+                exact.merge(route, 1L, Long::sum);
+                exactByAirline.computeIfAbsent(review.getName(), a -> new HashMap<>()).merge(route, 1L, Long::sum);
+                exactByDay.computeIfAbsent(review.getDate(), d -> new HashMap<>()).merge(route, 1L, Long::sum);
+            }
+            double exactNs = (double) (System.nanoTime() - startTime) / size;
+            System.gc();
+            long exactBytes = runtime.totalMemory() - runtime.freeMemory() - before;
+
+            startTime = System.nanoTime();
+            TrendingTracker tracker = new TrendingTracker();
+            tracker.addReviews(reviews);
+            double sketchNs = (double) (System.nanoTime() - startTime) / size;
+
+            Map<String, Long> window = new HashMap<>();
+            for (int day = 0; day < 7; day++) {
+                Map<String, Long> counts = exactByDay.getOrDefault(last.minusDays(day).toString(), Collections.emptyMap());
+                counts.forEach((route, count) -> window.merge(route, count, Long::sum));
+            }
+            int allTime = overlap(tracker.top(Dimension.ROUTE, 20), exactTop(exact, 20));
+            int trending = overlap(tracker.trending(Dimension.ROUTE, 20), exactTop(window, 20));
+            System.out.printf("%-8d %-9d %-12.0f %-12.0f %-12.1f %-12.1f %-10s %-10s%n", size, exact.size(), exactNs,
+                              sketchNs, exactBytes / 1048576.0, tracker.getSizeInBytes() / 1048576.0,
+                              allTime + "/20", trending + "/20");
+        }
+        System.out.println();
+        System.out.println("Exact memory is measured from the heap and includes the route strings;");
+        System.out.println("sketch memory is estimated and excludes the strings its counters reference.");
+    }
+
+    public static void main(String[] args) {
+        runComprehensiveBenchmark();
+    }
+}